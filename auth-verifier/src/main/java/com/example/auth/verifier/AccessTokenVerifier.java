@@ -0,0 +1,305 @@
+package com.example.auth.verifier;
+
+import com.example.auth.verifier.VerifiedTokenCache.VerifiedToken;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.Map;
+import java.util.Objects;
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+/**
+ * 인증 서버가 발급한 액세스 토큰(HS256 JWT)을 다른 서비스가 프로세스 안에서 검증한다.
+ * 스프링/JJWT 없이 JDK만 쓰며, 서버의 JwtTokenProvider.verify와 같은 결과를 내도록 맞춘다.
+ *
+ * - 서명: 헤더 alg는 HS256/HS384/HS512만 받고, 키 길이가 알고리즘 비트 수보다 짧으면 거부한다(JJWT와 같다).
+ * - 시간: exp/nbf가 있으면 확인한다(기본 허용 오차 0).
+ * - 클레임: jti는 숫자여야 하고, name/nationality/providerId는 문자열(또는 없음)이어야 한다.
+ *   헤더에 "v":2가 있으면 압축 형식(sub=providerId, u=userId 정수, n=name, c=nationality)으로 읽고, 모르는 버전은 거부한다.
+ * - 캐시: 같은 토큰이 다시 오면 서명/파싱을 건너뛰고 만료/폐기만 다시 확인한다.
+ *
+ * 인스턴스는 스레드 안전하므로 서비스당 하나를 만들어 공유한다.
+ * <pre>
+ * AccessTokenVerifier verifier = AccessTokenVerifier.builder()
+ *     .secret(System.getenv("JWT_SECRET"))
+ *     .revocationFeed(RevocationFeed.polling(uri, Duration.ofSeconds(5), Duration.ofHours(1)))
+ *     .build();
+ * VerifiedPrincipal principal = verifier.verifyAuthorizationHeader(request.getHeader("Authorization"));
+ * </pre>
+ */
+public final class AccessTokenVerifier {
+
+    private static final String BEARER_PREFIX = "Bearer ";
+    private static final Base64.Decoder BASE64_URL = Base64.getUrlDecoder();
+    // 압축 액세스 토큰 헤더의 "v"
+    private static final Long COMPACT_VERSION = 2L;
+
+    private final Clock clock;
+    private final long allowedClockSkewMillis;
+    private final VerifiedTokenCache<VerifiedToken> cache;
+    private final RevocationFeed revocationFeed;
+    private final ThreadLocal<Mac> hs256;
+    private final ThreadLocal<Mac> hs384;
+    private final ThreadLocal<Mac> hs512;
+
+    private AccessTokenVerifier(Builder builder) {
+        this.clock = builder.clock;
+        this.allowedClockSkewMillis = builder.allowedClockSkew.toMillis();
+        this.cache = builder.cacheSize > 0 ? new VerifiedTokenCache<>(builder.cacheSize) : null;
+        this.revocationFeed = builder.revocationFeed;
+        this.hs256 = macFor(builder.key, "HmacSHA256", 256);
+        this.hs384 = macFor(builder.key, "HmacSHA384", 384);
+        this.hs512 = macFor(builder.key, "HmacSHA512", 512);
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * "Bearer <token>" 헤더 값을 검증한다. 헤더가 없거나 형식이 다르면 null.
+     */
+    public VerifiedPrincipal verifyAuthorizationHeader(String authorization) {
+        if (authorization == null || authorization.length() <= BEARER_PREFIX.length()
+            || !authorization.startsWith(BEARER_PREFIX)) {
+            return null;
+        }
+        String token = authorization.substring(BEARER_PREFIX.length());
+        return token.isBlank() ? null : verify(token);
+    }
+
+    /**
+     * 토큰을 검증해 principal을 돌려준다. 유효하지 않으면 null.
+     */
+    public VerifiedPrincipal verify(String token) {
+        if (token == null || token.isEmpty()) {
+            return null;
+        }
+        long now = clock.millis();
+        if (cache != null) {
+            VerifiedToken cached = cache.get(token);
+            if (cached != null) {
+                if (isCurrent(cached, now)) {
+                    return cached.principal();
+                }
+                cache.remove(token);
+                return null;
+            }
+        }
+        VerifiedToken verified = parse(token);
+        if (verified == null || !isCurrent(verified, now)) {
+            return null;
+        }
+        if (cache != null) {
+            cache.put(token, verified);
+        }
+        return verified.principal();
+    }
+
+    private boolean isCurrent(VerifiedToken token, long now) {
+        if (token.expiresAtMillis() != Long.MAX_VALUE && now - allowedClockSkewMillis > token.expiresAtMillis()) {
+            return false;
+        }
+        if (token.notBeforeMillis() != Long.MIN_VALUE && now + allowedClockSkewMillis < token.notBeforeMillis()) {
+            return false;
+        }
+        return revocationFeed == null || !revocationFeed.isRevoked(token.principal().userId(), token.issuedAtMillis());
+    }
+
+    private VerifiedToken parse(String token) {
+        int firstDot = token.indexOf('.');
+        int secondDot = firstDot < 0 ? -1 : token.indexOf('.', firstDot + 1);
+        if (firstDot <= 0 || secondDot < 0 || secondDot == token.length() - 1
+            || token.indexOf('.', secondDot + 1) >= 0) {
+            return null;
+        }
+        try {
+            Map<String, Object> header = Json.parseObject(decode(token, 0, firstDot));
+            Object version = header.get("v");
+            if (version != null && !COMPACT_VERSION.equals(version)) {
+                return null;
+            }
+            Mac mac = macFor(header);
+            if (mac == null) {
+                return null;
+            }
+            byte[] expected = mac.doFinal(token.substring(0, secondDot).getBytes(StandardCharsets.US_ASCII));
+            byte[] actual = BASE64_URL.decode(token.substring(secondDot + 1));
+            if (!MessageDigest.isEqual(expected, actual)) {
+                return null;
+            }
+            Map<String, Object> claims = Json.parseObject(decode(token, firstDot + 1, secondDot));
+            return toVerifiedToken(claims, version != null);
+        } catch (IllegalArgumentException e) {
+            // base64/JSON 형식 오류, 숫자가 아닌 jti 등
+            return null;
+        }
+    }
+
+    private Mac macFor(Map<String, Object> header) {
+        if (header.containsKey("zip")) {
+            // 서버는 압축 토큰을 발급하지 않는다.
+            return null;
+        }
+        Object alg = header.get("alg");
+        ThreadLocal<Mac> mac;
+        if ("HS256".equals(alg)) {
+            mac = hs256;
+        } else if ("HS384".equals(alg)) {
+            mac = hs384;
+        } else if ("HS512".equals(alg)) {
+            mac = hs512;
+        } else {
+            // none, RS256 등은 거부한다.
+            return null;
+        }
+        return mac == null ? null : mac.get();
+    }
+
+    private static VerifiedToken toVerifiedToken(Map<String, Object> claims, boolean compact) {
+        VerifiedPrincipal principal = compact
+            ? new VerifiedPrincipal(
+                userIdClaim(claims.get("u")),
+                stringClaim(claims, "n"),
+                stringClaim(claims, "c"),
+                stringClaim(claims, "sub"))
+            : new VerifiedPrincipal(
+                jti(claims.get("jti")),
+                stringClaim(claims, "name"),
+                stringClaim(claims, "nationality"),
+                stringClaim(claims, "providerId"));
+        return new VerifiedToken(
+            principal,
+            secondsClaim(claims, "exp", Long.MAX_VALUE),
+            secondsClaim(claims, "nbf", Long.MIN_VALUE),
+            secondsClaim(claims, "iat", Long.MIN_VALUE)
+        );
+    }
+
+    private static Long jti(Object value) {
+        if (value == null) {
+            return null;
+        }
+        // JJWT는 jti를 문자열로 읽으므로 숫자 JSON 값도 그 문자열 표현으로 해석한다.
+        if (value instanceof String || value instanceof Long) {
+            return Long.parseLong(value.toString());
+        }
+        throw new IllegalArgumentException("jti must be numeric");
+    }
+
+    private static Long userIdClaim(Object value) {
+        if (value == null || value instanceof Long) {
+            return (Long) value;
+        }
+        throw new IllegalArgumentException("u must be an integer");
+    }
+
+    private static String stringClaim(Map<String, Object> claims, String name) {
+        Object value = claims.get(name);
+        if (value == null || value instanceof String) {
+            return (String) value;
+        }
+        throw new IllegalArgumentException(name + " must be a string");
+    }
+
+    // NumericDate(초) -> epoch 밀리초
+    private static long secondsClaim(Map<String, Object> claims, String name, long absent) {
+        Object value = claims.get(name);
+        if (value == null) {
+            return absent;
+        }
+        if (value instanceof Long seconds) {
+            return Math.multiplyExact(seconds, 1000L);
+        }
+        if (value instanceof Double seconds && Double.isFinite(seconds)) {
+            return (long) Math.floor(seconds * 1000);
+        }
+        throw new IllegalArgumentException(name + " must be a NumericDate");
+    }
+
+    private static String decode(String token, int from, int to) {
+        return new String(BASE64_URL.decode(token.substring(from, to)), StandardCharsets.UTF_8);
+    }
+
+    private static ThreadLocal<Mac> macFor(byte[] key, String algorithm, int minimumBits) {
+        if (key.length * 8 < minimumBits) {
+            return null;
+        }
+        SecretKeySpec spec = new SecretKeySpec(key, algorithm);
+        return ThreadLocal.withInitial(() -> {
+            try {
+                Mac mac = Mac.getInstance(algorithm);
+                mac.init(spec);
+                return mac;
+            } catch (GeneralSecurityException e) {
+                throw new IllegalStateException("Failed to initialize " + algorithm, e);
+            }
+        });
+    }
+
+    public static final class Builder {
+        private byte[] key;
+        private Clock clock = Clock.systemUTC();
+        private Duration allowedClockSkew = Duration.ZERO;
+        private int cacheSize = 10_000;
+        private RevocationFeed revocationFeed;
+
+        private Builder() {
+        }
+
+        /**
+         * 서버의 auth.jwt.secret과 같은 값. 서버처럼 바이트로 바꿔 HMAC 키로 쓰며 32바이트 이상이어야 한다.
+         */
+        public Builder secret(String secret) {
+            return key(Objects.requireNonNull(secret, "secret").getBytes(StandardCharsets.UTF_8));
+        }
+
+        public Builder key(byte[] key) {
+            if (key.length < 32) {
+                throw new IllegalArgumentException("HMAC key must be at least 256 bits");
+            }
+            this.key = key.clone();
+            return this;
+        }
+
+        public Builder clock(Clock clock) {
+            this.clock = Objects.requireNonNull(clock, "clock");
+            return this;
+        }
+
+        public Builder allowedClockSkew(Duration allowedClockSkew) {
+            if (allowedClockSkew.isNegative()) {
+                throw new IllegalArgumentException("allowedClockSkew must not be negative");
+            }
+            this.allowedClockSkew = allowedClockSkew;
+            return this;
+        }
+
+        /**
+         * 검증 결과 캐시 크기(토큰 수). 0이면 캐시하지 않는다.
+         */
+        public Builder cacheSize(int cacheSize) {
+            if (cacheSize < 0) {
+                throw new IllegalArgumentException("cacheSize must not be negative");
+            }
+            this.cacheSize = cacheSize;
+            return this;
+        }
+
+        public Builder revocationFeed(RevocationFeed revocationFeed) {
+            this.revocationFeed = revocationFeed;
+            return this;
+        }
+
+        public AccessTokenVerifier build() {
+            if (key == null) {
+                throw new IllegalStateException("secret is required");
+            }
+            return new AccessTokenVerifier(this);
+        }
+    }
+}
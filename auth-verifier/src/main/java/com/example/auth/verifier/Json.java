@@ -0,0 +1,237 @@
+package com.example.auth.verifier;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * JWT 헤더/클레임과 폐기 피드를 읽기 위한 최소 JSON 파서.
+ * 객체는 Map, 배열은 List, 정수는 Long, 실수는 Double, 나머지는 String/Boolean/null로 돌려준다.
+ * 형식 오류는 IllegalArgumentException.
+ */
+final class Json {
+
+    private final String text;
+    private int pos;
+
+    private Json(String text) {
+        this.text = text;
+    }
+
+    static Object parse(String text) {
+        Json json = new Json(text);
+        json.skipWhitespace();
+        Object value = json.readValue(0);
+        json.skipWhitespace();
+        if (json.pos != text.length()) {
+            throw json.error("trailing characters");
+        }
+        return value;
+    }
+
+    @SuppressWarnings("unchecked")
+    static Map<String, Object> parseObject(String text) {
+        Object value = parse(text);
+        if (!(value instanceof Map)) {
+            throw new IllegalArgumentException("JSON object expected");
+        }
+        return (Map<String, Object>) value;
+    }
+
+    private Object readValue(int depth) {
+        if (depth > 32) {
+            throw error("nesting too deep");
+        }
+        if (pos >= text.length()) {
+            throw error("unexpected end");
+        }
+        char c = text.charAt(pos);
+        switch (c) {
+            case '{':
+                return readObject(depth);
+            case '[':
+                return readArray(depth);
+            case '"':
+                return readString();
+            case 't':
+                expect("true");
+                return Boolean.TRUE;
+            case 'f':
+                expect("false");
+                return Boolean.FALSE;
+            case 'n':
+                expect("null");
+                return null;
+            default:
+                if (c == '-' || (c >= '0' && c <= '9')) {
+                    return readNumber();
+                }
+                throw error("unexpected character");
+        }
+    }
+
+    private Map<String, Object> readObject(int depth) {
+        Map<String, Object> object = new LinkedHashMap<>();
+        pos++;
+        skipWhitespace();
+        if (peek() == '}') {
+            pos++;
+            return object;
+        }
+        while (true) {
+            skipWhitespace();
+            if (peek() != '"') {
+                throw error("object key expected");
+            }
+            String key = readString();
+            skipWhitespace();
+            if (peek() != ':') {
+                throw error("':' expected");
+            }
+            pos++;
+            skipWhitespace();
+            if (object.containsKey(key)) {
+                throw error("duplicate key");
+            }
+            object.put(key, readValue(depth + 1));
+            skipWhitespace();
+            char c = next();
+            if (c == '}') {
+                return object;
+            }
+            if (c != ',') {
+                throw error("',' or '}' expected");
+            }
+        }
+    }
+
+    private List<Object> readArray(int depth) {
+        List<Object> array = new ArrayList<>();
+        pos++;
+        skipWhitespace();
+        if (peek() == ']') {
+            pos++;
+            return array;
+        }
+        while (true) {
+            skipWhitespace();
+            array.add(readValue(depth + 1));
+            skipWhitespace();
+            char c = next();
+            if (c == ']') {
+                return array;
+            }
+            if (c != ',') {
+                throw error("',' or ']' expected");
+            }
+        }
+    }
+
+    private String readString() {
+        pos++;
+        StringBuilder out = null;
+        int start = pos;
+        while (true) {
+            char c = next();
+            if (c == '"') {
+                return out == null ? text.substring(start, pos - 1) : out.toString();
+            }
+            if (c < 0x20) {
+                throw error("control character in string");
+            }
+            if (c != '\\') {
+                if (out != null) {
+                    out.append(c);
+                }
+                continue;
+            }
+            if (out == null) {
+                out = new StringBuilder(text.substring(start, pos - 1));
+            }
+            char escape = next();
+            switch (escape) {
+                case '"', '\\', '/' -> out.append(escape);
+                case 'b' -> out.append('\b');
+                case 'f' -> out.append('\f');
+                case 'n' -> out.append('\n');
+                case 'r' -> out.append('\r');
+                case 't' -> out.append('\t');
+                case 'u' -> {
+                    if (pos + 4 > text.length()) {
+                        throw error("bad unicode escape");
+                    }
+                    try {
+                        out.append((char) Integer.parseInt(text, pos, pos + 4, 16));
+                    } catch (NumberFormatException e) {
+                        throw error("bad unicode escape");
+                    }
+                    pos += 4;
+                }
+                default -> throw error("bad escape");
+            }
+        }
+    }
+
+    private Object readNumber() {
+        int start = pos;
+        boolean integral = true;
+        if (peek() == '-') {
+            pos++;
+        }
+        while (pos < text.length()) {
+            char c = text.charAt(pos);
+            if (c >= '0' && c <= '9') {
+                pos++;
+            } else if (c == '.' || c == 'e' || c == 'E' || c == '+' || c == '-') {
+                integral = false;
+                pos++;
+            } else {
+                break;
+            }
+        }
+        String number = text.substring(start, pos);
+        try {
+            if (integral) {
+                return Long.parseLong(number);
+            }
+            return Double.parseDouble(number);
+        } catch (NumberFormatException e) {
+            throw error("bad number");
+        }
+    }
+
+    private void expect(String literal) {
+        if (!text.startsWith(literal, pos)) {
+            throw error("'" + literal + "' expected");
+        }
+        pos += literal.length();
+    }
+
+    private void skipWhitespace() {
+        while (pos < text.length()) {
+            char c = text.charAt(pos);
+            if (c != ' ' && c != '\t' && c != '\n' && c != '\r') {
+                return;
+            }
+            pos++;
+        }
+    }
+
+    private char peek() {
+        if (pos >= text.length()) {
+            throw error("unexpected end");
+        }
+        return text.charAt(pos);
+    }
+
+    private char next() {
+        char c = peek();
+        pos++;
+        return c;
+    }
+
+    private IllegalArgumentException error(String message) {
+        return new IllegalArgumentException("Invalid JSON at " + pos + ": " + message);
+    }
+}
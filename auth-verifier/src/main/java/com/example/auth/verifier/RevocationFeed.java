@@ -0,0 +1,163 @@
+package com.example.auth.verifier;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 로그아웃한 사용자 목록(userId -> 폐기 시각). 이 시각 이전에 발급된(iat) 액세스 토큰은 거부된다.
+ *
+ * - polling: 인증 서버의 폐기 피드(/actuator/revocations)를 주기적으로 읽는다.
+ *   응답: {"cursor": epochMillis, "revocations": [{"userId": 1, "revokedAt": epochMillis}, ...]}
+ * - manual: 다른 경로(메시지 큐 등)로 받은 폐기를 revoke()로 넣는다.
+ *
+ * 비교는 초 단위다(iat가 초 단위이므로). 로그아웃한 그 초 안에 발급된 토큰은 재로그인 토큰과 구분할 수 없어 유효로 본다.
+ * 액세스 토큰 최대 수명(retention)보다 오래된 항목은 더 막을 토큰이 없으므로 지운다.
+ */
+public final class RevocationFeed implements AutoCloseable {
+
+    private static final System.Logger LOG = System.getLogger(RevocationFeed.class.getName());
+    // 서버 인스턴스 간 시계 차이로 늦게 기록된 항목을 놓치지 않도록 커서를 조금 겹쳐 읽는다.
+    private static final long OVERLAP_MILLIS = 5_000;
+
+    private final Map<Long, Long> revokedAtMillis = new ConcurrentHashMap<>();
+    private final Duration retention;
+    private final Clock clock;
+    private final URI endpoint;
+    private final String authorization;
+    private final HttpClient httpClient;
+    private final ScheduledExecutorService poller;
+    private volatile long cursor;
+
+    private RevocationFeed(URI endpoint, String authorization, Duration interval, Duration retention, Clock clock) {
+        this.retention = retention;
+        this.clock = clock;
+        this.endpoint = endpoint;
+        this.authorization = authorization;
+        this.cursor = clock.millis() - retention.toMillis();
+        if (endpoint == null) {
+            this.httpClient = null;
+            this.poller = null;
+            return;
+        }
+        this.httpClient = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(2)).build();
+        this.poller = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "auth-verifier-revocations");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long intervalMillis = interval.toMillis();
+        poller.scheduleWithFixedDelay(this::pollSafely, 0, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * 인증 서버 피드를 interval마다 읽는다. retention은 액세스 토큰 최대 수명(auth.jwt.access-validity-seconds).
+     */
+    public static RevocationFeed polling(URI endpoint, Duration interval, Duration retention) {
+        return polling(endpoint, null, interval, retention);
+    }
+
+    /**
+     * authorization이 있으면 Authorization 헤더로 보낸다(예: actuator 보호용 Basic 인증).
+     */
+    public static RevocationFeed polling(URI endpoint, String authorization, Duration interval, Duration retention) {
+        return new RevocationFeed(endpoint, authorization, interval, retention, Clock.systemUTC());
+    }
+
+    public static RevocationFeed manual(Duration retention) {
+        return manual(retention, Clock.systemUTC());
+    }
+
+    static RevocationFeed manual(Duration retention, Clock clock) {
+        return new RevocationFeed(null, null, Duration.ZERO, retention, clock);
+    }
+
+    public void revoke(long userId, long revokedAtEpochMillis) {
+        revokedAtMillis.merge(userId, revokedAtEpochMillis, Math::max);
+    }
+
+    /**
+     * userId 사용자의 토큰이 issuedAtMillis에 발급되었다면 폐기된 것인지.
+     * iat가 없는 토큰(Long.MIN_VALUE)은 폐기 기록이 있으면 폐기로 본다.
+     */
+    public boolean isRevoked(Long userId, long issuedAtMillis) {
+        if (userId == null) {
+            return false;
+        }
+        Long revokedAt = revokedAtMillis.get(userId);
+        if (revokedAt == null) {
+            return false;
+        }
+        return Math.floorDiv(issuedAtMillis, 1000L) < Math.floorDiv(revokedAt, 1000L);
+    }
+
+    int size() {
+        return revokedAtMillis.size();
+    }
+
+    void pollOnce() throws IOException, InterruptedException {
+        long since = Math.max(0, cursor - OVERLAP_MILLIS);
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(endpoint + "?since=" + since))
+            .timeout(Duration.ofSeconds(5))
+            .header("Accept", "application/json")
+            .GET();
+        if (authorization != null) {
+            request.header("Authorization", authorization);
+        }
+        HttpResponse<String> response = httpClient.send(request.build(), HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            throw new IOException("Revocation feed returned HTTP " + response.statusCode());
+        }
+        apply(response.body());
+    }
+
+    void apply(String body) {
+        Map<String, Object> feed = Json.parseObject(body);
+        if (feed.get("revocations") instanceof List<?> revocations) {
+            for (Object item : revocations) {
+                if (item instanceof Map<?, ?> entry
+                    && entry.get("userId") instanceof Long userId
+                    && entry.get("revokedAt") instanceof Long revokedAt) {
+                    revoke(userId, revokedAt);
+                }
+            }
+        }
+        if (feed.get("cursor") instanceof Long next && next > cursor) {
+            cursor = next;
+        }
+        prune();
+    }
+
+    private void prune() {
+        long oldest = clock.millis() - retention.toMillis();
+        revokedAtMillis.values().removeIf(revokedAt -> revokedAt < oldest);
+    }
+
+    private void pollSafely() {
+        try {
+            pollOnce();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException | RuntimeException e) {
+            // 피드가 잠시 끊겨도 이미 받은 목록으로 계속 검증한다.
+            LOG.log(System.Logger.Level.WARNING, "Failed to poll revocation feed " + endpoint + ": " + e.getMessage());
+        }
+    }
+
+    @Override
+    public void close() {
+        if (poller != null) {
+            poller.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.example.auth.verifier;
+
+/**
+ * 검증된 액세스 토큰의 사용자 정보. 서버의 JwtUserPrincipal과 같은 구성이다.
+ *
+ * @param userId      내부 사용자 PK(jti), 없으면 null
+ * @param name        사용자 이름
+ * @param nationality 사용자 국적
+ * @param providerId  외부 provider 식별자
+ */
+public record VerifiedPrincipal(
+    Long userId,
+    String name,
+    String nationality,
+    String providerId
+) {}
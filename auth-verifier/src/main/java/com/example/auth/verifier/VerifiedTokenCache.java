@@ -0,0 +1,80 @@
+package com.example.auth.verifier;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 검증에 성공한 토큰 -> 검증 결과 캐시. 같은 토큰이 반복해서 오는 경우 HMAC/JSON 파싱을 건너뛴다.
+ * 락 경합을 줄이기 위해 토큰 해시로 나눈 세그먼트마다 접근 순서 LRU(LinkedHashMap)를 둔다.
+ * 만료/폐기 여부는 꺼낼 때마다 호출자가 다시 확인한다. 서버의 gRPC introspection도 이 캐시를 쓴다(값 타입만 다르다).
+ */
+public final class VerifiedTokenCache<V> {
+
+    private static final int SEGMENTS = 16;
+
+    private final Segment<V>[] segments;
+
+    @SuppressWarnings("unchecked")
+    public VerifiedTokenCache(int maximumSize) {
+        int perSegment = Math.max(1, (maximumSize + SEGMENTS - 1) / SEGMENTS);
+        this.segments = new Segment[SEGMENTS];
+        for (int i = 0; i < SEGMENTS; i++) {
+            segments[i] = new Segment<>(perSegment);
+        }
+    }
+
+    public V get(String token) {
+        Segment<V> segment = segmentFor(token);
+        synchronized (segment) {
+            return segment.get(token);
+        }
+    }
+
+    public void put(String token, V verified) {
+        Segment<V> segment = segmentFor(token);
+        synchronized (segment) {
+            segment.put(token, verified);
+        }
+    }
+
+    public void remove(String token) {
+        Segment<V> segment = segmentFor(token);
+        synchronized (segment) {
+            segment.remove(token);
+        }
+    }
+
+    public int size() {
+        int size = 0;
+        for (Segment<V> segment : segments) {
+            synchronized (segment) {
+                size += segment.size();
+            }
+        }
+        return size;
+    }
+
+    private Segment<V> segmentFor(String token) {
+        int h = token.hashCode();
+        return segments[(h ^ (h >>> 16)) & (SEGMENTS - 1)];
+    }
+
+    /**
+     * AccessTokenVerifier가 캐시에 담는 검증 결과. 시간 값은 epoch 밀리초(없으면 exp는 Long.MAX_VALUE, nbf/iat는 Long.MIN_VALUE).
+     */
+    record VerifiedToken(VerifiedPrincipal principal, long expiresAtMillis, long notBeforeMillis, long issuedAtMillis) {}
+
+    private static final class Segment<V> extends LinkedHashMap<String, V> {
+        private final int capacity;
+
+        Segment(int capacity) {
+            super(16, 0.75f, true);
+            this.capacity = capacity;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, V> eldest) {
+            return size() > capacity;
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.example.auth.verifier;
+
+import com.example.auth.verifier.conformance.AccessTokenConformanceSuite;
+import java.util.function.Function;
+
+/**
+ * 라이브러리 검증기가 공통 적합성 테스트를 통과하는지 확인한다(서버 쪽은 JwtTokenProviderConformanceTest).
+ */
+class AccessTokenVerifierConformanceTest extends AccessTokenConformanceSuite {
+
+    @Override
+    protected Function<String, Verified> verifier(String secret) {
+        AccessTokenVerifier verifier = AccessTokenVerifier.builder().secret(secret).cacheSize(0).build();
+        return token -> {
+            VerifiedPrincipal principal = verifier.verify(token);
+            return principal == null ? null : new Verified(
+                principal.userId(), principal.name(), principal.nationality(), principal.providerId()
+            );
+        };
+    }
+}
@@ -0,0 +1,99 @@
+package com.example.auth.verifier;
+
+import com.example.auth.verifier.conformance.TestTokens;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class AccessTokenVerifierTest {
+
+    private static final String SECRET = "verifier-secret-verifier-secret-verifier-secret";
+    private static final Instant ISSUED_AT = Instant.parse("2026-01-01T00:00:00Z");
+
+    private final AtomicLong nowMillis = new AtomicLong(ISSUED_AT.toEpochMilli());
+    private final Clock clock = new Clock() {
+        @Override
+        public ZoneOffset getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return Instant.ofEpochMilli(nowMillis.get());
+        }
+    };
+
+    private String token(long userId) {
+        return TestTokens.hs256(SECRET,
+            TestTokens.claims(userId, "name", "KR", "sub-" + userId, ISSUED_AT, ISSUED_AT.plusSeconds(60)));
+    }
+
+    @Test
+    @DisplayName("캐시에 있는 토큰도 만료 시각이 지나면 거부한다")
+    void cachedTokenExpires() {
+        AccessTokenVerifier verifier = AccessTokenVerifier.builder().secret(SECRET).clock(clock).build();
+        String token = token(7L);
+
+        assertThat(verifier.verify(token)).isNotNull();
+        assertThat(verifier.verify(token)).isNotNull();
+
+        nowMillis.addAndGet(Duration.ofSeconds(61).toMillis());
+        assertThat(verifier.verify(token)).isNull();
+    }
+
+    @Test
+    @DisplayName("허용 오차 안에서는 만료 직후 토큰도 수락한다")
+    void allowsClockSkew() {
+        AccessTokenVerifier verifier = AccessTokenVerifier.builder()
+            .secret(SECRET).clock(clock).allowedClockSkew(Duration.ofSeconds(5)).build();
+        nowMillis.addAndGet(Duration.ofSeconds(63).toMillis());
+
+        assertThat(verifier.verify(token(7L))).isNotNull();
+    }
+
+    @Test
+    @DisplayName("폐기 시각 이전에 발급된 토큰은 캐시 여부와 관계없이 거부한다")
+    void rejectsRevokedUser() {
+        RevocationFeed feed = RevocationFeed.manual(Duration.ofHours(1), clock);
+        AccessTokenVerifier verifier = AccessTokenVerifier.builder()
+            .secret(SECRET).clock(clock).revocationFeed(feed).build();
+        String token = token(7L);
+        assertThat(verifier.verify(token)).isNotNull();
+
+        feed.revoke(7L, ISSUED_AT.plusSeconds(10).toEpochMilli());
+
+        assertThat(verifier.verify(token)).isNull();
+        assertThat(verifier.verify(token(8L))).isNotNull();
+    }
+
+    @Test
+    @DisplayName("Bearer 헤더에서 토큰을 꺼내 검증한다")
+    void verifiesAuthorizationHeader() {
+        AccessTokenVerifier verifier = AccessTokenVerifier.builder().secret(SECRET).clock(clock).build();
+
+        assertThat(verifier.verifyAuthorizationHeader("Bearer " + token(7L)).userId()).isEqualTo(7L);
+        assertThat(verifier.verifyAuthorizationHeader("Basic abc")).isNull();
+        assertThat(verifier.verifyAuthorizationHeader("Bearer  ")).isNull();
+        assertThat(verifier.verifyAuthorizationHeader(null)).isNull();
+    }
+
+    @Test
+    @DisplayName("32바이트보다 짧은 키는 만들 때 거부한다")
+    void rejectsShortSecret() {
+        assertThatThrownBy(() -> AccessTokenVerifier.builder().secret("short"))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+}
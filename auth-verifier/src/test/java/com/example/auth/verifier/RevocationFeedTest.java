@@ -0,0 +1,72 @@
+package com.example.auth.verifier;
+
+import com.sun.net.httpserver.HttpServer;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RevocationFeedTest {
+
+    private static final Instant NOW = Instant.parse("2026-01-01T00:00:00Z");
+
+    @Test
+    @DisplayName("폐기 시각보다 앞선 초에 발급된 토큰만 폐기로 본다")
+    void comparesIssuedAtInSeconds() {
+        RevocationFeed feed = RevocationFeed.manual(Duration.ofHours(1), Clock.fixed(NOW, ZoneOffset.UTC));
+        feed.revoke(1L, NOW.toEpochMilli() + 500);
+
+        assertThat(feed.isRevoked(1L, NOW.minusSeconds(1).toEpochMilli())).isTrue();
+        assertThat(feed.isRevoked(1L, NOW.toEpochMilli())).isFalse();
+        assertThat(feed.isRevoked(2L, NOW.minusSeconds(1).toEpochMilli())).isFalse();
+        assertThat(feed.isRevoked(null, NOW.toEpochMilli())).isFalse();
+    }
+
+    @Test
+    @DisplayName("피드 응답을 반영하고 보존 기간이 지난 항목은 지운다")
+    void appliesFeedAndPrunes() {
+        RevocationFeed feed = RevocationFeed.manual(Duration.ofMinutes(10), Clock.fixed(NOW, ZoneOffset.UTC));
+
+        feed.apply("{\"cursor\":" + NOW.toEpochMilli() + ",\"revocations\":["
+            + "{\"userId\":1,\"revokedAt\":" + NOW.minusSeconds(60).toEpochMilli() + "},"
+            + "{\"userId\":2,\"revokedAt\":" + NOW.minusSeconds(3600).toEpochMilli() + "}]}");
+
+        assertThat(feed.size()).isEqualTo(1);
+        assertThat(feed.isRevoked(1L, NOW.minusSeconds(120).toEpochMilli())).isTrue();
+    }
+
+    @Test
+    @DisplayName("인증 서버 피드를 since 커서와 함께 읽는다")
+    void pollsEndpoint() throws Exception {
+        AtomicReference<String> query = new AtomicReference<>();
+        HttpServer server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        long revokedAt = System.currentTimeMillis();
+        server.createContext("/actuator/revocations", exchange -> {
+            query.set(exchange.getRequestURI().getQuery());
+            byte[] body = ("{\"cursor\":" + revokedAt + ",\"revocations\":[{\"userId\":9,\"revokedAt\":" + revokedAt + "}]}")
+                .getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(200, body.length);
+            exchange.getResponseBody().write(body);
+            exchange.close();
+        });
+        server.start();
+        URI endpoint = URI.create("http://127.0.0.1:" + server.getAddress().getPort() + "/actuator/revocations");
+        try (RevocationFeed feed = RevocationFeed.polling(endpoint, Duration.ofHours(1), Duration.ofHours(1))) {
+            feed.pollOnce();
+
+            assertThat(query.get()).startsWith("since=");
+            assertThat(feed.isRevoked(9L, revokedAt - 1000)).isTrue();
+        } finally {
+            server.stop(0);
+        }
+    }
+}
@@ -0,0 +1,163 @@
+package com.example.auth.verifier.conformance;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.function.Function;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 액세스 토큰 검증 적합성 테스트. 서버(JwtTokenProvider)와 auth-verifier 라이브러리가 같은 토큰에 대해
+ * 같은 판정(수락 시 같은 사용자 정보, 거부)을 내리는지 양쪽에서 이 클래스를 상속해 확인한다.
+ */
+public abstract class AccessTokenConformanceSuite {
+
+    // 64바이트: HS256/HS384/HS512 모두 검증할 수 있는 길이
+    protected static final String SECRET = "conformance-secret-conformance-secret-conformance-secret-0123456";
+    // 32바이트: HS256만 검증할 수 있는 길이
+    protected static final String SHORT_SECRET = "conformance-secret-32-bytes-long";
+
+    /**
+     * 검증 결과를 구현과 무관한 형태로 맞춘 것. 거부되면 검증 함수가 null을 돌려준다.
+     */
+    public record Verified(Long userId, String name, String nationality, String providerId) {}
+
+    /**
+     * secret으로 만든 검증기. 허용 오차 0, 캐시 없이(또는 캐시가 결과에 영향을 주지 않게) 구성한다.
+     */
+    protected abstract Function<String, Verified> verifier(String secret);
+
+    private Verified verify(String token) {
+        return verifier(SECRET).apply(token);
+    }
+
+    private static Map<String, Object> validClaims() {
+        Instant now = Instant.now();
+        return TestTokens.claims(7L, "홍길동", "KR", "google-sub", now, now.plusSeconds(600));
+    }
+
+    @Test
+    @DisplayName("HS256 토큰을 수락하고 사용자 정보를 복원한다")
+    void acceptsHs256() {
+        assertThat(verify(TestTokens.hs256(SECRET, validClaims())))
+            .isEqualTo(new Verified(7L, "홍길동", "KR", "google-sub"));
+    }
+
+    @Test
+    @DisplayName("키가 충분히 길면 HS384/HS512 토큰도 수락한다")
+    void acceptsLongerHmacWithLongKey() {
+        assertThat(verify(TestTokens.signed("HS384", SECRET, validClaims()))).isNotNull();
+        assertThat(verify(TestTokens.signed("HS512", SECRET, validClaims()))).isNotNull();
+    }
+
+    @Test
+    @DisplayName("키가 알고리즘보다 짧으면 HS512 토큰을 거부한다")
+    void rejectsWeakKeyForAlgorithm() {
+        Function<String, Verified> shortKeyVerifier = verifier(SHORT_SECRET);
+
+        assertThat(shortKeyVerifier.apply(TestTokens.hs256(SHORT_SECRET, validClaims()))).isNotNull();
+        assertThat(shortKeyVerifier.apply(TestTokens.signed("HS512", SHORT_SECRET, validClaims()))).isNull();
+    }
+
+    @Test
+    @DisplayName("다른 키로 서명되었거나 클레임이 바뀐 토큰은 거부한다")
+    void rejectsForeignOrTamperedToken() {
+        String token = TestTokens.hs256(SECRET, validClaims());
+        Map<String, Object> escalated = validClaims();
+        escalated.put("jti", "1");
+
+        assertThat(verify(TestTokens.hs256(SECRET.replace('c', 'x'), validClaims()))).isNull();
+        assertThat(verify(TestTokens.withPayload(token, escalated))).isNull();
+    }
+
+    @Test
+    @DisplayName("alg none 토큰과 헤더 알고리즘을 바꾼 토큰은 거부한다")
+    void rejectsAlgorithmConfusion() {
+        assertThat(verify(TestTokens.unsigned(validClaims()))).isNull();
+        assertThat(verify(TestTokens.withHeaderAlg("RS256", SECRET, validClaims()))).isNull();
+        assertThat(verify(TestTokens.withHeaderAlg("none", SECRET, validClaims()))).isNull();
+    }
+
+    @Test
+    @DisplayName("만료되었거나 아직 유효 시작 전(nbf)인 토큰은 거부한다")
+    void rejectsOutsideValidityWindow() {
+        Instant now = Instant.now();
+        Map<String, Object> expired = TestTokens.claims(7L, "n", null, "sub", now.minusSeconds(120), now.minusSeconds(60));
+        Map<String, Object> notYetValid = validClaims();
+        notYetValid.put("nbf", now.plusSeconds(60).getEpochSecond());
+
+        assertThat(verify(TestTokens.hs256(SECRET, expired))).isNull();
+        assertThat(verify(TestTokens.hs256(SECRET, notYetValid))).isNull();
+    }
+
+    @Test
+    @DisplayName("exp/jti/선택 클레임이 없어도 서명이 맞으면 수락한다")
+    void acceptsMissingOptionalClaims() {
+        Map<String, Object> claims = validClaims();
+        claims.remove("exp");
+        claims.remove("jti");
+        claims.put("nationality", null);
+
+        assertThat(verify(TestTokens.hs256(SECRET, claims)))
+            .isEqualTo(new Verified(null, "홍길동", null, "google-sub"));
+    }
+
+    @Test
+    @DisplayName("jti가 숫자가 아니거나 문자열 클레임의 타입이 다르면 거부한다")
+    void rejectsMalformedClaims() {
+        Map<String, Object> badJti = validClaims();
+        badJti.put("jti", "not-a-number");
+        Map<String, Object> numericName = validClaims();
+        numericName.put("name", 42);
+
+        assertThat(verify(TestTokens.hs256(SECRET, badJti))).isNull();
+        assertThat(verify(TestTokens.hs256(SECRET, numericName))).isNull();
+    }
+
+    @Test
+    @DisplayName("압축 형식(v2) 토큰을 헤더 인코딩과 관계없이 같은 사용자 정보로 수락한다")
+    void acceptsCompactProfile() {
+        Instant now = Instant.now();
+        Map<String, Object> claims = TestTokens.compactClaims(7L, "홍길동", "KR", "google-sub", now, now.plusSeconds(600));
+        Map<String, Object> minimal = TestTokens.compactClaims(null, "name", null, "sub", now, now.plusSeconds(600));
+
+        assertThat(verify(TestTokens.compact(SECRET, claims)))
+            .isEqualTo(new Verified(7L, "홍길동", "KR", "google-sub"));
+        assertThat(verify(TestTokens.withHeader("{\"v\":2, \"alg\":\"HS256\"}", SECRET, claims)))
+            .isEqualTo(new Verified(7L, "홍길동", "KR", "google-sub"));
+        assertThat(verify(TestTokens.compact(SECRET, minimal)))
+            .isEqualTo(new Verified(null, "name", null, "sub"));
+    }
+
+    @Test
+    @DisplayName("압축 형식의 만료/변조/타입 오류와 모르는 토큰 버전은 거부한다")
+    void rejectsInvalidCompactTokens() {
+        Instant now = Instant.now();
+        Map<String, Object> claims = TestTokens.compactClaims(7L, "name", null, "sub", now, now.plusSeconds(600));
+        Map<String, Object> expired = TestTokens.compactClaims(7L, "name", null, "sub",
+            now.minusSeconds(120), now.minusSeconds(60));
+        Map<String, Object> escalated = TestTokens.compactClaims(1L, "name", null, "sub", now, now.plusSeconds(600));
+        Map<String, Object> stringUserId = TestTokens.compactClaims(7L, "n", null, "sub", now, now.plusSeconds(600));
+        stringUserId.put("u", "7");
+
+        assertThat(verify(TestTokens.compact(SECRET, expired))).isNull();
+        assertThat(verify(TestTokens.compact(SECRET.replace('c', 'x'), claims))).isNull();
+        assertThat(verify(TestTokens.withPayload(TestTokens.compact(SECRET, claims), escalated))).isNull();
+        assertThat(verify(TestTokens.compact(SECRET, stringUserId))).isNull();
+        assertThat(verify(TestTokens.withHeader("{\"alg\":\"HS256\",\"v\":3}", SECRET, claims))).isNull();
+    }
+
+    @Test
+    @DisplayName("JWS 형식이 아닌 문자열은 거부한다")
+    void rejectsMalformedTokens() {
+        String token = TestTokens.hs256(SECRET, validClaims());
+
+        assertThat(verify("not-a-jwt")).isNull();
+        assertThat(verify(token.substring(0, token.lastIndexOf('.')))).isNull();
+        assertThat(verify(token + ".extra")).isNull();
+        assertThat(verify(token.substring(0, token.lastIndexOf('.') + 1))).isNull();
+        assertThat(verify("e30.e30.e30")).isNull();
+    }
+}
@@ -0,0 +1,158 @@
+package com.example.auth.verifier.conformance;
+
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+/**
+ * 적합성 테스트용 JWT를 JDK만으로 만든다. 서버(JJWT)와 라이브러리 어느 쪽 구현에도 기대지 않도록
+ * 헤더/클레임 JSON과 서명을 직접 조립한다. 정상 토큰뿐 아니라 alg none, 잘못된 타입 같은 토큰도 만든다.
+ */
+public final class TestTokens {
+
+    private static final Base64.Encoder BASE64_URL = Base64.getUrlEncoder().withoutPadding();
+
+    private TestTokens() {
+    }
+
+    /**
+     * 서버가 발급하는 것과 같은 구성의 클레임(sub/name/nationality/providerId/iat/exp/jti).
+     */
+    public static Map<String, Object> claims(Long userId, String name, String nationality, String providerId,
+                                             Instant issuedAt, Instant expiresAt) {
+        Map<String, Object> claims = new LinkedHashMap<>();
+        claims.put("sub", providerId);
+        claims.put("name", name);
+        claims.put("nationality", nationality);
+        claims.put("providerId", providerId);
+        claims.put("iat", issuedAt.getEpochSecond());
+        claims.put("exp", expiresAt.getEpochSecond());
+        if (userId != null) {
+            claims.put("jti", userId.toString());
+        }
+        return claims;
+    }
+
+    /**
+     * 압축 형식(v2)의 클레임(sub/u/n/c/iat/exp). 값이 없는 클레임은 넣지 않는다.
+     */
+    public static Map<String, Object> compactClaims(Long userId, String name, String nationality, String providerId,
+                                                    Instant issuedAt, Instant expiresAt) {
+        Map<String, Object> claims = new LinkedHashMap<>();
+        claims.put("sub", providerId);
+        claims.put("u", userId);
+        claims.put("n", name);
+        claims.put("c", nationality);
+        claims.put("iat", issuedAt.getEpochSecond());
+        claims.put("exp", expiresAt.getEpochSecond());
+        return claims;
+    }
+
+    /**
+     * 서버가 압축 형식으로 발급하는 것과 같은 헤더({"alg":"HS256","v":2})로 서명한다.
+     */
+    public static String compact(String secret, Map<String, Object> claims) {
+        return withHeader("{\"alg\":\"HS256\",\"v\":2}", secret, claims);
+    }
+
+    /**
+     * 헤더 JSON을 그대로 써서 HS256으로 서명한다(멤버 순서가 다른 헤더, 모르는 버전 등).
+     */
+    public static String withHeader(String headerJson, String secret, Map<String, Object> claims) {
+        String signingInput = encode(headerJson) + "." + encode(toJson(claims));
+        return signingInput + "." + BASE64_URL.encodeToString(hmac("HS256", secret, signingInput));
+    }
+
+    public static String hs256(String secret, Map<String, Object> claims) {
+        return signed("HS256", secret, claims);
+    }
+
+    /**
+     * alg는 HS256/HS384/HS512 중 하나. 헤더에는 alg만 넣는다(JJWT와 같다).
+     */
+    public static String signed(String alg, String secret, Map<String, Object> claims) {
+        String signingInput = encode("{\"alg\":\"" + alg + "\"}") + "." + encode(toJson(claims));
+        return signingInput + "." + BASE64_URL.encodeToString(hmac(alg, secret, signingInput));
+    }
+
+    /**
+     * 서명 없는 토큰(alg none, 마지막 구간이 비어 있다).
+     */
+    public static String unsigned(Map<String, Object> claims) {
+        return encode("{\"alg\":\"none\"}") + "." + encode(toJson(claims)) + ".";
+    }
+
+    /**
+     * 헤더는 다른 알고리즘(RS256 등)이라고 주장하지만 HS256 키로 서명한 토큰.
+     */
+    public static String withHeaderAlg(String headerAlg, String secret, Map<String, Object> claims) {
+        String signingInput = encode("{\"alg\":\"" + headerAlg + "\"}") + "." + encode(toJson(claims));
+        return signingInput + "." + BASE64_URL.encodeToString(hmac("HS256", secret, signingInput));
+    }
+
+    /**
+     * 서명은 그대로 두고 클레임만 바꿔 끼운 토큰.
+     */
+    public static String withPayload(String token, Map<String, Object> claims) {
+        int first = token.indexOf('.');
+        int second = token.indexOf('.', first + 1);
+        return token.substring(0, first + 1) + encode(toJson(claims)) + token.substring(second);
+    }
+
+    private static byte[] hmac(String alg, String secret, String signingInput) {
+        String algorithm = "Hmac" + alg.replace("HS", "SHA");
+        try {
+            Mac mac = Mac.getInstance(algorithm);
+            mac.init(new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), algorithm));
+            return mac.doFinal(signingInput.getBytes(StandardCharsets.US_ASCII));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String encode(String json) {
+        return BASE64_URL.encodeToString(json.getBytes(StandardCharsets.UTF_8));
+    }
+
+    // 문자열/숫자/불리언/null 값만 있는 평평한 객체면 충분하다. JJWT처럼 null 값은 생략한다.
+    private static String toJson(Map<String, Object> claims) {
+        StringBuilder json = new StringBuilder("{");
+        for (Map.Entry<String, Object> entry : claims.entrySet()) {
+            Object value = entry.getValue();
+            if (value == null) {
+                continue;
+            }
+            if (json.length() > 1) {
+                json.append(',');
+            }
+            appendString(json, entry.getKey());
+            json.append(':');
+            if (value instanceof String text) {
+                appendString(json, text);
+            } else {
+                json.append(value);
+            }
+        }
+        return json.append('}').toString();
+    }
+
+    private static void appendString(StringBuilder json, String value) {
+        json.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"' || c == '\\') {
+                json.append('\\').append(c);
+            } else if (c < 0x20) {
+                json.append(String.format("\\u%04x", (int) c));
+            } else {
+                json.append(c);
+            }
+        }
+        json.append('"');
+    }
+}
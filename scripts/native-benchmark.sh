@@ -0,0 +1,94 @@
+#!/usr/bin/env bash
+# JVM 이미지와 네이티브 이미지의 기동 시간, RSS, 정상 상태 처리량을 비교한다.
+#
+# 사용법: MYSQL_PASSWORD=... MYSQL_ROOT_PASSWORD=... scripts/native-benchmark.sh [처리량 측정 초]
+# - 필요 도구: docker, curl, openssl, hey(https://github.com/rakyll/hey)
+# - 처리량은 GET /api/auth/me(JWT 검증 경로, DB/Redis 미사용)로 잰다. 토큰은 스크립트가 같은 비밀키로 직접 서명한다.
+# - RSS는 워밍업 전(기동 직후)과 부하 후의 컨테이너 메모리 사용량(docker stats)이다.
+# - 결과 표는 docs/native-benchmark.md에 쓴다(측정한 커밋과 호스트를 함께 남긴다). 바뀐 결과를 커밋해 비교 기록을 남긴다.
+set -euo pipefail
+
+DURATION="${1:-30}"
+CONCURRENCY="${CONCURRENCY:-64}"
+PORT=18080
+REPORT="docs/native-benchmark.md"
+SECRET="${AUTH_JWT_SECRET:-native-benchmark-secret-native-benchmark-secret}"
+cd "$(dirname "$0")/.."
+
+docker build -q -t sessac-auth:jvm . >/dev/null
+docker build -q --target native -t sessac-auth:native . >/dev/null
+
+docker compose up -d mysql redis >/dev/null
+until docker exec sessac-auth-mysql sh -c 'mysqladmin ping -h 127.0.0.1 -uroot -p"$MYSQL_ROOT_PASSWORD"' >/dev/null 2>&1; do
+  sleep 1
+done
+NETWORK="$(docker inspect sessac-auth-mysql -f '{{range $k, $v := .NetworkSettings.Networks}}{{$k}}{{end}}')"
+
+now_ms() { date +%s%3N; }
+b64url() { openssl base64 -A | tr '+/' '-_' | tr -d '='; }
+
+access_token() {
+  local now header payload signature
+  now="$(date +%s)"
+  header="$(printf '{"alg":"HS256"}' | b64url)"
+  payload="$(printf '{"sub":"bench","name":"Bench","providerId":"bench","jti":"1","iat":%d,"exp":%d}' "$now" "$((now + 3600))" | b64url)"
+  signature="$(printf '%s.%s' "$header" "$payload" | openssl dgst -binary -sha256 -hmac "$SECRET" | b64url)"
+  echo "$header.$payload.$signature"
+}
+
+rss() { docker stats --no-stream --format '{{.MemUsage}}' "$1" | cut -d/ -f1 | tr -d ' '; }
+
+ROWS=()
+
+benchmark() {
+  local image="$1"
+  local name="sessac-auth-native-bench"
+  local started ready token idle load rps p99 ok after
+  docker rm -f "$name" >/dev/null 2>&1 || true
+  started="$(now_ms)"
+  docker run -d --name "$name" --network "$NETWORK" -p "$PORT:8080" \
+    -e AUTH_JWT_SECRET="$SECRET" \
+    -e SPRING_DATASOURCE_URL="jdbc:mysql://mysql:3306/${MYSQL_DATABASE:-auth_db}?useSSL=false&allowPublicKeyRetrieval=true&serverTimezone=UTC" \
+    -e SPRING_DATASOURCE_USERNAME="${MYSQL_USER:-auth_user}" \
+    -e SPRING_DATASOURCE_PASSWORD="$MYSQL_PASSWORD" \
+    -e SPRING_REDIS_HOST=redis \
+    "$image" >/dev/null
+  until curl -fs "http://127.0.0.1:$PORT/actuator/health/readiness" >/dev/null 2>&1; do
+    sleep 0.05
+  done
+  ready="$(now_ms)"
+  idle="$(rss "$name")"
+  echo "$image: time-to-first-request=$((ready - started))ms rss-idle=$idle"
+
+  token="$(access_token)"
+  # 짧은 워밍업(JVM은 JIT 컴파일) 뒤 본 측정
+  hey -z 10s -c "$CONCURRENCY" -H "Authorization: Bearer $token" "http://127.0.0.1:$PORT/api/auth/me" >/dev/null
+  load="$(hey -z "${DURATION}s" -c "$CONCURRENCY" -H "Authorization: Bearer $token" "http://127.0.0.1:$PORT/api/auth/me")"
+  echo "$load" | grep -E 'Requests/sec|99%|Status code|\[200\]' | sed "s/^/  $image /"
+  rps="$(echo "$load" | awk '/Requests\/sec/ {print $2}')"
+  p99="$(echo "$load" | awk '/99% in/ {printf "%.1f", $3 * 1000}')"
+  ok="$(echo "$load" | awk '/\[200\]/ {print $2}')"
+  after="$(rss "$name")"
+  echo "$image: rss-after-load=$after"
+  ROWS+=("| ${image#*:} | $((ready - started)) | $idle | $after | $rps | $p99 | ${ok:-0} |")
+  docker rm -f "$name" >/dev/null
+}
+
+benchmark sessac-auth:jvm
+benchmark sessac-auth:native
+
+mkdir -p "$(dirname "$REPORT")"
+{
+  echo "# JVM / 네이티브 이미지 비교"
+  echo
+  echo "scripts/native-benchmark.sh가 생성한다. 직접 고치지 말고 스크립트를 다시 돌려 갱신한다."
+  echo
+  echo "- 측정: $(date -u +%Y-%m-%dT%H:%M:%SZ), 커밋 $(git rev-parse --short HEAD)"
+  echo "- 호스트: $(uname -sm), CPU $(getconf _NPROCESSORS_ONLN)개, docker $(docker version --format '{{.Server.Version}}')"
+  echo "- 부하: GET /api/auth/me, 동시 ${CONCURRENCY}, ${DURATION}초(10초 워밍업 후)"
+  echo
+  echo "| 이미지 | 첫 요청까지(ms) | RSS 기동 직후 | RSS 부하 후 | 처리량(req/s) | p99(ms) | 200 응답 수 |"
+  echo "|---|---|---|---|---|---|---|"
+  printf '%s\n' "${ROWS[@]}"
+} > "$REPORT"
+echo "wrote $REPORT"
@@ -0,0 +1,31 @@
+#!/usr/bin/env bash
+# 로컬 Redis Cluster(마스터 3 + 레플리카 3, 127.0.0.1:7000-7005)를 띄우거나 내린다.
+#
+# 사용법: scripts/redis-cluster-local.sh up|down
+# - 클러스터 노드가 127.0.0.1 주소를 광고하도록 호스트 네트워크로 띄운다(Linux 전용).
+# - 클러스터 테스트: REDIS_CLUSTER_NODES=127.0.0.1:7000,127.0.0.1:7001,127.0.0.1:7002 ./gradlew test --tests '*ClusterTest'
+# - 애플리케이션: SPRING_PROFILES_ACTIVE=redis-cluster SPRING_REDIS_CLUSTER_NODES=127.0.0.1:7000,127.0.0.1:7001,127.0.0.1:7002
+set -euo pipefail
+
+NAME=sessac-auth-redis-cluster
+IMAGE=grokzen/redis-cluster:7.0.10
+
+case "${1:-up}" in
+  up)
+    docker rm -f "$NAME" >/dev/null 2>&1 || true
+    docker run -d --name "$NAME" --network host \
+      -e IP=127.0.0.1 -e INITIAL_PORT=7000 -e MASTERS=3 -e SLAVES_PER_MASTER=1 \
+      "$IMAGE" >/dev/null
+    until docker exec "$NAME" redis-cli -p 7000 cluster info 2>/dev/null | grep -q 'cluster_state:ok'; do
+      sleep 1
+    done
+    docker exec "$NAME" redis-cli -p 7000 cluster nodes
+    ;;
+  down)
+    docker rm -f "$NAME" >/dev/null
+    ;;
+  *)
+    echo "usage: $0 up|down" >&2
+    exit 1
+    ;;
+esac
@@ -0,0 +1,34 @@
+#!/usr/bin/env bash
+# 멀티 리전 refresh 저장소(auth.refresh.store=regional)를 로컬에서 시험할 Redis 두 개(지역 A: 6381, 지역 B: 6382)를 띄우거나 내린다.
+#
+# 사용법: scripts/redis-regions-local.sh up|down
+# - 복제 테스트(복제 지연 500ms 주입): REDIS_REGION_A=localhost:6381 REDIS_REGION_B=localhost:6382 ./gradlew test --tests '*RefreshReplicationTest'
+# - 애플리케이션(지역 A): AUTH_REFRESH_STORE=regional AUTH_REGION=a AUTH_REGION_PEERS=b=redis://localhost:6382 SPRING_REDIS_PORT=6381
+set -euo pipefail
+
+IMAGE=redis:7-alpine
+REGIONS=("a:6381" "b:6382")
+
+case "${1:-up}" in
+  up)
+    for region in "${REGIONS[@]}"; do
+      name="sessac-auth-redis-region-${region%%:*}"
+      port="${region##*:}"
+      docker rm -f "$name" >/dev/null 2>&1 || true
+      docker run -d --name "$name" -p "$port:6379" "$IMAGE" >/dev/null
+      until docker exec "$name" redis-cli ping 2>/dev/null | grep -q PONG; do
+        sleep 1
+      done
+      echo "$name: localhost:$port"
+    done
+    ;;
+  down)
+    for region in "${REGIONS[@]}"; do
+      docker rm -f "sessac-auth-redis-region-${region%%:*}" >/dev/null 2>&1 || true
+    done
+    ;;
+  *)
+    echo "usage: $0 up|down" >&2
+    exit 1
+    ;;
+esac
@@ -0,0 +1,54 @@
+#!/usr/bin/env bash
+# 기본 이미지와 fast-start 이미지의 기동 시간(컨테이너 시작 -> 첫 요청 성공)을 비교한다.
+#
+# 사용법: MYSQL_PASSWORD=... MYSQL_ROOT_PASSWORD=... scripts/startup-benchmark.sh [반복 횟수]
+# - docker compose의 mysql/redis를 띄우고 같은 네트워크에서 각 이미지를 반복 기동한다.
+# - fast-start 프로파일은 스키마를 검증만 하므로, 스키마를 만드는 기본 이미지를 먼저 돌린다.
+# - 결과: 이미지별 time-to-first-request 중앙값/최소/최대(ms)와 스프링 로그의 "Started ... in" 값.
+set -euo pipefail
+
+RUNS="${1:-5}"
+PORT=18080
+cd "$(dirname "$0")/.."
+
+docker build -q -t sessac-auth:jvm . >/dev/null
+docker build -q --target fast-start -t sessac-auth:fast . >/dev/null
+
+docker compose up -d mysql redis >/dev/null
+until docker exec sessac-auth-mysql sh -c 'mysqladmin ping -h 127.0.0.1 -uroot -p"$MYSQL_ROOT_PASSWORD"' >/dev/null 2>&1; do
+  sleep 1
+done
+NETWORK="$(docker inspect sessac-auth-mysql -f '{{range $k, $v := .NetworkSettings.Networks}}{{$k}}{{end}}')"
+
+now_ms() { date +%s%3N; }
+
+measure() {
+  local image="$1"
+  local name="sessac-auth-startup-bench"
+  local started finished
+  docker rm -f "$name" >/dev/null 2>&1 || true
+  started="$(now_ms)"
+  docker run -d --name "$name" --network "$NETWORK" -p "$PORT:8080" \
+    -e SPRING_DATASOURCE_URL="jdbc:mysql://mysql:3306/${MYSQL_DATABASE:-auth_db}?useSSL=false&allowPublicKeyRetrieval=true&serverTimezone=UTC" \
+    -e SPRING_DATASOURCE_USERNAME="${MYSQL_USER:-auth_user}" \
+    -e SPRING_DATASOURCE_PASSWORD="$MYSQL_PASSWORD" \
+    -e SPRING_REDIS_HOST=redis \
+    "$image" >/dev/null
+  until curl -fs "http://127.0.0.1:$PORT/actuator/health/readiness" >/dev/null 2>&1; do
+    sleep 0.05
+  done
+  finished="$(now_ms)"
+  echo "$((finished - started)) $(docker logs "$name" 2>&1 | grep -o 'Started AuthApplication in [0-9.]* seconds' | head -1)"
+  docker rm -f "$name" >/dev/null
+}
+
+for image in sessac-auth:jvm sessac-auth:fast; do
+  results=()
+  for _ in $(seq "$RUNS"); do
+    line="$(measure "$image")"
+    results+=("${line%% *}")
+    echo "  $image ${line}"
+  done
+  sorted=($(printf '%s\n' "${results[@]}" | sort -n))
+  echo "$image: time-to-first-request median=${sorted[$((RUNS / 2))]}ms min=${sorted[0]}ms max=${sorted[$((RUNS - 1))]}ms"
+done
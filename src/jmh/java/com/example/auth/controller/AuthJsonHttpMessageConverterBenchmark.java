@@ -0,0 +1,98 @@
+package com.example.auth.controller;
+
+import com.example.auth.dto.AuthResponse;
+import com.example.auth.dto.UserInfoResponse;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+
+/**
+ * /api/auth/me, /refresh 응답 직렬화 비교.
+ *
+ * - jackson: MappingJackson2HttpMessageConverter(기본 ObjectMapper)
+ * - fixed: AuthJsonHttpMessageConverter(미리 인코딩한 필드 이름 + 스레드별 버퍼)
+ *
+ * 응답 본문은 버리는 스트림에 써서 직렬화 비용만 잰다.
+ * 실행: ./gradlew jmh  (gc 프로파일러가 켜져 있어 gc.alloc.rate.norm = 응답당 할당 바이트)
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AuthJsonHttpMessageConverterBenchmark {
+
+    private MappingJackson2HttpMessageConverter jackson;
+    private AuthJsonHttpMessageConverter fixed;
+    private DiscardingOutputMessage message;
+    private UserInfoResponse userInfo;
+    private AuthResponse tokens;
+
+    @Setup
+    public void setUp() {
+        jackson = new MappingJackson2HttpMessageConverter(Jackson2ObjectMapperBuilder.json().build());
+        fixed = new AuthJsonHttpMessageConverter();
+        message = new DiscardingOutputMessage();
+        userInfo = new UserInfoResponse(123456L, "홍길동", "KR", "109876543210987654321");
+        tokens = new AuthResponse(
+            "eyJhbGciOiJIUzI1NiJ9.eyJzdWIiOiIxMjM0NTYiLCJuYW1lIjoiQmVuY2giLCJpYXQiOjE3MDAwMDAwMDAsImV4cCI6MTcwMDAwMzYwMH0."
+                + "c2lnbmF0dXJlLXNpZ25hdHVyZS1zaWduYXR1cmUtc2lnbmF0dXJl",
+            "0f8fad5b-d9cb-469f-a165-70867728950e"
+        );
+    }
+
+    @Benchmark
+    public void meJackson() throws IOException {
+        message.getHeaders().clear();
+        jackson.write(userInfo, MediaType.APPLICATION_JSON, message);
+    }
+
+    @Benchmark
+    public void meFixed() throws IOException {
+        message.getHeaders().clear();
+        fixed.write(userInfo, MediaType.APPLICATION_JSON, message);
+    }
+
+    @Benchmark
+    public void tokensJackson() throws IOException {
+        message.getHeaders().clear();
+        jackson.write(tokens, MediaType.APPLICATION_JSON, message);
+    }
+
+    @Benchmark
+    public void tokensFixed() throws IOException {
+        message.getHeaders().clear();
+        fixed.write(tokens, MediaType.APPLICATION_JSON, message);
+    }
+
+    private static final class DiscardingOutputMessage implements HttpOutputMessage {
+        private final HttpHeaders headers = new HttpHeaders();
+        private final OutputStream body = OutputStream.nullOutputStream();
+
+        @Override
+        public OutputStream getBody() {
+            return body;
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return headers;
+        }
+    }
+}
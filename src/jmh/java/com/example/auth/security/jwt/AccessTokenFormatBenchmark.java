@@ -0,0 +1,61 @@
+package com.example.auth.security.jwt;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * 액세스 토큰 형식별 크기와 초당 서명/검증 수 비교(auth.jwt.access-token-format).
+ *
+ * - legacy: JJWT 빌더/파서, 긴 클레임 이름, sub와 providerId 중복
+ * - compact: 미리 인코딩한 헤더, 짧은 클레임, 스레드별 버퍼에 바로 서명(CompactAccessTokenCodec)
+ *
+ * 토큰 바이트 수는 설정 단계에서 출력한다(구글 사용자처럼 nationality가 없는 경우와 있는 경우).
+ * 실행: ./gradlew jmh  (gc.alloc.rate.norm = 토큰당 할당 바이트)
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AccessTokenFormatBenchmark {
+
+    @Param({"legacy", "compact"})
+    public String format;
+
+    private JwtTokenProvider jwtTokenProvider;
+    private JwtUserPrincipal principal;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtTokenProvider = new JwtTokenProvider("benchmark-secret-benchmark-secret-benchmark-secret", 3600, format);
+        principal = new JwtUserPrincipal(123456L, "홍길동", null, "109876543210987654321");
+        token = jwtTokenProvider.createAccessToken(principal);
+        String withNationality = jwtTokenProvider.createAccessToken(
+            new JwtUserPrincipal(123456L, "홍길동", "KR", "109876543210987654321")
+        );
+        System.out.printf("%n%s access token bytes: %d (nationality=null), %d (nationality=KR)%n",
+            format, token.length(), withNationality.length());
+    }
+
+    @Benchmark
+    public String sign() {
+        return jwtTokenProvider.createAccessToken(principal);
+    }
+
+    @Benchmark
+    public JwtUserPrincipal verify() {
+        return jwtTokenProvider.verify(token);
+    }
+}
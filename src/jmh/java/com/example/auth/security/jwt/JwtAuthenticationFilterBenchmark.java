@@ -0,0 +1,88 @@
+package com.example.auth.security.jwt;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
+import org.springframework.util.StringUtils;
+
+/**
+ * JwtAuthenticationFilter의 요청당 할당량/지연 비교.
+ *
+ * - legacy: 이전 구현(validateToken + getPrincipal, UsernamePasswordAuthenticationToken, WebAuthenticationDetails)
+ * - current: 현재 필터(verify 한 번, JwtAuthentication)
+ *
+ * 실행: ./gradlew jmh  (gc 프로파일러가 켜져 있어 gc.alloc.rate.norm = 요청당 할당 바이트)
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtAuthenticationFilterBenchmark {
+
+    private JwtTokenProvider jwtTokenProvider;
+    private JwtAuthenticationFilter filter;
+    private MockHttpServletRequest request;
+    private MockHttpServletResponse response;
+    private FilterChain chain;
+
+    @Setup
+    public void setUp() {
+        jwtTokenProvider = new JwtTokenProvider("benchmark-secret-benchmark-secret-benchmark-secret", 3600);
+        filter = new JwtAuthenticationFilter(jwtTokenProvider);
+        String token = jwtTokenProvider.createAccessToken(new JwtUserPrincipal(42L, "Bench", "KR", "bench-sub"));
+        request = new MockHttpServletRequest("GET", "/api/auth/me");
+        request.addHeader("Authorization", "Bearer " + token);
+        response = new MockHttpServletResponse();
+        chain = (req, res) -> { };
+    }
+
+    @TearDown
+    public void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Benchmark
+    public void current(Blackhole blackhole) throws ServletException, IOException {
+        filter.doFilter(request, response, chain);
+        blackhole.consume(SecurityContextHolder.getContext().getAuthentication());
+        SecurityContextHolder.clearContext();
+    }
+
+    @Benchmark
+    public void legacy(Blackhole blackhole) {
+        String bearer = request.getHeader("Authorization");
+        String token = StringUtils.hasText(bearer) && bearer.startsWith("Bearer ") ? bearer.substring(7) : null;
+        if (StringUtils.hasText(token) && jwtTokenProvider.validateToken(token)) {
+            JwtUserPrincipal principal = jwtTokenProvider.getPrincipal(token);
+            UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
+                principal,
+                null,
+                principal.getAuthorities()
+            );
+            authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+            SecurityContextHolder.getContext().setAuthentication(authentication);
+        }
+        blackhole.consume(SecurityContextHolder.getContext().getAuthentication());
+        SecurityContextHolder.clearContext();
+    }
+}
@@ -0,0 +1,265 @@
+package com.example.auth.load;
+
+import com.example.auth.AuthApplication;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.testcontainers.DockerClientFactory;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.containers.MySQLContainer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * 로그인/리프레시/me/로그아웃 시나리오 믹스를 돌리는 자체 완결형 부하 테스트.
+ *
+ * - MySQL/Redis는 Testcontainers, 구글은 GoogleStubServer(가짜 ID 토큰 + 로컬 JWKS)로 대체한다.
+ * - 애플리케이션은 같은 JVM에서 임의 포트로 띄운다.
+ * - 엔드포인트별 처리량/백분위를 출력하고 build/load-results.json에 저장한 뒤,
+ *   src/loadTest/resources/load-baseline.json 대비 회귀가 있으면 실패한다.
+ *
+ * 설정(-D): loadtest.concurrency(64), loadtest.duration-seconds(30), loadtest.warmup-seconds(10),
+ *          loadtest.users(5000), loadtest.mix(login=10,refresh=25,me=60,logout=5)
+ */
+class AuthLoadSuiteTest {
+
+    private static final String CLIENT_ID = "load-client";
+    private static final String REDIRECT_URI = "app://load";
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    private static MySQLContainer<?> mysql;
+    private static GenericContainer<?> redis;
+    private static GoogleStubServer google;
+    private static ConfigurableApplicationContext application;
+    private static String baseUrl;
+
+    @BeforeAll
+    static void startEnvironment() throws Exception {
+        assumeTrue(DockerClientFactory.instance().isDockerAvailable(), "Docker is required for the load suite");
+
+        mysql = new MySQLContainer<>("mysql:8.0").withDatabaseName("auth_db");
+        redis = new GenericContainer<>("redis:7-alpine").withExposedPorts(6379);
+        mysql.start();
+        redis.start();
+        google = new GoogleStubServer(CLIENT_ID);
+
+        application = new SpringApplicationBuilder(AuthApplication.class)
+            .properties(applicationProperties())
+            .run();
+        baseUrl = "http://127.0.0.1:" + application.getEnvironment().getProperty("local.server.port");
+    }
+
+    @AfterAll
+    static void stopEnvironment() {
+        if (application != null) {
+            application.close();
+        }
+        if (google != null) {
+            google.close();
+        }
+        if (redis != null) {
+            redis.stop();
+        }
+        if (mysql != null) {
+            mysql.stop();
+        }
+    }
+
+    @Test
+    @DisplayName("시나리오 믹스 부하를 돌리고 기준선 대비 회귀가 없어야 한다")
+    void scenarioMixWithinBaseline() throws Exception {
+        int concurrency = Integer.getInteger("loadtest.concurrency", 64);
+        Duration warmup = Duration.ofSeconds(Integer.getInteger("loadtest.warmup-seconds", 10));
+        Duration duration = Duration.ofSeconds(Integer.getInteger("loadtest.duration-seconds", 30));
+        Map<Action, Integer> mix = parseMix(System.getProperty("loadtest.mix", "login=10,refresh=25,me=60,logout=5"));
+        int users = Integer.getInteger("loadtest.users", 5000);
+
+        run(concurrency, warmup, mix, users, new LatencyRecorder());
+        LatencyRecorder recorder = new LatencyRecorder();
+        double elapsedSeconds = run(concurrency, duration, mix, users, recorder);
+
+        Map<String, LatencyRecorder.Summary> results = recorder.summarize(elapsedSeconds);
+        System.out.printf("load suite: concurrency=%d duration=%ds mix=%s%n", concurrency, duration.toSeconds(), mix);
+        results.forEach((endpoint, summary) -> System.out.printf("  %-28s %s%n", endpoint, summary));
+        LoadBaseline.write(Path.of("build", "load-results.json"), 0.2, results);
+
+        List<String> regressions = LoadBaseline.load("/load-baseline.json").regressions(results);
+        assertThat(regressions).as("regressions against load-baseline.json").isEmpty();
+    }
+
+    private static double run(int concurrency, Duration duration, Map<Action, Integer> mix, int users,
+                              LatencyRecorder recorder) throws InterruptedException {
+        HttpClient httpClient = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(2)).build();
+        long started = System.nanoTime();
+        long deadline = started + duration.toNanos();
+        ExecutorService workers = Executors.newFixedThreadPool(concurrency);
+        for (int i = 0; i < concurrency; i++) {
+            workers.submit(() -> new VirtualUser(httpClient, recorder, mix, users).runUntil(deadline));
+        }
+        workers.shutdown();
+        workers.awaitTermination(duration.toSeconds() + 30, TimeUnit.SECONDS);
+        return (System.nanoTime() - started) / 1e9;
+    }
+
+    private static Map<String, Object> applicationProperties() {
+        Map<String, Object> properties = new LinkedHashMap<>();
+        properties.put("server.port", 0);
+        properties.put("spring.datasource.url", mysql.getJdbcUrl());
+        properties.put("spring.datasource.username", mysql.getUsername());
+        properties.put("spring.datasource.password", mysql.getPassword());
+        properties.put("spring.data.redis.host", redis.getHost());
+        properties.put("spring.data.redis.port", redis.getMappedPort(6379));
+        properties.put("spring.jpa.show-sql", false);
+        properties.put("google.oauth.client-id", CLIENT_ID);
+        properties.put("google.oauth.client-secret", "load-secret");
+        properties.put("google.oauth.redirect-uri", REDIRECT_URI);
+        properties.put("google.oauth.token-uri", google.tokenUri());
+        properties.put("google.oauth.jwk-uri", google.jwkUri());
+        properties.put("logging.level.root", "WARN");
+        // 서비스 자체의 처리량/지연을 잰다. 켜 두면 한도(login 20)를 넘는 요청이 바로 503이 되고,
+        // 가상 사용자가 토큰을 버리고 다시 로그인해 기준선이 부하 차단 효과를 재게 된다(LoadShedderTest가 따로 검증한다).
+        properties.put("auth.load-shedding.enabled", false);
+        return properties;
+    }
+
+    private static Map<Action, Integer> parseMix(String value) {
+        Map<Action, Integer> mix = new LinkedHashMap<>();
+        for (String part : value.split(",")) {
+            String[] kv = part.trim().split("=");
+            mix.put(Action.valueOf(kv[0].trim().toUpperCase()), Integer.parseInt(kv[1].trim()));
+        }
+        return mix;
+    }
+
+    enum Action {
+        LOGIN("POST /api/auth/google/code"),
+        REFRESH("POST /api/auth/refresh"),
+        ME("GET /api/auth/me"),
+        LOGOUT("POST /api/auth/logout");
+
+        final String endpoint;
+
+        Action(String endpoint) {
+            this.endpoint = endpoint;
+        }
+    }
+
+    /**
+     * 한 명의 가상 사용자: 토큰이 없으면 로그인하고, 이후에는 믹스 비율대로 행동을 고른다.
+     */
+    private static final class VirtualUser {
+        private final HttpClient httpClient;
+        private final LatencyRecorder recorder;
+        private final Map<Action, Integer> mix;
+        private final int totalWeight;
+        private final int users;
+        private String accessToken;
+        private String refreshToken;
+
+        VirtualUser(HttpClient httpClient, LatencyRecorder recorder, Map<Action, Integer> mix, int users) {
+            this.httpClient = httpClient;
+            this.recorder = recorder;
+            this.mix = mix;
+            this.totalWeight = mix.values().stream().mapToInt(Integer::intValue).sum();
+            this.users = users;
+        }
+
+        void runUntil(long deadline) {
+            while (System.nanoTime() < deadline) {
+                Action action = accessToken == null ? Action.LOGIN : pick();
+                long begin = System.nanoTime();
+                boolean ok;
+                try {
+                    ok = perform(action);
+                } catch (Exception e) {
+                    ok = false;
+                }
+                recorder.record(action.endpoint, System.nanoTime() - begin, ok);
+                if (!ok) {
+                    accessToken = null;
+                    refreshToken = null;
+                }
+            }
+        }
+
+        private Action pick() {
+            int roll = ThreadLocalRandom.current().nextInt(totalWeight);
+            for (Map.Entry<Action, Integer> entry : mix.entrySet()) {
+                roll -= entry.getValue();
+                if (roll < 0) {
+                    return entry.getKey();
+                }
+            }
+            return Action.ME;
+        }
+
+        private boolean perform(Action action) throws Exception {
+            switch (action) {
+                case LOGIN -> {
+                    String code = "u" + ThreadLocalRandom.current().nextInt(users);
+                    return acceptTokens(post("/api/auth/google/code",
+                        "{\"code\":\"" + code + "\",\"redirectUri\":\"" + REDIRECT_URI + "\"}", null));
+                }
+                case REFRESH -> {
+                    return acceptTokens(post("/api/auth/refresh", "{\"refreshToken\":\"" + refreshToken + "\"}", null));
+                }
+                case ME -> {
+                    HttpResponse<String> response = httpClient.send(
+                        HttpRequest.newBuilder(URI.create(baseUrl + "/api/auth/me"))
+                            .header("Authorization", "Bearer " + accessToken)
+                            .GET()
+                            .build(),
+                        HttpResponse.BodyHandlers.ofString()
+                    );
+                    return response.statusCode() == 200;
+                }
+                case LOGOUT -> {
+                    HttpResponse<String> response = post("/api/auth/logout", "", accessToken);
+                    accessToken = null;
+                    refreshToken = null;
+                    return response.statusCode() == 204;
+                }
+                default -> throw new IllegalStateException("unknown action " + action);
+            }
+        }
+
+        private boolean acceptTokens(HttpResponse<String> response) throws Exception {
+            if (response.statusCode() != 200) {
+                return false;
+            }
+            JsonNode body = OBJECT_MAPPER.readTree(response.body());
+            accessToken = body.path("accessToken").asText(null);
+            refreshToken = body.path("refreshToken").asText(null);
+            return accessToken != null;
+        }
+
+        private HttpResponse<String> post(String path, String json, String bearer) throws Exception {
+            HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json));
+            if (bearer != null) {
+                builder.header("Authorization", "Bearer " + bearer);
+            }
+            return httpClient.send(builder.build(), HttpResponse.BodyHandlers.ofString());
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package com.example.auth.load;
+
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.crypto.RSASSASigner;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.RSAKey;
+import com.nimbusds.jose.jwk.gen.RSAKeyGenerator;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+
+/**
+ * 구글 토큰 엔드포인트와 JWKS를 흉내 내는 로컬 스텁.
+ *
+ * - POST /token: 인가 코드를 sub로 삼아 RS256으로 서명한 가짜 ID 토큰을 돌려준다.
+ * - GET /certs: 서명 검증용 공개키(JWKS)를 돌려준다.
+ *
+ * 발급자(iss)는 실제 구글 값을 그대로 써서 GoogleOAuthClient의 검증 로직을 그대로 통과시킨다.
+ */
+public class GoogleStubServer implements AutoCloseable {
+
+    private static final String ISSUER = "https://accounts.google.com";
+
+    private final HttpServer server;
+    private final RSAKey signingKey;
+    private final RSASSASigner signer;
+    private final String clientId;
+    private final byte[] jwks;
+
+    public GoogleStubServer(String clientId) throws IOException, JOSEException {
+        this.clientId = clientId;
+        this.signingKey = new RSAKeyGenerator(2048).keyID("stub-key").generate();
+        this.signer = new RSASSASigner(signingKey);
+        this.jwks = new JWKSet(signingKey.toPublicJWK()).toString().getBytes(StandardCharsets.UTF_8);
+
+        this.server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        this.server.createContext("/token", this::token);
+        this.server.createContext("/certs", exchange -> respond(exchange, 200, jwks));
+        this.server.setExecutor(Executors.newFixedThreadPool(16));
+        this.server.start();
+    }
+
+    public String baseUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    public String tokenUri() {
+        return baseUrl() + "/token";
+    }
+
+    public String jwkUri() {
+        return baseUrl() + "/certs";
+    }
+
+    private void token(HttpExchange exchange) throws IOException {
+        Map<String, String> form = parseForm(new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8));
+        String code = form.get("code");
+        if (code == null || !clientId.equals(form.get("client_id"))) {
+            respond(exchange, 400, "{\"error\":\"invalid_request\"}".getBytes(StandardCharsets.UTF_8));
+            return;
+        }
+        try {
+            String idToken = idToken(code);
+            respond(exchange, 200, ("{\"id_token\":\"" + idToken + "\",\"token_type\":\"Bearer\"}")
+                .getBytes(StandardCharsets.UTF_8));
+        } catch (JOSEException e) {
+            respond(exchange, 500, new byte[0]);
+        }
+    }
+
+    private String idToken(String code) throws JOSEException {
+        Instant now = Instant.now();
+        JWTClaimsSet claims = new JWTClaimsSet.Builder()
+            .issuer(ISSUER)
+            .audience(clientId)
+            .subject("stub-" + code)
+            .claim("email", code + "@load.example.com")
+            .claim("name", "Load " + code)
+            .issueTime(Date.from(now))
+            .expirationTime(Date.from(now.plusSeconds(3600)))
+            .build();
+        SignedJWT jwt = new SignedJWT(new JWSHeader.Builder(JWSAlgorithm.RS256).keyID(signingKey.getKeyID()).build(), claims);
+        jwt.sign(signer);
+        return jwt.serialize();
+    }
+
+    private static Map<String, String> parseForm(String body) {
+        Map<String, String> form = new HashMap<>();
+        for (String pair : body.split("&")) {
+            int idx = pair.indexOf('=');
+            if (idx > 0) {
+                form.put(
+                    URLDecoder.decode(pair.substring(0, idx), StandardCharsets.UTF_8),
+                    URLDecoder.decode(pair.substring(idx + 1), StandardCharsets.UTF_8)
+                );
+            }
+        }
+        return form;
+    }
+
+    private static void respond(HttpExchange exchange, int status, byte[] body) throws IOException {
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, body.length == 0 ? -1 : body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+}
@@ -0,0 +1,137 @@
+package com.example.auth.load;
+
+import com.example.auth.grpc.v1.IntrospectRequest;
+import com.example.auth.grpc.v1.IntrospectResponse;
+import com.example.auth.grpc.v1.TokenIntrospectionGrpc;
+import com.example.auth.security.jwt.JwtTokenProvider;
+import com.example.auth.security.jwt.JwtUserPrincipal;
+import io.grpc.ManagedChannel;
+import io.grpc.ManagedChannelBuilder;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * 토큰 검증 처리량을 REST(GET /api/auth/me)와 gRPC introspection(묶음)으로 비교한다.
+ *
+ * - 실행 중인 인스턴스(auth.introspection.grpc.enabled=true)를 대상으로 한다. 토큰은 같은 비밀키로 직접 만든다.
+ * - REST는 요청 하나에 토큰 하나, gRPC는 한 채널(HTTP/2 커넥션) 위에서 요청 하나에 토큰 batch-size개를 보낸다.
+ * - 호출 지연 백분위와 초당 검증한 토큰 수를 출력한다.
+ *
+ * 실행 예)
+ * ./gradlew loadTest --tests '*IntrospectionLoadTest' \
+ *   -Dloadtest.base-url=http://localhost:8080 -Dloadtest.grpc-target=localhost:9090 \
+ *   -Dloadtest.jwt-secret=... -Dloadtest.concurrency=64 -Dloadtest.batch-size=100
+ */
+class IntrospectionLoadTest {
+
+    @Test
+    @DisplayName("REST /me와 gRPC introspection의 초당 검증 토큰 수를 보고한다")
+    void compareRestAndGrpc() throws Exception {
+        String baseUrl = System.getProperty("loadtest.base-url");
+        String grpcTarget = System.getProperty("loadtest.grpc-target");
+        assumeTrue(baseUrl != null && grpcTarget != null, "loadtest.base-url and loadtest.grpc-target are not set");
+
+        int concurrency = Integer.getInteger("loadtest.concurrency", 64);
+        int batchSize = Integer.getInteger("loadtest.batch-size", 100);
+        Duration duration = Duration.ofSeconds(Integer.getInteger("loadtest.duration-seconds", 20));
+        List<String> tokens = tokens(Integer.getInteger("loadtest.users", 1000));
+
+        HttpClient httpClient = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(2)).build();
+        LatencyRecorder rest = new LatencyRecorder();
+        double restSeconds = run(concurrency, duration, () -> {
+            String token = tokens.get(ThreadLocalRandom.current().nextInt(tokens.size()));
+            long begin = System.nanoTime();
+            boolean ok;
+            try {
+                HttpResponse<Void> response = httpClient.send(
+                    HttpRequest.newBuilder(URI.create(baseUrl + "/api/auth/me"))
+                        .header("Authorization", "Bearer " + token)
+                        .GET()
+                        .build(),
+                    HttpResponse.BodyHandlers.discarding()
+                );
+                ok = response.statusCode() == 200;
+            } catch (Exception e) {
+                ok = false;
+            }
+            rest.record("GET /api/auth/me", System.nanoTime() - begin, ok);
+        });
+
+        ManagedChannel channel = ManagedChannelBuilder.forTarget(grpcTarget).usePlaintext().build();
+        LatencyRecorder grpc = new LatencyRecorder();
+        double grpcSeconds;
+        try {
+            var stub = TokenIntrospectionGrpc.newBlockingStub(channel);
+            grpcSeconds = run(concurrency, duration, () -> {
+                IntrospectRequest.Builder request = IntrospectRequest.newBuilder();
+                int offset = ThreadLocalRandom.current().nextInt(tokens.size());
+                for (int i = 0; i < batchSize; i++) {
+                    request.addTokens(tokens.get((offset + i) % tokens.size()));
+                }
+                long begin = System.nanoTime();
+                boolean ok;
+                try {
+                    IntrospectResponse response = stub.withDeadlineAfter(2, TimeUnit.SECONDS)
+                        .introspect(request.build());
+                    ok = response.getResultsCount() == batchSize && response.getResults(0).hasPrincipal();
+                } catch (RuntimeException e) {
+                    ok = false;
+                }
+                grpc.record("grpc Introspect x" + batchSize, System.nanoTime() - begin, ok);
+            });
+        } finally {
+            channel.shutdownNow().awaitTermination(5, TimeUnit.SECONDS);
+        }
+
+        System.out.printf("introspection: concurrency=%d duration=%ds batch=%d%n",
+            concurrency, duration.toSeconds(), batchSize);
+        report(rest.summarize(restSeconds), 1);
+        report(grpc.summarize(grpcSeconds), batchSize);
+    }
+
+    private static void report(Map<String, LatencyRecorder.Summary> results, int tokensPerCall) {
+        results.forEach((endpoint, summary) -> System.out.printf("  %-28s %s tokens/s=%.0f%n",
+            endpoint, summary, summary.throughput() * tokensPerCall));
+    }
+
+    private static double run(int concurrency, Duration duration, Runnable call) throws InterruptedException {
+        long started = System.nanoTime();
+        long deadline = started + duration.toNanos();
+        ExecutorService workers = Executors.newFixedThreadPool(concurrency);
+        for (int i = 0; i < concurrency; i++) {
+            workers.submit(() -> {
+                while (System.nanoTime() < deadline) {
+                    call.run();
+                }
+            });
+        }
+        workers.shutdown();
+        workers.awaitTermination(duration.toSeconds() + 30, TimeUnit.SECONDS);
+        return (System.nanoTime() - started) / 1e9;
+    }
+
+    private static List<String> tokens(int users) {
+        JwtTokenProvider provider = new JwtTokenProvider(
+            System.getProperty("loadtest.jwt-secret", "change-me-please-change-me-please-change-me"), 3600
+        );
+        List<String> tokens = new ArrayList<>(users);
+        for (long id = 1; id <= users; id++) {
+            tokens.add(provider.createAccessToken(new JwtUserPrincipal(id, "Load " + id, "KR", "load-" + id)));
+        }
+        return tokens;
+    }
+}
@@ -0,0 +1,76 @@
+package com.example.auth.load;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 엔드포인트별 지연(ns)을 모으고 처리량/백분위를 계산한다.
+ * 부하 테스트 한 번 분량(수십만 건)만 담는 용도라 단순 배열 복사로 정렬한다.
+ */
+public class LatencyRecorder {
+
+    private final Map<String, Series> series = new ConcurrentHashMap<>();
+
+    public void record(String endpoint, long nanos, boolean success) {
+        Series s = series.computeIfAbsent(endpoint, key -> new Series());
+        if (success) {
+            s.add(nanos);
+        } else {
+            s.errors.incrementAndGet();
+        }
+    }
+
+    public Map<String, Summary> summarize(double elapsedSeconds) {
+        Map<String, Summary> result = new TreeMap<>();
+        series.forEach((endpoint, s) -> result.put(endpoint, s.summarize(elapsedSeconds)));
+        return result;
+    }
+
+    public record Summary(long count, long errors, double throughput, double p50Millis, double p95Millis,
+                          double p99Millis, double maxMillis) {
+
+        @Override
+        public String toString() {
+            return String.format("count=%d errors=%d rps=%.1f p50=%.2fms p95=%.2fms p99=%.2fms max=%.2fms",
+                count, errors, throughput, p50Millis, p95Millis, p99Millis, maxMillis);
+        }
+    }
+
+    private static final class Series {
+        private long[] values = new long[1024];
+        private int size;
+        private final AtomicLong errors = new AtomicLong();
+
+        synchronized void add(long nanos) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = nanos;
+        }
+
+        synchronized Summary summarize(double elapsedSeconds) {
+            long[] sorted = Arrays.copyOf(values, size);
+            Arrays.sort(sorted);
+            return new Summary(
+                size,
+                errors.get(),
+                elapsedSeconds > 0 ? size / elapsedSeconds : 0,
+                percentile(sorted, 0.50),
+                percentile(sorted, 0.95),
+                percentile(sorted, 0.99),
+                sorted.length == 0 ? 0 : sorted[sorted.length - 1] / 1_000_000.0
+            );
+        }
+
+        private static double percentile(long[] sorted, double quantile) {
+            if (sorted.length == 0) {
+                return 0;
+            }
+            int index = (int) Math.ceil(quantile * sorted.length) - 1;
+            return sorted[Math.max(0, Math.min(index, sorted.length - 1))] / 1_000_000.0;
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.example.auth.load;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 저장된 기준선(load-baseline.json)과 이번 실행 결과를 비교한다.
+ * 엔드포인트별 처리량이 기준보다 tolerance 이상 낮거나, p99가 tolerance 이상 높거나,
+ * 실패 비율이 maxErrorRate를 넘으면 회귀로 본다(실패한 요청이 빠르게 끝나 처리량/지연이 좋아 보이는 것을 막는다).
+ */
+public class LoadBaseline {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+    private static final double DEFAULT_MAX_ERROR_RATE = 0.01;
+
+    private final JsonNode root;
+
+    private LoadBaseline(JsonNode root) {
+        this.root = root;
+    }
+
+    public static LoadBaseline load(String resource) throws IOException {
+        try (InputStream in = LoadBaseline.class.getResourceAsStream(resource)) {
+            if (in == null) {
+                throw new IllegalStateException("baseline resource not found: " + resource);
+            }
+            return new LoadBaseline(OBJECT_MAPPER.readTree(in));
+        }
+    }
+
+    public List<String> regressions(Map<String, LatencyRecorder.Summary> results) {
+        double tolerance = root.path("tolerance").asDouble(0.2);
+        double maxErrorRate = root.path("maxErrorRate").asDouble(DEFAULT_MAX_ERROR_RATE);
+        List<String> regressions = new ArrayList<>();
+        root.path("endpoints").fields().forEachRemaining(entry -> {
+            String endpoint = entry.getKey();
+            JsonNode expected = entry.getValue();
+            LatencyRecorder.Summary actual = results.get(endpoint);
+            if (actual == null) {
+                regressions.add(endpoint + ": no samples");
+                return;
+            }
+            double errorRate = actual.count() == 0 ? 0 : (double) actual.errors() / actual.count();
+            if (errorRate > maxErrorRate) {
+                regressions.add(String.format("%s: error rate %.2f%% > %.2f%%", endpoint, errorRate * 100,
+                    maxErrorRate * 100));
+            }
+            double minThroughput = expected.path("throughput").asDouble() * (1 - tolerance);
+            if (actual.throughput() < minThroughput) {
+                regressions.add(String.format("%s: throughput %.1f < %.1f", endpoint, actual.throughput(), minThroughput));
+            }
+            double maxP99 = expected.path("p99Millis").asDouble() * (1 + tolerance);
+            if (actual.p99Millis() > maxP99) {
+                regressions.add(String.format("%s: p99 %.2fms > %.2fms", endpoint, actual.p99Millis(), maxP99));
+            }
+        });
+        return regressions;
+    }
+
+    /**
+     * 이번 실행 결과를 기준선 형식으로 저장한다. 기준선을 갱신하려면 이 파일로 resources의 기준선을 교체한다.
+     */
+    public static void write(Path target, double tolerance, Map<String, LatencyRecorder.Summary> results)
+        throws IOException {
+        ObjectNode root = OBJECT_MAPPER.createObjectNode();
+        root.put("tolerance", tolerance);
+        root.put("maxErrorRate", DEFAULT_MAX_ERROR_RATE);
+        ObjectNode endpoints = root.putObject("endpoints");
+        results.forEach((endpoint, summary) -> endpoints.putObject(endpoint)
+            .put("throughput", Math.round(summary.throughput() * 10) / 10.0)
+            .put("p99Millis", Math.round(summary.p99Millis() * 100) / 100.0));
+        Files.createDirectories(target.getParent());
+        OBJECT_MAPPER.writerWithDefaultPrettyPrinter().writeValue(target.toFile(), root);
+    }
+}
@@ -0,0 +1,73 @@
+package com.example.auth.load;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * /actuator/prometheus 텍스트 포맷을 읽어 "이름{라벨}" -> 값 맵으로 돌려준다.
+ * 엔드포인트는 스크레이프 계정(auth.metrics.*) Basic 인증을 요구한다.
+ */
+public class PrometheusScraper {
+
+    private final HttpClient httpClient;
+    private final URI endpoint;
+    private final String authorization;
+
+    public PrometheusScraper(HttpClient httpClient, String baseUrl, String username, String password) {
+        this.httpClient = httpClient;
+        this.endpoint = URI.create(baseUrl + "/actuator/prometheus");
+        this.authorization = "Basic " + Base64.getEncoder()
+            .encodeToString((username + ":" + password).getBytes(StandardCharsets.UTF_8));
+    }
+
+    public Map<String, Double> scrape() throws IOException, InterruptedException {
+        HttpResponse<String> response = httpClient.send(
+            HttpRequest.newBuilder(endpoint).header("Authorization", authorization).GET().build(),
+            HttpResponse.BodyHandlers.ofString()
+        );
+        if (response.statusCode() != 200) {
+            throw new IOException("Scrape of " + endpoint + " returned " + response.statusCode());
+        }
+        return parse(response.body());
+    }
+
+    static Map<String, Double> parse(String body) {
+        Map<String, Double> samples = new HashMap<>();
+        for (String line : body.split("\n")) {
+            if (line.isEmpty() || line.startsWith("#")) {
+                continue;
+            }
+            int split = line.lastIndexOf(' ');
+            if (split < 0) {
+                continue;
+            }
+            try {
+                samples.put(line.substring(0, split), Double.parseDouble(line.substring(split + 1)));
+            } catch (NumberFormatException ignored) {
+                // NaN/+Inf 외의 이상한 값은 건너뛴다.
+            }
+        }
+        return samples;
+    }
+
+    /**
+     * 라벨과 무관하게 이름이 같은 샘플 값을 합산한다(예: 풀 여러 개의 pending 합).
+     */
+    public static double sum(Map<String, Double> samples, String metricName) {
+        double total = 0;
+        for (Map.Entry<String, Double> entry : samples.entrySet()) {
+            String key = entry.getKey();
+            if (key.equals(metricName) || key.startsWith(metricName + "{")) {
+                total += entry.getValue();
+            }
+        }
+        return total;
+    }
+}
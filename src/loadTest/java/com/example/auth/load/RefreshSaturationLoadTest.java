@@ -0,0 +1,183 @@
+package com.example.auth.load;
+
+import com.example.auth.client.social.SocialProfile;
+import com.example.auth.entity.AuthProvider;
+import com.example.auth.service.UserBulkProvisioner;
+import com.example.auth.service.UserIdAllocator;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * /api/auth/refresh 부하에서 어떤 풀이 먼저 포화되는지 보여주는 부하 테스트.
+ *
+ * - MySQL에 부하용 사용자를, Redis에 리프레시 토큰을 직접 심고(구글 로그인 없이) 토큰 체인을 회전시킨다.
+ * - 부하 중 /actuator/prometheus를 주기적으로 읽어 Hikari 대기/톰캣 스레드/Lettuce 지연이 처음 한계를 넘은 시점을 기록한다.
+ *
+ * 실행 예)
+ * ./gradlew loadTest --tests '*RefreshSaturationLoadTest' \
+ *   -Dloadtest.base-url=http://localhost:8080 \
+ *   -Dloadtest.jdbc-url=jdbc:mysql://localhost:3306/auth_db -Dloadtest.jdbc-username=auth_user -Dloadtest.jdbc-password=... \
+ *   -Dloadtest.redis-host=localhost -Dloadtest.concurrency=256 -Dloadtest.duration-seconds=60 \
+ *   -Dloadtest.metrics-username=prometheus -Dloadtest.metrics-password=...
+ */
+class RefreshSaturationLoadTest {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    @Test
+    @DisplayName("refresh 부하에서 Hikari/Tomcat/Lettuce 중 먼저 포화되는 자원을 보고한다")
+    void reportsFirstSaturatedPool() throws Exception {
+        String baseUrl = System.getProperty("loadtest.base-url");
+        assumeTrue(baseUrl != null, "loadtest.base-url is not set");
+
+        int concurrency = Integer.getInteger("loadtest.concurrency", 128);
+        Duration duration = Duration.ofSeconds(Integer.getInteger("loadtest.duration-seconds", 30));
+        double redisLatencyBudgetSeconds = Integer.getInteger("loadtest.redis-latency-budget-ms", 20) / 1000.0;
+
+        ConcurrentLinkedQueue<String> tokens = new ConcurrentLinkedQueue<>(seedRefreshTokens(concurrency * 2));
+        HttpClient httpClient = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(2)).build();
+        PrometheusScraper scraper = new PrometheusScraper(
+            httpClient,
+            baseUrl,
+            System.getProperty("loadtest.metrics-username", "prometheus"),
+            System.getProperty("loadtest.metrics-password", "")
+        );
+        LatencyRecorder recorder = new LatencyRecorder();
+        Map<String, Long> firstSaturatedAtMillis = new LinkedHashMap<>();
+
+        long started = System.nanoTime();
+        long deadline = started + duration.toNanos();
+        ExecutorService workers = Executors.newFixedThreadPool(concurrency);
+        for (int i = 0; i < concurrency; i++) {
+            workers.submit(() -> refreshChain(httpClient, baseUrl, tokens, recorder, deadline));
+        }
+
+        while (System.nanoTime() < deadline) {
+            Map<String, Double> samples = scraper.scrape();
+            long at = Duration.ofNanos(System.nanoTime() - started).toMillis();
+            if (PrometheusScraper.sum(samples, "hikaricp_connections_pending") > 0) {
+                firstSaturatedAtMillis.putIfAbsent("hikari", at);
+            }
+            double busy = PrometheusScraper.sum(samples, "tomcat_threads_busy_threads");
+            double maxThreads = PrometheusScraper.sum(samples, "tomcat_threads_config_max_threads");
+            if (maxThreads > 0 && busy >= maxThreads) {
+                firstSaturatedAtMillis.putIfAbsent("tomcat", at);
+            }
+            if (PrometheusScraper.sum(samples, "lettuce_command_completion_seconds_max") > redisLatencyBudgetSeconds) {
+                firstSaturatedAtMillis.putIfAbsent("lettuce", at);
+            }
+            Thread.sleep(250);
+        }
+        workers.shutdown();
+        workers.awaitTermination(10, TimeUnit.SECONDS);
+
+        double elapsedSeconds = (System.nanoTime() - started) / 1e9;
+        System.out.printf("refresh load: concurrency=%d duration=%ds%n", concurrency, duration.toSeconds());
+        recorder.summarize(elapsedSeconds).forEach((endpoint, summary) ->
+            System.out.printf("  %-20s %s%n", endpoint, summary));
+        if (firstSaturatedAtMillis.isEmpty()) {
+            System.out.println("  no pool saturated; raise loadtest.concurrency");
+        } else {
+            firstSaturatedAtMillis.forEach((pool, at) ->
+                System.out.printf("  saturated: %-8s at +%dms%n", pool, at));
+            System.out.println("  first to saturate: " + firstSaturatedAtMillis.keySet().iterator().next());
+        }
+    }
+
+    private static void refreshChain(HttpClient httpClient, String baseUrl, ConcurrentLinkedQueue<String> tokens,
+                                     LatencyRecorder recorder, long deadline) {
+        String token = tokens.poll();
+        while (token != null && System.nanoTime() < deadline) {
+            long begin = System.nanoTime();
+            try {
+                HttpResponse<String> response = httpClient.send(
+                    HttpRequest.newBuilder(URI.create(baseUrl + "/api/auth/refresh"))
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString("{\"refreshToken\":\"" + token + "\"}"))
+                        .build(),
+                    HttpResponse.BodyHandlers.ofString()
+                );
+                boolean ok = response.statusCode() == 200;
+                recorder.record("POST /api/auth/refresh", System.nanoTime() - begin, ok);
+                if (ok) {
+                    JsonNode body = OBJECT_MAPPER.readTree(response.body());
+                    token = body.path("refreshToken").asText(null);
+                } else {
+                    token = tokens.poll();
+                }
+            } catch (Exception e) {
+                recorder.record("POST /api/auth/refresh", System.nanoTime() - begin, false);
+                token = tokens.poll();
+            }
+        }
+    }
+
+    private static List<String> seedRefreshTokens(int count) {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+            System.getProperty("loadtest.jdbc-url", "jdbc:mysql://localhost:3306/auth_db"),
+            System.getProperty("loadtest.jdbc-username", "auth_user"),
+            System.getProperty("loadtest.jdbc-password", "")
+        );
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        // users.id는 users_seq에서 나오므로 애플리케이션과 같은 규칙으로 한 번에 등록한다.
+        List<SocialProfile> profiles = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            profiles.add(new SocialProfile(AuthProvider.GOOGLE, "load-refresh-" + i, null, "Load " + i));
+        }
+        new UserBulkProvisioner(
+            jdbcTemplate,
+            new UserIdAllocator(jdbcTemplate, new TransactionTemplate(new DataSourceTransactionManager(dataSource))),
+            1000
+        ).provision(profiles);
+        LettuceConnectionFactory connectionFactory = new LettuceConnectionFactory(new RedisStandaloneConfiguration(
+            System.getProperty("loadtest.redis-host", "localhost"),
+            Integer.getInteger("loadtest.redis-port", 6379)
+        ));
+        connectionFactory.afterPropertiesSet();
+        connectionFactory.start();
+        try {
+            StringRedisTemplate redisTemplate = new StringRedisTemplate(connectionFactory);
+            List<String> tokens = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                String providerId = "load-refresh-" + i;
+                Long userId = jdbcTemplate.queryForObject(
+                    "SELECT id FROM users WHERE provider = 'GOOGLE' AND provider_id = ?", Long.class, providerId
+                );
+                String token = UUID.randomUUID().toString();
+                String version = redisTemplate.opsForValue().get("refreshver:" + userId);
+                redisTemplate.opsForValue().set(
+                    "refresh:" + token, userId + ":" + (version == null ? "0" : version), Duration.ofHours(1)
+                );
+                tokens.add(token);
+            }
+            return tokens;
+        } finally {
+            connectionFactory.destroy();
+        }
+    }
+}
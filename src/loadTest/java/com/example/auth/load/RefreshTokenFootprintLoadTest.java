@@ -0,0 +1,199 @@
+package com.example.auth.load;
+
+import com.example.auth.audit.AuditEventPublisher;
+import com.example.auth.dto.AuthResponse;
+import com.example.auth.entity.AuthProvider;
+import com.example.auth.entity.User;
+import com.example.auth.service.RedisGuard;
+import com.example.auth.service.RedisRefreshTokenStore;
+import com.example.auth.service.RefreshKeyLayout;
+import com.example.auth.service.RefreshTokenCodec;
+import com.example.auth.service.RefreshTokenService;
+import com.example.auth.service.UserService;
+import com.example.auth.service.VersionLookupBatcher;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.lettuce.core.metrics.CommandLatencyRecorder;
+import io.lettuce.core.protocol.ProtocolKeyword;
+import io.lettuce.core.resource.ClientResources;
+import io.lettuce.core.resource.DefaultClientResources;
+import java.net.SocketAddress;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Optional;
+import java.util.Properties;
+import java.util.concurrent.atomic.LongAdder;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceClientConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.testcontainers.DockerClientFactory;
+import org.testcontainers.containers.GenericContainer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+
+/**
+ * redis 모드와 stateless 모드의 리프레시 토큰 Redis 비용(메모리/명령 수)을 비교한다.
+ *
+ * - 모드마다 빈 Redis에서 세션(로그인) N개를 만들고 used_memory 증가분을 세션 수로 나눈다.
+ * - 이어서 세션마다 한 번씩 회전(consume -> issueRotated -> rememberRotation)하고
+ *   클라이언트 왕복 수(Lettuce 명령 기록)와 서버가 실행한 데이터 명령 수(INFO commandstats, 스크립트 내부 포함)를 회전 수로 나눈다.
+ *
+ * 실행 예) ./gradlew loadTest --tests '*RefreshTokenFootprintLoadTest' -Dloadtest.sessions=20000
+ */
+class RefreshTokenFootprintLoadTest {
+
+    private static final String ENCRYPTION_KEY = Base64.getEncoder().encodeToString(new byte[32]);
+
+    private static final LongAdder ROUND_TRIPS = new LongAdder();
+
+    private static GenericContainer<?> redis;
+    private static ClientResources clientResources;
+    private static LettuceConnectionFactory connectionFactory;
+
+    @BeforeAll
+    static void startRedis() {
+        assumeTrue(DockerClientFactory.instance().isDockerAvailable(), "Docker is required for the footprint comparison");
+        redis = new GenericContainer<>("redis:7-alpine").withExposedPorts(6379);
+        redis.start();
+        clientResources = DefaultClientResources.builder().commandLatencyRecorder(new RoundTripCounter()).build();
+        connectionFactory = new LettuceConnectionFactory(
+            new RedisStandaloneConfiguration(redis.getHost(), redis.getMappedPort(6379)),
+            LettuceClientConfiguration.builder().clientResources(clientResources).build()
+        );
+        connectionFactory.afterPropertiesSet();
+        connectionFactory.start();
+    }
+
+    @AfterAll
+    static void stopRedis() {
+        if (connectionFactory != null) {
+            connectionFactory.destroy();
+        }
+        if (clientResources != null) {
+            clientResources.shutdown();
+        }
+        if (redis != null) {
+            redis.stop();
+        }
+    }
+
+    @Test
+    @DisplayName("세션당 메모리와 회전당 Redis 명령 수를 모드별로 보고한다")
+    void compareModes() {
+        int sessions = Integer.getInteger("loadtest.sessions", 10000);
+
+        Footprint redisMode = measure("redis", sessions);
+        Footprint statelessMode = measure("stateless", sessions);
+
+        System.out.printf("refresh token footprint: sessions=%d%n", sessions);
+        System.out.printf("  %-10s %14s %18s %22s%n", "mode", "bytes/session", "round trips/refresh", "server commands/refresh");
+        for (Footprint footprint : List.of(redisMode, statelessMode)) {
+            System.out.printf("  %-10s %14.1f %18.2f %22.2f%n", footprint.mode(), footprint.bytesPerSession(),
+                footprint.roundTripsPerRefresh(), footprint.commandsPerRefresh());
+        }
+        assertThat(statelessMode.bytesPerSession()).isLessThan(redisMode.bytesPerSession());
+        assertThat(statelessMode.roundTripsPerRefresh()).isLessThan(redisMode.roundTripsPerRefresh());
+    }
+
+    private static Footprint measure(String mode, int sessions) {
+        StringRedisTemplate redisTemplate = new StringRedisTemplate(connectionFactory);
+        redisTemplate.afterPropertiesSet();
+        RedisGuard redisGuard = new RedisGuard(CircuitBreakerRegistry.ofDefaults());
+        UserService userService = mock(UserService.class);
+        given(userService.findById(anyLong())).willAnswer(invocation -> Optional.of(user(invocation.<Long>getArgument(0))));
+        RefreshTokenCodec codec = new RefreshTokenCodec(mode, ENCRYPTION_KEY);
+        RedisRefreshTokenStore store = new RedisRefreshTokenStore(
+            redisTemplate,
+            redisGuard,
+            codec,
+            new VersionLookupBatcher(redisTemplate, redisGuard, new SimpleMeterRegistry(), false, Duration.ZERO, 1),
+            new RefreshKeyLayout("legacy")
+        );
+        RefreshTokenService service = new RefreshTokenService(
+            store,
+            userService,
+            mock(AuditEventPublisher.class),
+            codec,
+            604800,
+            Duration.ofSeconds(5),
+            2,
+            Duration.ofMillis(500)
+        );
+
+        try (RedisConnection connection = connectionFactory.getConnection()) {
+            connection.serverCommands().flushAll();
+            long before = usedMemory(connection);
+            List<String> tokens = new ArrayList<>(sessions);
+            for (long userId = 1; userId <= sessions; userId++) {
+                // 로그아웃을 한 번 거친 사용자처럼 refreshver 키도 만들어 두 모드 모두 같은 조건으로 잰다.
+                redisTemplate.opsForValue().set("refreshver:" + userId, "1");
+                tokens.add(service.issue(user(userId)));
+            }
+            double bytesPerSession = (double) (usedMemory(connection) - before) / sessions;
+
+            connection.serverCommands().resetConfigStats();
+            ROUND_TRIPS.reset();
+            for (int i = 0; i < sessions; i++) {
+                String token = tokens.get(i);
+                User user = service.consumeAndRotate(token).orElseThrow();
+                String rotated = service.issueRotated(user, token);
+                service.rememberRotation(token, new AuthResponse("access", rotated));
+            }
+            long roundTrips = ROUND_TRIPS.sum();
+            Properties stats = connection.serverCommands().info("commandstats");
+            long serverCommands = 0;
+            for (String name : stats.stringPropertyNames()) {
+                // EVAL/EVALSHA 자체는 빼고 스크립트 안에서 실행된 명령을 센다.
+                if (name.startsWith("cmdstat_") && !name.startsWith("cmdstat_eval")) {
+                    serverCommands += calls(stats.getProperty(name));
+                }
+            }
+            return new Footprint(mode, bytesPerSession,
+                (double) roundTrips / sessions,
+                (double) serverCommands / sessions);
+        }
+    }
+
+    private static long usedMemory(RedisConnection connection) {
+        return Long.parseLong(connection.serverCommands().info("memory").getProperty("used_memory"));
+    }
+
+    private static long calls(String stat) {
+        for (String part : stat.split(",")) {
+            if (part.startsWith("calls=")) {
+                return Long.parseLong(part.substring("calls=".length()));
+            }
+        }
+        return 0L;
+    }
+
+    private static User user(long id) {
+        User user = new User(AuthProvider.GOOGLE, "footprint-" + id, null, "Footprint " + id);
+        ReflectionTestUtils.setField(user, "id", id);
+        return user;
+    }
+
+    // 명령이 완료될 때마다 호출되므로 왕복 수를 그대로 센다(INFO 등 측정용 명령은 reset 이후 1회뿐이다).
+    private static final class RoundTripCounter implements CommandLatencyRecorder {
+        @Override
+        public void recordCommandLatency(SocketAddress local, SocketAddress remote, ProtocolKeyword commandType,
+                                         long firstResponseLatency, long completionLatency) {
+            ROUND_TRIPS.increment();
+        }
+    }
+
+    private record Footprint(String mode, double bytesPerSession, double roundTripsPerRefresh, double commandsPerRefresh) {}
+}
@@ -0,0 +1,140 @@
+package com.example.auth.load;
+
+import com.example.auth.service.MappedRefreshTokenStore;
+import com.example.auth.service.RedisGuard;
+import com.example.auth.service.RedisRefreshTokenStore;
+import com.example.auth.service.RefreshKeyLayout;
+import com.example.auth.service.RefreshTokenCodec;
+import com.example.auth.service.RefreshTokenStore;
+import com.example.auth.service.VersionLookupBatcher;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.util.unit.DataSize;
+import org.testcontainers.DockerClientFactory;
+import org.testcontainers.containers.GenericContainer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * 리프레시 토큰 저장소 백엔드(redis / mapped)의 처리량을 비교한다.
+ *
+ * - 스레드마다 발급(create) -> 회전(consume) 한 쌍을 반복하고 초당 쌍 수와 평균 지연을 출력한다.
+ * - redis는 Testcontainers의 redis:7-alpine(로컬 루프백 왕복 포함), mapped는 임시 파일을 쓴다.
+ *
+ * 실행 예) ./gradlew loadTest --tests '*RefreshTokenStoreThroughputLoadTest' -Dloadtest.concurrency=16 -Dloadtest.duration-seconds=20
+ */
+class RefreshTokenStoreThroughputLoadTest {
+
+    private static final Duration TTL = Duration.ofMinutes(10);
+    private static final Duration GRACE = Duration.ofSeconds(5);
+
+    @Test
+    @DisplayName("백엔드별 발급/회전 처리량을 보고한다")
+    void compareBackends() throws Exception {
+        assumeTrue(DockerClientFactory.instance().isDockerAvailable(), "Docker is required for the redis backend");
+        int concurrency = Integer.getInteger("loadtest.concurrency", 16);
+        Duration duration = Duration.ofSeconds(Integer.getInteger("loadtest.duration-seconds", 10));
+
+        Throughput redisBackend;
+        GenericContainer<?> redis = new GenericContainer<>("redis:7-alpine").withExposedPorts(6379);
+        redis.start();
+        LettuceConnectionFactory connectionFactory = new LettuceConnectionFactory(
+            new RedisStandaloneConfiguration(redis.getHost(), redis.getMappedPort(6379))
+        );
+        try {
+            connectionFactory.afterPropertiesSet();
+            connectionFactory.start();
+            StringRedisTemplate redisTemplate = new StringRedisTemplate(connectionFactory);
+            RedisGuard redisGuard = new RedisGuard(CircuitBreakerRegistry.ofDefaults());
+            RedisRefreshTokenStore store = new RedisRefreshTokenStore(
+                redisTemplate,
+                redisGuard,
+                new RefreshTokenCodec("redis", ""),
+                new VersionLookupBatcher(redisTemplate, redisGuard, new SimpleMeterRegistry(), false, Duration.ZERO, 1),
+                new RefreshKeyLayout("legacy")
+            );
+            redisBackend = measure("redis", store, concurrency, duration);
+        } finally {
+            connectionFactory.destroy();
+            redis.stop();
+        }
+
+        Throughput mappedBackend;
+        Path directory = Files.createTempDirectory("refresh-store");
+        MappedRefreshTokenStore mapped = new MappedRefreshTokenStore(
+            directory.resolve("refresh-tokens.log"),
+            DataSize.ofMegabytes(256).toBytes(),
+            Duration.ofSeconds(1),
+            Duration.ofSeconds(5),
+            new SimpleMeterRegistry()
+        );
+        mapped.start();
+        try {
+            mappedBackend = measure("mapped", mapped, concurrency, duration);
+        } finally {
+            mapped.stop();
+        }
+
+        System.out.printf("refresh token store throughput: concurrency=%d duration=%ds%n", concurrency, duration.toSeconds());
+        System.out.printf("  %-8s %14s %14s%n", "backend", "rotations/s", "avg us");
+        for (Throughput throughput : List.of(redisBackend, mappedBackend)) {
+            System.out.printf("  %-8s %14.0f %14.1f%n", throughput.backend(), throughput.rotationsPerSecond(),
+                throughput.averageMicros());
+        }
+        assertThat(redisBackend.rotations()).isPositive();
+        assertThat(mappedBackend.rotations()).isPositive();
+    }
+
+    private static Throughput measure(String backend, RefreshTokenStore store, int concurrency, Duration duration)
+        throws Exception {
+        long started = System.nanoTime();
+        long deadline = started + duration.toNanos();
+        ExecutorService workers = Executors.newFixedThreadPool(concurrency);
+        List<Future<Long>> results = new ArrayList<>(concurrency);
+        for (int i = 0; i < concurrency; i++) {
+            long userId = i + 1;
+            results.add(workers.submit(() -> rotate(store, userId, deadline)));
+        }
+        workers.shutdown();
+        workers.awaitTermination(duration.toSeconds() + 30, TimeUnit.SECONDS);
+        double elapsedSeconds = (System.nanoTime() - started) / 1e9;
+
+        long rotations = 0;
+        for (Future<Long> result : results) {
+            rotations += result.get();
+        }
+        return new Throughput(backend, rotations,
+            rotations / elapsedSeconds,
+            rotations == 0 ? 0 : elapsedSeconds * 1e6 * concurrency / rotations);
+    }
+
+    private static long rotate(RefreshTokenStore store, long userId, long deadline) {
+        long rotations = 0;
+        String token = store.create(userId, 0, TTL);
+        while (System.nanoTime() < deadline) {
+            if (store.consume(token, GRACE).isEmpty()) {
+                throw new IllegalStateException("token was not consumable: " + token);
+            }
+            token = store.create(userId, 0, TTL);
+            rotations++;
+        }
+        return rotations;
+    }
+
+    private record Throughput(String backend, long rotations, double rotationsPerSecond, double averageMicros) {}
+}
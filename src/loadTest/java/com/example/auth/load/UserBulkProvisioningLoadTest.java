@@ -0,0 +1,136 @@
+package com.example.auth.load;
+
+import com.example.auth.client.social.SocialProfile;
+import com.example.auth.entity.AuthProvider;
+import com.example.auth.migration.V2__UserLookupIndexes;
+import com.example.auth.service.UserBulkProvisioner;
+import com.example.auth.service.UserIdAllocator;
+import com.zaxxer.hikari.HikariDataSource;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.sql.DataSource;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.DockerClientFactory;
+import org.testcontainers.containers.MySQLContainer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * 대량 사용자 등록(UserBulkProvisioner)의 초당 행 수를 사용자 한 명씩 쓰는 경우와 비교한다.
+ *
+ * - MySQL은 Testcontainers의 mysql:8.0. 스키마는 애플리케이션과 같은 Flyway 마이그레이션으로 만든다.
+ * - 한 명씩: 요청마다 한 명(id 예약 + INSERT 한 문장, 로그인 경로의 upsert와 비슷한 왕복 수). sample명만 잰다.
+ * - 대량: loadtest.users명(기본 100만)을 request-size명씩 concurrency개 작업자가 보낸다(최초 등록, 같은 목록 재등록).
+ *
+ * 실행 예) ./gradlew loadTest --tests '*UserBulkProvisioningLoadTest' \
+ *   -Dloadtest.users=1000000 -Dloadtest.request-size=10000 -Dloadtest.chunk-size=1000 -Dloadtest.concurrency=4
+ */
+class UserBulkProvisioningLoadTest {
+
+    @Test
+    @DisplayName("한 명씩 등록과 대량 등록(최초/재등록)의 초당 행 수를 보고한다")
+    void reportRowsPerSecond() throws Exception {
+        assumeTrue(DockerClientFactory.instance().isDockerAvailable(), "Docker is required for MySQL");
+        int users = Integer.getInteger("loadtest.users", 1_000_000);
+        int sample = Integer.getInteger("loadtest.sample", 20_000);
+        int requestSize = Integer.getInteger("loadtest.request-size", 10_000);
+        int chunkSize = Integer.getInteger("loadtest.chunk-size", 1000);
+        int concurrency = Integer.getInteger("loadtest.concurrency", 4);
+
+        MySQLContainer<?> mysql = new MySQLContainer<>("mysql:8.0").withDatabaseName("auth_db");
+        mysql.start();
+        HikariDataSource dataSource = new HikariDataSource();
+        try {
+            dataSource.setJdbcUrl(mysql.getJdbcUrl());
+            dataSource.setUsername(mysql.getUsername());
+            dataSource.setPassword(mysql.getPassword());
+            dataSource.setMaximumPoolSize(concurrency + 1);
+            JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+            migrate(dataSource);
+            UserIdAllocator idAllocator = new UserIdAllocator(
+                jdbcTemplate, new TransactionTemplate(new DataSourceTransactionManager(dataSource))
+            );
+            idAllocator.start();
+            UserBulkProvisioner provisioner = new UserBulkProvisioner(jdbcTemplate, idAllocator, chunkSize);
+
+            long begin = System.nanoTime();
+            for (int i = 0; i < sample; i++) {
+                provisioner.provision(List.of(profile("single-", i)));
+            }
+            double single = sample / seconds(begin);
+
+            List<SocialProfile> profiles = new ArrayList<>(users);
+            for (int i = 0; i < users; i++) {
+                profiles.add(profile("bulk-", i));
+            }
+            AtomicLong inserted = new AtomicLong();
+            begin = System.nanoTime();
+            provisionConcurrently(provisioner, profiles, requestSize, concurrency, inserted);
+            double firstPass = users / seconds(begin);
+            assertThat(inserted.get()).isEqualTo(users);
+
+            AtomicLong reinserted = new AtomicLong();
+            begin = System.nanoTime();
+            provisionConcurrently(provisioner, profiles, requestSize, concurrency, reinserted);
+            double secondPass = users / seconds(begin);
+            assertThat(reinserted.get()).isZero();
+
+            System.out.printf("user provisioning: users=%d request-size=%d chunk-size=%d concurrency=%d%n",
+                users, requestSize, chunkSize, concurrency);
+            System.out.printf("  %-24s rows/s=%.0f (sample=%d)%n", "one user per request", single, sample);
+            System.out.printf("  %-24s rows/s=%.0f (x%.1f)%n", "bulk insert", firstPass, firstPass / single);
+            System.out.printf("  %-24s rows/s=%.0f (x%.1f)%n", "bulk re-provision", secondPass, secondPass / single);
+        } finally {
+            dataSource.close();
+            mysql.stop();
+        }
+    }
+
+    static void provisionConcurrently(
+        UserBulkProvisioner provisioner,
+        List<SocialProfile> profiles,
+        int requestSize,
+        int concurrency,
+        AtomicLong inserted
+    ) throws Exception {
+        ExecutorService workers = Executors.newFixedThreadPool(concurrency);
+        try {
+            List<Future<?>> requests = new ArrayList<>();
+            for (int from = 0; from < profiles.size(); from += requestSize) {
+                List<SocialProfile> request = profiles.subList(from, Math.min(from + requestSize, profiles.size()));
+                requests.add(workers.submit(() -> inserted.addAndGet(provisioner.provision(request).inserted())));
+            }
+            for (Future<?> request : requests) {
+                request.get();
+            }
+        } finally {
+            workers.shutdownNow();
+        }
+    }
+
+    static void migrate(DataSource dataSource) {
+        Flyway.configure()
+            .dataSource(dataSource)
+            .javaMigrations(new V2__UserLookupIndexes())
+            .load()
+            .migrate();
+    }
+
+    static SocialProfile profile(String prefix, int i) {
+        return new SocialProfile(AuthProvider.GOOGLE, prefix + i, prefix + i + "@example.com", "Load " + i);
+    }
+
+    private static double seconds(long beginNanos) {
+        return (System.nanoTime() - beginNanos) / 1e9;
+    }
+}
@@ -0,0 +1,118 @@
+package com.example.auth.load;
+
+import com.example.auth.client.social.SocialProfile;
+import com.example.auth.entity.AuthProvider;
+import com.example.auth.repository.UserRepository;
+import com.example.auth.service.UserBulkProvisioner;
+import com.example.auth.service.UserIdAllocator;
+import com.zaxxer.hikari.HikariDataSource;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.DockerClientFactory;
+import org.testcontainers.containers.MySQLContainer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * 수백만 행 users 테이블에서 users를 읽고 쓰는 모든 쿼리의 실행 계획(EXPLAIN)을 확인한다.
+ *
+ * - 스키마는 애플리케이션과 같은 Flyway 마이그레이션, 데이터는 UserBulkProvisioner로 넣고 ANALYZE TABLE 한다.
+ * - 쿼리는 Hibernate/JdbcTemplate이 보내는 것과 같은 모양이다. 모두 인덱스로 한 행(또는 id 범위)만 읽어야 한다.
+ * - UserRepository에 쿼리 메서드가 늘면 실패한다. 새 메서드의 계획도 여기에 더한다.
+ *
+ * 실행 예) ./gradlew loadTest --tests '*UserQueryPlanLoadTest' -Dloadtest.users=3000000
+ */
+class UserQueryPlanLoadTest {
+
+    @Test
+    @DisplayName("users 쿼리는 행 수와 관계없이 유니크 인덱스/PK로 한 행만 읽는다")
+    void queriesUseIndexes() throws Exception {
+        assertThat(Arrays.stream(UserRepository.class.getDeclaredMethods()).map(Method::getName))
+            .as("UserRepository query methods covered by this test")
+            .containsExactlyInAnyOrder("findByProviderAndProviderId");
+        assumeTrue(DockerClientFactory.instance().isDockerAvailable(), "Docker is required for MySQL");
+        int users = Integer.getInteger("loadtest.users", 3_000_000);
+
+        MySQLContainer<?> mysql = new MySQLContainer<>("mysql:8.0").withDatabaseName("auth_db");
+        mysql.start();
+        HikariDataSource dataSource = new HikariDataSource();
+        try {
+            dataSource.setJdbcUrl(mysql.getJdbcUrl());
+            dataSource.setUsername(mysql.getUsername());
+            dataSource.setPassword(mysql.getPassword());
+            dataSource.setMaximumPoolSize(5);
+            JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+            UserBulkProvisioningLoadTest.migrate(dataSource);
+            UserIdAllocator idAllocator = new UserIdAllocator(
+                jdbcTemplate, new TransactionTemplate(new DataSourceTransactionManager(dataSource))
+            );
+            idAllocator.start();
+            seed(new UserBulkProvisioner(jdbcTemplate, idAllocator, 1000), users);
+            jdbcTemplate.execute("ANALYZE TABLE users");
+
+            // 제공자가 다르면 같은 providerId도 다른 사용자다(seed는 provider를 번갈아 쓴다).
+            long id = jdbcTemplate.queryForObject(
+                "SELECT id FROM users WHERE provider = 'KAKAO' AND provider_id = 'plan-1'", Long.class
+            );
+            String columns = "u1_0.id, u1_0.created_at, u1_0.email, u1_0.name, u1_0.provider, u1_0.provider_id, "
+                + "u1_0.updated_at";
+
+            // UserRepository.findByProviderAndProviderId
+            assertPlan(jdbcTemplate, "SELECT " + columns + " FROM users u1_0 "
+                    + "WHERE u1_0.provider = 'KAKAO' AND u1_0.provider_id = 'plan-1'",
+                "const", "ux_users_provider_provider_id", 1);
+            // UserRepository.findById (JpaRepository)
+            assertPlan(jdbcTemplate, "SELECT " + columns + " FROM users u1_0 WHERE u1_0.id = " + id,
+                "const", "PRIMARY", 1);
+            // UserService.writeSocialUser의 dirty checking UPDATE, ProfileWriteBehindBuffer의 배치 UPDATE
+            assertPlan(jdbcTemplate, "UPDATE users SET email = 'x@example.com', name = 'x', updated_at = NOW(6) "
+                + "WHERE id = " + id, "range", "PRIMARY", 1);
+            // UserBulkProvisioner: 예약한 id 범위에서 새로 들어간 행 수
+            assertPlan(jdbcTemplate, "SELECT COUNT(*) FROM users WHERE id BETWEEN " + id + " AND " + (id + 9_999),
+                "range", "PRIMARY", 20_000);
+            // UserIdAllocator.seed: 인덱스 끝값만 읽는다.
+            Map<String, Object> maxId = explain(jdbcTemplate, "SELECT MAX(id) FROM users");
+            assertThat(maxId.get("Extra")).isEqualTo("Select tables optimized away");
+        } finally {
+            dataSource.close();
+            mysql.stop();
+        }
+    }
+
+    private static void seed(UserBulkProvisioner provisioner, int users) throws Exception {
+        AuthProvider[] providers = AuthProvider.values();
+        List<SocialProfile> profiles = new ArrayList<>(users);
+        for (int i = 0; i < users; i++) {
+            profiles.add(new SocialProfile(providers[i % providers.length], "plan-" + i, null, "Plan " + i));
+        }
+        long started = System.nanoTime();
+        AtomicLong inserted = new AtomicLong();
+        UserBulkProvisioningLoadTest.provisionConcurrently(provisioner, profiles, 10_000, 4, inserted);
+        System.out.printf("user query plans: seeded %d users in %ds%n",
+            inserted.get(), (System.nanoTime() - started) / 1_000_000_000);
+    }
+
+    private static void assertPlan(JdbcTemplate jdbcTemplate, String sql, String type, String key, long maxRows) {
+        Map<String, Object> plan = explain(jdbcTemplate, sql);
+        assertThat(plan.get("type")).as(sql).isEqualTo(type);
+        assertThat(plan.get("key")).as(sql).isEqualTo(key);
+        assertThat(((Number) plan.get("rows")).longValue()).as(sql).isLessThanOrEqualTo(maxRows);
+    }
+
+    private static Map<String, Object> explain(JdbcTemplate jdbcTemplate, String sql) {
+        List<Map<String, Object>> plan = jdbcTemplate.queryForList("EXPLAIN " + sql);
+        System.out.printf("  %s%n    -> %s%n", sql, plan);
+        assertThat(plan).as(sql).hasSize(1);
+        return plan.get(0);
+    }
+}
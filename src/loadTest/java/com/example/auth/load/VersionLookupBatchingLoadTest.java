@@ -0,0 +1,147 @@
+package com.example.auth.load;
+
+import com.example.auth.service.RedisGuard;
+import com.example.auth.service.VersionLookupBatcher;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.Properties;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.testcontainers.DockerClientFactory;
+import org.testcontainers.containers.GenericContainer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * refreshver 조회 배칭(VersionLookupBatcher) 전후의 Redis 명령 처리량과 조회 p99를 비교한다.
+ *
+ * - 같은 동시성/시간 동안 배칭 없이(GET) 한 번, 배칭해서(MGET) 한 번 조회를 돌린다.
+ * - Redis가 처리한 GET/MGET 수(INFO commandstats)를 초당으로 환산하고, 호출자 기준 p99를 출력한다.
+ * - 배칭 쪽 Redis 명령/초가 줄고, p99 증가가 예산(loadtest.version-batch.p99-budget-ms) 안이어야 통과한다.
+ *
+ * 설정(-D): loadtest.concurrency(64), loadtest.duration-seconds(15), loadtest.users(1000),
+ *          loadtest.version-batch.window-us(200), loadtest.version-batch.p99-budget-ms(1)
+ */
+class VersionLookupBatchingLoadTest {
+
+    private static GenericContainer<?> redis;
+    private static LettuceConnectionFactory connectionFactory;
+
+    @BeforeAll
+    static void startRedis() {
+        assumeTrue(DockerClientFactory.instance().isDockerAvailable(), "Docker is required for the batching benchmark");
+        redis = new GenericContainer<>("redis:7-alpine").withExposedPorts(6379);
+        redis.start();
+        connectionFactory = new LettuceConnectionFactory(
+            new RedisStandaloneConfiguration(redis.getHost(), redis.getMappedPort(6379))
+        );
+        connectionFactory.afterPropertiesSet();
+        connectionFactory.start();
+    }
+
+    @AfterAll
+    static void stopRedis() {
+        if (connectionFactory != null) {
+            connectionFactory.destroy();
+        }
+        if (redis != null) {
+            redis.stop();
+        }
+    }
+
+    @Test
+    @DisplayName("배칭하면 Redis 명령/초는 줄고 p99 증가는 예산 안에 있다")
+    void batchingReducesRedisOpsWithinLatencyBudget() throws Exception {
+        int concurrency = Integer.getInteger("loadtest.concurrency", 64);
+        Duration duration = Duration.ofSeconds(Integer.getInteger("loadtest.duration-seconds", 15));
+        int users = Integer.getInteger("loadtest.users", 1000);
+        Duration window = Duration.ofNanos(TimeUnit.MICROSECONDS.toNanos(Integer.getInteger("loadtest.version-batch.window-us", 200)));
+        double p99BudgetMillis = Double.parseDouble(System.getProperty("loadtest.version-batch.p99-budget-ms", "1"));
+
+        StringRedisTemplate redisTemplate = new StringRedisTemplate(connectionFactory);
+        redisTemplate.afterPropertiesSet();
+        for (int userId = 0; userId < users; userId++) {
+            redisTemplate.opsForValue().set("refreshver:" + userId, "1");
+        }
+
+        Result direct = run("direct", redisTemplate, false, window, concurrency, duration, users);
+        Result batched = run("batched", redisTemplate, true, window, concurrency, duration, users);
+
+        System.out.printf("version lookup batching: concurrency=%d duration=%ds users=%d window=%dus%n",
+            concurrency, duration.toSeconds(), users, window.toNanos() / 1000);
+        for (Result result : new Result[] {direct, batched}) {
+            System.out.printf("  %-8s lookups/s=%.0f redis ops/s=%.0f %s%n",
+                result.name(), result.summary().throughput(), result.redisOpsPerSecond(), result.summary());
+        }
+
+        assertThat(batched.redisOpsPerSecond()).isLessThan(direct.redisOpsPerSecond());
+        assertThat(batched.summary().p99Millis() - direct.summary().p99Millis())
+            .as("p99 increase (ms)")
+            .isLessThanOrEqualTo(p99BudgetMillis);
+    }
+
+    private static Result run(String name, StringRedisTemplate redisTemplate, boolean enabled, Duration window,
+                              int concurrency, Duration duration, int users) throws InterruptedException {
+        VersionLookupBatcher batcher = new VersionLookupBatcher(redisTemplate,
+            new RedisGuard(CircuitBreakerRegistry.ofDefaults()), new SimpleMeterRegistry(), enabled, window, 256);
+        batcher.start();
+        LatencyRecorder recorder = new LatencyRecorder();
+        try (RedisConnection connection = connectionFactory.getConnection()) {
+            connection.serverCommands().resetConfigStats();
+            long started = System.nanoTime();
+            long deadline = started + duration.toNanos();
+            ExecutorService workers = Executors.newFixedThreadPool(concurrency);
+            for (int i = 0; i < concurrency; i++) {
+                workers.submit(() -> {
+                    while (System.nanoTime() < deadline) {
+                        String key = "refreshver:" + ThreadLocalRandom.current().nextInt(users);
+                        long begin = System.nanoTime();
+                        boolean ok;
+                        try {
+                            ok = batcher.get(key) != null;
+                        } catch (RuntimeException e) {
+                            ok = false;
+                        }
+                        recorder.record("version lookup", System.nanoTime() - begin, ok);
+                    }
+                });
+            }
+            workers.shutdown();
+            workers.awaitTermination(duration.toSeconds() + 30, TimeUnit.SECONDS);
+            double elapsedSeconds = (System.nanoTime() - started) / 1e9;
+
+            Properties stats = connection.serverCommands().info("commandstats");
+            long redisOps = calls(stats.getProperty("cmdstat_get")) + calls(stats.getProperty("cmdstat_mget"));
+            return new Result(name, redisOps / elapsedSeconds,
+                recorder.summarize(elapsedSeconds).get("version lookup"));
+        } finally {
+            batcher.stop();
+        }
+    }
+
+    private static long calls(String stat) {
+        if (stat == null) {
+            return 0L;
+        }
+        for (String part : stat.split(",")) {
+            if (part.startsWith("calls=")) {
+                return Long.parseLong(part.substring("calls=".length()));
+            }
+        }
+        return 0L;
+    }
+
+    private record Result(String name, double redisOpsPerSecond, LatencyRecorder.Summary summary) {}
+}
@@ -0,0 +1,11 @@
+package com.example.auth.audit;
+
+import com.example.auth.entity.AuthProvider;
+
+// 누가(userId, provider) 언제(epochMillis) 무엇을(type) 했는지. 알 수 없는 값은 null.
+public record AuditEvent(
+    AuditEventType type,
+    Long userId,
+    AuthProvider provider,
+    long epochMillis
+) {}
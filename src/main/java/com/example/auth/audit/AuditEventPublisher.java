@@ -0,0 +1,145 @@
+package com.example.auth.audit;
+
+import com.example.auth.entity.AuthProvider;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+@Slf4j
+@Component
+// 로그인/리프레시/로그아웃 감사 이벤트를 요청 스레드 밖에서 기록한다.
+// - 요청 스레드는 lock-free 링 버퍼에 넣기만 한다(락, I/O, 대기 없음).
+// - 백그라운드 스레드 하나가 배치로 꺼내 AuditSink(Redis Stream 또는 로컬 파일)에 쓴다.
+// - 버퍼가 가득 차면 새 이벤트를 버리고(drop-newest) auth.audit.dropped를 올린다. 요청은 절대 막지 않는다.
+// - 종료 시 남은 이벤트를 모두 쓴다. 프로세스가 비정상 종료되면 버퍼 내용은 유실된다.
+public class AuditEventPublisher implements SmartLifecycle {
+
+    private final AuditSink sink;
+    private final boolean enabled;
+    private final int batchSize;
+    private final long idleParkNanos;
+    private final MpscRingBuffer<AuditEvent> buffer;
+    private final Counter published;
+    private final Counter dropped;
+    private final Counter written;
+    private final Counter failed;
+
+    private Thread consumer;
+    private volatile boolean running;
+
+    public AuditEventPublisher(
+        AuditSink sink,
+        MeterRegistry meterRegistry,
+        @Value("${auth.audit.enabled:true}") boolean enabled,
+        @Value("${auth.audit.capacity:16384}") int capacity,
+        @Value("${auth.audit.batch-size:512}") int batchSize,
+        @Value("${auth.audit.idle-wait:50ms}") Duration idleWait
+    ) {
+        this.sink = sink;
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+        this.idleParkNanos = idleWait.toNanos();
+        this.buffer = new MpscRingBuffer<>(capacity);
+        this.published = meterRegistry.counter("auth.audit.published");
+        this.dropped = meterRegistry.counter("auth.audit.dropped");
+        this.written = meterRegistry.counter("auth.audit.written");
+        this.failed = meterRegistry.counter("auth.audit.failed");
+        meterRegistry.gauge("auth.audit.queue.size", buffer, MpscRingBuffer::size);
+        meterRegistry.gauge("auth.audit.queue.capacity", buffer, MpscRingBuffer::capacity);
+    }
+
+    /**
+     * 감사 이벤트를 큐에 넣는다. 비활성화/종료 중/버퍼 가득 참이면 버리고 false.
+     */
+    public boolean publish(AuditEventType type, Long userId, AuthProvider provider) {
+        if (!running) {
+            return false;
+        }
+        if (buffer.offer(new AuditEvent(type, userId, provider, System.currentTimeMillis()))) {
+            published.increment();
+            return true;
+        }
+        dropped.increment();
+        return false;
+    }
+
+    private void consumeLoop() {
+        List<AuditEvent> batch = new ArrayList<>(batchSize);
+        while (running) {
+            if (drainOnce(batch) == 0) {
+                // 생산자는 소비자를 깨우지 않는다(enqueue만 하도록). 비어 있으면 잠깐 쉰다.
+                LockSupport.parkNanos(idleParkNanos);
+            }
+        }
+        // 종료: 남은 이벤트를 모두 쓴다.
+        while (drainOnce(batch) > 0) {
+            // 계속 비운다
+        }
+    }
+
+    // 테스트와 종료 처리에서도 쓰는 배치 1회 처리. 소비자 스레드에서만 호출된다.
+    int drainOnce(List<AuditEvent> batch) {
+        batch.clear();
+        int drained = buffer.drainTo(batch, batchSize);
+        if (drained == 0) {
+            return 0;
+        }
+        try {
+            sink.write(batch);
+            written.increment(drained);
+        } catch (Exception e) {
+            // 감사 기록 실패가 인증 흐름을 막지 않도록 배치를 버리고 계속 진행한다.
+            failed.increment(drained);
+            log.warn("Dropping {} audit events: {}", drained, e.getMessage());
+        }
+        return drained;
+    }
+
+    @Override
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        running = true;
+        consumer = new Thread(this::consumeLoop, "audit-writer");
+        consumer.setDaemon(true);
+        consumer.start();
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (consumer != null) {
+            LockSupport.unpark(consumer);
+            try {
+                consumer.join(TimeUnit.SECONDS.toMillis(10));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        try {
+            sink.close();
+        } catch (Exception e) {
+            log.warn("Failed to close audit sink", e);
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        // 웹 서버가 요청을 모두 끝낸 뒤(graceful shutdown) 남은 이벤트를 쓴다.
+        return SmartLifecycle.DEFAULT_PHASE - 4096;
+    }
+}
@@ -0,0 +1,11 @@
+package com.example.auth.audit;
+
+// 감사 이벤트 종류.
+public enum AuditEventType {
+    LOGIN,
+    REFRESH,
+    REFRESH_REJECTED,
+    // grace 기간 안의 동시 재시도에 같은 토큰 쌍을 다시 돌려줌
+    REFRESH_REPLAYED,
+    LOGOUT
+}
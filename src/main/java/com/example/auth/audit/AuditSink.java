@@ -0,0 +1,13 @@
+package com.example.auth.audit;
+
+import java.util.List;
+
+// 감사 이벤트 저장소. AuditEventPublisher의 소비자 스레드 하나만 호출한다.
+public interface AuditSink extends AutoCloseable {
+
+    void write(List<AuditEvent> batch) throws Exception;
+
+    @Override
+    default void close() throws Exception {
+    }
+}
@@ -0,0 +1,89 @@
+package com.example.auth.audit;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * 고정 크기 lock-free 링 버퍼(다중 생산자, 단일 소비자).
+ *
+ * 슬롯마다 시퀀스 번호를 두는 Vyukov 방식:
+ * - 생산자는 tail을 CAS로 한 칸 예약한 뒤 값을 쓰고, 슬롯 시퀀스를 pos + 1로 올려 소비자에게 공개한다.
+ * - 소비자는 슬롯 시퀀스가 head + 1일 때만 읽고, 다음 바퀴(head + capacity)로 되돌려 생산자에게 반납한다.
+ * - 가득 차면 offer는 기다리지 않고 false를 돌려준다(호출자가 버림 정책을 적용).
+ */
+final class MpscRingBuffer<E> {
+
+    private final int capacity;
+    private final int mask;
+    private final AtomicReferenceArray<E> elements;
+    private final AtomicLongArray sequences;
+    private final AtomicLong tail = new AtomicLong();
+    // 소비자 스레드만 쓰고, size() 조회용으로만 다른 스레드가 읽는다.
+    private final AtomicLong head = new AtomicLong();
+
+    MpscRingBuffer(int requestedCapacity) {
+        if (requestedCapacity < 2) {
+            throw new IllegalArgumentException("capacity must be at least 2");
+        }
+        this.capacity = Integer.highestOneBit(requestedCapacity - 1) << 1;
+        this.mask = capacity - 1;
+        this.elements = new AtomicReferenceArray<>(capacity);
+        this.sequences = new AtomicLongArray(capacity);
+        for (int i = 0; i < capacity; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    boolean offer(E element) {
+        long pos = tail.get();
+        while (true) {
+            int index = (int) (pos & mask);
+            long diff = sequences.get(index) - pos;
+            if (diff == 0) {
+                if (tail.compareAndSet(pos, pos + 1)) {
+                    elements.lazySet(index, element);
+                    sequences.lazySet(index, pos + 1);
+                    return true;
+                }
+                pos = tail.get();
+            } else if (diff < 0) {
+                // 소비자가 아직 이 슬롯을 비우지 않았다: 가득 참
+                return false;
+            } else {
+                // 다른 생산자가 먼저 예약했다
+                pos = tail.get();
+            }
+        }
+    }
+
+    // 소비자 전용: 최대 maxElements개를 꺼내 target에 담고 꺼낸 개수를 돌려준다.
+    int drainTo(List<E> target, int maxElements) {
+        long pos = head.get();
+        int drained = 0;
+        while (drained < maxElements) {
+            int index = (int) (pos & mask);
+            if (sequences.get(index) != pos + 1) {
+                // 비었거나, 예약만 되고 아직 값이 공개되지 않은 슬롯
+                break;
+            }
+            target.add(elements.get(index));
+            elements.lazySet(index, null);
+            sequences.lazySet(index, pos + capacity);
+            pos++;
+            drained++;
+        }
+        head.lazySet(pos);
+        return drained;
+    }
+
+    int size() {
+        long size = tail.get() - head.get();
+        return (int) Math.max(0, Math.min(size, capacity));
+    }
+
+    int capacity() {
+        return capacity;
+    }
+}
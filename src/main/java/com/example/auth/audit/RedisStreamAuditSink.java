@@ -0,0 +1,56 @@
+package com.example.auth.audit;
+
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.springframework.data.redis.connection.RedisStreamCommands.XAddOptions;
+import org.springframework.data.redis.connection.stream.MapRecord;
+import org.springframework.data.redis.connection.stream.StreamRecords;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+// 배치를 하나의 파이프라인으로 XADD한다. 스트림 길이는 MAXLEN ~ 으로 대략 제한한다.
+// 다른 서비스/배치는 XREAD(또는 소비자 그룹)로 읽어 장기 보관소로 옮긴다.
+public class RedisStreamAuditSink implements AuditSink {
+
+    private final StringRedisTemplate redisTemplate;
+    private final byte[] streamKey;
+    private final XAddOptions addOptions;
+
+    public RedisStreamAuditSink(StringRedisTemplate redisTemplate, String streamKey, long maxLength) {
+        this.redisTemplate = redisTemplate;
+        this.streamKey = streamKey.getBytes(StandardCharsets.UTF_8);
+        this.addOptions = XAddOptions.maxlen(maxLength).approximateTrimming(true);
+    }
+
+    @Override
+    public void write(List<AuditEvent> batch) {
+        redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            for (AuditEvent event : batch) {
+                MapRecord<byte[], byte[], byte[]> record = StreamRecords.newRecord()
+                    .in(streamKey)
+                    .ofMap(fields(event));
+                connection.streamCommands().xAdd(record, addOptions);
+            }
+            return null;
+        });
+    }
+
+    private static Map<byte[], byte[]> fields(AuditEvent event) {
+        Map<byte[], byte[]> fields = new LinkedHashMap<>(8);
+        put(fields, "type", event.type().name());
+        put(fields, "at", Long.toString(event.epochMillis()));
+        if (event.userId() != null) {
+            put(fields, "userId", event.userId().toString());
+        }
+        if (event.provider() != null) {
+            put(fields, "provider", event.provider().name());
+        }
+        return fields;
+    }
+
+    private static void put(Map<byte[], byte[]> fields, String name, String value) {
+        fields.put(name.getBytes(StandardCharsets.UTF_8), value.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,90 @@
+package com.example.auth.audit;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.List;
+
+// 이벤트를 JSON Lines로 로컬 파일에 쓴다. 파일은 UTC 날짜별로, 같은 날에도 maxFileSize를 넘으면 번호를 올려 나눈다.
+// 예) audit-2026-10-19.0.jsonl, audit-2026-10-19.1.jsonl
+// 로그 수집기(fluent-bit 등)가 디렉터리를 따라 읽어 가는 구성을 전제로 한다.
+public class RollingFileAuditSink implements AuditSink {
+
+    private final Path directory;
+    private final long maxFileSize;
+    private LocalDate currentDate;
+    private int currentIndex;
+    private long currentSize;
+    private BufferedWriter writer;
+
+    public RollingFileAuditSink(Path directory, long maxFileSize) {
+        this.directory = directory;
+        this.maxFileSize = maxFileSize;
+    }
+
+    @Override
+    public void write(List<AuditEvent> batch) throws IOException {
+        StringBuilder lines = new StringBuilder(batch.size() * 96);
+        for (AuditEvent event : batch) {
+            appendJson(lines, event).append('\n');
+        }
+        BufferedWriter out = writerFor(batch.get(batch.size() - 1).epochMillis());
+        out.append(lines);
+        out.flush();
+        // ASCII만 쓰므로 문자 수 = 바이트 수
+        currentSize += lines.length();
+    }
+
+    private BufferedWriter writerFor(long epochMillis) throws IOException {
+        LocalDate date = LocalDate.ofInstant(Instant.ofEpochMilli(epochMillis), ZoneOffset.UTC);
+        if (writer == null || !date.equals(currentDate)) {
+            currentDate = date;
+            currentIndex = 0;
+            open();
+        } else if (currentSize >= maxFileSize) {
+            currentIndex++;
+            open();
+        }
+        return writer;
+    }
+
+    private void open() throws IOException {
+        close();
+        Files.createDirectories(directory);
+        Path file = directory.resolve("audit-" + currentDate + "." + currentIndex + ".jsonl");
+        // 재시작 후 같은 날짜/번호 파일이 이미 있으면 그 뒤에 이어 쓴다.
+        while (Files.exists(file) && Files.size(file) >= maxFileSize) {
+            currentIndex++;
+            file = directory.resolve("audit-" + currentDate + "." + currentIndex + ".jsonl");
+        }
+        writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        currentSize = Files.size(file);
+    }
+
+    static StringBuilder appendJson(StringBuilder out, AuditEvent event) {
+        // 필드가 enum/숫자뿐이라 이스케이프가 필요 없다.
+        out.append("{\"type\":\"").append(event.type().name())
+            .append("\",\"at\":").append(event.epochMillis());
+        if (event.userId() != null) {
+            out.append(",\"userId\":").append(event.userId());
+        }
+        if (event.provider() != null) {
+            out.append(",\"provider\":\"").append(event.provider().name()).append('"');
+        }
+        return out.append('}');
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (writer != null) {
+            writer.close();
+            writer = null;
+        }
+    }
+}
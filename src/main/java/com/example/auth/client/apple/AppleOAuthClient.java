@@ -0,0 +1,47 @@
+package com.example.auth.client.apple;
+
+import com.example.auth.client.social.OidcSocialOAuthClient;
+import com.example.auth.client.social.SocialProfile;
+import com.example.auth.client.social.SocialUserProfile;
+import com.example.auth.entity.AuthProvider;
+import java.time.Duration;
+import java.util.Set;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.stereotype.Component;
+
+@Component
+// Sign in with Apple. client-id는 Services ID, client-secret은 팀 키(ES256)로 서명한 JWT로,
+// 최대 6개월 유효하므로 배포 시 시크릿으로 주입하고 만료 전에 갱신한다.
+// 애플 id_token에는 이름이 없으므로(최초 인가 시 클라이언트에만 전달) name은 비워 둔다.
+public class AppleOAuthClient extends OidcSocialOAuthClient {
+
+    private static final String APPLE_ISSUER = "https://appleid.apple.com";
+
+    public AppleOAuthClient(
+        @Value("${apple.oauth.client-id:}") String clientId,
+        @Value("${apple.oauth.client-secret:}") String clientSecret,
+        @Value("${apple.oauth.redirect-uri:}") String redirectUri,
+        @Value("${apple.oauth.token-uri:https://appleid.apple.com/auth/token}") String tokenUri,
+        @Value("${apple.oauth.jwk-uri:https://appleid.apple.com/auth/keys}") String jwkUri,
+        @Value("${apple.oauth.connect-timeout:2s}") Duration connectTimeout,
+        @Value("${apple.oauth.read-timeout:3s}") Duration readTimeout
+    ) {
+        super(clientId, clientSecret, redirectUri, tokenUri, jwkUri, Set.of(APPLE_ISSUER), connectTimeout, readTimeout);
+    }
+
+    @Override
+    public AuthProvider provider() {
+        return AuthProvider.APPLE;
+    }
+
+    @Override
+    protected SocialUserProfile profileOf(Jwt idToken) {
+        return new SocialProfile(
+            AuthProvider.APPLE,
+            idToken.getClaimAsString("sub"),
+            idToken.getClaimAsString("email"),
+            null
+        );
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.auth.client.kakao;
+
+import com.example.auth.client.social.OidcSocialOAuthClient;
+import com.example.auth.client.social.SocialProfile;
+import com.example.auth.client.social.SocialUserProfile;
+import com.example.auth.entity.AuthProvider;
+import java.time.Duration;
+import java.util.Set;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.stereotype.Component;
+
+@Component
+// 카카오 로그인(OpenID Connect). 앱 설정에서 OIDC를 켜고 인가 요청에 scope=openid를 넣어야 id_token이 내려온다.
+// client-id는 REST API 키이며 id_token의 aud와 같다.
+public class KakaoOAuthClient extends OidcSocialOAuthClient {
+
+    private static final String KAKAO_ISSUER = "https://kauth.kakao.com";
+
+    public KakaoOAuthClient(
+        @Value("${kakao.oauth.client-id:}") String clientId,
+        @Value("${kakao.oauth.client-secret:}") String clientSecret,
+        @Value("${kakao.oauth.redirect-uri:}") String redirectUri,
+        @Value("${kakao.oauth.token-uri:https://kauth.kakao.com/oauth/token}") String tokenUri,
+        @Value("${kakao.oauth.jwk-uri:https://kauth.kakao.com/.well-known/jwks.json}") String jwkUri,
+        @Value("${kakao.oauth.connect-timeout:2s}") Duration connectTimeout,
+        @Value("${kakao.oauth.read-timeout:3s}") Duration readTimeout
+    ) {
+        super(clientId, clientSecret, redirectUri, tokenUri, jwkUri, Set.of(KAKAO_ISSUER), connectTimeout, readTimeout);
+    }
+
+    @Override
+    public AuthProvider provider() {
+        return AuthProvider.KAKAO;
+    }
+
+    @Override
+    protected SocialUserProfile profileOf(Jwt idToken) {
+        return new SocialProfile(
+            AuthProvider.KAKAO,
+            idToken.getClaimAsString("sub"),
+            idToken.getClaimAsString("email"),
+            idToken.getClaimAsString("nickname")
+        );
+    }
+}
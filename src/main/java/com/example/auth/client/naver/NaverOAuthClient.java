@@ -0,0 +1,108 @@
+package com.example.auth.client.naver;
+
+import com.example.auth.client.social.SocialHttp;
+import com.example.auth.client.social.SocialOAuthClient;
+import com.example.auth.client.social.SocialProfile;
+import com.example.auth.client.social.SocialTokenResponse;
+import com.example.auth.client.social.SocialUserProfile;
+import com.example.auth.entity.AuthProvider;
+import java.time.Duration;
+import org.springframework.aot.hint.annotation.RegisterReflectionForBinding;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.stereotype.Component;
+import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.util.MultiValueMap;
+import org.springframework.util.StringUtils;
+import org.springframework.web.client.RestTemplate;
+
+@Component
+// 네이버 로그인. OIDC id_token이 없으므로 액세스 토큰으로 회원 프로필 API를 호출해 사용자 정보를 얻는다.
+// 토큰 교환에는 인가 요청 때 쓴 state가 필요하다.
+public class NaverOAuthClient implements SocialOAuthClient {
+
+    private final RestTemplate restTemplate;
+    private final String clientId;
+    private final String clientSecret;
+    private final String tokenUri;
+    private final String userInfoUri;
+
+    public NaverOAuthClient(
+        @Value("${naver.oauth.client-id:}") String clientId,
+        @Value("${naver.oauth.client-secret:}") String clientSecret,
+        @Value("${naver.oauth.token-uri:https://nid.naver.com/oauth2.0/token}") String tokenUri,
+        @Value("${naver.oauth.user-info-uri:https://openapi.naver.com/v1/nid/me}") String userInfoUri,
+        @Value("${naver.oauth.connect-timeout:2s}") Duration connectTimeout,
+        @Value("${naver.oauth.read-timeout:3s}") Duration readTimeout
+    ) {
+        this.restTemplate = SocialHttp.restTemplate(connectTimeout, readTimeout);
+        this.clientId = clientId;
+        this.clientSecret = clientSecret;
+        this.tokenUri = tokenUri;
+        this.userInfoUri = userInfoUri;
+    }
+
+    @Override
+    public AuthProvider provider() {
+        return AuthProvider.NAVER;
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return StringUtils.hasText(clientId);
+    }
+
+    @Override
+    @RegisterReflectionForBinding(NaverUserInfoResponse.class)
+    public SocialUserProfile exchangeAuthCode(String code, String redirectUri, String state) {
+        if (!StringUtils.hasText(code)) {
+            throw new IllegalArgumentException("authorization code is required");
+        }
+        if (!StringUtils.hasText(state)) {
+            throw new IllegalArgumentException("state is required for Naver login");
+        }
+        if (!StringUtils.hasText(clientId) || !StringUtils.hasText(clientSecret)) {
+            throw new IllegalStateException("NAVER OAuth client configuration is missing");
+        }
+
+        MultiValueMap<String, String> body = new LinkedMultiValueMap<>();
+        body.add("grant_type", "authorization_code");
+        body.add("client_id", clientId);
+        body.add("client_secret", clientSecret);
+        body.add("code", code);
+        body.add("state", state);
+
+        SocialTokenResponse tokenResponse = SocialHttp.exchangeCode(restTemplate, tokenUri, body);
+        if (tokenResponse == null || !StringUtils.hasText(tokenResponse.accessToken())) {
+            throw new IllegalStateException("Failed to exchange code for NAVER tokens");
+        }
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setBearerAuth(tokenResponse.accessToken());
+        NaverUserInfoResponse userInfo = restTemplate.exchange(
+            userInfoUri, HttpMethod.GET, new HttpEntity<>(headers), NaverUserInfoResponse.class
+        ).getBody();
+        if (userInfo == null || userInfo.response() == null || !StringUtils.hasText(userInfo.response().id())) {
+            throw new IllegalStateException("Failed to read NAVER user profile");
+        }
+        return new SocialProfile(
+            AuthProvider.NAVER,
+            userInfo.response().id(),
+            userInfo.response().email(),
+            userInfo.response().name()
+        );
+    }
+
+    private record NaverUserInfoResponse(
+        String resultcode,
+        NaverUser response
+    ) {}
+
+    private record NaverUser(
+        String id,
+        String email,
+        String name
+    ) {}
+}
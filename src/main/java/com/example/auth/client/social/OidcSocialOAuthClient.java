@@ -0,0 +1,174 @@
+package com.example.auth.client.social;
+
+import com.example.auth.jfr.AuthEvent;
+import com.example.auth.jfr.OAuthEvent;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Set;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.security.oauth2.core.DelegatingOAuth2TokenValidator;
+import org.springframework.security.oauth2.core.OAuth2Error;
+import org.springframework.security.oauth2.core.OAuth2TokenValidator;
+import org.springframework.security.oauth2.core.OAuth2TokenValidatorResult;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtClaimNames;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtValidators;
+import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
+import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.util.MultiValueMap;
+import org.springframework.util.StringUtils;
+import org.springframework.web.client.RestTemplate;
+
+// OIDC 제공자(구글, 카카오, 애플) 공통 흐름: 인가 코드 -> 토큰 엔드포인트 -> id_token 서명/발급자/대상 검증.
+// 공개키(JWKS)는 NimbusJwtDecoder가 캐시하고, kid가 바뀌었을 때만 다시 받는다. JWKS 조회도 제공자 전용 HTTP 클라이언트를 쓴다.
+// 교환 전체와 HTTP 호출(token/jwk)마다 OAuthEvent(JFR)를 남긴다.
+public abstract class OidcSocialOAuthClient implements SocialOAuthClient {
+
+    private final RestTemplate restTemplate;
+    private final String clientId;
+    private final String clientSecret;
+    private final String redirectUri;
+    private final String tokenUri;
+    private final String jwkUri;
+    private final JwtDecoder idTokenDecoder;
+
+    protected OidcSocialOAuthClient(
+        String clientId,
+        String clientSecret,
+        String redirectUri,
+        String tokenUri,
+        String jwkUri,
+        Set<String> issuers,
+        Duration connectTimeout,
+        Duration readTimeout
+    ) {
+        this.restTemplate = SocialHttp.restTemplate(connectTimeout, readTimeout);
+        this.restTemplate.getInterceptors().add(this::recordCall);
+        this.clientId = clientId;
+        this.clientSecret = clientSecret;
+        this.redirectUri = redirectUri;
+        this.tokenUri = tokenUri;
+        this.jwkUri = jwkUri;
+        this.idTokenDecoder = buildDecoder(restTemplate, jwkUri, clientId, issuers);
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return StringUtils.hasText(clientId);
+    }
+
+    @Override
+    public SocialUserProfile exchangeAuthCode(String code, String requestedRedirectUri, String state) {
+        OAuthEvent event = new OAuthEvent(provider().name(), "exchange");
+        event.begin();
+        try {
+            SocialUserProfile profile = exchange(code, requestedRedirectUri);
+            event.finish(AuthEvent.OK);
+            return profile;
+        } catch (RuntimeException e) {
+            event.finish(AuthEvent.outcome(e));
+            throw e;
+        }
+    }
+
+    private SocialUserProfile exchange(String code, String requestedRedirectUri) {
+        if (!StringUtils.hasText(code)) {
+            throw new IllegalArgumentException("authorization code is required");
+        }
+        if (!StringUtils.hasText(clientId) || !StringUtils.hasText(redirectUri)) {
+            throw new IllegalStateException(provider() + " OAuth client configuration is missing");
+        }
+        if (StringUtils.hasText(requestedRedirectUri) && !redirectUri.equals(requestedRedirectUri)) {
+            throw new IllegalArgumentException("Redirect URI does not match registered redirect URI");
+        }
+
+        MultiValueMap<String, String> body = new LinkedMultiValueMap<>();
+        body.add("code", code);
+        body.add("client_id", clientId);
+        if (StringUtils.hasText(clientSecret)) {
+            body.add("client_secret", clientSecret);
+        }
+        body.add("redirect_uri", redirectUri);
+        body.add("grant_type", "authorization_code");
+
+        SocialTokenResponse tokenResponse = SocialHttp.exchangeCode(restTemplate, tokenUri, body);
+        if (tokenResponse == null || !StringUtils.hasText(tokenResponse.idToken())) {
+            throw new IllegalStateException("Failed to exchange code for " + provider() + " tokens");
+        }
+        return profileOf(idTokenDecoder.decode(tokenResponse.idToken()));
+    }
+
+    // 검증된 id_token 클레임을 사용자 정보로 바꾼다.
+    protected abstract SocialUserProfile profileOf(Jwt idToken);
+
+    // 토큰 엔드포인트와 JWKS 호출을 구분해 기록한다. outcome은 HTTP 상태 코드(연결 실패면 예외 이름).
+    private ClientHttpResponse recordCall(HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+        throws IOException {
+        String operation = jwkUri.equals(request.getURI().toString()) ? "jwk" : "token";
+        OAuthEvent event = new OAuthEvent(provider().name(), operation);
+        event.begin();
+        try {
+            ClientHttpResponse response = execution.execute(request, body);
+            event.finish(String.valueOf(response.getStatusCode().value()));
+            return response;
+        } catch (IOException | RuntimeException e) {
+            event.finish(AuthEvent.outcome(e));
+            throw e;
+        }
+    }
+
+    private JwtDecoder buildDecoder(RestTemplate restOperations, String jwkUri, String audience, Set<String> issuers) {
+        NimbusJwtDecoder nimbus = NimbusJwtDecoder.withJwkSetUri(jwkUri)
+            .restOperations(restOperations)
+            .build();
+        OAuth2TokenValidator<Jwt> validator = new DelegatingOAuth2TokenValidator<>(
+            JwtValidators.createDefault(),
+            new IssuerValidator(issuers),
+            new AudienceValidator(audience)
+        );
+        nimbus.setJwtValidator(validator);
+        return nimbus;
+    }
+
+    private class AudienceValidator implements OAuth2TokenValidator<Jwt> {
+        private final String audience;
+
+        AudienceValidator(String audience) {
+            this.audience = audience;
+        }
+
+        @Override
+        public OAuth2TokenValidatorResult validate(Jwt token) {
+            if (!StringUtils.hasText(audience)) {
+                return OAuth2TokenValidatorResult.success();
+            }
+            if (token.getAudience() != null && token.getAudience().contains(audience)) {
+                return OAuth2TokenValidatorResult.success();
+            }
+            OAuth2Error error = new OAuth2Error("invalid_token", provider() + " ID token audience does not match client id", null);
+            return OAuth2TokenValidatorResult.failure(error);
+        }
+    }
+
+    private class IssuerValidator implements OAuth2TokenValidator<Jwt> {
+        private final Set<String> issuers;
+
+        IssuerValidator(Set<String> issuers) {
+            this.issuers = issuers;
+        }
+
+        @Override
+        public OAuth2TokenValidatorResult validate(Jwt token) {
+            // "accounts.google.com"처럼 스킴 없는 발급자도 있어 URL이 아닌 문자열로 비교한다.
+            String issuer = token.getClaimAsString(JwtClaimNames.ISS);
+            if (issuer != null && issuers.contains(issuer)) {
+                return OAuth2TokenValidatorResult.success();
+            }
+            OAuth2Error error = new OAuth2Error("invalid_token", "Invalid " + provider() + " issuer", null);
+            return OAuth2TokenValidatorResult.failure(error);
+        }
+    }
+}
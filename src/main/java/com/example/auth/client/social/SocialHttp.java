@@ -0,0 +1,39 @@
+package com.example.auth.client.social;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.util.MultiValueMap;
+import org.springframework.web.client.RestTemplate;
+
+// 제공자 호출용 HTTP 유틸.
+public final class SocialHttp {
+
+    private SocialHttp() {
+    }
+
+    /**
+     * 제공자 전용 RestTemplate. JDK HttpClient가 커넥션을 재사용(keep-alive 풀)하고,
+     * 제공자마다 연결/응답 타임아웃을 따로 둔다.
+     */
+    public static RestTemplate restTemplate(Duration connectTimeout, Duration readTimeout) {
+        HttpClient httpClient = HttpClient.newBuilder()
+            .connectTimeout(connectTimeout)
+            .build();
+        JdkClientHttpRequestFactory requestFactory = new JdkClientHttpRequestFactory(httpClient);
+        requestFactory.setReadTimeout(readTimeout);
+        return new RestTemplate(requestFactory);
+    }
+
+    // 토큰 엔드포인트에 form POST로 인가 코드를 교환한다.
+    public static SocialTokenResponse exchangeCode(RestTemplate restTemplate, String tokenUri,
+                                                   MultiValueMap<String, String> form) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_FORM_URLENCODED);
+        return restTemplate.postForEntity(tokenUri, new HttpEntity<>(form, headers), SocialTokenResponse.class)
+            .getBody();
+    }
+}
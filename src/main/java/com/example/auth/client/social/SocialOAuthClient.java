@@ -0,0 +1,15 @@
+package com.example.auth.client.social;
+
+import com.example.auth.entity.AuthProvider;
+
+// 소셜 제공자별 인가 코드 교환 클라이언트. SocialOAuthClientRegistry가 제공자별로 모아 격리(bulkhead)해서 호출한다.
+public interface SocialOAuthClient {
+
+    AuthProvider provider();
+
+    // 필수 설정(client-id 등)이 없으면 레지스트리에 등록하지 않는다(해당 제공자 로그인은 404).
+    boolean isEnabled();
+
+    // 인가 코드를 제공자 토큰으로 교환하고, 검증된 사용자 정보를 돌려준다.
+    SocialUserProfile exchangeAuthCode(String code, String redirectUri, String state);
+}
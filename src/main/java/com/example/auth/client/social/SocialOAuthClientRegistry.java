@@ -0,0 +1,61 @@
+package com.example.auth.client.social;
+
+import com.example.auth.entity.AuthProvider;
+import com.example.auth.exception.ServiceUnavailableException;
+import com.example.auth.exception.UnsupportedProviderException;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import org.springframework.aot.hint.annotation.RegisterReflectionForBinding;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.ResourceAccessException;
+
+@Component
+@RegisterReflectionForBinding(SocialTokenResponse.class)
+// 활성화된 소셜 로그인 클라이언트를 제공자별로 모아 두고, 제공자마다 별도 bulkhead 안에서 호출한다.
+// 한 제공자가 느려져도 그 제공자의 동시 호출 수만큼만 톰캣 스레드를 붙잡고, 초과 요청은 기다리지 않고 503으로 끝낸다.
+// 제공자별 한도는 resilience4j.bulkhead.instances.social-<provider>로 조정한다.
+public class SocialOAuthClientRegistry {
+
+    private final Map<AuthProvider, SocialOAuthClient> clients = new EnumMap<>(AuthProvider.class);
+    private final Map<AuthProvider, Bulkhead> bulkheads = new EnumMap<>(AuthProvider.class);
+
+    public SocialOAuthClientRegistry(List<SocialOAuthClient> clients, BulkheadRegistry bulkheadRegistry) {
+        for (SocialOAuthClient client : clients) {
+            if (!client.isEnabled()) {
+                continue;
+            }
+            if (this.clients.putIfAbsent(client.provider(), client) != null) {
+                throw new IllegalStateException("Duplicate social OAuth client for " + client.provider());
+            }
+            this.bulkheads.put(client.provider(), bulkheadRegistry.bulkhead(bulkheadName(client.provider())));
+        }
+    }
+
+    public boolean supports(AuthProvider provider) {
+        return clients.containsKey(provider);
+    }
+
+    public SocialUserProfile exchangeAuthCode(AuthProvider provider, String code, String redirectUri, String state) {
+        SocialOAuthClient client = clients.get(provider);
+        if (client == null) {
+            throw new UnsupportedProviderException(provider.name());
+        }
+        try {
+            return bulkheads.get(provider).executeSupplier(() -> client.exchangeAuthCode(code, redirectUri, state));
+        } catch (BulkheadFullException e) {
+            throw new ServiceUnavailableException(provider + " login is busy, try again shortly", e);
+        } catch (ResourceAccessException e) {
+            // 연결 실패/응답 타임아웃
+            throw new ServiceUnavailableException(provider + " login is not responding", e);
+        }
+    }
+
+    static String bulkheadName(AuthProvider provider) {
+        return "social-" + provider.name().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,12 @@
+package com.example.auth.client.social;
+
+import com.example.auth.entity.AuthProvider;
+
+// 구글 외 제공자에서 추출한 최소 사용자 정보.
+public record SocialProfile(
+    AuthProvider provider,
+    String providerId,
+    String email,
+    String name
+) implements SocialUserProfile {
+}
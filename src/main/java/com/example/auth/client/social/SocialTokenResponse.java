@@ -0,0 +1,9 @@
+package com.example.auth.client.social;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+// 제공자 토큰 엔드포인트 응답 중 우리가 쓰는 필드. OIDC 제공자는 id_token, 그 외는 access_token을 쓴다.
+public record SocialTokenResponse(
+    @JsonProperty("id_token") String idToken,
+    @JsonProperty("access_token") String accessToken
+) {}
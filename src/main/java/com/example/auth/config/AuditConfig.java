@@ -0,0 +1,42 @@
+package com.example.auth.config;
+
+import com.example.auth.audit.AuditSink;
+import com.example.auth.audit.RedisStreamAuditSink;
+import com.example.auth.audit.RollingFileAuditSink;
+import java.nio.file.Path;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.util.unit.DataSize;
+
+@Configuration(proxyBeanMethods = false)
+// 감사 이벤트 저장소 선택(auth.audit.sink): redis(기본, Redis Stream) | file(로컬 JSON Lines) | none
+public class AuditConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "auth.audit.sink", havingValue = "redis", matchIfMissing = true)
+    public AuditSink redisStreamAuditSink(
+        StringRedisTemplate redisTemplate,
+        @Value("${auth.audit.redis.stream-key:audit:auth}") String streamKey,
+        @Value("${auth.audit.redis.max-length:1000000}") long maxLength
+    ) {
+        return new RedisStreamAuditSink(redisTemplate, streamKey, maxLength);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "auth.audit.sink", havingValue = "file")
+    public AuditSink rollingFileAuditSink(
+        @Value("${auth.audit.file.directory:./audit}") Path directory,
+        @Value("${auth.audit.file.max-file-size:100MB}") DataSize maxFileSize
+    ) {
+        return new RollingFileAuditSink(directory, maxFileSize.toBytes());
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "auth.audit.sink", havingValue = "none")
+    public AuditSink discardingAuditSink() {
+        return batch -> { };
+    }
+}
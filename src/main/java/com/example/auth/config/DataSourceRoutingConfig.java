@@ -0,0 +1,56 @@
+package com.example.auth.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import javax.sql.DataSource;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+@Configuration
+@ConditionalOnProperty(prefix = "auth.datasource.replica", name = "enabled", havingValue = "true")
+// 레플리카가 설정되면 프라이머리/레플리카 커넥션 풀을 따로 만들고, 읽기 전용 트랜잭션만 레플리카로 라우팅한다.
+public class DataSourceRoutingConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    @Bean
+    @ConfigurationProperties("auth.datasource.replica.hikari")
+    public HikariDataSource replicaDataSource(
+        DataSourceProperties properties,
+        @Value("${auth.datasource.replica.url}") String url,
+        @Value("${auth.datasource.replica.username:${spring.datasource.username:}}") String username,
+        @Value("${auth.datasource.replica.password:${spring.datasource.password:}}") String password
+    ) {
+        HikariDataSource dataSource = DataSourceBuilder.create()
+            .type(HikariDataSource.class)
+            .driverClassName(properties.determineDriverClassName())
+            .url(url)
+            .username(username)
+            .password(password)
+            .build();
+        dataSource.setPoolName("replica");
+        dataSource.setReadOnly(true);
+        return dataSource;
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(
+        @Qualifier("primaryDataSource") DataSource primaryDataSource,
+        @Qualifier("replicaDataSource") DataSource replicaDataSource
+    ) {
+        return ReplicationRoutingDataSource.create(primaryDataSource, replicaDataSource);
+    }
+}
@@ -0,0 +1,34 @@
+package com.example.auth.config;
+
+import com.example.auth.grpc.GrpcIntrospectionServer;
+import com.example.auth.grpc.TokenIntrospectionGrpcService;
+import com.example.auth.security.jwt.JwtTokenProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(prefix = "auth.introspection.grpc", name = "enabled", havingValue = "true")
+// 내부 게이트웨이용 gRPC 토큰 introspection(src/main/proto). 기본 꺼짐.
+public class GrpcIntrospectionConfig {
+
+    @Bean
+    public GrpcIntrospectionServer grpcIntrospectionServer(
+        JwtTokenProvider jwtTokenProvider,
+        @Value("${auth.introspection.grpc.address:127.0.0.1}") String address,
+        @Value("${auth.introspection.grpc.port:9090}") int port,
+        @Value("${auth.introspection.grpc.threads:0}") int threads,
+        @Value("${auth.introspection.grpc.max-batch-size:1000}") int maxBatchSize,
+        @Value("${auth.introspection.grpc.cache-size:100000}") int cacheSize,
+        @Value("${auth.introspection.grpc.shared-secret:}") String sharedSecret
+    ) {
+        return new GrpcIntrospectionServer(
+            new TokenIntrospectionGrpcService(jwtTokenProvider, cacheSize, maxBatchSize),
+            address,
+            port,
+            threads,
+            sharedSecret
+        );
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.auth.config;
+
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.aot.hint.TypeReference;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.ImportRuntimeHints;
+
+@Configuration(proxyBeanMethods = false)
+@ImportRuntimeHints(NativeHintsConfig.JjwtRuntimeHints.class)
+// 네이티브 이미지에서 리플렉션/ServiceLoader로 로드되는 라이브러리 클래스를 등록한다.
+// Hibernate 엔터티, Lettuce, Nimbus 등은 스프링 AOT와 GraalVM reachability metadata 저장소가 처리한다.
+public class NativeHintsConfig {
+
+    // JJWT 0.11.x는 jjwt-api에서 jjwt-impl 구현체를 클래스 이름으로 생성하고,
+    // jjwt-jackson 직렬화기를 ServiceLoader로 찾는다(둘 다 runtimeOnly 의존성이라 클래스 리터럴 대신 이름으로 등록).
+    static class JjwtRuntimeHints implements RuntimeHintsRegistrar {
+
+        private static final String[] IMPL_TYPES = {
+            "io.jsonwebtoken.impl.DefaultJwtBuilder",
+            "io.jsonwebtoken.impl.DefaultJwtParserBuilder",
+            "io.jsonwebtoken.impl.DefaultJwtParser",
+            "io.jsonwebtoken.impl.DefaultClaims",
+            "io.jsonwebtoken.impl.DefaultHeader",
+            "io.jsonwebtoken.impl.DefaultJwsHeader",
+            "io.jsonwebtoken.impl.compression.DeflateCompressionCodec",
+            "io.jsonwebtoken.impl.compression.GzipCompressionCodec",
+            "io.jsonwebtoken.jackson.io.JacksonSerializer",
+            "io.jsonwebtoken.jackson.io.JacksonDeserializer"
+        };
+
+        @Override
+        public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+            for (String type : IMPL_TYPES) {
+                hints.reflection().registerType(
+                    TypeReference.of(type),
+                    MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS,
+                    MemberCategory.INVOKE_DECLARED_CONSTRUCTORS,
+                    MemberCategory.INVOKE_PUBLIC_METHODS
+                );
+            }
+            hints.resources().registerPattern("META-INF/services/io.jsonwebtoken.io.*");
+        }
+    }
+}
@@ -5,15 +5,22 @@ import io.swagger.v3.oas.models.OpenAPI;
 import io.swagger.v3.oas.models.info.Info;
 import io.swagger.v3.oas.models.security.SecurityRequirement;
 import io.swagger.v3.oas.models.security.SecurityScheme;
+import org.springframework.beans.factory.annotation.AnnotatedBeanDefinition;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.BeanFactoryPostProcessor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.core.type.MethodMetadata;
 
 @Configuration
 public class OpenApiConfig {
 
     private static final String SECURITY_SCHEME_NAME = "bearerAuth";
+    private static final String SPRINGDOC_PACKAGE = "org.springdoc.";
 
     @Bean
+    @Lazy
     public OpenAPI openAPI() {
         return new OpenAPI()
             .info(new Info()
@@ -31,5 +38,30 @@ public class OpenApiConfig {
                         .bearerFormat("JWT")
                 ));
     }
+
+    @Bean
+    // 문서(springdoc) 관련 빈은 기동 시 만들지 않고 /v3/api-docs, swagger-ui 첫 요청 때 만든다.
+    public static BeanFactoryPostProcessor lazySpringDocBeans() {
+        return beanFactory -> {
+            for (String beanName : beanFactory.getBeanDefinitionNames()) {
+                BeanDefinition definition = beanFactory.getBeanDefinition(beanName);
+                if (declaredBySpringDoc(definition)) {
+                    definition.setLazyInit(true);
+                }
+            }
+        };
+    }
+
+    private static boolean declaredBySpringDoc(BeanDefinition definition) {
+        String beanClassName = definition.getBeanClassName();
+        if (beanClassName != null && beanClassName.startsWith(SPRINGDOC_PACKAGE)) {
+            return true;
+        }
+        if (definition instanceof AnnotatedBeanDefinition annotated) {
+            MethodMetadata factoryMethod = annotated.getFactoryMethodMetadata();
+            return factoryMethod != null && factoryMethod.getDeclaringClassName().startsWith(SPRINGDOC_PACKAGE);
+        }
+        return false;
+    }
 }
 
@@ -0,0 +1,56 @@
+package com.example.auth.config;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+@Component
+// 최근에 프라이머리에 쓴 키(사용자)를 기억해 두고, 설정된 창(window) 동안은 해당 키의 읽기를 프라이머리로 보낸다.
+// 레플리카 복제 지연 때문에 방금 upsert한 사용자를 못 찾거나 예전 프로필을 읽는 것을 막는다.
+// 파드 단위 메모리 상태이므로 다른 파드에서 쓴 내용까지 보장하지는 않는다.
+public class ReadYourWritesTracker {
+
+    private static final int PRUNE_THRESHOLD = 10_000;
+
+    private final long windowNanos;
+    private final Map<String, Long> lastWrites = new ConcurrentHashMap<>();
+
+    public ReadYourWritesTracker(
+        @Value("${auth.datasource.replica.read-your-writes-window:2s}") Duration window
+    ) {
+        this.windowNanos = window.toNanos();
+    }
+
+    public void markWritten(String key) {
+        if (windowNanos <= 0) {
+            return;
+        }
+        long now = System.nanoTime();
+        lastWrites.put(key, now);
+        if (lastWrites.size() > PRUNE_THRESHOLD) {
+            lastWrites.values().removeIf(writtenAt -> now - writtenAt > windowNanos);
+        }
+    }
+
+    public boolean recentlyWritten(String key) {
+        Long writtenAt = lastWrites.get(key);
+        if (writtenAt == null) {
+            return false;
+        }
+        if (System.nanoTime() - writtenAt > windowNanos) {
+            lastWrites.remove(key, writtenAt);
+            return false;
+        }
+        return true;
+    }
+
+    public <T> T read(String key, Supplier<T> query) {
+        if (recentlyWritten(key)) {
+            return ReplicationRoutingDataSource.onPrimary(query);
+        }
+        return query.get();
+    }
+}
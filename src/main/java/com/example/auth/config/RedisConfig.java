@@ -0,0 +1,45 @@
+package com.example.auth.config;
+
+import io.lettuce.core.metrics.MicrometerOptions;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnection;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+
+@Configuration
+@ConditionalOnProperty(prefix = "auth.redis", name = "enabled", havingValue = "true", matchIfMissing = true)
+// Lettuce 커넥션 관련 튜닝과 지표 설정.
+// - 일반 명령은 공유 네이티브 커넥션 하나로 다중화되고, 블로킹/트랜잭션 명령은
+//   spring.data.redis.lettuce.pool.* 설정의 전용 커넥션 풀을 사용한다.
+// - 명령 지연은 lettuce.command.firstresponse / lettuce.command.completion 타이머로 노출된다.
+// auth.redis.enabled=false(single-node 프로파일)이면 이 설정과 Redis를 쓰는 빈(RedisGuard, VersionLookupBatcher,
+// RefreshKeyLayoutMigration)을 만들지 않는다. 그 프로파일은 Redis 자동 설정도 빼서 커넥션 팩토리가 생기지 않는다.
+public class RedisConfig {
+
+    @Bean
+    // 대기열 정체를 보기 위해 명령 지연 지표를 히스토그램으로 내보낸다.
+    public MicrometerOptions micrometerOptions() {
+        return MicrometerOptions.builder()
+            .histogram(true)
+            .build();
+    }
+
+    @Bean
+    // 파이프라인 실행 시 flush 정책: 0이면 명령마다 flush, N이면 N개씩 모아서 flush.
+    public static BeanPostProcessor lettucePipeliningFlushPolicy(
+        @Value("${auth.redis.pipelining-flush-buffer-size:0}") int bufferSize
+    ) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof LettuceConnectionFactory factory && bufferSize > 0) {
+                    factory.setPipeliningFlushPolicy(LettuceConnection.PipeliningFlushPolicy.buffered(bufferSize));
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -0,0 +1,117 @@
+package com.example.auth.config;
+
+import com.example.auth.service.MappedRefreshTokenStore;
+import com.example.auth.service.RedisGuard;
+import com.example.auth.service.RedisRefreshTokenStore;
+import com.example.auth.service.RefreshKeyLayout;
+import com.example.auth.service.RefreshReplicator;
+import com.example.auth.service.RefreshTokenCodec;
+import com.example.auth.service.RefreshTokenStore;
+import com.example.auth.service.RegionalRefreshTokenStore;
+import com.example.auth.service.VersionLookupBatcher;
+import io.lettuce.core.RedisURI;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceClientConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.util.unit.DataSize;
+
+@Configuration(proxyBeanMethods = false)
+// 리프레시 토큰 저장소 선택(auth.refresh.store): redis(기본) | mapped(단일 노드, 로컬 메모리 맵 파일)
+// | regional(멀티 리전: 지역별 Redis + 스트림 복제, RegionalRefreshTokenStore)
+public class RefreshTokenStoreConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "auth.refresh.store", havingValue = "redis", matchIfMissing = true)
+    public RefreshTokenStore redisRefreshTokenStore(
+        StringRedisTemplate redisTemplate,
+        RedisGuard redisGuard,
+        RefreshTokenCodec codec,
+        VersionLookupBatcher versionLookups,
+        RefreshKeyLayout keys
+    ) {
+        return new RedisRefreshTokenStore(redisTemplate, redisGuard, codec, versionLookups, keys);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "auth.refresh.store", havingValue = "mapped")
+    public MappedRefreshTokenStore mappedRefreshTokenStore(
+        @Value("${auth.refresh.mapped.path:./data/refresh-tokens.log}") Path path,
+        @Value("${auth.refresh.mapped.capacity:256MB}") DataSize capacity,
+        @Value("${auth.refresh.mapped.force-interval:1s}") Duration forceInterval,
+        @Value("${auth.refresh.mapped.compaction-interval:30s}") Duration compactionInterval,
+        MeterRegistry meterRegistry
+    ) {
+        return new MappedRefreshTokenStore(path, capacity.toBytes(), forceInterval, compactionInterval, meterRegistry);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "auth.refresh.store", havingValue = "regional")
+    public RegionalRefreshTokenStore regionalRefreshTokenStore(
+        StringRedisTemplate redisTemplate,
+        RedisGuard redisGuard,
+        RefreshTokenCodec codec,
+        VersionLookupBatcher versionLookups,
+        RefreshKeyLayout keys,
+        @Value("${auth.refresh.region.name:}") String region,
+        @Value("${auth.refresh.region.stream-max-length:1000000}") long streamMaxLength
+    ) {
+        RedisRefreshTokenStore local =
+            new RedisRefreshTokenStore(redisTemplate, redisGuard, codec, versionLookups, keys);
+        return new RegionalRefreshTokenStore(local, redisTemplate, redisGuard, codec, keys, region, streamMaxLength);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "auth.refresh.store", havingValue = "regional")
+    public RefreshReplicator refreshReplicator(
+        RegionalRefreshTokenStore store,
+        @Value("${auth.refresh.region.peers:}") String peers,
+        @Value("${auth.refresh.region.consumer:}") String consumer,
+        @Value("${auth.refresh.region.apply-delay:0s}") Duration applyDelay,
+        MeterRegistry meterRegistry
+    ) {
+        String consumerName = consumer.isBlank() ? UUID.randomUUID().toString() : consumer;
+        return new RefreshReplicator(store, peerConnections(peers), consumerName, applyDelay, meterRegistry);
+    }
+
+    // "us-east-1=redis://:password@host:6379,eu-west-1=rediss://host:6380" -> 지역 이름 -> 연결 팩토리
+    static Map<String, LettuceConnectionFactory> peerConnections(String peers) {
+        Map<String, LettuceConnectionFactory> connections = new LinkedHashMap<>();
+        for (String peer : peers.split(",")) {
+            if (peer.isBlank()) {
+                continue;
+            }
+            int eq = peer.indexOf('=');
+            if (eq <= 0) {
+                throw new IllegalArgumentException(
+                    "auth.refresh.region.peers entries must be <region>=<redis-uri>: " + peer
+                );
+            }
+            RedisURI uri = RedisURI.create(peer.substring(eq + 1).trim());
+            RedisStandaloneConfiguration redis = new RedisStandaloneConfiguration(uri.getHost(), uri.getPort());
+            redis.setDatabase(uri.getDatabase());
+            if (uri.getUsername() != null) {
+                redis.setUsername(uri.getUsername());
+            }
+            if (uri.getPassword() != null) {
+                redis.setPassword(uri.getPassword());
+            }
+            LettuceClientConfiguration.LettuceClientConfigurationBuilder client = LettuceClientConfiguration.builder();
+            if (uri.isSsl()) {
+                client.useSsl();
+            }
+            connections.put(peer.substring(0, eq).trim(), new LettuceConnectionFactory(redis, client.build()));
+        }
+        return connections;
+    }
+}
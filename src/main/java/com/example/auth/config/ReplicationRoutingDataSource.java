@@ -0,0 +1,51 @@
+package com.example.auth.config;
+
+import java.util.Map;
+import java.util.function.Supplier;
+import javax.sql.DataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+// @Transactional(readOnly = true) 트랜잭션은 레플리카로, 그 외(쓰기/트랜잭션 밖)는 프라이머리로 보낸다.
+// 트랜잭션 매니저는 readOnly 플래그를 커넥션 획득 이후에 설정하므로, 반드시 LazyConnectionDataSourceProxy로 감싸서 써야 한다(create 참고).
+public class ReplicationRoutingDataSource extends AbstractRoutingDataSource {
+
+    enum Route { PRIMARY, REPLICA }
+
+    private static final ThreadLocal<Boolean> PRIMARY_FORCED = new ThreadLocal<>();
+
+    public static DataSource create(DataSource primary, DataSource replica) {
+        ReplicationRoutingDataSource routing = new ReplicationRoutingDataSource();
+        routing.setTargetDataSources(Map.of(Route.PRIMARY, primary, Route.REPLICA, replica));
+        routing.setDefaultTargetDataSource(primary);
+        routing.afterPropertiesSet();
+        return new LazyConnectionDataSourceProxy(routing);
+    }
+
+    /**
+     * 읽기 전용 트랜잭션이라도 이 블록 안에서 열리는 커넥션은 프라이머리를 사용한다.
+     * 방금 쓴 데이터를 다시 읽어야 하는 경우(read-your-writes)에 사용한다.
+     */
+    public static <T> T onPrimary(Supplier<T> action) {
+        Boolean previous = PRIMARY_FORCED.get();
+        PRIMARY_FORCED.set(Boolean.TRUE);
+        try {
+            return action.get();
+        } finally {
+            if (previous == null) {
+                PRIMARY_FORCED.remove();
+            } else {
+                PRIMARY_FORCED.set(previous);
+            }
+        }
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (TransactionSynchronizationManager.isCurrentTransactionReadOnly() && PRIMARY_FORCED.get() == null) {
+            return Route.REPLICA;
+        }
+        return Route.PRIMARY;
+    }
+}
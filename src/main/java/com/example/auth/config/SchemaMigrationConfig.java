@@ -0,0 +1,27 @@
+package com.example.auth.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationStrategy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Slf4j
+@Configuration(proxyBeanMethods = false)
+// 기동 시 Flyway 마이그레이션 실행 여부(auth.schema.migrate-on-startup).
+// AOT로 빌드한 이미지에서는 spring.flyway.enabled 같은 조건이 빌드 시점에 고정되므로, 런타임에 끌 수 있는 스위치를 따로 둔다.
+public class SchemaMigrationConfig {
+
+    @Bean
+    public FlywayMigrationStrategy flywayMigrationStrategy(
+        @Value("${auth.schema.migrate-on-startup:true}") boolean migrateOnStartup
+    ) {
+        return flyway -> {
+            if (migrateOnStartup) {
+                flyway.migrate();
+            } else {
+                log.info("Skipping schema migration (auth.schema.migrate-on-startup=false)");
+            }
+        };
+    }
+}
@@ -1,21 +1,35 @@
 package com.example.auth.config;
 
 import com.example.auth.security.jwt.JwtAuthenticationFilter;
+import com.example.auth.security.jwt.PublicEndpoints;
 import jakarta.servlet.http.HttpServletResponse;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Objects;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
+import org.springframework.security.config.Customizer;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.Order;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
+import org.springframework.security.config.annotation.web.configurers.AuthorizeHttpRequestsConfigurer;
 import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.provisioning.InMemoryUserDetailsManager;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+import org.springframework.security.web.util.matcher.AntPathRequestMatcher;
+import org.springframework.security.web.util.matcher.OrRequestMatcher;
+import org.springframework.security.web.util.matcher.RequestMatcher;
 import org.springframework.util.StringUtils;
 
 @Configuration
@@ -24,6 +38,24 @@ import org.springframework.util.StringUtils;
 // HTTP 보안 설정을 담당한다. JwtAuthenticationFilter로 Bearer 토큰을 읽어들인다.
 public class SecurityConfig {
 
+    // 운영 도구 actuator 엔드포인트. actuator 체인 안에서 관리자 Basic 인증을 요구한다.
+    private static final RequestMatcher ADMIN_ACTUATOR = AntPathRequestMatcher.antMatcher("/actuator/jfr/**");
+
+    // k8s 프로브. actuator에서 인증 없이 여는 유일한 경로다.
+    private static final RequestMatcher HEALTH = AntPathRequestMatcher.antMatcher("/actuator/health/**");
+
+    // 지표(엔드포인트별 트래픽, 사용자 수, 풀/Redis 상태). 스크레이프 계정이나 관리자 Basic 인증을 요구한다.
+    private static final RequestMatcher METRICS = new OrRequestMatcher(
+        AntPathRequestMatcher.antMatcher("/actuator/metrics/**"),
+        AntPathRequestMatcher.antMatcher("/actuator/prometheus")
+    );
+
+    // 액세스 토큰 폐기 피드(사용자 ID와 로그아웃 시각). auth-verifier RevocationFeed가 서비스 계정 Basic 인증으로 읽는다.
+    private static final RequestMatcher REVOCATION_FEED = AntPathRequestMatcher.antMatcher("/actuator/revocations/**");
+
+    // 관리자 API(대량 사용자 등록 등). 별도 체인에서 같은 관리자 Basic 인증을 요구한다.
+    private static final RequestMatcher ADMIN_API = AntPathRequestMatcher.antMatcher("/api/admin/**");
+
     private final JwtAuthenticationFilter jwtAuthenticationFilter;
 
     @Value("${auth.cors.allowed-origins:}")
@@ -32,8 +64,67 @@ public class SecurityConfig {
     @Value("${auth.cors.allowed-origin-patterns:}")
     private String allowedOriginPatterns;
 
+    @Value("${auth.admin.username:admin}")
+    private String adminUsername;
+
+    @Value("${auth.admin.password:}")
+    private String adminPassword;
+
+    @Value("${auth.metrics.username:prometheus}")
+    private String metricsUsername;
+
+    @Value("${auth.metrics.password:}")
+    private String metricsPassword;
+
+    @Value("${auth.jwt.revocation-feed.username:revocation-reader}")
+    private String revocationFeedUsername;
+
+    @Value("${auth.jwt.revocation-feed.password:}")
+    private String revocationFeedPassword;
+
+    @Bean
+    @Order(1)
+    // actuator 전용 체인: k8s 프로브가 자주 호출하므로 JWT 필터/CORS 없이 최소 구성으로 처리한다.
+    // 인증 없이 여는 것은 health뿐이다. 지표는 스크레이프 계정(auth.metrics.*), 폐기 피드는 피드 계정(auth.jwt.revocation-feed.*)
+    // 또는 관리자 Basic 인증(auth.admin.*)을, 그 밖의 actuator(JFR 등)는 관리자 Basic 인증을 요구한다.
+    public SecurityFilterChain actuatorSecurityFilterChain(HttpSecurity http) throws Exception {
+        http
+            .securityMatcher(PublicEndpoints.ACTUATOR)
+            .httpBasic(Customizer.withDefaults())
+            .userDetailsService(users(
+                account(adminUsername, adminPassword, "ADMIN"),
+                account(metricsUsername, metricsPassword, "METRICS"),
+                account(revocationFeedUsername, revocationFeedPassword, "REVOCATION_FEED")
+            ));
+        return minimalChain(http, auth -> auth
+            .requestMatchers(HEALTH).permitAll()
+            .requestMatchers(METRICS).hasAnyRole("ADMIN", "METRICS")
+            .requestMatchers(REVOCATION_FEED).hasAnyRole("ADMIN", "REVOCATION_FEED")
+            .anyRequest().hasRole("ADMIN")
+        );
+    }
+
+    @Bean
+    @Order(2)
+    // Swagger UI/OpenAPI 문서 전용 체인.
+    public SecurityFilterChain docsSecurityFilterChain(HttpSecurity http) throws Exception {
+        return publicChain(http.securityMatcher(PublicEndpoints.DOCS));
+    }
+
+    @Bean
+    @Order(3)
+    // 관리자 API 전용 체인: JWT 대신 관리자 Basic 인증(auth.admin.*)만 받는다.
+    public SecurityFilterChain adminSecurityFilterChain(HttpSecurity http) throws Exception {
+        http
+            .securityMatcher(ADMIN_API)
+            .httpBasic(Customizer.withDefaults())
+            .userDetailsService(users(account(adminUsername, adminPassword, "ADMIN")));
+        return minimalChain(http, auth -> auth.anyRequest().hasRole("ADMIN"));
+    }
+
     @Bean
-    // SecurityFilterChain 빈으로 보안 규칙을 정의한다.
+    @Order(4)
+    // SecurityFilterChain 빈으로 API 보안 규칙을 정의한다.
     public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
         http
             // JWT로 인증하므로 CSRF는 비활성화.
@@ -51,17 +142,9 @@ public class SecurityConfig {
                     response.sendError(HttpServletResponse.SC_UNAUTHORIZED)
                 )
             )
-            // swagger, 토큰 발급, 헬스체크는 무인증으로 허용.
+            // 토큰 발급 API와 preflight는 무인증으로 허용(JwtAuthenticationFilter도 같은 매처로 건너뛴다).
             .authorizeHttpRequests(auth -> auth
-                .requestMatchers(
-                    "/swagger-ui.html",
-                    "/swagger-ui/**",
-                    "/v3/api-docs/**",
-                    "/api/auth/token",
-                    "/api/auth/refresh",
-                    "/api/auth/google/code",
-                    "/actuator/**"
-                ).permitAll()
+                .requestMatchers(PublicEndpoints.TOKEN_ISSUING, PublicEndpoints.PREFLIGHT).permitAll()
                 // 그 외 모든 요청은 인증 필요.
                 .anyRequest().authenticated()
             )
@@ -70,6 +153,50 @@ public class SecurityConfig {
         return http.build();
     }
 
+    @Bean
+    // JwtAuthenticationFilter는 @Component라 서블릿 필터로도 자동 등록되는데,
+    // 그러면 actuator/문서 체인을 탄 요청에도 실행된다. 보안 체인 안에서만 실행되도록 자동 등록을 끈다.
+    public FilterRegistrationBean<JwtAuthenticationFilter> jwtAuthenticationFilterRegistration() {
+        FilterRegistrationBean<JwtAuthenticationFilter> registration = new FilterRegistrationBean<>(jwtAuthenticationFilter);
+        registration.setEnabled(false);
+        return registration;
+    }
+
+    // 세션/CSRF/요청 캐시 등 무인증 경로에 필요 없는 필터를 뺀 체인.
+    private static SecurityFilterChain publicChain(HttpSecurity http) throws Exception {
+        return minimalChain(http.httpBasic(AbstractHttpConfigurer::disable), auth -> auth.anyRequest().permitAll());
+    }
+
+    private static SecurityFilterChain minimalChain(
+        HttpSecurity http,
+        Customizer<AuthorizeHttpRequestsConfigurer<HttpSecurity>.AuthorizationManagerRequestMatcherRegistry> rules
+    ) throws Exception {
+        http
+            .csrf(AbstractHttpConfigurer::disable)
+            .formLogin(AbstractHttpConfigurer::disable)
+            .logout(AbstractHttpConfigurer::disable)
+            .requestCache(AbstractHttpConfigurer::disable)
+            .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
+            .authorizeHttpRequests(rules);
+        return http.build();
+    }
+
+    private static UserDetailsService users(UserDetails... accounts) {
+        return new InMemoryUserDetailsManager(
+            Arrays.stream(accounts).filter(Objects::nonNull).toArray(UserDetails[]::new)
+        );
+    }
+
+    // Basic 인증 계정. 비밀번호가 비어 있으면 계정이 없어 그 계정이 필요한 엔드포인트는 항상 401이다.
+    // {bcrypt}... 처럼 인코딩 접두사가 있으면 그대로, 없으면 평문({noop})으로 본다.
+    private static UserDetails account(String username, String password, String role) {
+        if (!StringUtils.hasText(password)) {
+            return null;
+        }
+        String encoded = password.startsWith("{") ? password : "{noop}" + password;
+        return User.withUsername(username).password(encoded).roles(role).build();
+    }
+
     @Bean
     public CorsConfigurationSource corsConfigurationSource() {
         CorsConfiguration configuration = new CorsConfiguration();
@@ -0,0 +1,25 @@
+package com.example.auth.controller;
+
+import com.example.auth.service.AccessTokenRevocationService;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+@Component
+@Endpoint(id = "revocations")
+// GET /actuator/revocations?since=<epoch 밀리초>: auth-verifier RevocationFeed가 폴링하는 폐기 피드.
+// 응답 예) {"cursor":1767225600000,"revocations":[{"userId":1,"revokedAt":1767225599000}]}
+public class AccessTokenRevocationEndpoint {
+
+    private final AccessTokenRevocationService revocationService;
+
+    public AccessTokenRevocationEndpoint(AccessTokenRevocationService revocationService) {
+        this.revocationService = revocationService;
+    }
+
+    @ReadOperation
+    public AccessTokenRevocationService.Feed revocations(@Nullable Long since) {
+        return revocationService.since(since == null ? 0 : since);
+    }
+}
@@ -0,0 +1,27 @@
+package com.example.auth.controller;
+
+import com.example.auth.dto.BulkProvisionRequest;
+import com.example.auth.service.UserBulkProvisioner;
+import jakarta.validation.Valid;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/admin/users")
+// 관리자 전용(SecurityConfig의 admin 체인에서 Basic 인증) 사용자 관리 API.
+public class AdminUserController {
+
+    private final UserBulkProvisioner bulkProvisioner;
+
+    public AdminUserController(UserBulkProvisioner bulkProvisioner) {
+        this.bulkProvisioner = bulkProvisioner;
+    }
+
+    @PostMapping("/bulk")
+    // 소셜 사용자를 한 번에 등록/갱신한다. 같은 요청을 다시 보내도 결과는 같다.
+    public UserBulkProvisioner.Result bulkProvision(@Valid @RequestBody BulkProvisionRequest request) {
+        return bulkProvisioner.provision(request.users());
+    }
+}
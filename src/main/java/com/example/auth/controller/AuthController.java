@@ -4,12 +4,14 @@ import com.example.auth.dto.AuthRequest;
 import com.example.auth.dto.AuthResponse;
 import com.example.auth.dto.GoogleAuthCodeRequest;
 import com.example.auth.dto.RefreshTokenRequest;
+import com.example.auth.dto.SocialAuthCodeRequest;
 import com.example.auth.dto.UserInfoResponse;
 import com.example.auth.security.jwt.JwtUserPrincipal;
 import com.example.auth.service.AuthService;
 import jakarta.validation.Valid;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
@@ -46,6 +48,15 @@ public class AuthController {
         return authService.loginWithGoogleAuthCode(request);
     }
 
+    @PostMapping("/{provider}/code")
+    // 소셜 제공자(google, kakao, apple, naver)의 인가 코드를 받아 우리 JWT로 교환한다.
+    public AuthResponse issueTokenFromAuthCode(
+        @PathVariable String provider,
+        @Valid @RequestBody SocialAuthCodeRequest request
+    ) {
+        return authService.loginWithAuthCode(provider, request);
+    }
+
     @PostMapping("/refresh")
     // RTR: 유효한 리프레시 토큰을 소비하고 새 액세스/리프레시 토큰을 발급한다.
     public AuthResponse refresh(@Valid @RequestBody RefreshTokenRequest request) {
@@ -0,0 +1,201 @@
+package com.example.auth.controller;
+
+import com.example.auth.dto.AuthResponse;
+import com.example.auth.dto.UserInfoResponse;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.stereotype.Component;
+
+@Component
+// 토큰/내 정보 응답(AuthResponse, UserInfoResponse) 전용 JSON 쓰기 변환기.
+// 모양이 고정된 작은 레코드라 Jackson의 리플렉션 기반 직렬화 대신, 미리 인코딩한 필드 이름과 값을
+// 스레드별 재사용 버퍼에 쓰고 응답 스트림으로 한 번에 내보낸다.
+// 출력은 기본 ObjectMapper(null 포함, 선언 순서, 표준 이스케이프)와 바이트 단위로 같다(AuthJsonHttpMessageConverterTest).
+// HttpMessageConverter 빈은 Spring Boot가 기본 변환기보다 앞에 등록하므로 이 두 타입에만 먼저 적용된다.
+public class AuthJsonHttpMessageConverter extends AbstractHttpMessageConverter<Object> {
+
+    private static final byte[] ACCESS_TOKEN = ascii("{\"accessToken\":");
+    private static final byte[] REFRESH_TOKEN = ascii(",\"refreshToken\":");
+    private static final byte[] USER_ID = ascii("{\"userId\":");
+    private static final byte[] NAME = ascii(",\"name\":");
+    private static final byte[] NATIONALITY = ascii(",\"nationality\":");
+    private static final byte[] PROVIDER_ID = ascii(",\"providerId\":");
+    private static final byte[] NULL = ascii("null");
+    private static final byte[] HEX = ascii("0123456789ABCDEF");
+
+    // Jackson과 같은 이스케이프 규칙: 0이면 그대로, 'u'면 \\u00XX, 나머지는 \\ 뒤에 붙일 문자.
+    private static final byte[] ESCAPES = new byte[128];
+
+    static {
+        for (int c = 0; c < 0x20; c++) {
+            ESCAPES[c] = 'u';
+        }
+        ESCAPES['"'] = '"';
+        ESCAPES['\\'] = '\\';
+        ESCAPES['\b'] = 'b';
+        ESCAPES['\t'] = 't';
+        ESCAPES['\f'] = 'f';
+        ESCAPES['\n'] = 'n';
+        ESCAPES['\r'] = 'r';
+    }
+
+    private static final ThreadLocal<JsonBuffer> BUFFERS = ThreadLocal.withInitial(JsonBuffer::new);
+
+    public AuthJsonHttpMessageConverter() {
+        super(MediaType.APPLICATION_JSON);
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return clazz == AuthResponse.class || clazz == UserInfoResponse.class;
+    }
+
+    @Override
+    public boolean canRead(Class<?> clazz, MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    protected Object readInternal(Class<?> clazz, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("Write-only converter", inputMessage);
+    }
+
+    @Override
+    protected void writeInternal(Object body, HttpOutputMessage outputMessage) throws IOException {
+        JsonBuffer buffer = BUFFERS.get();
+        buffer.reset();
+        write(body, buffer);
+        buffer.writeTo(outputMessage.getBody());
+    }
+
+    static byte[] toJson(Object body) {
+        JsonBuffer buffer = new JsonBuffer();
+        write(body, buffer);
+        return buffer.toByteArray();
+    }
+
+    private static void write(Object body, JsonBuffer buffer) {
+        if (body instanceof AuthResponse response) {
+            buffer.write(ACCESS_TOKEN);
+            writeString(buffer, response.accessToken());
+            buffer.write(REFRESH_TOKEN);
+            writeString(buffer, response.refreshToken());
+        } else if (body instanceof UserInfoResponse response) {
+            buffer.write(USER_ID);
+            writeLong(buffer, response.userId());
+            buffer.write(NAME);
+            writeString(buffer, response.name());
+            buffer.write(NATIONALITY);
+            writeString(buffer, response.nationality());
+            buffer.write(PROVIDER_ID);
+            writeString(buffer, response.providerId());
+        } else {
+            throw new IllegalArgumentException("Unsupported type: " + body.getClass());
+        }
+        buffer.write('}');
+    }
+
+    private static void writeLong(JsonBuffer buffer, Long value) {
+        if (value == null) {
+            buffer.write(NULL);
+            return;
+        }
+        String digits = Long.toString(value);
+        for (int i = 0; i < digits.length(); i++) {
+            buffer.write(digits.charAt(i));
+        }
+    }
+
+    private static void writeString(JsonBuffer buffer, String value) {
+        if (value == null) {
+            buffer.write(NULL);
+            return;
+        }
+        buffer.write('"');
+        int length = value.length();
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            if (c < 0x80) {
+                byte escape = ESCAPES[c];
+                if (escape == 0) {
+                    buffer.write(c);
+                } else if (escape == 'u') {
+                    writeUnicodeEscape(buffer, c);
+                } else {
+                    buffer.write('\\');
+                    buffer.write(escape);
+                }
+            } else if (c < 0x800) {
+                buffer.write(0xC0 | (c >> 6));
+                buffer.write(0x80 | (c & 0x3F));
+            } else if (Character.isSurrogate(c)) {
+                // Jackson(UTF-8 생성기)은 BMP 밖 문자를 4바이트 UTF-8 대신 서로게이트별 \\uXXXX로 쓴다.
+                writeUnicodeEscape(buffer, c);
+            } else {
+                buffer.write(0xE0 | (c >> 12));
+                buffer.write(0x80 | ((c >> 6) & 0x3F));
+                buffer.write(0x80 | (c & 0x3F));
+            }
+        }
+        buffer.write('"');
+    }
+
+    private static void writeUnicodeEscape(JsonBuffer buffer, char c) {
+        buffer.write('\\');
+        buffer.write('u');
+        buffer.write(HEX[(c >> 12) & 0xF]);
+        buffer.write(HEX[(c >> 8) & 0xF]);
+        buffer.write(HEX[(c >> 4) & 0xF]);
+        buffer.write(HEX[c & 0xF]);
+    }
+
+    private static byte[] ascii(String value) {
+        return value.getBytes(StandardCharsets.US_ASCII);
+    }
+
+    // 요청 스레드마다 하나씩 재사용하는 바이트 버퍼. 드물게 큰 응답으로 커지면 다음 요청 전에 기본 크기로 되돌린다.
+    static final class JsonBuffer {
+        private static final int INITIAL_CAPACITY = 1024;
+        private static final int MAX_RETAINED_CAPACITY = 16 * 1024;
+
+        private byte[] bytes = new byte[INITIAL_CAPACITY];
+        private int size;
+
+        void reset() {
+            if (bytes.length > MAX_RETAINED_CAPACITY) {
+                bytes = new byte[INITIAL_CAPACITY];
+            }
+            size = 0;
+        }
+
+        void write(int b) {
+            if (size == bytes.length) {
+                bytes = Arrays.copyOf(bytes, size * 2);
+            }
+            bytes[size++] = (byte) b;
+        }
+
+        void write(byte[] chunk) {
+            if (size + chunk.length > bytes.length) {
+                bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, size + chunk.length));
+            }
+            System.arraycopy(chunk, 0, bytes, size, chunk.length);
+            size += chunk.length;
+        }
+
+        void writeTo(OutputStream out) throws IOException {
+            out.write(bytes, 0, size);
+        }
+
+        byte[] toByteArray() {
+            return Arrays.copyOf(bytes, size);
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.example.auth.controller;
+
+import com.example.auth.jfr.JfrRecorder;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+@Component
+@Endpoint(id = "jfr")
+// 관리자 전용(SecurityConfig의 actuator 체인에서 Basic 인증) JFR 녹화 제어.
+// GET  /actuator/jfr                              현재 녹화 상태
+// POST /actuator/jfr/start {"durationSeconds":60}  녹화 시작(auth.jfr.max-duration으로 제한)
+// POST /actuator/jfr/stop                         녹화 중지
+// GET  /actuator/jfr/dump                         .jfr 파일 내려받기(jfr print / JDK Mission Control로 연다)
+//                                                 요청마다 새 덤프 파일을 쓰고, 응답을 다 쓰면 지운다.
+public class JfrRecordingEndpoint {
+
+    private final JfrRecorder recorder;
+
+    public JfrRecordingEndpoint(JfrRecorder recorder) {
+        this.recorder = recorder;
+    }
+
+    @ReadOperation
+    public JfrRecorder.Status status() {
+        return recorder.status();
+    }
+
+    @WriteOperation
+    public WebEndpointResponse<JfrRecorder.Status> control(@Selector String action, @Nullable Long durationSeconds) {
+        return switch (action) {
+            case "start" -> new WebEndpointResponse<>(
+                recorder.start(durationSeconds == null ? null : Duration.ofSeconds(durationSeconds))
+            );
+            case "stop" -> new WebEndpointResponse<>(recorder.stop());
+            default -> new WebEndpointResponse<>(WebEndpointResponse.STATUS_BAD_REQUEST);
+        };
+    }
+
+    @ReadOperation(produces = "application/octet-stream")
+    public WebEndpointResponse<Resource> dump(@Selector String name) {
+        if (!"dump".equals(name)) {
+            return new WebEndpointResponse<>(WebEndpointResponse.STATUS_NOT_FOUND);
+        }
+        Path file = recorder.dump();
+        if (file == null) {
+            return new WebEndpointResponse<>(WebEndpointResponse.STATUS_NOT_FOUND);
+        }
+        return new WebEndpointResponse<>(new DumpResource(file), WebEndpointResponse.STATUS_OK);
+    }
+
+    // 응답 본문을 다 쓰고 스트림을 닫을 때 덤프 파일을 지운다(유닉스에서는 연 직후 이름만 먼저 사라지고 내용은 닫을 때까지 읽힌다).
+    // 길이(Content-Length)는 스트림을 열기 전에 읽으므로 영향이 없다. 다른 요청의 덤프는 건드리지 않는다.
+    static final class DumpResource extends FileSystemResource {
+
+        DumpResource(Path file) {
+            super(file);
+        }
+
+        @Override
+        public InputStream getInputStream() throws IOException {
+            return Files.newInputStream(getFile().toPath(), StandardOpenOption.DELETE_ON_CLOSE);
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.example.auth.dto;
+
+import com.example.auth.client.social.SocialUserProfile;
+import com.example.auth.entity.AuthProvider;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import java.util.List;
+
+// 관리자 대량 등록 요청. 한 요청은 최대 10,000명이며, 그보다 많으면 나눠 보낸다.
+public record BulkProvisionRequest(
+    @NotEmpty @Size(max = 10_000) List<@NotNull @Valid Profile> users
+) {
+
+    public record Profile(
+        @NotNull AuthProvider provider,
+        @NotBlank @Size(max = 100) String providerId,
+        @Size(max = 200) String email,
+        @Size(max = 100) String name
+    ) implements SocialUserProfile {
+    }
+}
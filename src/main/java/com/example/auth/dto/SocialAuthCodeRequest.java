@@ -0,0 +1,10 @@
+package com.example.auth.dto;
+
+import jakarta.validation.constraints.NotBlank;
+
+// state는 네이버처럼 토큰 교환에 인가 요청의 state를 요구하는 제공자에서만 쓴다.
+public record SocialAuthCodeRequest(
+    @NotBlank String code,
+    String redirectUri,
+    String state
+) {}
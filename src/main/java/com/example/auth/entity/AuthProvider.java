@@ -2,5 +2,8 @@ package com.example.auth.entity;
 
 // OAuth provider 구분 값.
 public enum AuthProvider {
-    GOOGLE
+    GOOGLE,
+    KAKAO,
+    APPLE,
+    NAVER
 }
@@ -7,8 +7,11 @@ import jakarta.persistence.Enumerated;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
 import java.time.Instant;
+import java.util.Objects;
 import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
@@ -16,24 +19,33 @@ import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
 @Entity
-@Table(name = "users")
-// 구글 로그인 사용자 정보를 저장하는 엔터티. PK는 AUTO_INCREMENT 대리키를 사용한다.
+@Table(name = "users", uniqueConstraints = @UniqueConstraint(
+    name = "ux_users_provider_provider_id", columnNames = {"provider", "provider_id"}
+))
+// 구글 로그인 사용자 정보를 저장하는 엔터티.
+// PK는 users_seq 테이블에서 ID_ALLOCATION_SIZE개씩 받아 쓰는 대리키다(pooled, UserIdAllocator와 공유).
+// IDENTITY와 달리 INSERT 전에 id가 정해지므로 Hibernate가 INSERT를 JDBC 배치로 묶을 수 있다.
+// 스키마는 Flyway(db/migration)가 관리하고 Hibernate는 검증(ddl-auto: validate)만 한다.
 @Getter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 public class User {
 
+    public static final String ID_SEQUENCE = "users_seq";
+    public static final int ID_ALLOCATION_SIZE = 50;
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = ID_SEQUENCE)
+    @SequenceGenerator(name = ID_SEQUENCE, sequenceName = ID_SEQUENCE, allocationSize = ID_ALLOCATION_SIZE)
     private Long id;
 
     @Enumerated(EnumType.STRING)
     @Column(nullable = false, length = 20)
     private AuthProvider provider;
 
-    @Column(nullable = false, unique = true, length = 100)
+    @Column(nullable = false, length = 100)
     private String providerId; // 구글 sub 값
 
-    @Column(length = 200, unique = true)
+    @Column(length = 200)
     private String email;
 
     @Column(length = 100)
@@ -56,4 +68,8 @@ public class User {
         this.name = name;
         this.email = email;
     }
+
+    public boolean hasProfile(String name, String email) {
+        return Objects.equals(this.name, name) && Objects.equals(this.email, email);
+    }
 }
@@ -0,0 +1,12 @@
+package com.example.auth.exception;
+
+// 의존 인프라(Redis 등)가 일시적으로 사용 불가할 때 503으로 응답하기 위한 예외.
+public class ServiceUnavailableException extends RuntimeException {
+    public ServiceUnavailableException(String message) {
+        super(message);
+    }
+
+    public ServiceUnavailableException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,8 @@
+package com.example.auth.exception;
+
+// 알 수 없거나 설정되지 않은 소셜 제공자로 로그인을 요청했을 때 404로 응답하기 위한 예외.
+public class UnsupportedProviderException extends RuntimeException {
+    public UnsupportedProviderException(String provider) {
+        super("Unsupported login provider: " + provider);
+    }
+}
@@ -0,0 +1,106 @@
+package com.example.auth.grpc;
+
+import io.grpc.BindableService;
+import io.grpc.Server;
+import io.grpc.ServerInterceptors;
+import io.grpc.netty.shaded.io.grpc.netty.NettyServerBuilder;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+
+@Slf4j
+// 톰캣과 별도 포트에서 뜨는 gRPC(HTTP/2) 서버. 서블릿 필터 체인/Jackson을 거치지 않는다.
+// - 검증은 CPU 작업이므로 코어 수만큼의 고정 스레드에서 처리한다(threads=0이면 코어 수).
+// - 게이트웨이가 커넥션을 오래 유지하도록 클라이언트 keepalive 핑(30초 간격 이상)을 허용한다.
+// - 평문(h2c)이므로 지정한 주소(기본 127.0.0.1)에만 바인딩하고, 모든 호출에 공유 비밀(SharedSecretInterceptor)을 요구한다.
+public class GrpcIntrospectionServer implements SmartLifecycle {
+
+    private static final Duration SHUTDOWN_GRACE = Duration.ofSeconds(5);
+
+    private final BindableService service;
+    private final String address;
+    private final int port;
+    private final String sharedSecret;
+    private final int threads;
+
+    private volatile Server server;
+    private ExecutorService executor;
+
+    public GrpcIntrospectionServer(BindableService service, String address, int port, int threads,
+                                   String sharedSecret) {
+        this.service = service;
+        this.address = address;
+        this.port = port;
+        this.sharedSecret = sharedSecret;
+        this.threads = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+    }
+
+    @Override
+    public void start() {
+        // 비밀이 비어 있으면 아무나 호출할 수 있는 서버를 여는 대신 기동을 멈춘다.
+        SharedSecretInterceptor authentication = new SharedSecretInterceptor(sharedSecret);
+        AtomicInteger sequence = new AtomicInteger();
+        executor = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "grpc-introspection-" + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            server = NettyServerBuilder.forAddress(new InetSocketAddress(address, port))
+                .addService(ServerInterceptors.intercept(service, authentication))
+                .executor(executor)
+                .permitKeepAliveTime(30, TimeUnit.SECONDS)
+                .permitKeepAliveWithoutCalls(true)
+                .build()
+                .start();
+        } catch (IOException e) {
+            executor.shutdownNow();
+            throw new UncheckedIOException(
+                "Failed to start gRPC introspection server on " + address + ":" + port, e
+            );
+        }
+        log.info("gRPC token introspection listening on {}:{}", address, server.getPort());
+    }
+
+    @Override
+    public void stop() {
+        Server running = server;
+        if (running == null) {
+            return;
+        }
+        running.shutdown();
+        try {
+            if (!running.awaitTermination(SHUTDOWN_GRACE.toMillis(), TimeUnit.MILLISECONDS)) {
+                running.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            running.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+        executor.shutdownNow();
+        server = null;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return server != null;
+    }
+
+    // 실제로 열린 포트(port=0이면 임의 포트).
+    public int getPort() {
+        return server.getPort();
+    }
+
+    @Override
+    public int getPhase() {
+        // 톰캣(WebServerStartStopLifecycle)과 같은 단계에서 열고 닫는다.
+        return SmartLifecycle.DEFAULT_PHASE - 2048;
+    }
+}
@@ -0,0 +1,38 @@
+package com.example.auth.grpc;
+
+import io.grpc.Metadata;
+import io.grpc.ServerCall;
+import io.grpc.ServerCallHandler;
+import io.grpc.ServerInterceptor;
+import io.grpc.Status;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+
+// 게이트웨이와 나눈 공유 비밀로 호출자를 확인한다. x-introspection-key 헤더가 없거나 다르면 UNAUTHENTICATED.
+// 비교는 상수 시간(MessageDigest.isEqual)으로 해 응답 시간으로 비밀을 한 글자씩 맞혀 보지 못하게 한다.
+public class SharedSecretInterceptor implements ServerInterceptor {
+
+    public static final Metadata.Key<String> KEY_HEADER =
+        Metadata.Key.of("x-introspection-key", Metadata.ASCII_STRING_MARSHALLER);
+
+    private final byte[] secret;
+
+    public SharedSecretInterceptor(String secret) {
+        if (secret == null || secret.isBlank()) {
+            throw new IllegalArgumentException("gRPC introspection shared secret must not be blank");
+        }
+        this.secret = secret.getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public <ReqT, RespT> ServerCall.Listener<ReqT> interceptCall(
+        ServerCall<ReqT, RespT> call, Metadata headers, ServerCallHandler<ReqT, RespT> next
+    ) {
+        String presented = headers.get(KEY_HEADER);
+        if (presented == null || !MessageDigest.isEqual(secret, presented.getBytes(StandardCharsets.UTF_8))) {
+            call.close(Status.UNAUTHENTICATED.withDescription("Missing or invalid introspection key"), new Metadata());
+            return new ServerCall.Listener<>() {};
+        }
+        return next.startCall(call, headers);
+    }
+}
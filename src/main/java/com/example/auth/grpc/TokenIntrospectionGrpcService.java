@@ -0,0 +1,150 @@
+package com.example.auth.grpc;
+
+import com.example.auth.grpc.v1.Failure;
+import com.example.auth.grpc.v1.IntrospectRequest;
+import com.example.auth.grpc.v1.IntrospectResponse;
+import com.example.auth.grpc.v1.Principal;
+import com.example.auth.grpc.v1.Result;
+import com.example.auth.grpc.v1.TokenIntrospectionGrpc;
+import com.example.auth.security.jwt.JwtTokenProvider;
+import com.example.auth.security.jwt.JwtUserPrincipal;
+import com.example.auth.security.jwt.TokenIntrospection;
+import com.example.auth.verifier.VerifiedTokenCache;
+import io.grpc.Status;
+import io.grpc.stub.StreamObserver;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.function.LongSupplier;
+
+// 토큰 묶음을 JwtTokenProvider.introspect(= JwtAuthenticationFilter와 같은 검증 경로)로 검증한다.
+// 성공 결과는 토큰 만료 시각까지 auth-verifier의 VerifiedTokenCache에 두고, 실패 결과는 미리 만든 메시지를 돌려준다.
+// 실패 결과는 캐시에 담지 않는다(임의 문자열로 캐시를 밀어내지 못하게).
+public class TokenIntrospectionGrpcService extends TokenIntrospectionGrpc.TokenIntrospectionImplBase {
+
+    private static final Map<TokenIntrospection.Failure, Result> FAILURES =
+        new EnumMap<>(TokenIntrospection.Failure.class);
+
+    static {
+        for (TokenIntrospection.Failure failure : TokenIntrospection.Failure.values()) {
+            FAILURES.put(failure, Result.newBuilder().setFailure(Failure.valueOf(failure.name())).build());
+        }
+    }
+
+    private final JwtTokenProvider jwtTokenProvider;
+    private final VerifiedTokenCache<CachedResult> cache;
+    private final int maxBatchSize;
+    private final LongSupplier clock;
+
+    public TokenIntrospectionGrpcService(JwtTokenProvider jwtTokenProvider, int cacheSize, int maxBatchSize) {
+        this(jwtTokenProvider, cacheSize, maxBatchSize, System::currentTimeMillis);
+    }
+
+    TokenIntrospectionGrpcService(JwtTokenProvider jwtTokenProvider, int cacheSize, int maxBatchSize,
+                                  LongSupplier clock) {
+        this.jwtTokenProvider = jwtTokenProvider;
+        this.cache = new VerifiedTokenCache<>(cacheSize);
+        this.maxBatchSize = maxBatchSize;
+        this.clock = clock;
+    }
+
+    @Override
+    public void introspect(IntrospectRequest request, StreamObserver<IntrospectResponse> responseObserver) {
+        if (request.getTokensCount() > maxBatchSize) {
+            responseObserver.onError(tooLarge());
+            return;
+        }
+        responseObserver.onNext(introspect(request));
+        responseObserver.onCompleted();
+    }
+
+    @Override
+    public StreamObserver<IntrospectRequest> introspectStream(StreamObserver<IntrospectResponse> responseObserver) {
+        return new StreamObserver<>() {
+            private boolean closed;
+
+            @Override
+            public void onNext(IntrospectRequest request) {
+                if (closed) {
+                    return;
+                }
+                if (request.getTokensCount() > maxBatchSize) {
+                    closed = true;
+                    responseObserver.onError(tooLarge());
+                    return;
+                }
+                responseObserver.onNext(introspect(request));
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                // 호출자가 스트림을 취소했다. 보낼 곳이 없으므로 정리만 한다.
+                closed = true;
+            }
+
+            @Override
+            public void onCompleted() {
+                if (!closed) {
+                    closed = true;
+                    responseObserver.onCompleted();
+                }
+            }
+        };
+    }
+
+    IntrospectResponse introspect(IntrospectRequest request) {
+        long now = clock.getAsLong();
+        IntrospectResponse.Builder response = IntrospectResponse.newBuilder();
+        for (int i = 0; i < request.getTokensCount(); i++) {
+            response.addResults(resultOf(request.getTokens(i), now));
+        }
+        return response.build();
+    }
+
+    int cachedTokens() {
+        return cache.size();
+    }
+
+    private Result resultOf(String token, long now) {
+        CachedResult cached = cache.get(token);
+        if (cached != null) {
+            if (now < cached.expiresAtMillis()) {
+                return cached.result();
+            }
+            // 만료된 항목은 버리고 다시 검증해 EXPIRED를 돌려준다.
+            cache.remove(token);
+        }
+        TokenIntrospection introspection = jwtTokenProvider.introspect(token);
+        if (!introspection.isValid()) {
+            return FAILURES.get(introspection.failure());
+        }
+        Result result = Result.newBuilder().setPrincipal(principalOf(introspection)).build();
+        cache.put(token, new CachedResult(result, introspection.expiresAtMillis()));
+        return result;
+    }
+
+    private static Principal principalOf(TokenIntrospection introspection) {
+        JwtUserPrincipal principal = introspection.principal();
+        Principal.Builder builder = Principal.newBuilder().setExpiresAtEpochMillis(introspection.expiresAtMillis());
+        if (principal.userId() != null) {
+            builder.setUserId(principal.userId());
+        }
+        if (principal.name() != null) {
+            builder.setName(principal.name());
+        }
+        if (principal.nationality() != null) {
+            builder.setNationality(principal.nationality());
+        }
+        if (principal.providerId() != null) {
+            builder.setProviderId(principal.providerId());
+        }
+        return builder.build();
+    }
+
+    private record CachedResult(Result result, long expiresAtMillis) {}
+
+    private Throwable tooLarge() {
+        return Status.INVALID_ARGUMENT
+            .withDescription("At most " + maxBatchSize + " tokens per request")
+            .asRuntimeException();
+    }
+}
@@ -0,0 +1,41 @@
+package com.example.auth.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.StackTrace;
+
+// 인증 경로 JFR 이벤트의 공통 필드(operation, outcome).
+// 기본 비활성(@Enabled(false))이라 JfrRecorder가 녹화를 켜기 전에는 begin/finish가 JIT에서 사실상 사라진다.
+// 사용: event = new XxxEvent("op"); event.begin(); ... event.finish(AuthEvent.OK 또는 outcome(e))
+@Enabled(false)
+@StackTrace(false)
+@Category("Auth")
+public abstract class AuthEvent extends Event {
+
+    public static final String OK = "ok";
+
+    @Label("Operation")
+    String operation;
+
+    @Label("Outcome")
+    String outcome;
+
+    AuthEvent(String operation) {
+        this.operation = operation;
+    }
+
+    // 녹화 중이고 임계 시간을 넘었을 때만 outcome을 채워 기록한다.
+    public void finish(String outcome) {
+        end();
+        if (shouldCommit()) {
+            this.outcome = outcome;
+            commit();
+        }
+    }
+
+    public static String outcome(Throwable failure) {
+        return failure.getClass().getSimpleName();
+    }
+}
@@ -0,0 +1,163 @@
+package com.example.auth.jfr;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import jdk.jfr.Configuration;
+import jdk.jfr.Event;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+@Component
+// 운영 중인 파드에서 재기동 없이 JFR 녹화를 켜고 끄고 내려받는다(/actuator/jfr, 관리자 전용).
+// - 한 번에 녹화 하나만 둔다. 크기(max-size)/보존 기간(max-age)/길이(max-duration) 상한을 넘지 않는다.
+// - JDK 기본 설정(settings: default | profile)에 인증 경로 이벤트(AuthEvent 하위)를 임계값 없이 더해 켠다.
+// - 덤프마다 새 임시 파일을 만든다. 내려받기가 끝나면 엔드포인트가 지우고, 아무도 읽지 않은 덤프는
+//   dump-retention이 지난 뒤 다음 덤프 때, 남은 것은 종료 시 녹화와 함께 지운다.
+public class JfrRecorder implements DisposableBean {
+
+    private static final List<Class<? extends Event>> AUTH_EVENTS = List.of(
+        JwtEvent.class, RefreshStoreEvent.class, OAuthEvent.class, UserUpsertEvent.class
+    );
+
+    private final String settings;
+    private final Duration maxAge;
+    private final long maxSizeBytes;
+    private final Duration maxDuration;
+    private final Duration dumpRetention;
+    // 아직 지우지 않았을 수 있는 덤프 -> 만든 시각(만든 순서)
+    private final Map<Path, Instant> dumps = new LinkedHashMap<>();
+
+    private Recording recording;
+
+    public JfrRecorder(
+        @Value("${auth.jfr.settings:profile}") String settings,
+        @Value("${auth.jfr.max-age:10m}") Duration maxAge,
+        @Value("${auth.jfr.max-size:64MB}") DataSize maxSize,
+        @Value("${auth.jfr.max-duration:10m}") Duration maxDuration,
+        @Value("${auth.jfr.dump-retention:30m}") Duration dumpRetention
+    ) {
+        this.settings = settings;
+        this.maxAge = maxAge;
+        this.maxSizeBytes = maxSize.toBytes();
+        this.maxDuration = maxDuration;
+        this.dumpRetention = dumpRetention;
+    }
+
+    /**
+     * 새 녹화를 시작한다. 이미 녹화 중이면 그대로 두고 현재 상태를 돌려준다.
+     * duration이 없거나 max-duration보다 길면 max-duration 뒤에 자동으로 멈춘다.
+     */
+    public synchronized Status start(Duration duration) {
+        if (recording != null && recording.getState() == RecordingState.RUNNING) {
+            return status();
+        }
+        closeRecording();
+        Recording next;
+        try {
+            next = new Recording(Configuration.getConfiguration(settings));
+        } catch (IOException | ParseException e) {
+            throw new IllegalStateException("Unknown JFR settings: " + settings, e);
+        }
+        next.setName("auth-on-demand");
+        next.setToDisk(true);
+        next.setMaxAge(maxAge);
+        next.setMaxSize(maxSizeBytes);
+        next.setDuration(duration == null || duration.compareTo(maxDuration) > 0 ? maxDuration : duration);
+        for (Class<? extends Event> type : AUTH_EVENTS) {
+            next.enable(type).withoutThreshold();
+        }
+        next.start();
+        recording = next;
+        return status();
+    }
+
+    // 녹화를 멈춘다. 데이터는 다음 start 전까지 dump로 받을 수 있다.
+    public synchronized Status stop() {
+        if (recording != null && recording.getState() == RecordingState.RUNNING) {
+            recording.stop();
+        }
+        return status();
+    }
+
+    /**
+     * 현재(또는 마지막) 녹화를 새 .jfr 임시 파일로 쓴다. 녹화 중이어도 그 시점까지의 데이터를 쓴다.
+     * 파일은 호출자가 다 읽은 뒤 지운다(못 지운 것은 dump-retention 뒤 정리). 녹화한 적이 없으면 null.
+     */
+    public synchronized Path dump() {
+        if (recording == null || recording.getState() == RecordingState.NEW) {
+            return null;
+        }
+        Instant now = Instant.now();
+        deleteDumpsCreatedBefore(now.minus(dumpRetention));
+        Path target = null;
+        try {
+            target = Files.createTempFile("auth-", ".jfr");
+            dumps.put(target, now);
+            recording.dump(target);
+            return target;
+        } catch (IOException e) {
+            if (target != null) {
+                deleteQuietly(target);
+                dumps.remove(target);
+            }
+            throw new UncheckedIOException("Failed to dump JFR recording", e);
+        }
+    }
+
+    public synchronized Status status() {
+        if (recording == null) {
+            return new Status("NONE", null, null, 0);
+        }
+        return new Status(recording.getState().name(), recording.getStartTime(), recording.getDuration(),
+            recording.getSize());
+    }
+
+    @Override
+    public synchronized void destroy() {
+        closeRecording();
+        deleteDumpsCreatedBefore(Instant.MAX);
+    }
+
+    private void closeRecording() {
+        if (recording != null) {
+            recording.close();
+            recording = null;
+        }
+    }
+
+    // 내려받는 중인 덤프를 지우지 않도록 dump-retention이 지난 것만 지운다.
+    private void deleteDumpsCreatedBefore(Instant cutoff) {
+        Iterator<Map.Entry<Path, Instant>> it = dumps.entrySet().iterator();
+        while (it.hasNext()) {
+            Map.Entry<Path, Instant> entry = it.next();
+            if (!entry.getValue().isBefore(cutoff)) {
+                break;
+            }
+            deleteQuietly(entry.getKey());
+            it.remove();
+        }
+    }
+
+    private static void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException ignored) {
+            // 임시 파일이므로 지우지 못해도 다음 덤프에는 영향이 없다.
+        }
+    }
+
+    public record Status(String state, Instant startedAt, Duration duration, long sizeBytes) {}
+}
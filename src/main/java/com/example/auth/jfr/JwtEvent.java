@@ -0,0 +1,15 @@
+package com.example.auth.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("com.example.auth.Jwt")
+@Label("JWT")
+@Description("액세스 토큰 서명(sign)/검증(verify)")
+public final class JwtEvent extends AuthEvent {
+
+    public JwtEvent(String operation) {
+        super(operation);
+    }
+}
@@ -0,0 +1,19 @@
+package com.example.auth.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("com.example.auth.OAuth")
+@Label("Social OAuth")
+@Description("소셜 제공자 호출: 인가 코드 교환 전체(exchange), 토큰 엔드포인트(token), 공개키 조회(jwk)")
+public final class OAuthEvent extends AuthEvent {
+
+    @Label("Provider")
+    String provider;
+
+    public OAuthEvent(String provider, String operation) {
+        super(operation);
+        this.provider = provider;
+    }
+}
@@ -0,0 +1,15 @@
+package com.example.auth.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("com.example.auth.RefreshStore")
+@Label("Refresh Token Store")
+@Description("RefreshTokenService가 호출한 저장소(redis/mapped) 연산 하나")
+public final class RefreshStoreEvent extends AuthEvent {
+
+    public RefreshStoreEvent(String operation) {
+        super(operation);
+    }
+}
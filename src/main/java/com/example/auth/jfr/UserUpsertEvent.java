@@ -0,0 +1,19 @@
+package com.example.auth.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("com.example.auth.UserUpsert")
+@Label("User Upsert")
+@Description("UserService.upsertSocialUser. outcome: unchanged | buffered(write-behind) | written")
+public final class UserUpsertEvent extends AuthEvent {
+
+    @Label("Provider")
+    String provider;
+
+    public UserUpsertEvent(String provider) {
+        super("upsert");
+        this.provider = provider;
+    }
+}
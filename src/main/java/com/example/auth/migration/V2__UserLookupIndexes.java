@@ -0,0 +1,115 @@
+package com.example.auth.migration;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import lombok.extern.slf4j.Slf4j;
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+import org.springframework.stereotype.Component;
+
+@Slf4j
+@Component
+// ddl-auto: update 시절 스키마(V1에 기준선을 잡은 기존 DB)를 V1과 같은 모양으로 맞춘다. V1로 새로 만든 DB에서는 할 일이 없다.
+// - users_seq가 없으면 만든다(첫 행과 시작값은 UserIdAllocator가 기동 시 맞춘다).
+// - provider 컬럼을 V1의 ENUM으로 넓힌다. update는 기존 컬럼을 바꾸지 않아서 GOOGLE만 있던 시절의 DB는
+//   enum('GOOGLE') 그대로라 카카오/애플/네이버 사용자 INSERT가 "Data truncated"로 실패했다(validate도 잡지 못한다).
+//   값을 끝에 덧붙이기만 하므로 INPLACE로 된다.
+// - (provider, provider_id) 유니크 인덱스를 만든 뒤 provider_id 단일 유니크와 email 유니크를 지운다.
+//   email은 어떤 쿼리도 쓰지 않고, 제공자가 다르면 같은 이메일이 정상이라 유니크가 두 번째 제공자 로그인을 실패시켰다.
+// - 모든 ALTER는 ALGORITHM=INPLACE, LOCK=NONE(온라인 DDL)이다. 온라인으로 못 하면 MySQL이 테이블을 잠그는 대신 실패한다.
+// - 메타데이터 락을 오래 기다리면 뒤에 온 쿼리가 모두 막히므로 lock_wait_timeout을 짧게 두고 몇 번 다시 시도한다.
+// Spring 빈으로 등록해 Flyway에 넘긴다(클래스패스 스캔을 쓰지 않아 네이티브 이미지에서도 동작한다).
+public class V2__UserLookupIndexes extends BaseJavaMigration {
+
+    private static final String LOOKUP_INDEX = "ux_users_provider_provider_id";
+    // V1__users.sql의 provider 컬럼(information_schema.columns.column_type 표기)
+    private static final String PROVIDER_COLUMN_TYPE = "enum('GOOGLE','KAKAO','APPLE','NAVER')";
+
+    private static final int LOCK_WAIT_SECONDS = 5;
+    private static final int MAX_ATTEMPTS = 5;
+    // ER_LOCK_WAIT_TIMEOUT
+    private static final int LOCK_WAIT_TIMEOUT = 1205;
+
+    @Override
+    public void migrate(Context context) throws Exception {
+        Connection connection = context.getConnection();
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("SET SESSION lock_wait_timeout = " + LOCK_WAIT_SECONDS);
+            statement.execute("CREATE TABLE IF NOT EXISTS users_seq (next_val BIGINT) ENGINE = InnoDB");
+
+            String providerType = providerColumnType(connection);
+            // VARCHAR(ddl-auto가 ENUM을 쓰기 전)는 모든 값을 받으므로 그대로 둔다.
+            if (providerType != null && providerType.startsWith("enum(")
+                && !providerType.equals(PROVIDER_COLUMN_TYPE)) {
+                alter(statement, "MODIFY provider ENUM('GOOGLE','KAKAO','APPLE','NAVER') NOT NULL");
+            }
+
+            Map<String, Index> indexes = indexes(connection);
+            if (!indexes.containsKey(LOOKUP_INDEX)) {
+                alter(statement, "ADD UNIQUE INDEX " + LOOKUP_INDEX + " (provider, provider_id)");
+            }
+            for (Index index : indexes.values()) {
+                if (index.unique() && !index.name().equals("PRIMARY")
+                    && (index.columns().equals(List.of("provider_id")) || index.columns().equals(List.of("email")))) {
+                    alter(statement, "DROP INDEX `" + index.name() + "`");
+                }
+            }
+        }
+    }
+
+    private static void alter(Statement statement, String change) throws SQLException, InterruptedException {
+        String sql = "ALTER TABLE users " + change + ", ALGORITHM=INPLACE, LOCK=NONE";
+        for (int attempt = 1; ; attempt++) {
+            try {
+                long started = System.nanoTime();
+                statement.execute(sql);
+                log.info("{} ({}ms)", sql, (System.nanoTime() - started) / 1_000_000);
+                return;
+            } catch (SQLException e) {
+                if (e.getErrorCode() != LOCK_WAIT_TIMEOUT || attempt == MAX_ATTEMPTS) {
+                    throw e;
+                }
+                log.warn("Waiting for metadata lock on users (attempt {}/{}): {}", attempt, MAX_ATTEMPTS, sql);
+                Thread.sleep(1000L * attempt);
+            }
+        }
+    }
+
+    private static String providerColumnType(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet rows = statement.executeQuery(
+                 "SELECT column_type FROM information_schema.columns "
+                     + "WHERE table_schema = DATABASE() AND table_name = 'users' AND column_name = 'provider'")) {
+            return rows.next() ? rows.getString(1) : null;
+        }
+    }
+
+    private static Map<String, Index> indexes(Connection connection) throws SQLException {
+        Map<String, Index> indexes = new LinkedHashMap<>();
+        try (Statement statement = connection.createStatement();
+             ResultSet rows = statement.executeQuery(
+                 "SELECT index_name AS name, column_name AS col, non_unique AS non_unique "
+                     + "FROM information_schema.statistics "
+                     + "WHERE table_schema = DATABASE() AND table_name = 'users' "
+                     + "ORDER BY index_name, seq_in_index")) {
+            while (rows.next()) {
+                String name = rows.getString("name");
+                Index index = indexes.get(name);
+                if (index == null) {
+                    index = new Index(name, rows.getInt("non_unique") == 0, new ArrayList<>());
+                    indexes.put(name, index);
+                }
+                index.columns().add(rows.getString("col"));
+            }
+        }
+        return indexes;
+    }
+
+    private record Index(String name, boolean unique, List<String> columns) {}
+}
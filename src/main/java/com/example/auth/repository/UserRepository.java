@@ -2,10 +2,13 @@ package com.example.auth.repository;
 
 import java.util.Optional;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.transaction.annotation.Transactional;
 import com.example.auth.entity.AuthProvider;
 import com.example.auth.entity.User;
 
 // 구글 사용자 조회용 레포지토리. provider+providerId로 고유 조회한다.
 public interface UserRepository extends JpaRepository<User, Long> {
+    // 트랜잭션 밖에서 호출되면 읽기 전용 트랜잭션으로 열려 레플리카로 라우팅된다.
+    @Transactional(readOnly = true)
     Optional<User> findByProviderAndProviderId(AuthProvider provider, String providerId);
 }
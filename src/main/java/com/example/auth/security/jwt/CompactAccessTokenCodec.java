@@ -0,0 +1,353 @@
+package com.example.auth.security.jwt;
+
+import com.example.auth.security.jwt.TokenIntrospection.Failure;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.UnsupportedJwtException;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.util.Arrays;
+import java.util.Base64;
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+// 압축 액세스 토큰(v2). 모바일 요청마다 실리므로 레거시(v1) 토큰에서 중복과 긴 클레임 이름을 뺐다.
+// - 헤더: {"alg":"HS256","v":2} 고정. 미리 인코딩해 두고, 검증할 때 헤더 구간이 이 문자열과 같으면 JJWT를 건너뛴다.
+// - 클레임: sub(providerId), u(userId, 숫자), n(name), c(nationality), iat, exp. 값이 없으면 키를 쓰지 않는다.
+// - 서명: 스레드마다 재사용하는 버퍼에 "헤더.페이로드"를 바로 쓰고 그 버퍼에서 HMAC을 계산한다.
+// 헤더가 다르게 인코딩된 v2 토큰(멤버 순서 등)은 JJWT 경로에서 principal(Claims)로 읽는다.
+final class CompactAccessTokenCodec {
+
+    static final String VERSION_HEADER = "v";
+    static final int VERSION = 2;
+    static final String USER_ID = "u";
+    static final String NAME = "n";
+    static final String NATIONALITY = "c";
+
+    private static final String HEADER = Base64.getUrlEncoder().withoutPadding()
+        .encodeToString("{\"alg\":\"HS256\",\"v\":2}".getBytes(StandardCharsets.US_ASCII));
+    private static final byte[] HEADER_BYTES = HEADER.getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] ALPHABET =
+        "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789-_".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] HEX = "0123456789abcdef".getBytes(StandardCharsets.US_ASCII);
+    private static final int SIGNATURE_BYTES = 32;
+    private static final int SIGNATURE_CHARS = encodedLength(SIGNATURE_BYTES);
+    private static final Base64.Decoder BASE64_URL = Base64.getUrlDecoder();
+    private static final JsonFactory JSON = new JsonFactory();
+
+    private final ThreadLocal<Scratch> scratch;
+
+    CompactAccessTokenCodec(byte[] key) {
+        SecretKeySpec spec = new SecretKeySpec(key, "HmacSHA256");
+        this.scratch = ThreadLocal.withInitial(() -> {
+            try {
+                Mac mac = Mac.getInstance("HmacSHA256");
+                mac.init(spec);
+                return new Scratch(mac);
+            } catch (GeneralSecurityException e) {
+                throw new IllegalStateException("Failed to initialize HmacSHA256", e);
+            }
+        });
+    }
+
+    String sign(JwtUserPrincipal principal, long issuedAtSeconds, long expiresAtSeconds) {
+        Scratch s = scratch.get();
+        s.reset();
+        s.write('{');
+        if (principal.providerId() != null) {
+            s.writeField("sub");
+            s.writeString(principal.providerId());
+        }
+        if (principal.userId() != null) {
+            s.writeField(USER_ID);
+            s.writeLong(principal.userId());
+        }
+        if (principal.name() != null) {
+            s.writeField(NAME);
+            s.writeString(principal.name());
+        }
+        if (principal.nationality() != null) {
+            s.writeField(NATIONALITY);
+            s.writeString(principal.nationality());
+        }
+        s.writeField("iat");
+        s.writeLong(issuedAtSeconds);
+        s.writeField("exp");
+        s.writeLong(expiresAtSeconds);
+        s.write('}');
+
+        byte[] token = s.tokenBuffer(HEADER_BYTES.length + 2 + encodedLength(s.jsonLength) + SIGNATURE_CHARS);
+        System.arraycopy(HEADER_BYTES, 0, token, 0, HEADER_BYTES.length);
+        int length = HEADER_BYTES.length;
+        token[length++] = '.';
+        length = encode(s.json, s.jsonLength, token, length);
+        s.mac.update(token, 0, length);
+        s.sign();
+        token[length++] = '.';
+        length = encode(s.signature, SIGNATURE_BYTES, token, length);
+        return new String(token, 0, length, StandardCharsets.ISO_8859_1);
+    }
+
+    /**
+     * 미리 인코딩한 헤더로 시작하는 토큰을 JJWT 없이 검증한다. 그런 토큰이 아니면 null(JJWT 경로로 넘긴다).
+     * 실패 이유는 JwtTokenProvider.introspect와 같은 기준으로 나눈다.
+     */
+    TokenIntrospection verify(String token, long nowMillis) {
+        int payloadStart = HEADER.length() + 1;
+        if (token == null || token.length() <= payloadStart || !token.startsWith(HEADER)
+            || token.charAt(HEADER.length()) != '.') {
+            return null;
+        }
+        int signatureStart = token.indexOf('.', payloadStart) + 1;
+        if (signatureStart == 0 || token.indexOf('.', signatureStart) >= 0) {
+            return null;
+        }
+        Scratch s = scratch.get();
+        int signingLength = signatureStart - 1;
+        byte[] input = s.tokenBuffer(signingLength);
+        for (int i = 0; i < signingLength; i++) {
+            char c = token.charAt(i);
+            if (c > 0x7F) {
+                return TokenIntrospection.failed(Failure.MALFORMED);
+            }
+            input[i] = (byte) c;
+        }
+        s.mac.update(input, 0, signingLength);
+        s.sign();
+        if (!signatureMatches(token, signatureStart, s)) {
+            return TokenIntrospection.failed(Failure.BAD_SIGNATURE);
+        }
+        try {
+            return claims(BASE64_URL.decode(token.substring(payloadStart, signingLength)), nowMillis);
+        } catch (IOException | IllegalArgumentException | ArithmeticException e) {
+            return TokenIntrospection.failed(Failure.MALFORMED);
+        }
+    }
+
+    /**
+     * JJWT로 검증한 토큰이 v2 헤더를 달고 있는지. 모르는 버전은 거부한다.
+     */
+    static boolean isCompact(JwsHeader<?> header) {
+        Object version = header.get(VERSION_HEADER);
+        if (version == null) {
+            return false;
+        }
+        if ((version instanceof Integer || version instanceof Long) && ((Number) version).longValue() == VERSION) {
+            return true;
+        }
+        throw new UnsupportedJwtException("Unsupported access token version: " + version);
+    }
+
+    static JwtUserPrincipal principal(Claims claims) {
+        Object userId = claims.get(USER_ID);
+        if (userId != null && !(userId instanceof Integer || userId instanceof Long)) {
+            throw new IllegalArgumentException(USER_ID + " must be an integer");
+        }
+        return new JwtUserPrincipal(
+            userId == null ? null : ((Number) userId).longValue(),
+            claims.get(NAME, String.class),
+            claims.get(NATIONALITY, String.class),
+            claims.getSubject()
+        );
+    }
+
+    private static TokenIntrospection claims(byte[] payload, long nowMillis) throws IOException {
+        Long userId = null;
+        String name = null;
+        String nationality = null;
+        String providerId = null;
+        long expiresAtMillis = Long.MAX_VALUE;
+        long notBeforeMillis = Long.MIN_VALUE;
+        try (JsonParser parser = JSON.createParser(payload)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                return TokenIntrospection.failed(Failure.MALFORMED);
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken value = parser.nextToken();
+                switch (field) {
+                    case "sub" -> providerId = string(parser, value, field);
+                    case USER_ID -> userId = userId(parser, value);
+                    case NAME -> name = string(parser, value, field);
+                    case NATIONALITY -> nationality = string(parser, value, field);
+                    case "exp" -> expiresAtMillis = millis(parser, value, Long.MAX_VALUE);
+                    case "nbf" -> notBeforeMillis = millis(parser, value, Long.MIN_VALUE);
+                    default -> parser.skipChildren();
+                }
+            }
+        }
+        // 서명이 맞는 토큰만 여기까지 온다(JJWT와 같이 만료는 서명 검증 뒤에 본다).
+        if (nowMillis > expiresAtMillis) {
+            return TokenIntrospection.failed(Failure.EXPIRED);
+        }
+        if (nowMillis < notBeforeMillis) {
+            return TokenIntrospection.failed(Failure.INVALID);
+        }
+        return TokenIntrospection.valid(new JwtUserPrincipal(userId, name, nationality, providerId), expiresAtMillis);
+    }
+
+    private static String string(JsonParser parser, JsonToken value, String field) throws IOException {
+        if (value == JsonToken.VALUE_NULL) {
+            return null;
+        }
+        if (value != JsonToken.VALUE_STRING) {
+            throw new IllegalArgumentException(field + " must be a string");
+        }
+        return parser.getText();
+    }
+
+    private static Long userId(JsonParser parser, JsonToken value) throws IOException {
+        if (value == JsonToken.VALUE_NULL) {
+            return null;
+        }
+        if (value != JsonToken.VALUE_NUMBER_INT) {
+            throw new IllegalArgumentException(USER_ID + " must be an integer");
+        }
+        return parser.getLongValue();
+    }
+
+    // NumericDate(초) -> epoch 밀리초
+    private static long millis(JsonParser parser, JsonToken value, long absent) throws IOException {
+        if (value == JsonToken.VALUE_NULL) {
+            return absent;
+        }
+        if (value == JsonToken.VALUE_NUMBER_INT) {
+            return Math.multiplyExact(parser.getLongValue(), 1000L);
+        }
+        if (value == JsonToken.VALUE_NUMBER_FLOAT && Double.isFinite(parser.getDoubleValue())) {
+            return (long) Math.floor(parser.getDoubleValue() * 1000);
+        }
+        throw new IllegalArgumentException("NumericDate expected");
+    }
+
+    // 방금 계산한 서명을 인코딩한 글자와 토큰의 서명 구간을 상수 시간에 비교한다.
+    private static boolean signatureMatches(String token, int signatureStart, Scratch s) {
+        if (token.length() - signatureStart != SIGNATURE_CHARS) {
+            return false;
+        }
+        encode(s.signature, SIGNATURE_BYTES, s.encodedSignature, 0);
+        int diff = 0;
+        for (int i = 0; i < SIGNATURE_CHARS; i++) {
+            diff |= token.charAt(signatureStart + i) ^ s.encodedSignature[i];
+        }
+        return diff == 0;
+    }
+
+    private static int encodedLength(int bytes) {
+        return (bytes * 4 + 2) / 3;
+    }
+
+    // 패딩 없는 base64url. dst[pos]부터 쓰고 다음 위치를 돌려준다.
+    private static int encode(byte[] src, int length, byte[] dst, int pos) {
+        int i = 0;
+        for (; i + 3 <= length; i += 3) {
+            int bits = (src[i] & 0xFF) << 16 | (src[i + 1] & 0xFF) << 8 | (src[i + 2] & 0xFF);
+            dst[pos++] = ALPHABET[bits >>> 18];
+            dst[pos++] = ALPHABET[(bits >>> 12) & 0x3F];
+            dst[pos++] = ALPHABET[(bits >>> 6) & 0x3F];
+            dst[pos++] = ALPHABET[bits & 0x3F];
+        }
+        int remaining = length - i;
+        if (remaining > 0) {
+            int bits = (src[i] & 0xFF) << 16 | (remaining == 2 ? (src[i + 1] & 0xFF) << 8 : 0);
+            dst[pos++] = ALPHABET[bits >>> 18];
+            dst[pos++] = ALPHABET[(bits >>> 12) & 0x3F];
+            if (remaining == 2) {
+                dst[pos++] = ALPHABET[(bits >>> 6) & 0x3F];
+            }
+        }
+        return pos;
+    }
+
+    // 스레드마다 하나씩 쓰는 HMAC과 버퍼. 드물게 긴 이름으로 커져도 그대로 둔다(토큰 크기는 사용자 정보로 제한된다).
+    private static final class Scratch {
+        private final Mac mac;
+        private final byte[] signature = new byte[SIGNATURE_BYTES];
+        private final byte[] encodedSignature = new byte[SIGNATURE_CHARS];
+        private byte[] json = new byte[256];
+        private int jsonLength;
+        private byte[] token = new byte[512];
+
+        private Scratch(Mac mac) {
+            this.mac = mac;
+        }
+
+        private void reset() {
+            jsonLength = 0;
+        }
+
+        private byte[] tokenBuffer(int capacity) {
+            if (token.length < capacity) {
+                token = new byte[Math.max(token.length * 2, capacity)];
+            }
+            return token;
+        }
+
+        private void sign() {
+            try {
+                mac.doFinal(signature, 0);
+            } catch (GeneralSecurityException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+        private void write(int b) {
+            if (jsonLength == json.length) {
+                json = Arrays.copyOf(json, jsonLength * 2);
+            }
+            json[jsonLength++] = (byte) b;
+        }
+
+        private void writeField(String name) {
+            if (jsonLength > 1) {
+                write(',');
+            }
+            write('"');
+            for (int i = 0; i < name.length(); i++) {
+                write(name.charAt(i));
+            }
+            write('"');
+            write(':');
+        }
+
+        private void writeLong(long value) {
+            String digits = Long.toString(value);
+            for (int i = 0; i < digits.length(); i++) {
+                write(digits.charAt(i));
+            }
+        }
+
+        private void writeString(String value) {
+            write('"');
+            for (int i = 0; i < value.length(); i++) {
+                char c = value.charAt(i);
+                if (c == '"' || c == '\\') {
+                    write('\\');
+                    write(c);
+                } else if (c < 0x20 || Character.isSurrogate(c)) {
+                    // 제어 문자와 BMP 밖 문자(서로게이트 쌍)는 \\uXXXX로 쓴다.
+                    write('\\');
+                    write('u');
+                    write(HEX[(c >> 12) & 0xF]);
+                    write(HEX[(c >> 8) & 0xF]);
+                    write(HEX[(c >> 4) & 0xF]);
+                    write(HEX[c & 0xF]);
+                } else if (c < 0x80) {
+                    write(c);
+                } else if (c < 0x800) {
+                    write(0xC0 | (c >> 6));
+                    write(0x80 | (c & 0x3F));
+                } else {
+                    write(0xE0 | (c >> 12));
+                    write(0x80 | ((c >> 6) & 0x3F));
+                    write(0x80 | (c & 0x3F));
+                }
+            }
+            write('"');
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.example.auth.security.jwt;
+
+import java.util.Collection;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+
+// 검증된 JWT의 principal만 담는 불변 Authentication.
+// UsernamePasswordAuthenticationToken과 달리 권한 목록 복사, details(WebAuthenticationDetails) 생성이 없다.
+// 요청 원격 주소가 필요하면 HttpServletRequest에서 직접 읽는다.
+public record JwtAuthentication(JwtUserPrincipal principal) implements Authentication {
+
+    @Override
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return principal.getAuthorities();
+    }
+
+    @Override
+    public Object getCredentials() {
+        return null;
+    }
+
+    @Override
+    public Object getDetails() {
+        return null;
+    }
+
+    @Override
+    public JwtUserPrincipal getPrincipal() {
+        return principal;
+    }
+
+    @Override
+    public boolean isAuthenticated() {
+        return true;
+    }
+
+    @Override
+    public void setAuthenticated(boolean isAuthenticated) {
+        if (!isAuthenticated) {
+            throw new IllegalArgumentException("JwtAuthentication is immutable; clear the SecurityContext instead");
+        }
+    }
+
+    @Override
+    public String getName() {
+        return principal.getUsername();
+    }
+}
@@ -6,42 +6,50 @@ import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import java.io.IOException;
 import lombok.RequiredArgsConstructor;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
-import org.springframework.util.StringUtils;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 @Component
 @RequiredArgsConstructor
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
+    private static final String BEARER_PREFIX = "Bearer ";
+
     private final JwtTokenProvider jwtTokenProvider;
 
+    // preflight, 토큰 발급 API, actuator, 문서 경로에서는 Authorization 헤더가 있어도 검증하지 않는다.
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return PublicEndpoints.SKIP_AUTHENTICATION.matches(request);
+    }
+
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
         throws ServletException, IOException {
 
         String token = resolveToken(request);
-        if (StringUtils.hasText(token) && jwtTokenProvider.validateToken(token)) {
-            JwtUserPrincipal principal = jwtTokenProvider.getPrincipal(token);
-            UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
-                principal,
-                null,
-                principal.getAuthorities()
-            );
-            authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-            SecurityContextHolder.getContext().setAuthentication(authentication);
+        if (token != null) {
+            // 파싱/서명 검증은 한 번만 하고, 권한 목록은 principal의 상수를 그대로 쓴다.
+            JwtUserPrincipal principal = jwtTokenProvider.verify(token);
+            if (principal != null) {
+                SecurityContextHolder.getContext().setAuthentication(new JwtAuthentication(principal));
+            }
         }
         filterChain.doFilter(request, response);
     }
 
-    private String resolveToken(HttpServletRequest request) {
+    // 접두사는 복사 없이 비교하고, 토큰 부분만 잘라낸다(JJWT 파서가 String을 요구하므로 이 한 번의 복사는 남는다).
+    private static String resolveToken(HttpServletRequest request) {
         String bearer = request.getHeader("Authorization");
-        if (!StringUtils.hasText(bearer) || !bearer.startsWith("Bearer ")) {
+        if (bearer == null || bearer.length() <= BEARER_PREFIX.length() || !bearer.startsWith(BEARER_PREFIX)) {
             return null;
         }
-        return bearer.substring(7);
+        for (int i = BEARER_PREFIX.length(); i < bearer.length(); i++) {
+            if (!Character.isWhitespace(bearer.charAt(i))) {
+                return bearer.substring(BEARER_PREFIX.length());
+            }
+        }
+        return null;
     }
 }
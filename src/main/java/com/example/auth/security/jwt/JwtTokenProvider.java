@@ -1,31 +1,73 @@
 package com.example.auth.security.jwt;
 
+import com.example.auth.jfr.AuthEvent;
+import com.example.auth.jfr.JwtEvent;
+import com.example.auth.security.jwt.TokenIntrospection.Failure;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.Jws;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.MalformedJwtException;
 import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.UnsupportedJwtException;
 import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.security.SecurityException;
 import java.security.Key;
 import java.time.Instant;
 import java.util.Date;
+import java.util.Locale;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 @Component
+// 액세스 토큰 발급/검증. 발급 형식은 auth.jwt.access-token-format으로 고르고, 검증은 형식과 관계없이 둘 다 받는다.
+// - legacy(v1): sub/name/nationality/providerId/iat/exp/jti
+// - compact(v2): 짧은 클레임 이름, null/중복 클레임 없음(CompactAccessTokenCodec)
 public class JwtTokenProvider {
 
+    public enum Format { LEGACY, COMPACT }
+
     private final Key signingKey;
     private final long accessTokenValiditySeconds;
+    private final Format format;
+    // 파서는 불변/스레드 안전하므로 한 번만 만든다.
+    private final JwtParser parser;
+    private final CompactAccessTokenCodec compactCodec;
+
+    public JwtTokenProvider(String secret, long accessTokenValiditySeconds) {
+        this(secret, accessTokenValiditySeconds, "legacy");
+    }
 
+    @Autowired
     public JwtTokenProvider(
         @Value("${auth.jwt.secret}") String secret,
-        @Value("${auth.jwt.access-validity-seconds:3600}") long accessTokenValiditySeconds
+        @Value("${auth.jwt.access-validity-seconds:3600}") long accessTokenValiditySeconds,
+        @Value("${auth.jwt.access-token-format:legacy}") String format
     ) {
         this.signingKey = Keys.hmacShaKeyFor(secret.getBytes());
         this.accessTokenValiditySeconds = accessTokenValiditySeconds;
+        this.format = Format.valueOf(format.trim().toUpperCase(Locale.ROOT));
+        this.parser = Jwts.parserBuilder()
+            .setSigningKey(signingKey)
+            .build();
+        this.compactCodec = new CompactAccessTokenCodec(signingKey.getEncoded());
     }
 
     public String createAccessToken(JwtUserPrincipal principal) {
+        JwtEvent event = new JwtEvent("sign");
+        event.begin();
         Instant now = Instant.now();
+        String token = format == Format.COMPACT
+            ? compactCodec.sign(principal, now.getEpochSecond(), now.getEpochSecond() + accessTokenValiditySeconds)
+            : legacyToken(principal, now);
+        event.finish(AuthEvent.OK);
+        return token;
+    }
+
+    private String legacyToken(JwtUserPrincipal principal, Instant now) {
         Instant expiry = now.plusSeconds(accessTokenValiditySeconds);
         var builder = Jwts.builder()
             .setSubject(principal.providerId())
@@ -42,25 +84,66 @@ public class JwtTokenProvider {
         return builder.compact();
     }
 
-    public boolean validateToken(String token) {
+    /**
+     * 토큰을 한 번만 파싱/검증해 principal을 돌려준다. 유효하지 않으면 null.
+     * (validateToken + getPrincipal 조합은 서명 검증을 두 번 한다)
+     */
+    public JwtUserPrincipal verify(String token) {
+        return introspect(token).principal();
+    }
+
+    /**
+     * verify와 같은 검증 경로로, 실패하면 이유를, 성공하면 만료 시각을 함께 돌려준다(gRPC introspection).
+     */
+    public TokenIntrospection introspect(String token) {
+        JwtEvent event = new JwtEvent("verify");
+        event.begin();
         try {
-            Jwts.parserBuilder()
-                .setSigningKey(signingKey)
-                .build()
-                .parseClaimsJws(token);
-            return true;
-        } catch (Exception e) {
-            return false;
+            // 우리가 발급한 v2 토큰은 JJWT를 거치지 않는다. 나머지(v1, 다르게 인코딩된 헤더, 형식 오류)는 JJWT가 판정한다.
+            TokenIntrospection compact = compactCodec.verify(token, System.currentTimeMillis());
+            if (compact != null) {
+                event.finish(compact.isValid() ? AuthEvent.OK : compact.failure().name());
+                return compact;
+            }
+            Jws<Claims> jws = parser.parseClaimsJws(token);
+            JwtUserPrincipal principal = toPrincipal(jws);
+            event.finish(AuthEvent.OK);
+            Date expiration = jws.getBody().getExpiration();
+            return TokenIntrospection.valid(principal, expiration == null ? Long.MAX_VALUE : expiration.getTime());
+        } catch (JwtException | IllegalArgumentException e) {
+            event.finish(AuthEvent.outcome(e));
+            return TokenIntrospection.failed(failureOf(e));
         }
     }
 
+    public boolean validateToken(String token) {
+        return verify(token) != null;
+    }
+
     public JwtUserPrincipal getPrincipal(String token) {
-        Claims claims = Jwts.parserBuilder()
-            .setSigningKey(signingKey)
-            .build()
-            .parseClaimsJws(token)
-            .getBody();
+        return toPrincipal(parser.parseClaimsJws(token));
+    }
+
+    private static Failure failureOf(RuntimeException e) {
+        // 만료 검사는 서명 검증 뒤에 하므로 EXPIRED는 서명이 맞는 토큰이다.
+        if (e instanceof ExpiredJwtException) {
+            return Failure.EXPIRED;
+        }
+        if (e instanceof SecurityException) {
+            return Failure.BAD_SIGNATURE;
+        }
+        if (e instanceof MalformedJwtException || e instanceof UnsupportedJwtException
+            || e instanceof IllegalArgumentException) {
+            return Failure.MALFORMED;
+        }
+        return Failure.INVALID;
+    }
 
+    private static JwtUserPrincipal toPrincipal(Jws<Claims> jws) {
+        Claims claims = jws.getBody();
+        if (CompactAccessTokenCodec.isCompact(jws.getHeader())) {
+            return CompactAccessTokenCodec.principal(claims);
+        }
         Long userId = claims.getId() == null ? null : Long.parseLong(claims.getId());
         String name = claims.get("name", String.class);
         String nationality = claims.get("nationality", String.class);
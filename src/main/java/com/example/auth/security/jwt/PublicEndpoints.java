@@ -0,0 +1,37 @@
+package com.example.auth.security.jwt;
+
+import org.springframework.security.web.util.matcher.AntPathRequestMatcher;
+import org.springframework.security.web.util.matcher.OrRequestMatcher;
+import org.springframework.security.web.util.matcher.RequestMatcher;
+import org.springframework.web.cors.CorsUtils;
+
+// 인증 없이 열어 두는 경로 목록. SecurityConfig의 허용 규칙과 JwtAuthenticationFilter의 건너뛰기 판단이 같은 매처를 쓴다.
+// 매처는 애플리케이션 시작 시 한 번만 만든다.
+public final class PublicEndpoints {
+
+    // k8s 프로브/프로메테우스 스크레이프. 별도 보안 체인에서 처리한다.
+    public static final RequestMatcher ACTUATOR = AntPathRequestMatcher.antMatcher("/actuator/**");
+
+    // Swagger UI와 OpenAPI 문서. 별도 보안 체인에서 처리한다.
+    public static final RequestMatcher DOCS = new OrRequestMatcher(
+        AntPathRequestMatcher.antMatcher("/swagger-ui.html"),
+        AntPathRequestMatcher.antMatcher("/swagger-ui/**"),
+        AntPathRequestMatcher.antMatcher("/v3/api-docs/**")
+    );
+
+    // 토큰을 발급/재발급하는 API. 요청에 Authorization 헤더가 남아 있어도 검증하지 않는다.
+    public static final RequestMatcher TOKEN_ISSUING = new OrRequestMatcher(
+        AntPathRequestMatcher.antMatcher("/api/auth/token"),
+        AntPathRequestMatcher.antMatcher("/api/auth/refresh"),
+        AntPathRequestMatcher.antMatcher("/api/auth/*/code")
+    );
+
+    // CORS preflight(OPTIONS + Origin + Access-Control-Request-Method). 그냥 OPTIONS는 다른 요청처럼 인증을 거친다.
+    public static final RequestMatcher PREFLIGHT = CorsUtils::isPreFlightRequest;
+
+    // JWT 검증을 건너뛰는 모든 경로
+    public static final RequestMatcher SKIP_AUTHENTICATION = new OrRequestMatcher(PREFLIGHT, TOKEN_ISSUING, ACTUATOR, DOCS);
+
+    private PublicEndpoints() {
+    }
+}
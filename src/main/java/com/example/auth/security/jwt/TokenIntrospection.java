@@ -0,0 +1,30 @@
+package com.example.auth.security.jwt;
+
+/**
+ * 액세스 토큰 검증 결과. 성공이면 principal과 만료 시각(epoch 밀리초), 실패면 failure만 채운다.
+ */
+public record TokenIntrospection(JwtUserPrincipal principal, long expiresAtMillis, Failure failure) {
+
+    public enum Failure {
+        // 서명은 맞지만 만료됨
+        EXPIRED,
+        // 다른 키로 서명되었거나 변조됨
+        BAD_SIGNATURE,
+        // JWT 형식이 아니거나 지원하지 않는 형식(서명 없음 등), 클레임 타입이 맞지 않음
+        MALFORMED,
+        // 그 밖의 검증 실패(nbf 이전 등)
+        INVALID
+    }
+
+    public static TokenIntrospection valid(JwtUserPrincipal principal, long expiresAtMillis) {
+        return new TokenIntrospection(principal, expiresAtMillis, null);
+    }
+
+    public static TokenIntrospection failed(Failure failure) {
+        return new TokenIntrospection(null, 0, failure);
+    }
+
+    public boolean isValid() {
+        return failure == null;
+    }
+}
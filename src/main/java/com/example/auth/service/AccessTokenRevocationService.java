@@ -0,0 +1,116 @@
+package com.example.auth.service;
+
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations.TypedTuple;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Service;
+
+@Service
+// 로그아웃 시각을 auth-verifier 라이브러리(RevocationFeed)에 알려주는 폐기 피드.
+// 서버의 액세스 토큰은 상태 없이 검증되므로 로그아웃해도 만료 전까지 유효하다. 다른 서비스가 원하면
+// /actuator/revocations를 폴링해 "이 사용자의 이 시각 이전 토큰"을 거부할 수 있게 한다.
+// 저장: ZSET accessrevoked(member=userId, score=폐기 epoch 밀리초). 액세스 토큰 수명보다 오래된 항목은 지운다.
+// Redis가 꺼진 배포(auth.redis.enabled=false)에서는 피드를 켤 수 없고, 꺼진 피드는 Redis 없이 동작한다.
+public class AccessTokenRevocationService {
+
+    static final String KEY = "accessrevoked";
+
+    // 기록과 오래된 항목 정리를 한 번의 왕복으로 처리한다.
+    private static final RedisScript<Long> REVOKE_SCRIPT = new DefaultRedisScript<>(
+        "redis.call('ZADD', KEYS[1], ARGV[1], ARGV[2]) "
+            + "redis.call('ZREMRANGEBYSCORE', KEYS[1], '-inf', '(' .. ARGV[3]) "
+            + "redis.call('PEXPIRE', KEYS[1], ARGV[4]) "
+            + "return 1",
+        Long.class
+    );
+
+    private final StringRedisTemplate redisTemplate;
+    private final RedisGuard redisGuard;
+    private final Clock clock;
+    private final boolean enabled;
+    private final long retentionMillis;
+
+    @Autowired
+    public AccessTokenRevocationService(
+        ObjectProvider<StringRedisTemplate> redisTemplate,
+        ObjectProvider<RedisGuard> redisGuard,
+        @Value("${auth.jwt.revocation-feed.enabled:false}") boolean enabled,
+        @Value("${auth.jwt.access-validity-seconds:3600}") long accessTokenValiditySeconds
+    ) {
+        this(redisTemplate.getIfAvailable(), redisGuard.getIfAvailable(), Clock.systemUTC(), enabled,
+            accessTokenValiditySeconds);
+        if (enabled && (this.redisTemplate == null || this.redisGuard == null)) {
+            throw new IllegalStateException("auth.jwt.revocation-feed.enabled requires Redis (auth.redis.enabled)");
+        }
+    }
+
+    AccessTokenRevocationService(StringRedisTemplate redisTemplate, RedisGuard redisGuard, Clock clock,
+                                 boolean enabled, long accessTokenValiditySeconds) {
+        this.redisTemplate = redisTemplate;
+        this.redisGuard = redisGuard;
+        this.clock = clock;
+        this.enabled = enabled;
+        this.retentionMillis = accessTokenValiditySeconds * 1000;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * 지금 이전에 발급된 userId의 액세스 토큰을 폐기 대상으로 기록한다. 피드가 꺼져 있으면 아무것도 하지 않는다.
+     */
+    public void revoke(long userId) {
+        if (!enabled) {
+            return;
+        }
+        long now = clock.millis();
+        redisGuard.run(() -> redisTemplate.execute(
+            REVOKE_SCRIPT,
+            List.of(KEY),
+            Long.toString(now),
+            Long.toString(userId),
+            Long.toString(now - retentionMillis),
+            Long.toString(retentionMillis)
+        ));
+    }
+
+    /**
+     * sinceMillis 이후(포함)에 기록된 폐기 목록. 보존 기간보다 앞선 since는 보존 시작 시각으로 당긴다.
+     */
+    public Feed since(long sinceMillis) {
+        long now = clock.millis();
+        if (!enabled) {
+            return new Feed(now, List.of());
+        }
+        long from = Math.max(sinceMillis, now - retentionMillis);
+        Set<TypedTuple<String>> entries = redisGuard.execute(() ->
+            redisTemplate.opsForZSet().rangeByScoreWithScores(KEY, from, Double.POSITIVE_INFINITY)
+        );
+        List<Revocation> revocations = new ArrayList<>(entries == null ? 0 : entries.size());
+        long cursor = now;
+        if (entries != null) {
+            for (TypedTuple<String> entry : entries) {
+                long revokedAt = entry.getScore().longValue();
+                revocations.add(new Revocation(Long.parseLong(entry.getValue()), revokedAt));
+                cursor = Math.max(cursor, revokedAt);
+            }
+        }
+        return new Feed(cursor, revocations);
+    }
+
+    /**
+     * cursor: 다음 요청의 since로 쓸 값(epoch 밀리초)
+     */
+    public record Feed(long cursor, List<Revocation> revocations) {}
+
+    public record Revocation(long userId, long revokedAt) {}
+}
@@ -0,0 +1,114 @@
+package com.example.auth.service;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+// 지연 시간 기울기(gradient)로 조절하는 동시 처리 한도(TCP Vegas / Netflix concurrency-limits의 Gradient2와 같은 방식).
+// - 단기 RTT(최근 몇 건의 지수 평균)가 장기 RTT(수백 건의 지수 평균) x tolerance보다 커지면, 즉 의존 서비스가 느려져
+//   요청이 줄을 서기 시작하면 그 비율만큼(최대 절반까지) 한도를 줄인다.
+// - 지연이 평소 수준이면 sqrt(한도)만큼 여유를 더해 천천히 늘린다. 한도의 절반도 쓰지 않는 동안에는 늘리지 않는다.
+// - 의존 서비스가 503으로 끝난 호출(타임아웃, 브레이커 열림 등)은 지연 표본 대신 한도를 BACKOFF 비율로 줄인다.
+// 느려진 상태가 오래가면 장기 RTT도 따라 올라가 한도가 다시 회복된다(새 지연을 평소 수준으로 받아들인다).
+final class AdaptiveConcurrencyLimit {
+
+    private static final int SHORT_WINDOW = 10;
+    private static final int LONG_WINDOW = 500;
+    private static final double SMOOTHING = 0.2;
+    private static final double MIN_GRADIENT = 0.5;
+    private static final double BACKOFF = 0.9;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double tolerance;
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    private double shortRtt;
+    private double longRtt;
+    private double estimatedLimit;
+    private volatile int limit;
+
+    AdaptiveConcurrencyLimit(int initialLimit, int minLimit, int maxLimit, double tolerance) {
+        if (minLimit < 1 || maxLimit < minLimit || initialLimit < minLimit || initialLimit > maxLimit) {
+            throw new IllegalArgumentException(
+                "Concurrency limits must satisfy 1 <= min <= initial <= max: " + minLimit + ", " + initialLimit + ", "
+                    + maxLimit
+            );
+        }
+        if (tolerance < 1.0) {
+            throw new IllegalArgumentException("Latency tolerance must be >= 1.0: " + tolerance);
+        }
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.tolerance = tolerance;
+        this.estimatedLimit = initialLimit;
+        this.limit = initialLimit;
+    }
+
+    int limit() {
+        return limit;
+    }
+
+    int inFlight() {
+        return inFlight.get();
+    }
+
+    boolean isSaturated() {
+        return inFlight.get() >= limit;
+    }
+
+    // 한도 안이면 자리를 잡는다. 기다리지 않는다.
+    boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= limit) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    // tryAcquire로 잡은 자리를 돌려주며 그 호출의 결과를 반영한다.
+    void release(long rttNanos, boolean dropped) {
+        int inFlightAtCompletion = inFlight.getAndDecrement();
+        if (dropped) {
+            onDropped();
+        } else {
+            onSample(rttNanos, inFlightAtCompletion);
+        }
+    }
+
+    synchronized void onSample(long rttNanos, int inFlightAtCompletion) {
+        if (rttNanos <= 0) {
+            return;
+        }
+        if (longRtt == 0) {
+            shortRtt = rttNanos;
+            longRtt = rttNanos;
+            return;
+        }
+        shortRtt += (rttNanos - shortRtt) / SHORT_WINDOW;
+        longRtt += (rttNanos - longRtt) / LONG_WINDOW;
+        // 지연이 크게 줄었으면(장애 회복) 장기 RTT를 빨리 내려 바로 다시 줄이기 시작하지 않게 한다.
+        if (longRtt > shortRtt * 2) {
+            longRtt *= 0.95;
+        }
+
+        double gradient = Math.max(MIN_GRADIENT, Math.min(1.0, tolerance * longRtt / shortRtt));
+        double newLimit = estimatedLimit * gradient + Math.sqrt(estimatedLimit);
+        if (newLimit > estimatedLimit && inFlightAtCompletion < estimatedLimit / 2) {
+            return;
+        }
+        newLimit = estimatedLimit * (1 - SMOOTHING) + newLimit * SMOOTHING;
+        update(newLimit);
+    }
+
+    synchronized void onDropped() {
+        update(estimatedLimit * BACKOFF);
+    }
+
+    private void update(double newLimit) {
+        estimatedLimit = Math.max(minLimit, Math.min(maxLimit, newLimit));
+        limit = (int) estimatedLimit;
+    }
+}
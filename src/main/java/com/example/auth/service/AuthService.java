@@ -1,36 +1,52 @@
 package com.example.auth.service;
 
+import com.example.auth.audit.AuditEventPublisher;
+import com.example.auth.audit.AuditEventType;
 import com.example.auth.dto.AuthRequest;
 import com.example.auth.dto.AuthResponse;
 import com.example.auth.dto.GoogleAuthCodeRequest;
 import com.example.auth.dto.RefreshTokenRequest;
+import com.example.auth.dto.SocialAuthCodeRequest;
 import com.example.auth.dto.UserInfoResponse;
 import com.example.auth.exception.UnauthorizedException;
+import com.example.auth.exception.UnsupportedProviderException;
 import com.example.auth.security.jwt.JwtUserPrincipal;
+import com.example.auth.entity.AuthProvider;
 import com.example.auth.entity.User;
-import com.example.auth.client.google.GoogleOAuthClient;
-import com.example.auth.client.google.GoogleUserProfile;
+import com.example.auth.client.social.SocialOAuthClientRegistry;
+import com.example.auth.client.social.SocialUserProfile;
 import com.example.auth.security.jwt.JwtTokenProvider;
+import java.util.Locale;
+import java.util.Optional;
 import org.springframework.stereotype.Service;
 
 @Service
 public class AuthService {
 
     private final JwtTokenProvider jwtTokenProvider;
-    private final GoogleOAuthClient googleOAuthClient;
+    private final SocialOAuthClientRegistry socialOAuthClients;
     private final UserService userService;
     private final RefreshTokenService refreshTokenService;
+    private final AuditEventPublisher auditEvents;
+    private final AccessTokenRevocationService accessTokenRevocations;
+    private final LoadShedder loadShedder;
 
     public AuthService(
         JwtTokenProvider jwtTokenProvider,
-        GoogleOAuthClient googleOAuthClient,
+        SocialOAuthClientRegistry socialOAuthClients,
         UserService userService,
-        RefreshTokenService refreshTokenService
+        RefreshTokenService refreshTokenService,
+        AuditEventPublisher auditEvents,
+        AccessTokenRevocationService accessTokenRevocations,
+        LoadShedder loadShedder
     ) {
         this.jwtTokenProvider = jwtTokenProvider;
-        this.googleOAuthClient = googleOAuthClient;
+        this.socialOAuthClients = socialOAuthClients;
         this.userService = userService;
         this.refreshTokenService = refreshTokenService;
+        this.auditEvents = auditEvents;
+        this.accessTokenRevocations = accessTokenRevocations;
+        this.loadShedder = loadShedder;
     }
 
     public AuthResponse issueToken(AuthRequest request) {
@@ -45,21 +61,47 @@ public class AuthService {
     }
 
     public AuthResponse loginWithGoogleAuthCode(GoogleAuthCodeRequest request) {
-        GoogleUserProfile profile = googleOAuthClient.exchangeAuthCode(request.code(), request.redirectUri());
+        return loginWithAuthCode(AuthProvider.GOOGLE, new SocialAuthCodeRequest(request.code(), request.redirectUri(), null));
+    }
+
+    public AuthResponse loginWithAuthCode(String provider, SocialAuthCodeRequest request) {
+        return loginWithAuthCode(parseProvider(provider), request);
+    }
+
+    private AuthResponse loginWithAuthCode(AuthProvider provider, SocialAuthCodeRequest request) {
+        return loadShedder.call(LoadShedder.Endpoint.LOGIN, () -> login(provider, request));
+    }
+
+    public AuthResponse refresh(RefreshTokenRequest request) {
+        return loadShedder.call(LoadShedder.Endpoint.REFRESH, () -> rotate(request));
+    }
+
+    private AuthResponse login(AuthProvider provider, SocialAuthCodeRequest request) {
+        SocialUserProfile profile = socialOAuthClients.exchangeAuthCode(
+            provider, request.code(), request.redirectUri(), request.state()
+        );
         User user = userService.upsertSocialUser(profile);
         JwtUserPrincipal principal = principalOf(user);
         String token = jwtTokenProvider.createAccessToken(principal);
         String refreshToken = refreshTokenService.issue(user);
+        auditEvents.publish(AuditEventType.LOGIN, user.getId(), provider);
         return new AuthResponse(token, refreshToken);
     }
 
-    public AuthResponse refresh(RefreshTokenRequest request) {
-        User user = refreshTokenService.consumeAndRotate(request.refreshToken())
-            .orElseThrow(() -> new UnauthorizedException("Invalid refresh token"));
+    private AuthResponse rotate(RefreshTokenRequest request) {
+        Optional<User> consumed = refreshTokenService.consumeAndRotate(request.refreshToken());
+        if (consumed.isEmpty()) {
+            // 같은 토큰으로 동시에 온 재시도(앱 복귀 + 백그라운드 동기화 등)는 직전 회전 결과를 그대로 돌려준다.
+            return refreshTokenService.replayRecentRotation(request.refreshToken())
+                .orElseThrow(() -> new UnauthorizedException("Invalid refresh token"));
+        }
+        User user = consumed.get();
         JwtUserPrincipal principal = principalOf(user);
         String accessToken = jwtTokenProvider.createAccessToken(principal);
-        String refreshToken = refreshTokenService.issue(user);
-        return new AuthResponse(accessToken, refreshToken);
+        String refreshToken = refreshTokenService.issueRotated(user, request.refreshToken());
+        AuthResponse response = new AuthResponse(accessToken, refreshToken);
+        refreshTokenService.rememberRotation(request.refreshToken(), response);
+        return response;
     }
 
     public UserInfoResponse me(JwtUserPrincipal principal) {
@@ -74,6 +116,18 @@ public class AuthService {
             throw new UnauthorizedException("Unauthenticated");
         }
         refreshTokenService.revokeAll(principal.userId());
+        // 액세스 토큰을 프로세스 안에서 검증하는 다른 서비스(auth-verifier)가 남은 토큰을 거부하도록 알린다.
+        accessTokenRevocations.revoke(principal.userId());
+        auditEvents.publish(AuditEventType.LOGOUT, principal.userId(), null);
+    }
+
+    // 경로 변수(google, kakao, apple, naver)를 제공자로 바꾼다.
+    private static AuthProvider parseProvider(String provider) {
+        try {
+            return AuthProvider.valueOf(provider.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new UnsupportedProviderException(provider);
+        }
     }
 
     private JwtUserPrincipal principalOf(User user) {
@@ -0,0 +1,110 @@
+package com.example.auth.service;
+
+import com.example.auth.exception.ServiceUnavailableException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Supplier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+@Component
+// 로그인/리프레시 요청을 엔드포인트별 적응형 동시 처리 한도(AdaptiveConcurrencyLimit) 안에서만 실행한다.
+// 구글/MySQL/Redis 중 하나가 느려지면 한도가 줄고, 넘친 요청은 톰캣 큐에서 기다리지 않고 바로 503으로 끝난다.
+// - 로그인과 리프레시는 한도를 따로 가진다(로그인 지연은 구글, 리프레시 지연은 Redis가 좌우한다).
+// - 리프레시가 우선이다: 리프레시가 한도까지 차 있으면 새 로그인은 자기 한도와 상관없이 거절한다
+//   (같은 톰캣 스레드, Redis, MySQL을 나눠 쓰므로 로그인을 덜어 기존 세션 유지를 지킨다).
+// 지표: auth.concurrency.limit / auth.concurrency.in_flight / auth.concurrency.rejected(endpoint, reason=limit|priority)
+public class LoadShedder {
+
+    public enum Endpoint {
+        LOGIN("Login"),
+        REFRESH("Token refresh");
+
+        private final String displayName;
+
+        Endpoint(String displayName) {
+            this.displayName = displayName;
+        }
+    }
+
+    private final boolean enabled;
+    private final Map<Endpoint, AdaptiveConcurrencyLimit> limits = new EnumMap<>(Endpoint.class);
+    private final Map<Endpoint, Counter> rejectedByLimit = new EnumMap<>(Endpoint.class);
+    private final Counter loginRejectedByPriority;
+
+    public LoadShedder(
+        MeterRegistry meterRegistry,
+        @Value("${auth.load-shedding.enabled:true}") boolean enabled,
+        @Value("${auth.load-shedding.tolerance:1.5}") double tolerance,
+        @Value("${auth.load-shedding.login.initial-limit:20}") int loginInitialLimit,
+        @Value("${auth.load-shedding.login.min-limit:4}") int loginMinLimit,
+        @Value("${auth.load-shedding.login.max-limit:100}") int loginMaxLimit,
+        @Value("${auth.load-shedding.refresh.initial-limit:50}") int refreshInitialLimit,
+        @Value("${auth.load-shedding.refresh.min-limit:8}") int refreshMinLimit,
+        @Value("${auth.load-shedding.refresh.max-limit:150}") int refreshMaxLimit
+    ) {
+        this.enabled = enabled;
+        limits.put(Endpoint.LOGIN,
+            new AdaptiveConcurrencyLimit(loginInitialLimit, loginMinLimit, loginMaxLimit, tolerance));
+        limits.put(Endpoint.REFRESH,
+            new AdaptiveConcurrencyLimit(refreshInitialLimit, refreshMinLimit, refreshMaxLimit, tolerance));
+        limits.forEach((endpoint, limit) -> {
+            String tag = endpoint.name().toLowerCase(Locale.ROOT);
+            Gauge.builder("auth.concurrency.limit", limit, AdaptiveConcurrencyLimit::limit)
+                .description("Adaptive concurrency limit")
+                .tag("endpoint", tag)
+                .register(meterRegistry);
+            Gauge.builder("auth.concurrency.in_flight", limit, AdaptiveConcurrencyLimit::inFlight)
+                .tag("endpoint", tag)
+                .register(meterRegistry);
+            rejectedByLimit.put(endpoint,
+                meterRegistry.counter("auth.concurrency.rejected", "endpoint", tag, "reason", "limit"));
+        });
+        this.loginRejectedByPriority = meterRegistry.counter(
+            "auth.concurrency.rejected", "endpoint", "login", "reason", "priority"
+        );
+    }
+
+    // 한도가 없는 인스턴스(단위 테스트 등에서 AuthService를 직접 만들 때).
+    public static LoadShedder disabled(MeterRegistry meterRegistry) {
+        return new LoadShedder(meterRegistry, false, 1.5, 1, 1, 1, 1, 1, 1);
+    }
+
+    public <T> T call(Endpoint endpoint, Supplier<T> call) {
+        if (!enabled) {
+            return call.get();
+        }
+        AdaptiveConcurrencyLimit limit = limits.get(endpoint);
+        if (endpoint == Endpoint.LOGIN && limits.get(Endpoint.REFRESH).isSaturated()) {
+            loginRejectedByPriority.increment();
+            throw overloaded(endpoint);
+        }
+        if (!limit.tryAcquire()) {
+            rejectedByLimit.get(endpoint).increment();
+            throw overloaded(endpoint);
+        }
+        long started = System.nanoTime();
+        boolean dropped = false;
+        try {
+            return call.get();
+        } catch (ServiceUnavailableException e) {
+            // 의존 서비스가 느리거나 죽었다는 신호(타임아웃, 브레이커/bulkhead 거절)
+            dropped = true;
+            throw e;
+        } finally {
+            limit.release(System.nanoTime() - started, dropped);
+        }
+    }
+
+    private static ServiceUnavailableException overloaded(Endpoint endpoint) {
+        return new ServiceUnavailableException(endpoint.displayName + " is temporarily overloaded, try again shortly");
+    }
+
+    int limit(Endpoint endpoint) {
+        return limits.get(endpoint).limit();
+    }
+}
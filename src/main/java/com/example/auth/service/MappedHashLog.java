@@ -0,0 +1,410 @@
+package com.example.auth.service;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.LongSupplier;
+import java.util.zip.CRC32;
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+// 메모리 맵 파일 위의 append-only 키/값 로그(MappedRefreshTokenStore 전용).
+// - 값은 파일에 매핑된 영역(오프힙)에만 있고, 힙에는 키 -> 레코드 위치 인덱스만 둔다.
+// - 쓰기는 레코드를 로그 끝에 덧붙이고 인덱스를 옮긴다. 삭제는 톰스톤 레코드를 남긴다.
+// - 레코드마다 CRC32를 두어, 기동 시 로그를 다시 읽다가 깨진(쓰다 만) 레코드를 만나면 그 앞까지만 복구한다.
+//   매핑된 쓰기는 프로세스가 죽어도 페이지 캐시에 남는다. OS 장애까지 버티려면 force 주기를 짧게(0이면 매 쓰기) 둔다.
+// - 만료(TTL)는 레코드에 기록된 시각으로 판단하고, 만료/덮어쓴 레코드는 compaction으로 새 파일에 옮기지 않는다.
+//   compaction은 임시 파일을 다 쓴 뒤 원자적 rename으로 교체하므로 도중에 죽어도 기존 파일이 남는다.
+//
+// 파일 형식: "RTLOG001" 다음에 레코드가 이어진다.
+// 레코드: crc32(4) | type(1) | expireAtMillis(8, 0이면 만료 없음) | keyLength(2) | valueLength(4) | key | value
+final class MappedHashLog implements Closeable {
+
+    static final int MAX_KEY_LENGTH = 1024;
+    static final int MAX_VALUE_LENGTH = 16 * 1024;
+
+    private static final byte[] MAGIC = "RTLOG001".getBytes(StandardCharsets.US_ASCII);
+    private static final int HEADER_LENGTH = 19;
+    private static final int MAX_RECORD_LENGTH = HEADER_LENGTH + MAX_KEY_LENGTH + MAX_VALUE_LENGTH;
+    private static final byte PUT = 1;
+    private static final byte DELETE = 2;
+
+    private final Path path;
+    private final int capacity;
+    private final boolean forceEveryWrite;
+    private final LongSupplier clock;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, Slot> index = new HashMap<>();
+
+    private FileChannel channel;
+    private MappedByteBuffer buffer;
+    private int writePosition;
+    private long liveBytes;
+    private long compactions;
+    private boolean dirty;
+
+    MappedHashLog(Path path, int capacity, boolean forceEveryWrite, LongSupplier clock) throws IOException {
+        if (capacity < MAGIC.length + MAX_RECORD_LENGTH) {
+            throw new IllegalArgumentException("Capacity is too small: " + capacity);
+        }
+        this.path = path;
+        this.forceEveryWrite = forceEveryWrite;
+        this.clock = clock;
+        Path parent = path.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        // 이전 compaction 도중 죽었다면 기존 파일은 그대로이므로 임시 파일만 버린다.
+        Files.deleteIfExists(compactionPath());
+        boolean existing = Files.exists(path) && Files.size(path) > 0;
+        this.capacity = existing ? (int) Math.max(capacity, Files.size(path)) : capacity;
+        this.channel = open(path, this.capacity);
+        this.buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, this.capacity);
+        if (existing) {
+            recover();
+        } else {
+            buffer.put(0, MAGIC);
+            writePosition = MAGIC.length;
+            buffer.force();
+        }
+    }
+
+    String get(String key) {
+        Entry entry = read(key);
+        return entry == null ? null : entry.value();
+    }
+
+    /**
+     * 만료되지 않은 값과 만료 시각. 없으면 null.
+     */
+    Entry read(String key) {
+        lock.readLock().lock();
+        try {
+            Slot slot = index.get(key);
+            if (slot == null || slot.isExpired(clock.getAsLong())) {
+                return null;
+            }
+            byte[] value = new byte[slot.valueLength()];
+            buffer.get(slot.offset() + HEADER_LENGTH + slot.keyLength(), value);
+            return new Entry(new String(value, StandardCharsets.UTF_8), slot.expireAtMillis());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    void put(String key, String value, long expireAtMillis) {
+        byte[] keyBytes = key.getBytes(StandardCharsets.UTF_8);
+        byte[] valueBytes = value.getBytes(StandardCharsets.UTF_8);
+        if (keyBytes.length > MAX_KEY_LENGTH || valueBytes.length > MAX_VALUE_LENGTH) {
+            throw new IllegalArgumentException("Entry is too large: " + key);
+        }
+        byte[] record = encode(PUT, expireAtMillis, keyBytes, valueBytes);
+        lock.writeLock().lock();
+        try {
+            int offset = append(record);
+            Slot previous = index.put(key, new Slot(offset, keyBytes.length, valueBytes.length, expireAtMillis));
+            if (previous != null) {
+                liveBytes -= previous.length();
+            }
+            liveBytes += record.length;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    boolean delete(String key) {
+        byte[] keyBytes = key.getBytes(StandardCharsets.UTF_8);
+        lock.writeLock().lock();
+        try {
+            Slot previous = index.get(key);
+            if (previous == null) {
+                return false;
+            }
+            // 톰스톤이 없으면 재기동 시 이전 PUT이 되살아난다. 톰스톤 자체는 다음 compaction에서 사라진다.
+            append(encode(DELETE, 0, keyBytes, new byte[0]));
+            index.remove(key);
+            liveBytes -= previous.length();
+            return !previous.isExpired(clock.getAsLong());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 만료된 항목을 인덱스에서 뺀다(파일 공간은 compaction에서 회수). 뺀 항목 수를 돌려준다.
+     */
+    int sweepExpired() {
+        long now = clock.getAsLong();
+        lock.writeLock().lock();
+        try {
+            int removed = 0;
+            Iterator<Slot> slots = index.values().iterator();
+            while (slots.hasNext()) {
+                Slot slot = slots.next();
+                if (slot.isExpired(now)) {
+                    slots.remove();
+                    liveBytes -= slot.length();
+                    removed++;
+                }
+            }
+            return removed;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 회수할 공간이 살아 있는 데이터보다 많고 전체의 1/8을 넘을 때만 compaction한다.
+     */
+    boolean compactIfWorthwhile() {
+        lock.writeLock().lock();
+        try {
+            long dead = deadBytes();
+            if (dead <= liveBytes || dead < capacity / 8) {
+                return false;
+            }
+            compact();
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void compact() {
+        lock.writeLock().lock();
+        try {
+            long now = clock.getAsLong();
+            Path target = compactionPath();
+            // 앞선 compaction이 실패해 남긴 파일을 그대로 열면 새 끝(writePosition) 뒤에 CRC가 맞는 옛 레코드가 남아
+            // 재기동 때 지운 토큰이 되살아난다. 항상 빈 파일에서 시작한다.
+            Files.deleteIfExists(target);
+            FileChannel compactedChannel = open(target, capacity);
+            MappedByteBuffer compacted;
+            int position = MAGIC.length;
+            Map<String, Slot> moved = new HashMap<>(index.size() * 2);
+            long live = 0;
+            try {
+                compacted = compactedChannel.map(FileChannel.MapMode.READ_WRITE, 0, capacity);
+                compacted.put(0, MAGIC);
+                byte[] record = new byte[MAX_RECORD_LENGTH];
+                for (Map.Entry<String, Slot> entry : index.entrySet()) {
+                    Slot slot = entry.getValue();
+                    if (slot.isExpired(now)) {
+                        continue;
+                    }
+                    // CRC는 레코드 내용만 덮으므로 바이트를 그대로 옮기면 된다.
+                    buffer.get(slot.offset(), record, 0, slot.length());
+                    compacted.put(position, record, 0, slot.length());
+                    moved.put(entry.getKey(),
+                        new Slot(position, slot.keyLength(), slot.valueLength(), slot.expireAtMillis()));
+                    position += slot.length();
+                    live += slot.length();
+                }
+                compacted.force();
+                Files.move(target, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (IOException | RuntimeException e) {
+                // 기존 파일과 인덱스는 그대로다. 남은 임시 파일은 다음 compaction/기동 때 지운다.
+                compactedChannel.close();
+                throw e;
+            }
+
+            FileChannel previous = channel;
+            channel = compactedChannel;
+            buffer = compacted;
+            writePosition = position;
+            index.clear();
+            index.putAll(moved);
+            liveBytes = live;
+            compactions++;
+            dirty = false;
+            previous.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to compact " + path, e);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void force() {
+        lock.writeLock().lock();
+        try {
+            if (dirty) {
+                buffer.force();
+                dirty = false;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    int size() {
+        lock.readLock().lock();
+        try {
+            return index.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    long usedBytes() {
+        lock.readLock().lock();
+        try {
+            return writePosition;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    long deadBytes() {
+        lock.readLock().lock();
+        try {
+            return writePosition - MAGIC.length - liveBytes;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    long compactions() {
+        lock.readLock().lock();
+        try {
+            return compactions;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        lock.writeLock().lock();
+        try {
+            if (channel.isOpen()) {
+                buffer.force();
+                channel.close();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private int append(byte[] record) {
+        if (writePosition + record.length > capacity) {
+            // 만료/덮어쓴 레코드를 정리하고 다시 시도한다. 그래도 모자라면 살아 있는 토큰이 용량을 넘은 것이다.
+            compact();
+            if (writePosition + record.length > capacity) {
+                throw new IllegalStateException("Refresh token store is full: " + path);
+            }
+        }
+        int offset = writePosition;
+        buffer.put(offset, record);
+        writePosition += record.length;
+        if (forceEveryWrite) {
+            buffer.force(offset, record.length);
+        } else {
+            dirty = true;
+        }
+        return offset;
+    }
+
+    private void recover() throws IOException {
+        byte[] magic = new byte[MAGIC.length];
+        buffer.get(0, magic);
+        if (!Arrays.equals(magic, MAGIC)) {
+            throw new IOException("Not a refresh token log: " + path);
+        }
+        int position = MAGIC.length;
+        byte[] record = new byte[MAX_RECORD_LENGTH];
+        CRC32 crc = new CRC32();
+        long now = clock.getAsLong();
+        boolean torn = false;
+        while (position + HEADER_LENGTH <= capacity) {
+            byte type = buffer.get(position + 4);
+            if (type == 0) {
+                break;
+            }
+            int keyLength = Short.toUnsignedInt(buffer.getShort(position + 13));
+            int valueLength = buffer.getInt(position + 15);
+            int length = HEADER_LENGTH + keyLength + valueLength;
+            if ((type != PUT && type != DELETE) || keyLength > MAX_KEY_LENGTH || valueLength < 0
+                || valueLength > MAX_VALUE_LENGTH || position + length > capacity) {
+                torn = true;
+                break;
+            }
+            buffer.get(position, record, 0, length);
+            crc.reset();
+            crc.update(record, 4, length - 4);
+            if ((int) crc.getValue() != buffer.getInt(position)) {
+                torn = true;
+                break;
+            }
+            String key = new String(record, HEADER_LENGTH, keyLength, StandardCharsets.UTF_8);
+            Slot slot = new Slot(position, keyLength, valueLength, buffer.getLong(position + 5));
+            // 이미 만료된 PUT은 삭제와 같게 다룬다(공간은 다음 compaction에서 회수).
+            boolean live = type == PUT && !slot.isExpired(now);
+            Slot previous = live ? index.put(key, slot) : index.remove(key);
+            if (previous != null) {
+                liveBytes -= previous.length();
+            }
+            if (live) {
+                liveBytes += length;
+            }
+            position += length;
+        }
+        writePosition = position;
+        // 쓰다 만 레코드가 있었다면 그 자리를 비워 다음 쓰기 뒤에 옛 바이트가 이어 읽히지 않게 한다.
+        if (torn) {
+            log.warn("Discarding torn record at offset {} in {}", position, path);
+        }
+        buffer.put(position, new byte[Math.min(capacity - position, MAX_RECORD_LENGTH)]);
+        buffer.force();
+    }
+
+    private static byte[] encode(byte type, long expireAtMillis, byte[] key, byte[] value) {
+        ByteBuffer record = ByteBuffer.allocate(HEADER_LENGTH + key.length + value.length);
+        record.position(4);
+        record.put(type).putLong(expireAtMillis).putShort((short) key.length).putInt(value.length).put(key).put(value);
+        CRC32 crc = new CRC32();
+        crc.update(record.array(), 4, record.capacity() - 4);
+        record.putInt(0, (int) crc.getValue());
+        return record.array();
+    }
+
+    private Path compactionPath() {
+        return path.resolveSibling(path.getFileName() + ".compact");
+    }
+
+    private static FileChannel open(Path file, int capacity) throws IOException {
+        FileChannel channel = FileChannel.open(file,
+            StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        if (channel.size() < capacity) {
+            // 늘어난 영역은 0으로 채워지며(type 0 = 로그 끝), 파일 시스템에 따라 희소 파일이 된다.
+            channel.write(ByteBuffer.allocate(1), capacity - 1);
+        }
+        return channel;
+    }
+
+    record Entry(String value, long expireAtMillis) {}
+
+    private record Slot(int offset, int keyLength, int valueLength, long expireAtMillis) {
+
+        int length() {
+            return HEADER_LENGTH + keyLength + valueLength;
+        }
+
+        boolean isExpired(long now) {
+            return expireAtMillis != 0 && expireAtMillis <= now;
+        }
+    }
+}
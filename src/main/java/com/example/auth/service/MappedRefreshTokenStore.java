@@ -0,0 +1,296 @@
+package com.example.auth.service;
+
+import com.example.auth.exception.ServiceUnavailableException;
+import com.example.auth.service.RedisRefreshTokenStore.ParsedValue;
+import com.example.auth.service.RefreshTokenCodec.SealedRefreshToken;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+
+@Slf4j
+// 단일 노드용 임베디드 리프레시 토큰 저장소(auth.refresh.store=mapped). Redis 없이 로컬 파일 하나(MappedHashLog)에 둔다.
+// - 키: t:<token>(= "userId:version"), v:<userId>(세션 버전), f:<userId>:<family>(= "generation:exp"), g:<sha256(token)>(grace)
+// - 소비/회전처럼 읽고 쓰는 연산은 이 인스턴스 안에서 직렬화한다(Redis 스크립트의 원자성에 해당).
+// - 백그라운드 스레드가 force(디스크 반영)와 만료 정리/compaction을 한다.
+// 여러 인스턴스가 같은 파일을 공유할 수 없으므로 레플리카가 하나인 배포(엣지, 소규모)에서만 쓴다.
+public class MappedRefreshTokenStore implements RefreshTokenStore, SmartLifecycle {
+
+    private static final String TOKEN = "t:";
+    private static final String VERSION = "v:";
+    private static final String FAMILY = "f:";
+    private static final String GRACE = "g:";
+
+    private final MappedHashLog hashLog;
+    private final LongSupplier clock;
+    private final Duration forceInterval;
+    private final Duration compactionInterval;
+
+    private ScheduledExecutorService maintenance;
+    private volatile boolean running;
+
+    public MappedRefreshTokenStore(Path path, long capacityBytes, Duration forceInterval, Duration compactionInterval,
+                                   MeterRegistry meterRegistry) {
+        this(path, capacityBytes, forceInterval, compactionInterval, System::currentTimeMillis);
+        meterRegistry.gauge("auth.refresh.store.entries", hashLog, MappedHashLog::size);
+        meterRegistry.gauge("auth.refresh.store.used_bytes", hashLog, MappedHashLog::usedBytes);
+        meterRegistry.gauge("auth.refresh.store.dead_bytes", hashLog, MappedHashLog::deadBytes);
+        FunctionCounter.builder("auth.refresh.store.compactions", hashLog, MappedHashLog::compactions)
+            .register(meterRegistry);
+    }
+
+    MappedRefreshTokenStore(Path path, long capacityBytes, Duration forceInterval, Duration compactionInterval,
+                            LongSupplier clock) {
+        if (capacityBytes > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("auth.refresh.mapped.capacity must be below 2GB");
+        }
+        this.clock = clock;
+        this.forceInterval = forceInterval;
+        this.compactionInterval = compactionInterval;
+        try {
+            this.hashLog = new MappedHashLog(path, (int) capacityBytes, forceInterval.isZero(), clock);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to open refresh token store " + path, e);
+        }
+    }
+
+    @Override
+    public String create(long userId, long version, Duration ttl) {
+        String token = UUID.randomUUID().toString();
+        write(() -> hashLog.put(TOKEN + token, RedisRefreshTokenStore.value(userId, version), expireAt(ttl)));
+        return token;
+    }
+
+    @Override
+    public synchronized Optional<Consumed> consume(String token, Duration gracePeriod) {
+        String stored = hashLog.get(TOKEN + token);
+        if (stored == null) {
+            return Optional.empty();
+        }
+        write(() -> hashLog.delete(TOKEN + token));
+        ParsedValue parsed = RedisRefreshTokenStore.parseValue(stored);
+        if (parsed.version() != currentVersion(parsed.userId())) {
+            return Optional.of(new Consumed(parsed.userId(), false));
+        }
+        if (!gracePeriod.isZero()) {
+            write(() -> hashLog.put(graceKey(token), Grace.pending(stored).encode(), expireAt(gracePeriod)));
+        }
+        return Optional.of(new Consumed(parsed.userId(), true));
+    }
+
+    @Override
+    public void startFamily(long userId, UUID family, long expiresAtEpochSecond, Duration ttl) {
+        write(() -> hashLog.put(familyKey(userId, family), "0:" + expiresAtEpochSecond, expireAt(ttl)));
+    }
+
+    @Override
+    public synchronized boolean rotateFamily(String token, SealedRefreshToken sealed, long nextExpiresAtEpochSecond,
+                                             Duration ttl, Duration gracePeriod) {
+        long userId = sealed.userId();
+        if (sealed.version() != currentVersion(userId)) {
+            return false;
+        }
+        String familyKey = familyKey(userId, sealed.family());
+        String current = hashLog.get(familyKey);
+        if (current == null || !current.startsWith(sealed.generation() + ":")) {
+            return false;
+        }
+        write(() -> hashLog.put(familyKey, (sealed.generation() + 1) + ":" + nextExpiresAtEpochSecond, expireAt(ttl)));
+        if (!gracePeriod.isZero()) {
+            String stored = RedisRefreshTokenStore.value(userId, sealed.version());
+            write(() -> hashLog.put(graceKey(token), Grace.pending(stored).encode(), expireAt(gracePeriod)));
+        }
+        return true;
+    }
+
+    @Override
+    public synchronized void rememberRotation(String token, String accessToken, String refreshToken) {
+        String graceKey = graceKey(token);
+        MappedHashLog.Entry entry = hashLog.read(graceKey);
+        if (entry == null) {
+            return;
+        }
+        Grace grace = Grace.decode(entry.value());
+        Grace filled = new Grace(grace.stored(), accessToken, refreshToken, grace.replays());
+        write(() -> hashLog.put(graceKey, filled.encode(), entry.expireAtMillis()));
+    }
+
+    @Override
+    public Optional<GraceEntry> readGrace(String token) {
+        String encoded = hashLog.get(graceKey(token));
+        if (encoded == null) {
+            return Optional.empty();
+        }
+        Grace grace = Grace.decode(encoded);
+        ParsedValue parsed = RedisRefreshTokenStore.parseValue(grace.stored());
+        return Optional.of(new GraceEntry(parsed.userId(), parsed.version(), grace.accessToken(), grace.refreshToken()));
+    }
+
+    @Override
+    public synchronized long incrementReplays(String token) {
+        String graceKey = graceKey(token);
+        MappedHashLog.Entry entry = hashLog.read(graceKey);
+        if (entry == null) {
+            return 0L;
+        }
+        Grace grace = Grace.decode(entry.value());
+        Grace counted = new Grace(grace.stored(), grace.accessToken(), grace.refreshToken(), grace.replays() + 1);
+        write(() -> hashLog.put(graceKey, counted.encode(), entry.expireAtMillis()));
+        return counted.replays();
+    }
+
+    @Override
+    public void discardGrace(String token) {
+        write(() -> hashLog.delete(graceKey(token)));
+    }
+
+    @Override
+    public long currentVersion(long userId) {
+        return RedisRefreshTokenStore.parseVersion(hashLog.get(VERSION + userId));
+    }
+
+    /**
+     * family 항목은 버전 비교로 이미 무효이므로 지우지 않고 TTL로 사라지게 둔다.
+     */
+    @Override
+    public synchronized void revokeAll(long userId) {
+        long next = currentVersion(userId) + 1;
+        write(() -> hashLog.put(VERSION + userId, Long.toString(next), 0));
+    }
+
+    void maintain() {
+        int expired = hashLog.sweepExpired();
+        if (hashLog.compactIfWorthwhile()) {
+            log.info("Compacted refresh token store: {} expired, {} entries, {} bytes",
+                expired, hashLog.size(), hashLog.usedBytes());
+        }
+    }
+
+    int size() {
+        return hashLog.size();
+    }
+
+    long usedBytes() {
+        return hashLog.usedBytes();
+    }
+
+    @Override
+    public void start() {
+        maintenance = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "refresh-store-maintenance");
+            thread.setDaemon(true);
+            return thread;
+        });
+        if (!forceInterval.isZero()) {
+            long forceMillis = forceInterval.toMillis();
+            maintenance.scheduleWithFixedDelay(() -> safely("force", hashLog::force),
+                forceMillis, forceMillis, TimeUnit.MILLISECONDS);
+        }
+        long compactionMillis = compactionInterval.toMillis();
+        maintenance.scheduleWithFixedDelay(() -> safely("compaction", this::maintain),
+            compactionMillis, compactionMillis, TimeUnit.MILLISECONDS);
+        running = true;
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (maintenance != null) {
+            maintenance.shutdown();
+            try {
+                maintenance.awaitTermination(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        try {
+            hashLog.close();
+        } catch (IOException e) {
+            log.error("Failed to close refresh token store", e);
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        // 웹 서버가 먼저 멈춘 뒤(진행 중인 리프레시가 끝난 뒤) 파일을 닫는다.
+        return SmartLifecycle.DEFAULT_PHASE - 4096;
+    }
+
+    private long expireAt(Duration ttl) {
+        return clock.getAsLong() + ttl.toMillis();
+    }
+
+    // 디스크 오류나 용량 초과는 Redis 장애와 같게 503으로 끝낸다.
+    private static void write(Runnable command) {
+        try {
+            command.run();
+        } catch (IllegalStateException | UncheckedIOException e) {
+            throw new ServiceUnavailableException("Session store is not writable", e);
+        }
+    }
+
+    private void safely(String task, Runnable command) {
+        try {
+            command.run();
+        } catch (RuntimeException e) {
+            log.error("Refresh token store {} failed", task, e);
+        }
+    }
+
+    private static String familyKey(long userId, UUID family) {
+        return FAMILY + userId + ":" + RedisRefreshTokenStore.familyField(family);
+    }
+
+    // Redis 저장소와 같이 원문 토큰 대신 해시를 키로 쓴다.
+    private static String graceKey(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return GRACE + HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    /**
+     * grace 항목 값: "userId:version\naccessToken\nrefreshToken\nreplays" (대기 중이면 토큰 칸이 비어 있다).
+     */
+    private record Grace(String stored, String accessToken, String refreshToken, long replays) {
+
+        static Grace pending(String stored) {
+            return new Grace(stored, null, null, 0);
+        }
+
+        static Grace decode(String encoded) {
+            String[] fields = encoded.split("\n", -1);
+            return new Grace(fields[0], emptyToNull(fields[1]), emptyToNull(fields[2]), Long.parseLong(fields[3]));
+        }
+
+        String encode() {
+            return stored + "\n" + (accessToken == null ? "" : accessToken) + "\n"
+                + (refreshToken == null ? "" : refreshToken) + "\n" + replays;
+        }
+
+        private static String emptyToNull(String value) {
+            return value.isEmpty() ? null : value;
+        }
+    }
+}
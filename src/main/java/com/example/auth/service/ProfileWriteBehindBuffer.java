@@ -0,0 +1,244 @@
+package com.example.auth.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+@Slf4j
+@Component
+// 기존 사용자의 이름/이메일 변경을 로그인 요청 밖에서 모아서 쓴다(write-behind).
+// - 사용자별로 마지막 변경만 남기고(coalescing), 단일 스레드가 JDBC 배치 UPDATE로 반영한다.
+// - 같은 사용자의 변경은 시퀀스 순서대로만 반영된다(한 번에 한 배치, 더 새로운 변경이 오면 다음 배치로).
+// - 버퍼가 가득 차거나 종료 중이면 offer가 false를 반환하고, 호출자는 writeThrough로 바로 쓴다.
+//   writeThrough는 flush와 같은 락 안에서 쓰므로 반영 중인 더 오래된 배치가 새 값을 덮어쓰지 못한다.
+// - 종료 시(웹 서버가 멈춘 뒤) 남은 변경을 모두 반영한다. 프로세스가 비정상 종료되면 버퍼 내용은 유실된다.
+public class ProfileWriteBehindBuffer implements SmartLifecycle {
+
+    private static final String UPDATE_SQL = "UPDATE users SET name = ?, email = ?, updated_at = ? WHERE id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final boolean enabled;
+    private final int capacity;
+    private final int batchSize;
+    private final Duration flushInterval;
+    private final Map<Long, PendingProfile> pending = new ConcurrentHashMap<>();
+    private final AtomicLong sequence = new AtomicLong();
+    // offer(읽기 락)와 stop의 running 전환(쓰기 락)을 배타적으로 만든다. 전환 뒤에 들어온 변경은 없다.
+    private final ReentrantReadWriteLock admission = new ReentrantReadWriteLock();
+    private final Counter enqueued;
+    private final Counter rejected;
+    private final Counter flushed;
+    private final Counter dropped;
+
+    private ScheduledExecutorService scheduler;
+    private volatile boolean running;
+
+    public ProfileWriteBehindBuffer(
+        JdbcTemplate jdbcTemplate,
+        MeterRegistry meterRegistry,
+        @Value("${auth.user.write-behind.enabled:false}") boolean enabled,
+        @Value("${auth.user.write-behind.capacity:10000}") int capacity,
+        @Value("${auth.user.write-behind.batch-size:500}") int batchSize,
+        @Value("${auth.user.write-behind.flush-interval:200ms}") Duration flushInterval
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.enabled = enabled;
+        this.capacity = capacity;
+        this.batchSize = batchSize;
+        this.flushInterval = flushInterval;
+        this.enqueued = meterRegistry.counter("auth.user.write_behind.enqueued");
+        this.rejected = meterRegistry.counter("auth.user.write_behind.rejected");
+        this.flushed = meterRegistry.counter("auth.user.write_behind.flushed");
+        this.dropped = meterRegistry.counter("auth.user.write_behind.dropped");
+        meterRegistry.gauge("auth.user.write_behind.pending", pending, Map::size);
+    }
+
+    /**
+     * 프로필 변경을 버퍼에 넣는다. 비활성화/종료 중/버퍼 가득 참이면 false(호출자가 동기 쓰기).
+     */
+    public boolean offer(Long userId, String name, String email) {
+        if (!enabled || userId == null) {
+            return false;
+        }
+        admission.readLock().lock();
+        try {
+            if (!running) {
+                return false;
+            }
+            if (pending.size() >= capacity && !pending.containsKey(userId)) {
+                rejected.increment();
+                return false;
+            }
+            merge(new PendingProfile(userId, name, email, sequence.incrementAndGet()));
+            enqueued.increment();
+            return true;
+        } finally {
+            admission.readLock().unlock();
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * offer가 거절한 기존 사용자의 프로필 변경을 호출 스레드에서 바로 UPDATE한다.
+     * flush와 같은 락을 잡으므로 이미 꺼내 반영 중인 배치가 끝난 뒤에 쓰고, 대기 중인 더 오래된 변경은 버린다.
+     */
+    public synchronized void writeThrough(Long userId, String name, String email) {
+        PendingProfile profile = new PendingProfile(userId, name, email, sequence.incrementAndGet());
+        pending.computeIfPresent(userId, (id, current) -> current.sequence() < profile.sequence() ? null : current);
+        Timestamp now = Timestamp.from(Instant.now());
+        jdbcTemplate.update(UPDATE_SQL, ps -> bind(ps, profile, now));
+        flushed.increment();
+    }
+
+    public boolean isPending(Long userId) {
+        return userId != null && pending.containsKey(userId);
+    }
+
+    /**
+     * 호출 시점에 쌓여 있던 만큼 배치 UPDATE를 반복한다. 스케줄러 스레드와 종료 시점에서만 호출된다.
+     * 일시 장애로 다시 넣은 변경은 다음 주기에 처리된다.
+     */
+    synchronized void flush() {
+        int remaining = pending.size();
+        while (remaining > 0) {
+            List<PendingProfile> batch = drain();
+            if (batch.isEmpty()) {
+                return;
+            }
+            remaining -= batch.size();
+            write(batch);
+        }
+    }
+
+    private List<PendingProfile> drain() {
+        List<PendingProfile> batch = new ArrayList<>(Math.min(batchSize, pending.size()));
+        Iterator<PendingProfile> iterator = pending.values().iterator();
+        while (iterator.hasNext() && batch.size() < batchSize) {
+            PendingProfile candidate = iterator.next();
+            // 그사이 더 새로운 변경이 들어왔으면 remove가 실패하고 다음 배치에서 처리된다.
+            if (pending.remove(candidate.userId(), candidate)) {
+                batch.add(candidate);
+            }
+        }
+        return batch;
+    }
+
+    private void write(List<PendingProfile> batch) {
+        Timestamp now = Timestamp.from(Instant.now());
+        try {
+            jdbcTemplate.batchUpdate(UPDATE_SQL, batch, batch.size(), (ps, profile) -> bind(ps, profile, now));
+            flushed.increment(batch.size());
+        } catch (DataAccessException batchFailure) {
+            // 배치 중 한 행(예: 제약 조건 위반) 때문에 전체가 실패할 수 있으므로 행 단위로 재시도한다.
+            for (PendingProfile profile : batch) {
+                writeOne(profile, now);
+            }
+        }
+    }
+
+    private void writeOne(PendingProfile profile, Timestamp now) {
+        try {
+            jdbcTemplate.update(UPDATE_SQL, ps -> bind(ps, profile, now));
+            flushed.increment();
+        } catch (DataIntegrityViolationException e) {
+            dropped.increment();
+            log.warn("Dropping profile update for user {}: {}", profile.userId(), e.getMessage());
+        } catch (DataAccessException e) {
+            // 일시 장애: 더 새로운 변경이 없다면 다시 넣어 다음 주기에 재시도한다.
+            merge(profile);
+            log.warn("Deferring profile update for user {}: {}", profile.userId(), e.getMessage());
+        }
+    }
+
+    private void merge(PendingProfile update) {
+        pending.merge(update.userId(), update, (current, incoming) ->
+            incoming.sequence() > current.sequence() ? incoming : current
+        );
+    }
+
+    private static void bind(PreparedStatement ps, PendingProfile profile, Timestamp now) throws SQLException {
+        ps.setString(1, profile.name());
+        ps.setString(2, profile.email());
+        ps.setTimestamp(3, now);
+        ps.setLong(4, profile.userId());
+    }
+
+    @Override
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "profile-write-behind");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long intervalMillis = flushInterval.toMillis();
+        scheduler.scheduleWithFixedDelay(this::flushSafely, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+        running = true;
+    }
+
+    @Override
+    public void stop() {
+        admission.writeLock().lock();
+        try {
+            running = false;
+        } finally {
+            admission.writeLock().unlock();
+        }
+        if (scheduler != null) {
+            scheduler.shutdown();
+            try {
+                scheduler.awaitTermination(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        flushSafely();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        // 웹 서버(graceful shutdown 포함)가 먼저 멈춘 뒤에 남은 변경을 반영하도록 더 낮은 phase를 쓴다.
+        return SmartLifecycle.DEFAULT_PHASE - 4096;
+    }
+
+    private void flushSafely() {
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            log.error("Profile write-behind flush failed", e);
+        }
+    }
+
+    record PendingProfile(Long userId, String name, String email, long sequence) {}
+}
@@ -0,0 +1,45 @@
+package com.example.auth.service;
+
+import com.example.auth.exception.ServiceUnavailableException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import java.util.function.Supplier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConditionalOnProperty(prefix = "auth.redis", name = "enabled", havingValue = "true", matchIfMissing = true)
+// Redis 명령을 서킷 브레이커로 감싼다.
+// Redis가 느리거나 죽으면 Lettuce 커맨드 타임아웃(spring.data.redis.timeout) 안에서 실패하고,
+// 실패율이 임계치를 넘으면 브레이커가 열려 Redis 호출 없이 즉시 503(ServiceUnavailableException)으로 끝낸다.
+// 액세스 토큰 검증(JwtAuthenticationFilter)은 Redis를 쓰지 않으므로 브레이커 상태와 무관하게 동작한다.
+public class RedisGuard {
+
+    static final String CIRCUIT_BREAKER_NAME = "redis";
+
+    private final CircuitBreaker circuitBreaker;
+
+    public RedisGuard(CircuitBreakerRegistry circuitBreakerRegistry) {
+        this.circuitBreaker = circuitBreakerRegistry.circuitBreaker(CIRCUIT_BREAKER_NAME);
+    }
+
+    public <T> T execute(Supplier<T> command) {
+        try {
+            return circuitBreaker.executeSupplier(command);
+        } catch (CallNotPermittedException e) {
+            throw new ServiceUnavailableException("Session store is temporarily unavailable", e);
+        } catch (DataAccessException e) {
+            // RedisConnectionFailureException, QueryTimeoutException(커맨드 타임아웃) 등
+            throw new ServiceUnavailableException("Session store is not responding", e);
+        }
+    }
+
+    public void run(Runnable command) {
+        execute(() -> {
+            command.run();
+            return null;
+        });
+    }
+}
@@ -0,0 +1,353 @@
+package com.example.auth.service;
+
+import com.example.auth.service.RefreshTokenCodec.SealedRefreshToken;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+
+// Redis 리프레시 토큰 저장소(기본). 여러 인스턴스가 같은 Redis(단일/클러스터)를 공유한다.
+// - 불투명 토큰: refresh:<token> = "userId:version"
+// - stateless family: refreshfam:<userId> 해시(family -> "generation:exp")
+// - 세션 버전: refreshver:<userId>, grace 항목: refreshgrace:<sha256(token)> 해시(s, a, r, n)
+// 키 이름은 RefreshKeyLayout이 정한다(tagged 배치에서는 한 사용자의 키가 모두 같은 클러스터 슬롯).
+// 모든 명령은 RedisGuard(서킷 브레이커)를 거치며, Redis 장애는 ServiceUnavailableException(503)이 된다.
+public class RedisRefreshTokenStore implements RefreshTokenStore {
+
+    // 토큰을 원자적으로 소비(GET + DEL)하면서 같은 토큰의 재시도를 위한 grace 항목(대기 상태)을 만든다.
+    // 동시에 들어온 두 번째 요청은 토큰 키가 이미 없으므로 grace 항목을 보고 첫 요청의 결과를 기다린다.
+    private static final RedisScript<String> CONSUME_SCRIPT = new DefaultRedisScript<>(
+        "local v = redis.call('GET', KEYS[1]) "
+            + "if v and tonumber(ARGV[1]) > 0 then "
+            + "  redis.call('HSET', KEYS[2], 's', v) "
+            + "  redis.call('PEXPIRE', KEYS[2], ARGV[1]) "
+            + "end "
+            + "if v then redis.call('DEL', KEYS[1]) end "
+            + "return v",
+        String.class
+    );
+
+    // tagged 토큰 소비: 토큰/grace/버전 키가 같은 슬롯에 있으므로 버전 비교까지 한 스크립트에서 끝낸다.
+    // 없으면 nil, 버전이 맞지 않으면(로그아웃됨) 빈 문자열, 성공하면 저장값. KEYS[4](dual 배치의 legacy 버전)는 선택.
+    private static final RedisScript<String> CONSUME_TAGGED_SCRIPT = new DefaultRedisScript<>(
+        "local v = redis.call('GET', KEYS[1]) "
+            + "if not v then return nil end "
+            + "redis.call('DEL', KEYS[1]) "
+            + "local cur = redis.call('GET', KEYS[3]) or '0' "
+            + "if #KEYS > 3 then "
+            + "  local l = redis.call('GET', KEYS[4]) "
+            + "  if l and tonumber(l) > tonumber(cur) then cur = l end "
+            + "end "
+            + "local sep = string.find(v, ':', 1, true) "
+            + "if not sep or string.sub(v, sep + 1) ~= cur then return '' end "
+            + "if tonumber(ARGV[1]) > 0 then "
+            + "  redis.call('HSET', KEYS[2], 's', v) "
+            + "  redis.call('PEXPIRE', KEYS[2], ARGV[1]) "
+            + "end "
+            + "return v",
+        String.class
+    );
+
+    // dual 배치의 로그아웃: legacy/tagged 버전 중 큰 값 + 1을 두 키에 모두 쓴다(단일 Redis 전용).
+    private static final RedisScript<Long> REVOKE_DUAL_SCRIPT = new DefaultRedisScript<>(
+        "local a = tonumber(redis.call('GET', KEYS[1]) or '0') "
+            + "local b = tonumber(redis.call('GET', KEYS[2]) or '0') "
+            + "local v = math.max(a, b) + 1 "
+            + "redis.call('SET', KEYS[1], v) "
+            + "redis.call('SET', KEYS[2], v) "
+            + "return v",
+        Long.class
+    );
+
+    // grace 항목이 아직 살아 있을 때만 응답을 채운다(만료 뒤에 TTL 없는 키가 생기지 않도록).
+    private static final RedisScript<Long> REMEMBER_SCRIPT = new DefaultRedisScript<>(
+        "if redis.call('EXISTS', KEYS[1]) == 1 then "
+            + "  redis.call('HSET', KEYS[1], 'a', ARGV[1], 'r', ARGV[2]) "
+            + "  return 1 "
+            + "end "
+            + "return 0",
+        Long.class
+    );
+
+    // 재생 횟수도 같은 이유로 항목이 있을 때만 올린다.
+    private static final RedisScript<Long> INCREMENT_REPLAYS_SCRIPT = new DefaultRedisScript<>(
+        "if redis.call('EXISTS', KEYS[1]) == 1 then "
+            + "  return redis.call('HINCRBY', KEYS[1], 'n', 1) "
+            + "end "
+            + "return 0",
+        Long.class
+    );
+
+    // 새 family를 등록한다. 필드가 많아지면(오래 방치된 기기 등) 만료된 family부터 정리한다.
+    private static final RedisScript<Long> START_FAMILY_SCRIPT = new DefaultRedisScript<>(
+        "if redis.call('HLEN', KEYS[1]) >= tonumber(ARGV[4]) then "
+            + "  local all = redis.call('HGETALL', KEYS[1]) "
+            + "  for i = 1, #all, 2 do "
+            + "    local exp = tonumber(string.match(all[i + 1], ':(%d+)$')) "
+            + "    if exp and exp <= tonumber(ARGV[3]) then redis.call('HDEL', KEYS[1], all[i]) end "
+            + "  end "
+            + "end "
+            + "redis.call('HSET', KEYS[1], ARGV[1], ARGV[2]) "
+            + "redis.call('PEXPIRE', KEYS[1], ARGV[5]) "
+            + "return 1",
+        Long.class
+    );
+
+    // stateless 토큰 소비: 사용자 버전과 family의 현재 generation이 토큰과 같을 때만 generation을 올린다.
+    // 이미 회전된 토큰(generation이 낮음)은 CONSUME_SCRIPT와 마찬가지로 grace 재생 대상으로만 남는다.
+    private static final RedisScript<Long> ROTATE_FAMILY_SCRIPT = new DefaultRedisScript<>(
+        "local v = redis.call('GET', KEYS[1]) or '0' "
+            + "if #KEYS > 3 then "
+            + "  local l = redis.call('GET', KEYS[4]) "
+            + "  if l and tonumber(l) > tonumber(v) then v = l end "
+            + "end "
+            + "if v ~= ARGV[1] then return 0 end "
+            + "local cur = redis.call('HGET', KEYS[2], ARGV[2]) "
+            + "if not cur or string.match(cur, '^(%d+)') ~= ARGV[3] then return 0 end "
+            + "redis.call('HSET', KEYS[2], ARGV[2], ARGV[4]) "
+            + "redis.call('PEXPIRE', KEYS[2], ARGV[5]) "
+            + "if tonumber(ARGV[6]) > 0 then "
+            + "  redis.call('HSET', KEYS[3], 's', ARGV[7]) "
+            + "  redis.call('PEXPIRE', KEYS[3], ARGV[6]) "
+            + "end "
+            + "return 1",
+        Long.class
+    );
+
+    private static final int FAMILY_PRUNE_THRESHOLD = 16;
+
+    private final StringRedisTemplate redisTemplate;
+    private final RedisGuard redisGuard;
+    private final RefreshTokenCodec codec;
+    private final VersionLookupBatcher versionLookups;
+    private final RefreshKeyLayout keys;
+
+    public RedisRefreshTokenStore(
+        StringRedisTemplate redisTemplate,
+        RedisGuard redisGuard,
+        RefreshTokenCodec codec,
+        VersionLookupBatcher versionLookups,
+        RefreshKeyLayout keys
+    ) {
+        this.redisTemplate = redisTemplate;
+        this.redisGuard = redisGuard;
+        this.codec = codec;
+        this.versionLookups = versionLookups;
+        this.keys = keys;
+    }
+
+    @Override
+    public String create(long userId, long version, Duration ttl) {
+        String token = keys.newToken(userId, UUID.randomUUID().toString());
+        redisGuard.run(() -> redisTemplate.opsForValue().set(keys.tokenKey(token), value(userId, version), ttl));
+        return token;
+    }
+
+    @Override
+    public Optional<Consumed> consume(String token, Duration gracePeriod) {
+        Long owner = keys.taggedOwner(token);
+        if (owner != null) {
+            return consumeTagged(token, owner, gracePeriod);
+        }
+        String key = keys.tokenKey(token);
+        String graceKey = graceKey(token);
+        // tagged 배치(클러스터)에서는 legacy 토큰 키와 grace 키의 슬롯이 달라 grace 없이 토큰만 소비한다.
+        boolean withGrace = keys.mode() != RefreshKeyLayout.Mode.TAGGED;
+        List<String> consumeKeys = withGrace ? List.of(key, graceKey) : List.of(key);
+        String graceMillis = withGrace ? Long.toString(gracePeriod.toMillis()) : "0";
+        // RTR: 이전 토큰을 읽는 즉시 무효화한다(동시 요청 중 하나만 성공).
+        String stored = redisGuard.execute(() -> redisTemplate.execute(CONSUME_SCRIPT, consumeKeys, graceMillis));
+        if (stored == null) {
+            return Optional.empty();
+        }
+
+        ParsedValue parsed = parseValue(stored);
+        if (parsed.version() != currentVersion(parsed.userId())) {
+            if (withGrace && !gracePeriod.isZero()) {
+                redisGuard.run(() -> redisTemplate.delete(graceKey));
+            }
+            return Optional.of(new Consumed(parsed.userId(), false));
+        }
+        return Optional.of(new Consumed(parsed.userId(), true));
+    }
+
+    private Optional<Consumed> consumeTagged(String token, long owner, Duration gracePeriod) {
+        String graceKey = graceKey(token);
+        List<String> consumeKeys = keys.isDual()
+            ? List.of(keys.tokenKey(token), graceKey, keys.versionKey(owner), keys.legacyVersionKey(owner))
+            : List.of(keys.tokenKey(token), graceKey, keys.versionKey(owner));
+        String stored = redisGuard.execute(() -> redisTemplate.execute(
+            CONSUME_TAGGED_SCRIPT, consumeKeys, Long.toString(gracePeriod.toMillis())
+        ));
+        if (stored == null) {
+            return Optional.empty();
+        }
+        return Optional.of(new Consumed(owner, !stored.isEmpty()));
+    }
+
+    @Override
+    public void startFamily(long userId, UUID family, long expiresAtEpochSecond, Duration ttl) {
+        List<String> familyKeys = List.of(keys.familyKey(userId));
+        redisGuard.run(() -> redisTemplate.execute(
+            START_FAMILY_SCRIPT,
+            familyKeys,
+            familyField(family),
+            familyValue(0, expiresAtEpochSecond),
+            Long.toString(Instant.now().getEpochSecond()),
+            Integer.toString(FAMILY_PRUNE_THRESHOLD),
+            Long.toString(ttl.toMillis())
+        ));
+    }
+
+    @Override
+    public boolean rotateFamily(String token, SealedRefreshToken sealed, long nextExpiresAtEpochSecond, Duration ttl,
+                                Duration gracePeriod) {
+        long userId = sealed.userId();
+        String graceKey = graceKey(token);
+        List<String> rotateKeys = keys.isDual()
+            ? List.of(keys.versionKey(userId), keys.familyKey(userId), graceKey, keys.legacyVersionKey(userId))
+            : List.of(keys.versionKey(userId), keys.familyKey(userId), graceKey);
+        Long rotated = redisGuard.execute(() -> redisTemplate.execute(
+            ROTATE_FAMILY_SCRIPT,
+            rotateKeys,
+            Long.toString(sealed.version()),
+            familyField(sealed.family()),
+            Integer.toString(sealed.generation()),
+            familyValue(sealed.generation() + 1, nextExpiresAtEpochSecond),
+            Long.toString(ttl.toMillis()),
+            Long.toString(gracePeriod.toMillis()),
+            value(userId, sealed.version())
+        ));
+        return rotated != null && rotated == 1L;
+    }
+
+    @Override
+    public void rememberRotation(String token, String accessToken, String refreshToken) {
+        List<String> graceKeys = List.of(graceKey(token));
+        redisGuard.run(() -> redisTemplate.execute(REMEMBER_SCRIPT, graceKeys, accessToken, refreshToken));
+    }
+
+    @Override
+    public Optional<GraceEntry> readGrace(String token) {
+        String graceKey = graceKey(token);
+        List<Object> fields = redisGuard.execute(() ->
+            redisTemplate.opsForHash().multiGet(graceKey, List.of("s", "a", "r"))
+        );
+        String stored = (String) fields.get(0);
+        if (stored == null) {
+            return Optional.empty();
+        }
+        ParsedValue parsed = parseValue(stored);
+        return Optional.of(new GraceEntry(parsed.userId(), parsed.version(), (String) fields.get(1), (String) fields.get(2)));
+    }
+
+    @Override
+    public long incrementReplays(String token) {
+        List<String> graceKeys = List.of(graceKey(token));
+        Long replays = redisGuard.execute(() -> redisTemplate.execute(INCREMENT_REPLAYS_SCRIPT, graceKeys));
+        return replays == null ? 0L : replays;
+    }
+
+    @Override
+    public void discardGrace(String token) {
+        String graceKey = graceKey(token);
+        redisGuard.run(() -> redisTemplate.delete(graceKey));
+    }
+
+    @Override
+    public long currentVersion(long userId) {
+        long current = parseVersion(versionLookups.get(keys.versionKey(userId)));
+        if (keys.isDual()) {
+            // 옮기는 중에는 이전 인스턴스가 legacy 키만 올렸을 수 있으므로 큰 값을 쓴다.
+            current = Math.max(current, parseVersion(versionLookups.get(keys.legacyVersionKey(userId))));
+        }
+        return current;
+    }
+
+    /**
+     * 기존 토큰 키들은 TTL로 자연 만료되고, stateless family 해시는 더 쓸 일이 없으므로 바로 지운다.
+     */
+    @Override
+    public void revokeAll(long userId) {
+        if (keys.isDual()) {
+            List<String> versionKeys = List.of(keys.versionKey(userId), keys.legacyVersionKey(userId));
+            redisGuard.run(() -> redisTemplate.execute(REVOKE_DUAL_SCRIPT, versionKeys));
+        } else {
+            redisGuard.run(() -> redisTemplate.opsForValue().increment(keys.versionKey(userId)));
+        }
+        if (codec.isEnabled()) {
+            redisGuard.run(() -> redisTemplate.delete(keys.familyKey(userId)));
+        }
+    }
+
+    // 원문 토큰 대신 해시를 키로 써서 grace 항목만으로는 토큰을 알 수 없게 한다.
+    // tagged 배치에서는 토큰 주인의 해시 태그를 붙여 소비 스크립트의 다른 키와 같은 슬롯에 둔다.
+    private String graceKey(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return keys.graceKey(HexFormat.of().formatHex(digest), owner(token));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private Long owner(String token) {
+        if (keys.isLegacy()) {
+            return null;
+        }
+        if (codec.isSealed(token)) {
+            return codec.open(token).map(SealedRefreshToken::userId).orElse(null);
+        }
+        return keys.taggedOwner(token);
+    }
+
+    // UUID 16바이트를 base64url(22자)로 줄여 해시 필드 크기를 줄인다.
+    static String familyField(UUID family) {
+        ByteBuffer buffer = ByteBuffer.allocate(16)
+            .putLong(family.getMostSignificantBits())
+            .putLong(family.getLeastSignificantBits());
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(buffer.array());
+    }
+
+    private static String familyValue(int generation, long expiresAtEpochSecond) {
+        return generation + ":" + expiresAtEpochSecond;
+    }
+
+    static long parseVersion(String stored) {
+        if (stored == null) {
+            return 0L;
+        }
+        try {
+            return Long.parseLong(stored);
+        } catch (NumberFormatException e) {
+            return 0L;
+        }
+    }
+
+    static String value(long userId, long version) {
+        return userId + ":" + version;
+    }
+
+    static ParsedValue parseValue(String stored) {
+        int idx = stored.indexOf(':');
+        if (idx < 0) {
+            // 이전 포맷(userId만 저장) 호환: 버전 0으로 처리
+            return new ParsedValue(Long.parseLong(stored), 0L);
+        }
+        long userId = Long.parseLong(stored.substring(0, idx));
+        long version = Long.parseLong(stored.substring(idx + 1));
+        return new ParsedValue(userId, version);
+    }
+
+    record ParsedValue(long userId, long version) {}
+}
@@ -0,0 +1,109 @@
+package com.example.auth.service;
+
+import java.util.Locale;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+@Component
+// 리프레시 상태의 Redis 키 배치(auth.refresh.key-layout).
+// - legacy: refresh:<uuid>, refreshver:<userId>, refreshgrace:<sha256>, refreshfam:<userId>
+// - tagged: 사용자별 해시 태그 {u<userId>}를 붙여 한 사용자의 토큰/버전/grace/family 키가 같은 클러스터 슬롯에 놓인다.
+//   refresh:{u<id>}:<uuid>, refreshver:{u<id>}, refreshgrace:{u<id>}:<sha256>, refreshfam:{u<id>}
+//   불투명 토큰은 "<userId>.<uuid>" 형식이 되어 토큰만으로 키를 계산할 수 있다.
+// - dual: 단일 Redis에서 legacy -> tagged로 옮기는 동안 쓴다. 새 토큰은 tagged로 발급하고,
+//   버전은 두 키를 모두 읽어 큰 값을 쓰고 로그아웃 시 둘 다 올린다(RefreshKeyLayoutMigration이 기존 버전을 복사).
+// 멀티 리전(auth.refresh.store=regional)에서는 지역별 로그아웃 횟수 refreshvc:<userId>(tagged: refreshvc:{u<id>})를 더 둔다.
+public class RefreshKeyLayout {
+
+    public enum Mode { LEGACY, DUAL, TAGGED }
+
+    private static final String TOKEN_PREFIX = "refresh:";
+    private static final String VERSION_PREFIX = "refreshver:";
+    private static final String GRACE_PREFIX = "refreshgrace:";
+    private static final String FAMILY_PREFIX = "refreshfam:";
+    private static final String VERSION_VECTOR_PREFIX = "refreshvc:";
+    private static final int UUID_LENGTH = 36;
+
+    private final Mode mode;
+
+    public RefreshKeyLayout(@Value("${auth.refresh.key-layout:legacy}") String layout) {
+        this.mode = Mode.valueOf(layout.trim().toUpperCase(Locale.ROOT));
+    }
+
+    public Mode mode() {
+        return mode;
+    }
+
+    public boolean isLegacy() {
+        return mode == Mode.LEGACY;
+    }
+
+    public boolean isDual() {
+        return mode == Mode.DUAL;
+    }
+
+    // 새로 발급하는 불투명 토큰 문자열
+    public String newToken(long userId, String uuid) {
+        return isLegacy() ? uuid : userId + "." + uuid;
+    }
+
+    /**
+     * tagged 형식("<userId>.<uuid>") 토큰이면 사용자 ID, 아니면 null.
+     */
+    public Long taggedOwner(String token) {
+        int dot = token.indexOf('.');
+        if (dot <= 0 || token.length() - dot - 1 != UUID_LENGTH) {
+            return null;
+        }
+        for (int i = 0; i < dot; i++) {
+            if (!Character.isDigit(token.charAt(i))) {
+                return null;
+            }
+        }
+        try {
+            return Long.parseLong(token, 0, dot, 10);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    public String tokenKey(String token) {
+        Long owner = taggedOwner(token);
+        if (owner == null) {
+            return TOKEN_PREFIX + token;
+        }
+        return TOKEN_PREFIX + hashTag(owner) + ":" + token.substring(token.indexOf('.') + 1);
+    }
+
+    // owner가 null이면(legacy 토큰 등) 태그 없는 키
+    public String graceKey(String tokenDigest, Long owner) {
+        if (owner == null || isLegacy()) {
+            return GRACE_PREFIX + tokenDigest;
+        }
+        return GRACE_PREFIX + hashTag(owner) + ":" + tokenDigest;
+    }
+
+    public String versionKey(long userId) {
+        return isLegacy() ? legacyVersionKey(userId) : VERSION_PREFIX + hashTag(userId);
+    }
+
+    public String legacyVersionKey(long userId) {
+        return VERSION_PREFIX + userId;
+    }
+
+    public String versionVectorKey(long userId) {
+        return isLegacy() ? VERSION_VECTOR_PREFIX + userId : VERSION_VECTOR_PREFIX + hashTag(userId);
+    }
+
+    public String familyKey(long userId) {
+        return isLegacy() ? legacyFamilyKey(userId) : FAMILY_PREFIX + hashTag(userId);
+    }
+
+    public String legacyFamilyKey(long userId) {
+        return FAMILY_PREFIX + userId;
+    }
+
+    public static String hashTag(long userId) {
+        return "{u" + userId + "}";
+    }
+}
@@ -0,0 +1,116 @@
+package com.example.auth.service;
+
+import java.util.List;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "auth.redis", name = "enabled", havingValue = "true", matchIfMissing = true)
+// legacy -> tagged 키 배치 이전(auth.refresh.key-layout=dual일 때만, 단일 Redis에서 실행).
+// - refreshver:<id>를 refreshver:{u<id>}로 복사한다(둘 중 큰 값). 로그아웃 이력을 잃지 않는 것이 목적이다.
+// - refreshfam:<id>(stateless family)는 tagged 키가 없을 때만 이름을 바꾼다.
+// - refresh:<uuid> 토큰은 클라이언트가 uuid만 갖고 있어 옮길 수 없다. 다음 회전 때 tagged 토큰으로 바뀌거나 TTL로 사라진다.
+// 이전 순서: dual로 배포(이 작업이 기동 시 백그라운드로 돈다) -> 리프레시 TTL만큼 유지 -> tagged로 바꾸고 클러스터로 전환.
+public class RefreshKeyLayoutMigration implements ApplicationRunner {
+
+    private static final RedisScript<Long> COPY_VERSION_SCRIPT = new DefaultRedisScript<>(
+        "local a = tonumber(redis.call('GET', KEYS[1]) or '0') "
+            + "local b = tonumber(redis.call('GET', KEYS[2]) or '0') "
+            + "if a > b then redis.call('SET', KEYS[2], a) return 1 end "
+            + "return 0",
+        Long.class
+    );
+
+    private static final RedisScript<Long> MOVE_FAMILY_SCRIPT = new DefaultRedisScript<>(
+        "if redis.call('EXISTS', KEYS[1]) == 1 and redis.call('EXISTS', KEYS[2]) == 0 then "
+            + "  redis.call('RENAME', KEYS[1], KEYS[2]) "
+            + "  return 1 "
+            + "end "
+            + "return 0",
+        Long.class
+    );
+
+    private final StringRedisTemplate redisTemplate;
+    private final RefreshKeyLayout keys;
+    private final boolean enabled;
+    private final int scanCount;
+
+    public RefreshKeyLayoutMigration(
+        StringRedisTemplate redisTemplate,
+        RefreshKeyLayout keys,
+        @Value("${auth.refresh.key-migration.enabled:true}") boolean enabled,
+        @Value("${auth.refresh.key-migration.scan-count:1000}") int scanCount
+    ) {
+        this.redisTemplate = redisTemplate;
+        this.keys = keys;
+        this.enabled = enabled;
+        this.scanCount = scanCount;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!enabled || !keys.isDual()) {
+            return;
+        }
+        Thread worker = new Thread(this::migrateSafely, "refresh-key-migration");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    private void migrateSafely() {
+        try {
+            long started = System.nanoTime();
+            long versions = migrate("refreshver:*", COPY_VERSION_SCRIPT, true);
+            long families = migrate("refreshfam:*", MOVE_FAMILY_SCRIPT, false);
+            log.info("Refresh key migration finished: {} version counters copied, {} families moved in {}ms",
+                versions, families, (System.nanoTime() - started) / 1_000_000);
+        } catch (RuntimeException e) {
+            // 다음 기동 때 다시 돈다(이미 옮긴 키는 건너뛴다).
+            log.error("Refresh key migration failed", e);
+        }
+    }
+
+    private long migrate(String pattern, RedisScript<Long> script, boolean versionKey) {
+        long migrated = 0;
+        try (Cursor<String> cursor = redisTemplate.scan(ScanOptions.scanOptions().match(pattern).count(scanCount).build())) {
+            while (cursor.hasNext()) {
+                Long userId = legacyUserId(cursor.next());
+                if (userId == null) {
+                    continue;
+                }
+                List<String> pair = versionKey
+                    ? List.of(keys.legacyVersionKey(userId), keys.versionKey(userId))
+                    : List.of(keys.legacyFamilyKey(userId), keys.familyKey(userId));
+                Long changed = redisTemplate.execute(script, pair);
+                if (changed != null && changed == 1L) {
+                    migrated++;
+                }
+            }
+        }
+        return migrated;
+    }
+
+    // "refreshver:123" -> 123, 이미 태그가 붙은 키 등은 null
+    private static Long legacyUserId(String key) {
+        String suffix = key.substring(key.indexOf(':') + 1);
+        if (suffix.isEmpty()) {
+            return null;
+        }
+        for (int i = 0; i < suffix.length(); i++) {
+            if (!Character.isDigit(suffix.charAt(i))) {
+                return null;
+            }
+        }
+        return Long.parseLong(suffix);
+    }
+}
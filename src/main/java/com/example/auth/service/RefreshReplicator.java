@@ -0,0 +1,209 @@
+package com.example.auth.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.connection.stream.Consumer;
+import org.springframework.data.redis.connection.stream.MapRecord;
+import org.springframework.data.redis.connection.stream.ReadOffset;
+import org.springframework.data.redis.connection.stream.RecordId;
+import org.springframework.data.redis.connection.stream.StreamOffset;
+import org.springframework.data.redis.connection.stream.StreamReadOptions;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+
+@Slf4j
+// 다른 지역 Redis의 복제 스트림(refreshrepl)을 읽어 이 지역 Redis에 반영한다(auth.refresh.store=regional).
+// - 다른 지역마다 연결 하나와 데몬 스레드 하나(연결은 이 컴포넌트가 열고 닫는다).
+// - 소비자 그룹 이름은 이 지역 이름이라, 같은 지역의 인스턴스들이 이벤트를 나눠 처리한다.
+// - 반영한 뒤에 XACK 한다(최소 한 번). 반영은 멱등이다(RegionalRefreshTokenStore.apply).
+// - 기동 시와 CLAIM_INTERVAL마다 오래 처리되지 않은 항목(죽은 인스턴스 몫)을 가져와 다시 반영한다.
+// - apply-delay: 이벤트를 쓴 뒤 이 시간이 지나야 반영한다. 복제 지연을 재현하는 시험용이며 운영에서는 0.
+// 지역 간 지연은 auth.refresh.replication.lag(region=보낸 지역)으로 본다(스트림 ID의 시각 기준이라 시계 차이가 더해진다).
+public class RefreshReplicator implements SmartLifecycle {
+
+    private static final int BATCH_SIZE = 256;
+    private static final Duration POLL_TIMEOUT = Duration.ofSeconds(1);
+    private static final Duration CLAIM_IDLE = Duration.ofSeconds(30);
+    private static final long CLAIM_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(30);
+    private static final long RETRY_MILLIS = 1000;
+
+    // 스트림이 아직 없어도 그룹을 만든다. 이미 있으면(BUSYGROUP) 그대로 둔다.
+    private static final RedisScript<Long> CREATE_GROUP_SCRIPT = new DefaultRedisScript<>(
+        "local r = redis.pcall('XGROUP', 'CREATE', KEYS[1], ARGV[1], '0', 'MKSTREAM') "
+            + "if type(r) == 'table' and r.err then return 0 end "
+            + "return 1",
+        Long.class
+    );
+
+    // idle 시간이 지난 다른 소비자의 미처리 항목을 이 소비자에게 옮긴다(Redis 6.2+).
+    private static final RedisScript<Long> CLAIM_SCRIPT = new DefaultRedisScript<>(
+        "local r = redis.call('XAUTOCLAIM', KEYS[1], ARGV[1], ARGV[2], ARGV[3], '0-0', 'COUNT', ARGV[4], 'JUSTID') "
+            + "return #r[2]",
+        Long.class
+    );
+
+    private final RegionalRefreshTokenStore store;
+    private final Map<String, LettuceConnectionFactory> peers;
+    private final String consumerName;
+    private final Duration applyDelay;
+    private final MeterRegistry meterRegistry;
+    private final List<Thread> workers = new ArrayList<>();
+
+    private volatile boolean running;
+
+    /**
+     * @param peers 다른 지역 이름 -> 그 지역 Redis(아직 시작하지 않은 연결 팩토리)
+     */
+    public RefreshReplicator(
+        RegionalRefreshTokenStore store,
+        Map<String, LettuceConnectionFactory> peers,
+        String consumerName,
+        Duration applyDelay,
+        MeterRegistry meterRegistry
+    ) {
+        this.store = store;
+        this.peers = new LinkedHashMap<>(peers);
+        this.consumerName = consumerName;
+        this.applyDelay = applyDelay;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        running = true;
+        peers.forEach((region, connectionFactory) -> {
+            connectionFactory.afterPropertiesSet();
+            connectionFactory.start();
+            StringRedisTemplate redisTemplate = new StringRedisTemplate(connectionFactory);
+            Timer lag = Timer.builder("auth.refresh.replication.lag")
+                .tag("region", region)
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+            Thread worker = new Thread(() -> replicate(region, redisTemplate, lag), "refresh-replicator-" + region);
+            worker.setDaemon(true);
+            worker.start();
+            workers.add(worker);
+        });
+        log.info("Replicating refresh-token state into {} from {}", store.region(), peers.keySet());
+    }
+
+    @Override
+    public synchronized void stop() {
+        running = false;
+        for (Thread worker : workers) {
+            worker.interrupt();
+        }
+        for (Thread worker : workers) {
+            try {
+                worker.join(POLL_TIMEOUT.toMillis() * 2);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        workers.clear();
+        peers.values().forEach(LettuceConnectionFactory::destroy);
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void replicate(String region, StringRedisTemplate peer, Timer lag) {
+        Consumer consumer = Consumer.from(store.region(), consumerName);
+        boolean groupReady = false;
+        // true면 이 소비자에게 배달됐지만 ACK 하지 않은 항목부터 다시 읽는다.
+        boolean pending = true;
+        long nextClaim = System.nanoTime();
+        while (running) {
+            try {
+                if (!groupReady) {
+                    peer.execute(CREATE_GROUP_SCRIPT, List.of(RegionalRefreshTokenStore.STREAM_KEY), store.region());
+                    groupReady = true;
+                }
+                if (System.nanoTime() - nextClaim >= 0) {
+                    claimAbandoned(peer);
+                    nextClaim = System.nanoTime() + CLAIM_INTERVAL_NANOS;
+                    pending = true;
+                }
+                List<MapRecord<String, Object, Object>> records = peer.opsForStream().read(
+                    consumer,
+                    pending
+                        ? StreamReadOptions.empty().count(BATCH_SIZE)
+                        : StreamReadOptions.empty().count(BATCH_SIZE).block(POLL_TIMEOUT),
+                    StreamOffset.create(RegionalRefreshTokenStore.STREAM_KEY,
+                        pending ? ReadOffset.from("0") : ReadOffset.lastConsumed())
+                );
+                if (records == null || records.isEmpty()) {
+                    pending = false;
+                    continue;
+                }
+                apply(records, lag);
+                peer.opsForStream().acknowledge(RegionalRefreshTokenStore.STREAM_KEY, store.region(),
+                    records.stream().map(MapRecord::getId).toArray(RecordId[]::new));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                if (!running) {
+                    return;
+                }
+                log.warn("Refresh replication from {} failed, retrying: {}", region, e.getMessage());
+                pending = true;
+                if (!sleep(RETRY_MILLIS)) {
+                    return;
+                }
+            }
+        }
+    }
+
+    private void apply(List<MapRecord<String, Object, Object>> records, Timer lag) throws InterruptedException {
+        for (MapRecord<String, Object, Object> record : records) {
+            long writtenAt = record.getId().getTimestamp();
+            long wait = writtenAt + applyDelay.toMillis() - System.currentTimeMillis();
+            if (wait > 0) {
+                Thread.sleep(wait);
+            }
+            Map<String, String> event = new LinkedHashMap<>();
+            record.getValue().forEach((field, value) -> event.put((String) field, (String) value));
+            try {
+                store.apply(event, System.currentTimeMillis());
+            } catch (IllegalArgumentException e) {
+                // 형식이 맞지 않는 이벤트는 다시 읽어도 같으므로 건너뛴다.
+                log.error("Skipping refresh replication event {}: {}", record.getId(), e.getMessage());
+            }
+            lag.record(Math.max(0, System.currentTimeMillis() - writtenAt), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private void claimAbandoned(StringRedisTemplate peer) {
+        Long claimed = peer.execute(CLAIM_SCRIPT, List.of(RegionalRefreshTokenStore.STREAM_KEY),
+            store.region(), consumerName, Long.toString(CLAIM_IDLE.toMillis()), Integer.toString(BATCH_SIZE));
+        if (claimed != null && claimed > 0) {
+            log.info("Claimed {} abandoned refresh replication events", claimed);
+        }
+    }
+
+    private boolean sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package com.example.auth.service;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Optional;
+import java.util.UUID;
+import javax.crypto.Cipher;
+import javax.crypto.SecretKey;
+import javax.crypto.spec.GCMParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+@Component
+// stateless 모드(auth.refresh.mode=stateless)의 자체 완결형 리프레시 토큰을 만들고 연다.
+// 키만 설정되어 있으면 redis 모드에서도 열 수 있어, 모드를 되돌려도 기존 세션은 다음 회전 때 Redis 토큰으로 옮겨간다.
+// 토큰 = "s1." + base64url(IV 12바이트 || AES-256-GCM(userId, version, family, generation, exp) || 태그)
+// GCM 태그가 위변조를 막고, 암호화로 userId 등 내부 값을 클라이언트에 노출하지 않는다.
+public class RefreshTokenCodec {
+
+    static final String PREFIX = "s1.";
+
+    private static final int IV_LENGTH = 12;
+    private static final int TAG_BITS = 128;
+    // userId(8) + version(8) + family(16) + generation(4) + exp(8)
+    private static final int PAYLOAD_LENGTH = 44;
+    private static final byte[] AAD = PREFIX.getBytes(StandardCharsets.US_ASCII);
+
+    private final boolean enabled;
+    private final SecretKey key;
+    private final SecureRandom random = new SecureRandom();
+
+    public RefreshTokenCodec(
+        @Value("${auth.refresh.mode:redis}") String mode,
+        @Value("${auth.refresh.encryption-key:}") String encryptionKey
+    ) {
+        this.enabled = "stateless".equalsIgnoreCase(mode);
+        if (!StringUtils.hasText(encryptionKey)) {
+            if (enabled) {
+                throw new IllegalStateException("auth.refresh.encryption-key is required when auth.refresh.mode=stateless");
+            }
+            this.key = null;
+            return;
+        }
+        byte[] keyBytes = Base64.getDecoder().decode(encryptionKey.trim());
+        if (keyBytes.length != 32) {
+            throw new IllegalStateException("auth.refresh.encryption-key must be a base64-encoded 32-byte key");
+        }
+        this.key = new SecretKeySpec(keyBytes, "AES");
+    }
+
+    // 새로 발급하는 토큰을 자체 완결형으로 만들지 여부
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public boolean isSealed(String token) {
+        return token != null && token.startsWith(PREFIX);
+    }
+
+    public String seal(SealedRefreshToken token) {
+        ByteBuffer payload = ByteBuffer.allocate(PAYLOAD_LENGTH)
+            .putLong(token.userId())
+            .putLong(token.version())
+            .putLong(token.family().getMostSignificantBits())
+            .putLong(token.family().getLeastSignificantBits())
+            .putInt(token.generation())
+            .putLong(token.expiresAtEpochSecond());
+        byte[] iv = new byte[IV_LENGTH];
+        random.nextBytes(iv);
+        try {
+            Cipher cipher = Cipher.getInstance("AES/GCM/NoPadding");
+            cipher.init(Cipher.ENCRYPT_MODE, key, new GCMParameterSpec(TAG_BITS, iv));
+            cipher.updateAAD(AAD);
+            byte[] sealed = cipher.doFinal(payload.array());
+            byte[] out = new byte[IV_LENGTH + sealed.length];
+            System.arraycopy(iv, 0, out, 0, IV_LENGTH);
+            System.arraycopy(sealed, 0, out, IV_LENGTH, sealed.length);
+            return PREFIX + Base64.getUrlEncoder().withoutPadding().encodeToString(out);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Failed to seal refresh token", e);
+        }
+    }
+
+    /**
+     * 토큰을 복호화/검증한다. 형식 오류, 위변조, 만료면 empty.
+     */
+    public Optional<SealedRefreshToken> open(String token) {
+        if (key == null || !isSealed(token)) {
+            return Optional.empty();
+        }
+        byte[] raw;
+        try {
+            raw = Base64.getUrlDecoder().decode(token.substring(PREFIX.length()));
+        } catch (IllegalArgumentException e) {
+            return Optional.empty();
+        }
+        if (raw.length != IV_LENGTH + PAYLOAD_LENGTH + TAG_BITS / 8) {
+            return Optional.empty();
+        }
+        byte[] payload;
+        try {
+            Cipher cipher = Cipher.getInstance("AES/GCM/NoPadding");
+            cipher.init(Cipher.DECRYPT_MODE, key, new GCMParameterSpec(TAG_BITS, raw, 0, IV_LENGTH));
+            cipher.updateAAD(AAD);
+            payload = cipher.doFinal(raw, IV_LENGTH, raw.length - IV_LENGTH);
+        } catch (GeneralSecurityException e) {
+            return Optional.empty();
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(payload);
+        SealedRefreshToken opened = new SealedRefreshToken(
+            buffer.getLong(),
+            buffer.getLong(),
+            new UUID(buffer.getLong(), buffer.getLong()),
+            buffer.getInt(),
+            buffer.getLong()
+        );
+        if (opened.expiresAtEpochSecond() <= Instant.now().getEpochSecond()) {
+            return Optional.empty();
+        }
+        return Optional.of(opened);
+    }
+
+    // family: 한 번의 로그인에서 시작된 회전 체인, generation: 체인 안에서 몇 번째 토큰인지.
+    public record SealedRefreshToken(
+        long userId,
+        long version,
+        UUID family,
+        int generation,
+        long expiresAtEpochSecond
+    ) {}
+}
@@ -1,103 +1,229 @@
 package com.example.auth.service;
 
+import com.example.auth.audit.AuditEventPublisher;
+import com.example.auth.audit.AuditEventType;
+import com.example.auth.dto.AuthResponse;
 import com.example.auth.entity.User;
-import com.example.auth.repository.UserRepository;
+import com.example.auth.jfr.AuthEvent;
+import com.example.auth.jfr.RefreshStoreEvent;
+import com.example.auth.service.RefreshTokenCodec.SealedRefreshToken;
+import com.example.auth.service.RefreshTokenStore.Consumed;
+import com.example.auth.service.RefreshTokenStore.GraceEntry;
 import java.time.Duration;
+import java.time.Instant;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.function.Supplier;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.data.redis.core.StringRedisTemplate;
 import org.springframework.stereotype.Service;
 
 @Service
-// Redis에 리프레시 토큰을 저장하고 회전(RTR) 처리한다.
+// 리프레시 토큰을 발급하고 회전(RTR) 처리한다. 저장과 원자성은 RefreshTokenStore(auth.refresh.store)가 맡는다.
+// - redis 모드(기본): 불투명 토큰, 토큰마다 저장소 항목을 둔다.
+// - stateless 모드: 토큰 자체가 암호화된 (userId, version, family, generation, exp)이고,
+//   저장소에는 사용자별 세션 버전과 family -> generation만 둔다.
+//   회전은 family의 generation을 비교 후 증가(CAS)시키는 것으로 1회용을 보장한다.
+// 저장소 호출마다 RefreshStoreEvent(JFR)를 남긴다.
 public class RefreshTokenService {
 
-    private static final String KEY_PREFIX = "refresh:";
-    private static final String USER_VERSION_PREFIX = "refreshver:";
+    private static final long GRACE_POLL_MILLIS = 25;
 
-    private final StringRedisTemplate redisTemplate;
-    private final UserRepository userRepository;
+    private final RefreshTokenStore store;
+    private final UserService userService;
+    private final AuditEventPublisher auditEvents;
+    private final RefreshTokenCodec codec;
     private final Duration refreshTtl;
+    private final Duration gracePeriod;
+    private final int graceMaxReplays;
+    private final Duration graceWait;
 
     public RefreshTokenService(
-        StringRedisTemplate redisTemplate,
-        UserRepository userRepository,
-        @Value("${auth.jwt.refresh-validity-seconds:604800}") long refreshValiditySeconds
+        RefreshTokenStore store,
+        UserService userService,
+        AuditEventPublisher auditEvents,
+        RefreshTokenCodec codec,
+        @Value("${auth.jwt.refresh-validity-seconds:604800}") long refreshValiditySeconds,
+        @Value("${auth.refresh.grace-period:5s}") Duration gracePeriod,
+        @Value("${auth.refresh.grace-max-replays:2}") int graceMaxReplays,
+        @Value("${auth.refresh.grace-wait:500ms}") Duration graceWait
     ) {
-        this.redisTemplate = redisTemplate;
-        this.userRepository = userRepository;
+        this.store = store;
+        this.userService = userService;
+        this.auditEvents = auditEvents;
+        this.codec = codec;
         this.refreshTtl = Duration.ofSeconds(refreshValiditySeconds);
+        this.gracePeriod = gracePeriod;
+        this.graceMaxReplays = graceMaxReplays;
+        this.graceWait = graceWait;
     }
 
     public String issue(User user) {
-        String token = UUID.randomUUID().toString();
-        long version = currentUserTokenVersion(user.getId());
-        redisTemplate.opsForValue().set(key(token), value(user.getId(), version), refreshTtl);
-        return token;
+        long version = recorded("currentVersion", () -> store.currentVersion(user.getId()));
+        if (codec.isEnabled()) {
+            return startFamily(user.getId(), version);
+        }
+        return recorded("create", () -> store.create(user.getId(), version, refreshTtl));
+    }
+
+    /**
+     * consumeAndRotate에 성공한 뒤 다음 토큰을 발급한다.
+     * stateless 토큰은 같은 family의 다음 generation을 저장소 호출 없이 만든다(소비할 때 이미 올려 두었다).
+     */
+    public String issueRotated(User user, String previousRefreshToken) {
+        if (codec.isEnabled() && codec.isSealed(previousRefreshToken)) {
+            Optional<SealedRefreshToken> previous = codec.open(previousRefreshToken);
+            if (previous.isPresent()) {
+                SealedRefreshToken p = previous.get();
+                return codec.seal(new SealedRefreshToken(
+                    p.userId(), p.version(), p.family(), p.generation() + 1, expiresAtEpochSecond()
+                ));
+            }
+        }
+        return issue(user);
     }
 
     public Optional<User> consumeAndRotate(String refreshToken) {
-        String key = key(refreshToken);
-        String stored = redisTemplate.opsForValue().get(key);
-        if (stored == null) {
+        if (codec.isSealed(refreshToken)) {
+            return consumeSealed(refreshToken);
+        }
+        // RTR: 이전 토큰을 읽는 즉시 무효화한다(동시 요청 중 하나만 성공).
+        Optional<Consumed> consumed = recorded("consume", () -> store.consume(refreshToken, gracePeriod));
+        if (consumed.isEmpty()) {
+            auditEvents.publish(AuditEventType.REFRESH_REJECTED, null, null);
+            return Optional.empty();
+        }
+        long userId = consumed.get().userId();
+        if (!consumed.get().current()) {
+            auditEvents.publish(AuditEventType.REFRESH_REJECTED, userId, null);
             return Optional.empty();
         }
+        return findUser(refreshToken, userId);
+    }
 
-        ParsedValue parsed = parseValue(stored);
-        long currentVersion = currentUserTokenVersion(parsed.userId());
-        if (parsed.version() != currentVersion) {
+    private Optional<User> consumeSealed(String refreshToken) {
+        Optional<SealedRefreshToken> opened = codec.open(refreshToken);
+        if (opened.isEmpty()) {
+            auditEvents.publish(AuditEventType.REFRESH_REJECTED, null, null);
+            return Optional.empty();
+        }
+        SealedRefreshToken token = opened.get();
+        long nextExpiresAt = expiresAtEpochSecond();
+        boolean rotated = recorded("rotateFamily", () ->
+            store.rotateFamily(refreshToken, token, nextExpiresAt, refreshTtl, gracePeriod));
+        if (!rotated) {
+            auditEvents.publish(AuditEventType.REFRESH_REJECTED, token.userId(), null);
             return Optional.empty();
         }
-        redisTemplate.delete(key); // RTR: 이전 토큰 무효화
-        return userRepository.findById(parsed.userId());
+        return findUser(refreshToken, token.userId());
+    }
+
+    private Optional<User> findUser(String refreshToken, long userId) {
+        Optional<User> user = userService.findById(userId);
+        if (user.isEmpty()) {
+            discardGrace(refreshToken);
+            auditEvents.publish(AuditEventType.REFRESH_REJECTED, userId, null);
+            return Optional.empty();
+        }
+        auditEvents.publish(AuditEventType.REFRESH, userId, user.get().getProvider());
+        return user;
+    }
+
+    private String startFamily(Long userId, long version) {
+        SealedRefreshToken token = new SealedRefreshToken(userId, version, UUID.randomUUID(), 0, expiresAtEpochSecond());
+        recorded("startFamily", () ->
+            store.startFamily(userId, token.family(), token.expiresAtEpochSecond(), refreshTtl));
+        return codec.seal(token);
     }
 
     /**
-     * 로그아웃(전체 세션 폐기): 유저 토큰 버전을 증가시켜 기존 refresh token을 전부 무효화한다.
-     * 기존 토큰 키들은 TTL로 자연 만료된다.
+     * 회전 결과를 grace 기간 동안 이전 토큰 해시 아래에 보관한다.
+     * 같은 토큰으로 뒤늦게 온 재시도는 서명/DB 조회 없이 같은 토큰 쌍을 돌려받는다.
      */
-    public void revokeAll(Long userId) {
-        if (userId == null) {
+    public void rememberRotation(String oldRefreshToken, AuthResponse response) {
+        if (gracePeriod.isZero()) {
             return;
         }
-        redisTemplate.opsForValue().increment(userVersionKey(userId));
+        recorded("rememberRotation", () ->
+            store.rememberRotation(oldRefreshToken, response.accessToken(), response.refreshToken()));
     }
 
-    private String key(String token) {
-        return KEY_PREFIX + token;
+    /**
+     * 이미 소비된 토큰의 재시도라면 grace 기간 안에서 같은 응답을 돌려준다.
+     * - 첫 요청이 아직 처리 중이면 graceWait까지 기다린다.
+     * - 재생 횟수는 graceMaxReplays로 제한하고, 그 사이 로그아웃(버전 증가)했다면 돌려주지 않는다.
+     */
+    public Optional<AuthResponse> replayRecentRotation(String refreshToken) {
+        if (gracePeriod.isZero()) {
+            return Optional.empty();
+        }
+        long deadline = System.nanoTime() + graceWait.toNanos();
+        Optional<GraceEntry> grace = recorded("readGrace", () -> store.readGrace(refreshToken));
+        while (grace.isPresent() && grace.get().isPending() && System.nanoTime() < deadline
+            && !Thread.currentThread().isInterrupted()) {
+            sleepQuietly(GRACE_POLL_MILLIS);
+            grace = recorded("readGrace", () -> store.readGrace(refreshToken));
+        }
+        if (grace.isEmpty() || grace.get().isPending()) {
+            return Optional.empty();
+        }
+
+        GraceEntry entry = grace.get();
+        if (entry.version() != recorded("currentVersion", () -> store.currentVersion(entry.userId()))) {
+            return Optional.empty();
+        }
+        if (recorded("incrementReplays", () -> store.incrementReplays(refreshToken)) > graceMaxReplays) {
+            auditEvents.publish(AuditEventType.REFRESH_REJECTED, entry.userId(), null);
+            return Optional.empty();
+        }
+        auditEvents.publish(AuditEventType.REFRESH_REPLAYED, entry.userId(), null);
+        return Optional.of(new AuthResponse(entry.accessToken(), entry.refreshToken()));
     }
 
-    private String userVersionKey(Long userId) {
-        return USER_VERSION_PREFIX + userId;
+    /**
+     * 로그아웃(전체 세션 폐기): 유저 토큰 버전을 증가시켜 기존 refresh token을 전부 무효화한다.
+     */
+    public void revokeAll(Long userId) {
+        if (userId == null) {
+            return;
+        }
+        recorded("revokeAll", () -> store.revokeAll(userId));
     }
 
-    private long currentUserTokenVersion(Long userId) {
-        String current = redisTemplate.opsForValue().get(userVersionKey(userId));
-        if (current == null) {
-            return 0L;
+    private void discardGrace(String refreshToken) {
+        if (!gracePeriod.isZero()) {
+            recorded("discardGrace", () -> store.discardGrace(refreshToken));
         }
+    }
+
+    private static <T> T recorded(String operation, Supplier<T> call) {
+        RefreshStoreEvent event = new RefreshStoreEvent(operation);
+        event.begin();
         try {
-            return Long.parseLong(current);
-        } catch (NumberFormatException e) {
-            return 0L;
+            T result = call.get();
+            event.finish(AuthEvent.OK);
+            return result;
+        } catch (RuntimeException e) {
+            event.finish(AuthEvent.outcome(e));
+            throw e;
         }
     }
 
-    private String value(Long userId, long version) {
-        return userId + ":" + version;
+    private static void recorded(String operation, Runnable call) {
+        recorded(operation, () -> {
+            call.run();
+            return null;
+        });
     }
 
-    private ParsedValue parseValue(String stored) {
-        int idx = stored.indexOf(':');
-        if (idx < 0) {
-            // 이전 포맷(userId만 저장) 호환: 버전 0으로 처리
-            return new ParsedValue(Long.parseLong(stored), 0L);
-        }
-        long userId = Long.parseLong(stored.substring(0, idx));
-        long version = Long.parseLong(stored.substring(idx + 1));
-        return new ParsedValue(userId, version);
+    private long expiresAtEpochSecond() {
+        return Instant.now().getEpochSecond() + refreshTtl.toSeconds();
     }
 
-    private record ParsedValue(long userId, long version) {}
+    private static void sleepQuietly(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
 }
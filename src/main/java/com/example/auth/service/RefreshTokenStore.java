@@ -0,0 +1,77 @@
+package com.example.auth.service;
+
+import com.example.auth.service.RefreshTokenCodec.SealedRefreshToken;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * 리프레시 토큰 저장소 SPI. RefreshTokenService는 회전/재생/감사 정책만 갖고, 저장과 원자성은 구현이 책임진다.
+ * - RedisRefreshTokenStore(기본): 여러 인스턴스가 공유하는 Redis(단일/클러스터)
+ * - MappedRefreshTokenStore: 단일 노드용 임베디드 저장소(메모리 맵 로그 파일), Redis 없이 동작
+ * 두 구현은 같은 계약 테스트(RefreshTokenStoreContractTest)를 통과해야 한다.
+ *
+ * 세 종류의 상태를 다룬다.
+ * - 세션 버전: 사용자별 카운터. 로그아웃(revokeAll)하면 올라가고, 이전 버전으로 발급된 토큰은 모두 무효가 된다.
+ * - 토큰: 불투명 토큰 -> (userId, 발급 시 버전). stateless 토큰은 family -> generation만 둔다.
+ * - grace 항목: 방금 소비된 토큰 -> (userId, 버전, 회전 결과). 동시 재시도에 같은 응답을 돌려주기 위한 것이다.
+ */
+public interface RefreshTokenStore {
+
+    /**
+     * 새 불투명 토큰을 만들어 (userId, version)으로 ttl 동안 저장하고 토큰 문자열을 돌려준다.
+     */
+    String create(long userId, long version, Duration ttl);
+
+    /**
+     * 토큰을 원자적으로 소비한다(동시 요청 중 하나만 성공). 없는 토큰이면 empty.
+     * 발급 시 버전이 현재 세션 버전과 다르면 current=false이며, 이때는 grace 항목을 남기지 않는다.
+     * current=true이고 gracePeriod가 0보다 크면 대기 상태의 grace 항목을 만든다.
+     */
+    Optional<Consumed> consume(String token, Duration gracePeriod);
+
+    /**
+     * stateless 토큰의 새 family를 generation 0으로 등록한다.
+     */
+    void startFamily(long userId, UUID family, long expiresAtEpochSecond, Duration ttl);
+
+    /**
+     * 토큰의 버전이 현재 세션 버전이고 family의 현재 generation이 토큰과 같을 때만 generation을 하나 올린다.
+     * 성공하고 gracePeriod가 0보다 크면 token 아래에 대기 상태의 grace 항목을 만든다.
+     */
+    boolean rotateFamily(String token, SealedRefreshToken sealed, long nextExpiresAtEpochSecond, Duration ttl,
+                         Duration gracePeriod);
+
+    /**
+     * 대기 중인 grace 항목에 회전 결과를 채운다. 항목이 이미 만료되었으면 아무것도 하지 않는다.
+     */
+    void rememberRotation(String token, String accessToken, String refreshToken);
+
+    Optional<GraceEntry> readGrace(String token);
+
+    /**
+     * grace 항목의 재생 횟수를 올리고 올린 값을 돌려준다. 항목이 없으면 0.
+     */
+    long incrementReplays(String token);
+
+    void discardGrace(String token);
+
+    long currentVersion(long userId);
+
+    /**
+     * 세션 버전을 올려 지금까지 발급된 토큰을 모두 무효화한다.
+     */
+    void revokeAll(long userId);
+
+    record Consumed(long userId, boolean current) {}
+
+    /**
+     * accessToken/refreshToken이 null이면 첫 요청이 아직 회전 중(대기 상태)이다.
+     */
+    record GraceEntry(long userId, long version, String accessToken, String refreshToken) {
+
+        public boolean isPending() {
+            return accessToken == null || refreshToken == null;
+        }
+    }
+}
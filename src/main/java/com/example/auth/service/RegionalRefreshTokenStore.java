@@ -0,0 +1,270 @@
+package com.example.auth.service;
+
+import com.example.auth.service.RefreshTokenCodec.SealedRefreshToken;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+
+// 멀티 리전(active-active) 리프레시 토큰 저장소(auth.refresh.store=regional).
+// 지역마다 자기 Redis를 쓰고(RedisRefreshTokenStore에 위임), 바뀐 상태를 로컬 스트림 refreshrepl에 남긴다.
+// 다른 지역의 RefreshReplicator가 이 스트림을 읽어 자기 Redis에 apply한다(비동기, 최소 한 번).
+//
+// - 세션 버전: 지역별 로그아웃 횟수를 refreshvc 해시에 두고(G-counter), refreshver = 합으로 유지한다.
+//   병합은 지역별 최댓값이라 순서/중복과 무관하게 수렴하고, 두 지역에서 동시에 로그아웃해도 둘 다 반영된다
+//   (max-wins 카운터였다면 v+1로 겹쳐, 한쪽 로그아웃 직후 다른 지역에서 발급된 토큰이 병합 뒤에도 살아남는다).
+//   해시가 없던 사용자의 기존 버전(단일 리전 시절 값)은 '_' 항목으로 옮겨 합에 포함한다.
+// - 불투명 토큰: 발급(남은 TTL 그대로)과 소비(삭제)를 복제한다. family는 generation이 큰 쪽이 이긴다.
+// - grace 항목은 지역 안에서만 쓴다(재시도는 보통 같은 지역으로 온다).
+//
+// 지연 한도(bounded staleness): 복제 지연(auth.refresh.replication.lag) 동안에는
+// - 다른 지역에서 막 발급된 토큰이 아직 없어 거부될 수 있고,
+// - 다른 지역의 로그아웃이 아직 보이지 않아 이전 버전 토큰이 한 번 더 회전될 수 있으며,
+// - 같은 토큰이 두 지역에서 각각 한 번씩 소비될 수 있다(RTR 재사용 탐지가 지역 단위).
+// 지연이 끝나면 두 지역의 버전은 같아지고, 지연 중 회전된 이전 버전 토큰은 다음 회전에서 거부된다.
+public class RegionalRefreshTokenStore implements RefreshTokenStore {
+
+    public static final String STREAM_KEY = "refreshrepl";
+    // 기존(단일 리전) 버전을 담는 refreshvc 항목. 지역 이름으로 쓸 수 없다.
+    static final String BASE_REGION = "_";
+
+    private static final String OP = "o";
+    private static final String OP_CREATE = "c";
+    private static final String OP_DELETE = "d";
+    private static final String OP_FAMILY = "f";
+    private static final String OP_VERSION = "r";
+
+    // 항목 수를 대략 maxLength로 유지하며 이벤트를 추가한다. ARGV[2..]는 필드/값 쌍.
+    private static final RedisScript<String> APPEND_SCRIPT = new DefaultRedisScript<>(
+        "return redis.call('XADD', KEYS[1], 'MAXLEN', '~', ARGV[1], '*', unpack(ARGV, 2))",
+        String.class
+    );
+
+    // 로컬 로그아웃: 이 지역의 횟수를 올리고 refreshver를 합으로 맞춘 뒤 해시 전체를 돌려준다(복제 이벤트에 싣는다).
+    private static final RedisScript<List> REVOKE_SCRIPT = new DefaultRedisScript<>(
+        seedBase()
+            + "redis.call('HINCRBY', KEYS[1], ARGV[1], 1) "
+            + sumVersion()
+            + "return redis.call('HGETALL', KEYS[1])",
+        List.class
+    );
+
+    // 다른 지역의 버전 벡터 병합: 항목별 최댓값. 바뀌었으면 refreshver를 다시 맞추고 family 해시(KEYS[3], 선택)를 지운다.
+    private static final RedisScript<Long> MERGE_VERSION_SCRIPT = new DefaultRedisScript<>(
+        seedBase()
+            + "local changed = 0 "
+            + "for i = 1, #ARGV, 2 do "
+            + "  local cur = tonumber(redis.call('HGET', KEYS[1], ARGV[i]) or '0') "
+            + "  if tonumber(ARGV[i + 1]) > cur then "
+            + "    redis.call('HSET', KEYS[1], ARGV[i], ARGV[i + 1]) "
+            + "    changed = 1 "
+            + "  end "
+            + "end "
+            + "if changed == 0 then return 0 end "
+            + sumVersion()
+            + "if #KEYS > 2 then redis.call('DEL', KEYS[3]) end "
+            + "return 1",
+        Long.class
+    );
+
+    // family 항목 병합: generation이 더 클 때만 덮어쓴다. ARGV = field, "generation:exp", ttl(ms)
+    private static final RedisScript<Long> MERGE_FAMILY_SCRIPT = new DefaultRedisScript<>(
+        "local cur = redis.call('HGET', KEYS[1], ARGV[1]) "
+            + "if cur and tonumber(string.match(cur, '^(%d+)')) >= tonumber(string.match(ARGV[2], '^(%d+)')) then "
+            + "  return 0 "
+            + "end "
+            + "redis.call('HSET', KEYS[1], ARGV[1], ARGV[2]) "
+            + "if redis.call('PTTL', KEYS[1]) < tonumber(ARGV[3]) then redis.call('PEXPIRE', KEYS[1], ARGV[3]) end "
+            + "return 1",
+        Long.class
+    );
+
+    private final RedisRefreshTokenStore local;
+    private final StringRedisTemplate redisTemplate;
+    private final RedisGuard redisGuard;
+    private final RefreshTokenCodec codec;
+    private final RefreshKeyLayout keys;
+    private final String region;
+    private final String streamMaxLength;
+
+    public RegionalRefreshTokenStore(
+        RedisRefreshTokenStore local,
+        StringRedisTemplate redisTemplate,
+        RedisGuard redisGuard,
+        RefreshTokenCodec codec,
+        RefreshKeyLayout keys,
+        String region,
+        long streamMaxLength
+    ) {
+        if (keys.isDual()) {
+            throw new IllegalStateException("auth.refresh.store=regional does not support the dual key layout");
+        }
+        if (region == null || region.isBlank() || region.equals(BASE_REGION)) {
+            throw new IllegalArgumentException("auth.refresh.region.name is required");
+        }
+        this.local = local;
+        this.redisTemplate = redisTemplate;
+        this.redisGuard = redisGuard;
+        this.codec = codec;
+        this.keys = keys;
+        this.region = region;
+        this.streamMaxLength = Long.toString(streamMaxLength);
+    }
+
+    public String region() {
+        return region;
+    }
+
+    @Override
+    public String create(long userId, long version, Duration ttl) {
+        String token = local.create(userId, version, ttl);
+        append(OP_CREATE, "t", token, "v", RedisRefreshTokenStore.value(userId, version), "x", expiresAt(ttl));
+        return token;
+    }
+
+    @Override
+    public Optional<Consumed> consume(String token, Duration gracePeriod) {
+        Optional<Consumed> consumed = local.consume(token, gracePeriod);
+        if (consumed.isPresent()) {
+            append(OP_DELETE, "t", token);
+        }
+        return consumed;
+    }
+
+    @Override
+    public void startFamily(long userId, UUID family, long expiresAtEpochSecond, Duration ttl) {
+        local.startFamily(userId, family, expiresAtEpochSecond, ttl);
+        appendFamily(userId, family, 0, expiresAtEpochSecond, ttl);
+    }
+
+    @Override
+    public boolean rotateFamily(String token, SealedRefreshToken sealed, long nextExpiresAtEpochSecond, Duration ttl,
+                                Duration gracePeriod) {
+        boolean rotated = local.rotateFamily(token, sealed, nextExpiresAtEpochSecond, ttl, gracePeriod);
+        if (rotated) {
+            appendFamily(sealed.userId(), sealed.family(), sealed.generation() + 1, nextExpiresAtEpochSecond, ttl);
+        }
+        return rotated;
+    }
+
+    @Override
+    public void rememberRotation(String token, String accessToken, String refreshToken) {
+        local.rememberRotation(token, accessToken, refreshToken);
+    }
+
+    @Override
+    public Optional<GraceEntry> readGrace(String token) {
+        return local.readGrace(token);
+    }
+
+    @Override
+    public long incrementReplays(String token) {
+        return local.incrementReplays(token);
+    }
+
+    @Override
+    public void discardGrace(String token) {
+        local.discardGrace(token);
+    }
+
+    @Override
+    public long currentVersion(long userId) {
+        return local.currentVersion(userId);
+    }
+
+    /**
+     * 이 지역의 로그아웃 횟수를 올리고 버전 벡터 전체를 복제한다.
+     * 복제 이벤트를 남기지 못하면 예외(503)로 알려 클라이언트가 로그아웃을 다시 시도하게 한다.
+     */
+    @Override
+    public void revokeAll(long userId) {
+        List<String> vectorKeys = List.of(keys.versionVectorKey(userId), keys.versionKey(userId));
+        List<?> vector = redisGuard.execute(() -> redisTemplate.execute(REVOKE_SCRIPT, vectorKeys, region));
+        if (codec.isEnabled()) {
+            redisGuard.run(() -> redisTemplate.delete(keys.familyKey(userId)));
+        }
+        StringBuilder encoded = new StringBuilder();
+        for (int i = 0; i + 1 < vector.size(); i += 2) {
+            if (!encoded.isEmpty()) {
+                encoded.append(',');
+            }
+            encoded.append(vector.get(i)).append('=').append(vector.get(i + 1));
+        }
+        append(OP_VERSION, "u", Long.toString(userId), "vc", encoded.toString());
+    }
+
+    /**
+     * 다른 지역에서 온 복제 이벤트를 이 지역 Redis에 반영한다(RefreshReplicator).
+     * 같은 이벤트를 여러 번 반영해도 결과가 같다.
+     */
+    void apply(Map<String, String> event, long nowMillis) {
+        String op = event.get(OP);
+        if (OP_CREATE.equals(op)) {
+            long remaining = Long.parseLong(event.get("x")) - nowMillis;
+            if (remaining > 0) {
+                redisTemplate.opsForValue().set(keys.tokenKey(event.get("t")), event.get("v"),
+                    Duration.ofMillis(remaining));
+            }
+        } else if (OP_DELETE.equals(op)) {
+            redisTemplate.delete(keys.tokenKey(event.get("t")));
+        } else if (OP_FAMILY.equals(op)) {
+            long remaining = Long.parseLong(event.get("x")) - nowMillis;
+            if (remaining > 0) {
+                redisTemplate.execute(MERGE_FAMILY_SCRIPT, List.of(keys.familyKey(Long.parseLong(event.get("u")))),
+                    event.get("f"), event.get("v"), Long.toString(remaining));
+            }
+        } else if (OP_VERSION.equals(op)) {
+            long userId = Long.parseLong(event.get("u"));
+            List<String> vectorKeys = codec.isEnabled()
+                ? List.of(keys.versionVectorKey(userId), keys.versionKey(userId), keys.familyKey(userId))
+                : List.of(keys.versionVectorKey(userId), keys.versionKey(userId));
+            List<String> counts = new ArrayList<>();
+            for (String entry : event.get("vc").split(",")) {
+                int eq = entry.indexOf('=');
+                counts.add(entry.substring(0, eq));
+                counts.add(entry.substring(eq + 1));
+            }
+            redisTemplate.execute(MERGE_VERSION_SCRIPT, vectorKeys, counts.toArray());
+        } else {
+            throw new IllegalArgumentException("Unknown replication event: " + event);
+        }
+    }
+
+    private void appendFamily(long userId, UUID family, int generation, long expiresAtEpochSecond, Duration ttl) {
+        append(OP_FAMILY, "u", Long.toString(userId), "f", RedisRefreshTokenStore.familyField(family),
+            "v", generation + ":" + expiresAtEpochSecond, "x", expiresAt(ttl));
+    }
+
+    private void append(String op, String... fields) {
+        Object[] args = new Object[fields.length + 3];
+        args[0] = streamMaxLength;
+        args[1] = OP;
+        args[2] = op;
+        System.arraycopy(fields, 0, args, 3, fields.length);
+        List<String> streamKeys = List.of(STREAM_KEY);
+        redisGuard.run(() -> redisTemplate.execute(APPEND_SCRIPT, streamKeys, args));
+    }
+
+    private static String expiresAt(Duration ttl) {
+        return Long.toString(System.currentTimeMillis() + ttl.toMillis());
+    }
+
+    // refreshvc가 없으면 기존 refreshver 값을 '_' 항목으로 옮긴다. KEYS[1] = refreshvc, KEYS[2] = refreshver
+    private static String seedBase() {
+        return "if redis.call('EXISTS', KEYS[1]) == 0 then "
+            + "  local base = redis.call('GET', KEYS[2]) "
+            + "  if base then redis.call('HSET', KEYS[1], '" + BASE_REGION + "', base) end "
+            + "end ";
+    }
+
+    private static String sumVersion() {
+        return "local sum = 0 "
+            + "for _, c in ipairs(redis.call('HVALS', KEYS[1])) do sum = sum + tonumber(c) end "
+            + "redis.call('SET', KEYS[2], sum) ";
+    }
+}
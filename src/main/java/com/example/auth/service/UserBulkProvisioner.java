@@ -0,0 +1,134 @@
+package com.example.auth.service;
+
+import com.example.auth.client.social.SocialUserProfile;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.List;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+@Slf4j
+@Component
+// 기존 계정 이전이나 출시 직후처럼 많은 소셜 사용자를 한 번에 등록/갱신한다(POST /api/admin/users/bulk).
+// - id는 UserIdAllocator에서 요청 분량을 한 번에 예약한다. 이미 있던 사용자 몫은 빈 번호로 남는다.
+// - chunk-size 행씩 다중 행 INSERT ... ON DUPLICATE KEY UPDATE 한 문장(왕복 한 번)으로 쓴다.
+// - (provider, provider_id)가 같은 기존 사용자는 이름/이메일만 바꾼다. 다른 유니크 키로 겹친 행(V2 이전 스키마의 email 등)은
+//   그 사용자를 건드리지 않는다.
+// - 유니크 충돌로 문장이 실패하면 그 청크만 행 단위로 다시 쓰고, 실패한 행은 건너뛴다.
+public class UserBulkProvisioner {
+
+    private static final String INSERT =
+        "INSERT INTO users (id, provider, provider_id, email, name, created_at, updated_at) VALUES ";
+    private static final String ROW = "(?, ?, ?, ?, ?, ?, ?)";
+    private static final int COLUMNS = 7;
+    private static final String SAME_USER = "provider = VALUES(provider) AND provider_id = VALUES(provider_id)";
+    private static final String ON_DUPLICATE = " ON DUPLICATE KEY UPDATE "
+        + "name = CASE WHEN " + SAME_USER + " THEN VALUES(name) ELSE name END, "
+        + "email = CASE WHEN " + SAME_USER + " THEN VALUES(email) ELSE email END, "
+        + "updated_at = CASE WHEN " + SAME_USER + " THEN VALUES(updated_at) ELSE updated_at END";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final UserIdAllocator idAllocator;
+    private final int chunkSize;
+    private final String chunkSql;
+
+    public UserBulkProvisioner(
+        JdbcTemplate jdbcTemplate,
+        UserIdAllocator idAllocator,
+        @Value("${auth.user.bulk.chunk-size:1000}") int chunkSize
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.idAllocator = idAllocator;
+        this.chunkSize = chunkSize;
+        this.chunkSql = upsertSql(chunkSize);
+    }
+
+    /**
+     * 프로필 목록을 청크 단위로 upsert한다. 청크마다 따로 커밋되므로 중간에 실패하면 앞 청크까지만 반영된다.
+     * 같은 요청을 다시 보내도 결과는 같다(이미 등록된 사용자는 갱신만 된다).
+     */
+    public Result provision(List<? extends SocialUserProfile> profiles) {
+        long started = System.nanoTime();
+        if (profiles.isEmpty()) {
+            return new Result(0, 0, 0, 0, 0);
+        }
+        for (SocialUserProfile profile : profiles) {
+            if (profile.provider() == null || profile.providerId() == null) {
+                throw new IllegalArgumentException("provider and providerId are required");
+            }
+        }
+        long firstId = idAllocator.reserve(profiles.size());
+        Timestamp now = Timestamp.from(Instant.now());
+        int skipped = 0;
+        for (int from = 0; from < profiles.size(); from += chunkSize) {
+            int to = Math.min(from + chunkSize, profiles.size());
+            skipped += writeChunk(profiles.subList(from, to), firstId + from, now);
+        }
+        Long inserted = jdbcTemplate.queryForObject(
+            "SELECT COUNT(*) FROM users WHERE id BETWEEN ? AND ?", Long.class,
+            firstId, firstId + profiles.size() - 1
+        );
+        int insertedRows = inserted == null ? 0 : inserted.intValue();
+        Result result = new Result(profiles.size(), insertedRows, profiles.size() - insertedRows - skipped, skipped,
+            (System.nanoTime() - started) / 1_000_000);
+        log.info("Bulk provisioned users: {}", result);
+        return result;
+    }
+
+    private int writeChunk(List<? extends SocialUserProfile> chunk, long firstId, Timestamp now) {
+        String sql = chunk.size() == chunkSize ? chunkSql : upsertSql(chunk.size());
+        try {
+            jdbcTemplate.update(sql, ps -> {
+                for (int i = 0; i < chunk.size(); i++) {
+                    bind(ps, i * COLUMNS, firstId + i, chunk.get(i), now);
+                }
+            });
+            return 0;
+        } catch (DataIntegrityViolationException chunkFailure) {
+            String rowSql = upsertSql(1);
+            int skipped = 0;
+            for (int i = 0; i < chunk.size(); i++) {
+                long id = firstId + i;
+                SocialUserProfile profile = chunk.get(i);
+                try {
+                    jdbcTemplate.update(rowSql, ps -> bind(ps, 0, id, profile, now));
+                } catch (DataIntegrityViolationException e) {
+                    skipped++;
+                    log.warn("Skipping bulk user {}:{}: {}", profile.provider(), profile.providerId(), e.getMessage());
+                }
+            }
+            return skipped;
+        }
+    }
+
+    private static void bind(PreparedStatement ps, int offset, long id, SocialUserProfile profile, Timestamp now)
+        throws SQLException {
+        ps.setLong(offset + 1, id);
+        ps.setString(offset + 2, profile.provider().name());
+        ps.setString(offset + 3, profile.providerId());
+        ps.setString(offset + 4, profile.email());
+        ps.setString(offset + 5, profile.name());
+        ps.setTimestamp(offset + 6, now);
+        ps.setTimestamp(offset + 7, now);
+    }
+
+    private static String upsertSql(int rows) {
+        StringBuilder sql = new StringBuilder(INSERT.length() + rows * (ROW.length() + 2) + ON_DUPLICATE.length());
+        sql.append(INSERT);
+        for (int i = 0; i < rows; i++) {
+            if (i > 0) {
+                sql.append(", ");
+            }
+            sql.append(ROW);
+        }
+        return sql.append(ON_DUPLICATE).toString();
+    }
+
+    // existing: 이미 있던 사용자와 겹친 행(갱신됐거나 그대로이거나, 다른 사용자의 이메일과 겹쳐 반영되지 않은 행).
+    public record Result(int received, int inserted, int existing, int skipped, long elapsedMillis) {}
+}
@@ -0,0 +1,85 @@
+package com.example.auth.service;
+
+import com.example.auth.entity.User;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@Slf4j
+@Component
+// users.id 발급 규칙(users_seq 테이블 한 행). User 엔터티(Hibernate pooled 옵티마이저)와 대량 등록이 같은 규칙을 쓴다.
+// - next_val이 T이면 T-size+1..T 블록을 가져간 것으로 보고 next_val을 T+size로 올린다.
+// - 기동 시(웹 서버보다 먼저) next_val을 기존 최대 id 위로 올린다. IDENTITY(AUTO_INCREMENT) 시절 id와 겹치지 않게 한다.
+// - IDENTITY로 INSERT하는 이전 버전과 함께 돌면 id가 겹칠 수 있으므로, 이 변경은 이전 버전을 모두 내린 뒤 배포한다.
+public class UserIdAllocator implements SmartLifecycle {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int blockSize;
+
+    private volatile boolean running;
+
+    public UserIdAllocator(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.blockSize = User.ID_ALLOCATION_SIZE;
+    }
+
+    /**
+     * 연속된 id count개를 예약하고 첫 id를 돌려준다(first..first+count-1).
+     * next_val은 블록 크기 단위로 올려 Hibernate가 다음에 가져갈 블록과 겹치지 않게 한다.
+     */
+    public long reserve(int count) {
+        if (count <= 0) {
+            throw new IllegalArgumentException("count must be positive: " + count);
+        }
+        long blocks = (count + blockSize - 1) / blockSize;
+        return transactionTemplate.execute(status -> {
+            long next = jdbcTemplate.queryForObject("SELECT next_val FROM users_seq FOR UPDATE", Long.class);
+            jdbcTemplate.update("UPDATE users_seq SET next_val = ?", next + blocks * blockSize);
+            return next - blockSize + 1;
+        });
+    }
+
+    /**
+     * next_val을 MAX(users.id) + 블록 크기 이상으로 올린다. 여러 인스턴스가 동시에 실행해도 된다.
+     * Hibernate가 테이블을 만들며 넣는 첫 행이 없으면(스키마를 직접 만든 경우) 넣는다.
+     */
+    void seed() {
+        transactionTemplate.executeWithoutResult(status -> {
+            Long maxId = jdbcTemplate.queryForObject("SELECT MAX(id) FROM users", Long.class);
+            long floor = (maxId == null ? 0 : maxId) + blockSize;
+            Long rows = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM users_seq", Long.class);
+            if (rows == null || rows == 0) {
+                jdbcTemplate.update("INSERT INTO users_seq (next_val) VALUES (?)", floor);
+                log.info("Initialized users_seq at {}", floor);
+            } else if (jdbcTemplate.update("UPDATE users_seq SET next_val = ? WHERE next_val < ?", floor, floor) > 0) {
+                log.info("Raised users_seq to {} (max user id {})", floor, maxId);
+            }
+        });
+    }
+
+    @Override
+    public void start() {
+        seed();
+        running = true;
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        // 웹 서버가 요청을 받기 전에(더 낮은 phase) 시퀀스를 맞춘다.
+        return SmartLifecycle.DEFAULT_PHASE - 8192;
+    }
+}
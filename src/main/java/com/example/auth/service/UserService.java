@@ -1,23 +1,85 @@
 package com.example.auth.service;
 
 import com.example.auth.client.social.SocialUserProfile;
+import com.example.auth.config.ReadYourWritesTracker;
 import com.example.auth.entity.User;
+import com.example.auth.jfr.UserUpsertEvent;
 import com.example.auth.repository.UserRepository;
+import java.util.Optional;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 @Service
 // 구글 프로필을 DB 사용자로 저장하거나 업데이트한다.
 public class UserService {
 
     private final UserRepository userRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ReadYourWritesTracker readYourWrites;
+    private final ProfileWriteBehindBuffer profileWriteBehind;
 
-    public UserService(UserRepository userRepository) {
+    public UserService(
+        UserRepository userRepository,
+        TransactionTemplate transactionTemplate,
+        ReadYourWritesTracker readYourWrites,
+        ProfileWriteBehindBuffer profileWriteBehind
+    ) {
         this.userRepository = userRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.readYourWrites = readYourWrites;
+        this.profileWriteBehind = profileWriteBehind;
     }
 
-    @Transactional
+    /**
+     * 조회는 읽기 전용 트랜잭션(레플리카)으로 먼저 수행하고,
+     * 신규 사용자이거나 프로필이 바뀐 경우에만 프라이머리에서 다시 읽어 쓴다.
+     * write-behind가 켜져 있으면 기존 사용자의 프로필 변경은 버퍼에 넣고 바로 반환한다.
+     * 버퍼에 넣지 못하면 버퍼의 writeThrough로 바로 쓴다(JPA로 쓰면 반영 중인 이전 배치가 덮어쓸 수 있다).
+     */
     public User upsertSocialUser(SocialUserProfile profile) {
+        UserUpsertEvent event = new UserUpsertEvent(profile.provider().name());
+        event.begin();
+        String socialKey = socialKey(profile);
+        Optional<User> found = readYourWrites.read(socialKey, () ->
+            userRepository.findByProviderAndProviderId(profile.provider(), profile.providerId())
+        );
+        if (found.isPresent()) {
+            User existing = found.get();
+            boolean unchanged = existing.hasProfile(profile.name(), profile.email());
+            // 버퍼에 더 새로운 변경이 남아 있으면 DB 값과 같더라도 다시 넣어야 최종 상태가 맞는다.
+            if (unchanged && !profileWriteBehind.isPending(existing.getId())) {
+                event.finish("unchanged");
+                return existing;
+            }
+            if (profileWriteBehind.offer(existing.getId(), profile.name(), profile.email())) {
+                // open-in-view가 꺼져 있어 준영속 상태이므로 응답용 값만 바뀐다.
+                existing.updateProfile(profile.name(), profile.email());
+                event.finish("buffered");
+                return existing;
+            }
+            if (profileWriteBehind.isEnabled()) {
+                // 버퍼가 가득 찼거나 종료 중: 버퍼를 거쳐 바로 써야 반영 중인 더 오래된 배치에 덮이지 않는다.
+                profileWriteBehind.writeThrough(existing.getId(), profile.name(), profile.email());
+                existing.updateProfile(profile.name(), profile.email());
+                readYourWrites.markWritten(socialKey);
+                readYourWrites.markWritten(userKey(existing.getId()));
+                event.finish("written");
+                return existing;
+            }
+        }
+
+        User saved = transactionTemplate.execute(status -> writeSocialUser(profile));
+        readYourWrites.markWritten(socialKey);
+        readYourWrites.markWritten(userKey(saved.getId()));
+        event.finish("written");
+        return saved;
+    }
+
+    public Optional<User> findById(Long userId) {
+        return readYourWrites.read(userKey(userId), () -> userRepository.findById(userId));
+    }
+
+    private User writeSocialUser(SocialUserProfile profile) {
         return userRepository
             .findByProviderAndProviderId(profile.provider(), profile.providerId())
             .map(existing -> {
@@ -28,4 +90,12 @@ public class UserService {
                 new User(profile.provider(), profile.providerId(), profile.email(), profile.name())
             ));
     }
+
+    private static String socialKey(SocialUserProfile profile) {
+        return profile.provider() + ":" + profile.providerId();
+    }
+
+    private static String userKey(Long userId) {
+        return "user:" + userId;
+    }
 }
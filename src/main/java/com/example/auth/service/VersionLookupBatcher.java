@@ -0,0 +1,210 @@
+package com.example.auth.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.locks.LockSupport;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "auth.redis", name = "enabled", havingValue = "true", matchIfMissing = true)
+// 리프레시/발급 경로의 refreshver:<userId> GET을 짧은 창(window) 동안 모아 MGET 한 번으로 처리한다.
+// - 같은 키를 기다리는 호출은 하나의 조회를 공유한다(coalescing).
+// - 배치에 들어간 키는 MGET을 보내기 전에 대기 목록에서 빠지므로, 그 뒤에 온 호출은 다음 배치에서 새로 읽는다
+//   (로그아웃 INCR이 끝난 뒤 도착한 조회가 그 전에 보낸 MGET 결과를 받는 일이 없다).
+// - 비활성화/종료 중이면 호출 스레드에서 바로 GET한다.
+public class VersionLookupBatcher implements SmartLifecycle {
+
+    // 디스패처가 멈춘 경우 등에 대비해 이 시간 안에 결과가 없으면 직접 GET한다.
+    private static final long MAX_WAIT_MILLIS = 1000;
+
+    private final StringRedisTemplate redisTemplate;
+    private final RedisGuard redisGuard;
+    private final boolean enabled;
+    private final long windowNanos;
+    private final int maxBatchSize;
+    private final Map<String, CompletableFuture<String>> pending = new ConcurrentHashMap<>();
+    private final BlockingQueue<String> arrivals = new LinkedBlockingQueue<>();
+    private final DistributionSummary batchSize;
+    private final Timer lookupLatency;
+    private final Counter coalesced;
+
+    private Thread dispatcher;
+    private volatile boolean running;
+
+    public VersionLookupBatcher(
+        StringRedisTemplate redisTemplate,
+        RedisGuard redisGuard,
+        MeterRegistry meterRegistry,
+        @Value("${auth.refresh.version-batch.enabled:false}") boolean enabled,
+        @Value("${auth.refresh.version-batch.window:200us}") Duration window,
+        @Value("${auth.refresh.version-batch.max-size:256}") int maxBatchSize
+    ) {
+        this.redisTemplate = redisTemplate;
+        this.redisGuard = redisGuard;
+        this.enabled = enabled;
+        this.windowNanos = window.toNanos();
+        this.maxBatchSize = maxBatchSize;
+        this.batchSize = DistributionSummary.builder("auth.refresh.version_batch.size")
+            .description("Distinct keys resolved per MGET")
+            .publishPercentileHistogram()
+            .register(meterRegistry);
+        this.lookupLatency = Timer.builder("auth.refresh.version_batch.latency")
+            .description("Caller-observed version lookup latency including the batching window")
+            .publishPercentileHistogram()
+            .register(meterRegistry);
+        this.coalesced = meterRegistry.counter("auth.refresh.version_batch.coalesced");
+    }
+
+    public String get(String key) {
+        if (!running) {
+            return getDirect(key);
+        }
+        return lookup(key);
+    }
+
+    // running 확인을 통과한 뒤의 경로. 그 사이 stop()이 끝났을 수 있다(테스트는 이 경우를 직접 재현한다).
+    String lookup(String key) {
+        long started = System.nanoTime();
+        CompletableFuture<String> created = new CompletableFuture<>();
+        CompletableFuture<String> future = pending.putIfAbsent(key, created);
+        if (future == null) {
+            future = created;
+            arrivals.offer(key);
+        } else {
+            coalesced.increment();
+        }
+        if (!running) {
+            // stop()과 겹쳤다. 디스패처가 이미 끝났을 수 있으므로 기다리지 않고 직접 읽어 같은 키의 대기자에게도 넘긴다.
+            pending.remove(key, future);
+            try {
+                String value = getDirect(key);
+                future.complete(value);
+                return value;
+            } catch (RuntimeException e) {
+                future.completeExceptionally(e);
+                throw e;
+            } finally {
+                lookupLatency.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+            }
+        }
+        try {
+            return future.get(MAX_WAIT_MILLIS, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException("Version lookup failed", e.getCause());
+        } catch (TimeoutException e) {
+            log.warn("Version lookup batch for {} did not complete in {}ms; reading directly", key, MAX_WAIT_MILLIS);
+            return getDirect(key);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for version lookup", e);
+        } finally {
+            lookupLatency.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private String getDirect(String key) {
+        return redisGuard.execute(() -> redisTemplate.opsForValue().get(key));
+    }
+
+    private void dispatchLoop() {
+        List<String> keys = new ArrayList<>(maxBatchSize);
+        while (running || !arrivals.isEmpty()) {
+            try {
+                String first = arrivals.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                // 첫 키가 온 뒤 창만큼 기다려 같은 시점의 조회를 모은다.
+                LockSupport.parkNanos(windowNanos);
+                keys.add(first);
+                arrivals.drainTo(keys, maxBatchSize - 1);
+                dispatch(keys);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } finally {
+                keys.clear();
+            }
+        }
+    }
+
+    void dispatch(List<String> keys) {
+        List<CompletableFuture<String>> futures = new ArrayList<>(keys.size());
+        for (String key : keys) {
+            futures.add(pending.remove(key));
+        }
+        batchSize.record(keys.size());
+        try {
+            List<String> values = redisGuard.execute(() -> redisTemplate.opsForValue().multiGet(keys));
+            for (int i = 0; i < futures.size(); i++) {
+                CompletableFuture<String> future = futures.get(i);
+                if (future != null) {
+                    future.complete(values == null ? null : values.get(i));
+                }
+            }
+        } catch (RuntimeException e) {
+            for (CompletableFuture<String> future : futures) {
+                if (future != null) {
+                    future.completeExceptionally(e);
+                }
+            }
+        }
+    }
+
+    @Override
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        running = true;
+        dispatcher = new Thread(this::dispatchLoop, "version-lookup-batcher");
+        dispatcher.setDaemon(true);
+        dispatcher.start();
+    }
+
+    @Override
+    public void stop() {
+        // 새 호출은 바로 GET으로 돌리고, 이미 큐에 들어온 조회는 디스패처가 마저 처리한다.
+        running = false;
+        if (dispatcher != null) {
+            try {
+                dispatcher.join(TimeUnit.SECONDS.toMillis(5));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        // 디스패처가 끝난 뒤에 들어온 조회는 실패시키지 않고 여기서 MGET으로 마저 읽는다.
+        arrivals.clear();
+        List<String> leftovers = new ArrayList<>(pending.keySet());
+        for (int from = 0; from < leftovers.size(); from += maxBatchSize) {
+            dispatch(leftovers.subList(from, Math.min(leftovers.size(), from + maxBatchSize)));
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+}
@@ -0,0 +1,22 @@
+-- 사용자 스키마 기준선(User 엔터티와 같은 모양).
+-- 이 파일 이전에 ddl-auto: update로 만들어진 DB는 baseline-on-migrate로 V1에 기준선을 잡고,
+-- V2(com.example.auth.migration.V2__UserLookupIndexes)가 같은 모양으로 맞춘다.
+CREATE TABLE users (
+    id          BIGINT       NOT NULL,
+    provider    ENUM ('GOOGLE', 'KAKAO', 'APPLE', 'NAVER') NOT NULL,
+    provider_id VARCHAR(100) NOT NULL,
+    email       VARCHAR(200),
+    name        VARCHAR(100),
+    created_at  TIMESTAMP(6) NULL,
+    updated_at  TIMESTAMP(6) NULL,
+    PRIMARY KEY (id),
+    -- findByProviderAndProviderId 조회용. 같은 sub가 제공자마다 따로 있을 수 있어 provider까지 묶어 유니크로 둔다.
+    UNIQUE INDEX ux_users_provider_provider_id (provider, provider_id)
+) ENGINE = InnoDB;
+
+-- users.id 블록 발급용(User 엔터티의 pooled 시퀀스, UserIdAllocator).
+CREATE TABLE users_seq (
+    next_val BIGINT
+) ENGINE = InnoDB;
+
+INSERT INTO users_seq (next_val) VALUES (1);
@@ -0,0 +1,102 @@
+package com.example.auth.audit;
+
+import com.example.auth.entity.AuthProvider;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AuditEventPublisherTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    @DisplayName("버퍼가 가득 차면 새 이벤트를 버리고 dropped 카운터를 올린다")
+    void dropsNewestWhenFull() {
+        List<AuditEvent> written = new CopyOnWriteArrayList<>();
+        // 소비자 스레드가 사실상 돌지 않도록 idle-wait를 길게 두고, 직접 drainOnce를 호출한다.
+        AuditEventPublisher publisher = new AuditEventPublisher(written::addAll, meterRegistry, true, 2, 10, Duration.ofHours(1));
+        publisher.start();
+        try {
+            // 시작 직후 소비자가 한 번 빈 버퍼를 확인하고 잠들 시간을 준다.
+            sleep(100);
+            assertThat(publisher.publish(AuditEventType.LOGIN, 1L, AuthProvider.GOOGLE)).isTrue();
+            assertThat(publisher.publish(AuditEventType.REFRESH, 1L, AuthProvider.GOOGLE)).isTrue();
+            assertThat(publisher.publish(AuditEventType.LOGOUT, 1L, null)).isFalse();
+
+            assertThat(meterRegistry.counter("auth.audit.dropped").count()).isEqualTo(1.0);
+            assertThat(meterRegistry.get("auth.audit.queue.size").gauge().value()).isEqualTo(2.0);
+        } finally {
+            publisher.stop();
+        }
+        // 종료 시 남은 이벤트를 모두 쓴다.
+        assertThat(written).extracting(AuditEvent::type)
+            .containsExactly(AuditEventType.LOGIN, AuditEventType.REFRESH);
+        assertThat(meterRegistry.counter("auth.audit.written").count()).isEqualTo(2.0);
+    }
+
+    @Test
+    @DisplayName("저장소 쓰기가 실패하면 배치를 버리고 failed 카운터만 올린다")
+    void sinkFailureIsCounted() {
+        AuditEventPublisher publisher = new AuditEventPublisher(batch -> {
+            throw new IllegalStateException("sink down");
+        }, meterRegistry, true, 8, 10, Duration.ofHours(1));
+        publisher.start();
+        sleep(100);
+        publisher.publish(AuditEventType.LOGIN, 1L, AuthProvider.KAKAO);
+
+        assertThat(publisher.drainOnce(new ArrayList<>())).isEqualTo(1);
+        assertThat(meterRegistry.counter("auth.audit.failed").count()).isEqualTo(1.0);
+        publisher.stop();
+    }
+
+    @Test
+    @DisplayName("비활성화되면 publish는 아무것도 하지 않는다")
+    void disabled() {
+        AuditEventPublisher publisher = new AuditEventPublisher(batch -> { }, meterRegistry, false, 8, 10, Duration.ofMillis(10));
+        publisher.start();
+
+        assertThat(publisher.publish(AuditEventType.LOGIN, 1L, AuthProvider.GOOGLE)).isFalse();
+        assertThat(meterRegistry.counter("auth.audit.dropped").count()).isZero();
+    }
+
+    @Test
+    @DisplayName("파일 저장소는 JSON Lines로 쓰고 크기를 넘으면 다음 번호 파일로 넘어간다")
+    void rollingFileSink(@TempDir Path directory) throws Exception {
+        RollingFileAuditSink sink = new RollingFileAuditSink(directory, 100);
+        long at = 1_760_000_000_000L;
+        sink.write(List.of(new AuditEvent(AuditEventType.LOGIN, 7L, AuthProvider.NAVER, at)));
+        sink.write(List.of(new AuditEvent(AuditEventType.LOGOUT, 7L, null, at)));
+        sink.write(List.of(new AuditEvent(AuditEventType.REFRESH_REJECTED, null, null, at)));
+        sink.close();
+
+        try (Stream<Path> files = Files.list(directory)) {
+            assertThat(files.map(path -> path.getFileName().toString()).sorted())
+                .containsExactly("audit-2025-10-09.0.jsonl", "audit-2025-10-09.1.jsonl");
+        }
+        assertThat(Files.readAllLines(directory.resolve("audit-2025-10-09.0.jsonl"))).containsExactly(
+            "{\"type\":\"LOGIN\",\"at\":1760000000000,\"userId\":7,\"provider\":\"NAVER\"}",
+            "{\"type\":\"LOGOUT\",\"at\":1760000000000,\"userId\":7}"
+        );
+        assertThat(Files.readAllLines(directory.resolve("audit-2025-10-09.1.jsonl"))).containsExactly(
+            "{\"type\":\"REFRESH_REJECTED\",\"at\":1760000000000}"
+        );
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.example.auth.audit;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MpscRingBufferTest {
+
+    @Test
+    @DisplayName("가득 차면 offer는 false, 비우면 다시 받는다")
+    void rejectsWhenFull() {
+        MpscRingBuffer<Integer> buffer = new MpscRingBuffer<>(4);
+        for (int i = 0; i < 4; i++) {
+            assertThat(buffer.offer(i)).isTrue();
+        }
+        assertThat(buffer.offer(4)).isFalse();
+        assertThat(buffer.size()).isEqualTo(4);
+
+        List<Integer> drained = new ArrayList<>();
+        assertThat(buffer.drainTo(drained, 2)).isEqualTo(2);
+        assertThat(drained).containsExactly(0, 1);
+        assertThat(buffer.offer(5)).isTrue();
+        assertThat(buffer.offer(6)).isTrue();
+        assertThat(buffer.offer(7)).isFalse();
+    }
+
+    @Test
+    @DisplayName("용량은 2의 거듭제곱으로 올림된다")
+    void roundsCapacityUp() {
+        assertThat(new MpscRingBuffer<>(1000).capacity()).isEqualTo(1024);
+        assertThat(new MpscRingBuffer<>(1024).capacity()).isEqualTo(1024);
+    }
+
+    @Test
+    @DisplayName("여러 생산자가 동시에 넣어도 받아들여진 원소는 정확히 한 번씩 소비된다")
+    void concurrentProducersSingleConsumer() throws Exception {
+        int producers = 8;
+        int perProducer = 50_000;
+        MpscRingBuffer<Integer> buffer = new MpscRingBuffer<>(1024);
+        BitSet accepted = new BitSet(producers * perProducer);
+        ExecutorService pool = Executors.newFixedThreadPool(producers);
+        CountDownLatch start = new CountDownLatch(1);
+        List<BitSet> acceptedPerProducer = new ArrayList<>();
+
+        for (int p = 0; p < producers; p++) {
+            int base = p * perProducer;
+            BitSet mine = new BitSet(producers * perProducer);
+            acceptedPerProducer.add(mine);
+            pool.submit(() -> {
+                start.await();
+                for (int i = 0; i < perProducer; i++) {
+                    if (buffer.offer(base + i)) {
+                        mine.set(base + i);
+                    }
+                }
+                return null;
+            });
+        }
+
+        BitSet consumed = new BitSet(producers * perProducer);
+        List<Integer> batch = new ArrayList<>();
+        start.countDown();
+        pool.shutdown();
+        while (!pool.isTerminated() || buffer.size() > 0) {
+            batch.clear();
+            buffer.drainTo(batch, 256);
+            for (int value : batch) {
+                assertThat(consumed.get(value)).as("duplicate %d", value).isFalse();
+                consumed.set(value);
+            }
+        }
+        assertThat(pool.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+
+        acceptedPerProducer.forEach(accepted::or);
+        assertThat(consumed).isEqualTo(accepted);
+        assertThat(accepted.cardinality()).isPositive();
+    }
+}
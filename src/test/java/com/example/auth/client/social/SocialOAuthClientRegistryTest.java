@@ -0,0 +1,140 @@
+package com.example.auth.client.social;
+
+import com.example.auth.client.google.GoogleOAuthClient;
+import com.example.auth.client.kakao.KakaoOAuthClient;
+import com.example.auth.client.naver.NaverOAuthClient;
+import com.example.auth.entity.AuthProvider;
+import com.example.auth.exception.ServiceUnavailableException;
+import com.example.auth.exception.UnsupportedProviderException;
+import com.example.auth.support.StubOAuthProvider;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 로컬 스텁 제공자(StubOAuthProvider)로 제공자별 코드 교환과 bulkhead 격리를 검증한다.
+ * - 구글/카카오: id_token을 스텁 JWKS로 검증
+ * - 네이버: 액세스 토큰으로 회원 프로필 API 조회
+ */
+class SocialOAuthClientRegistryTest {
+
+    private static final String REDIRECT_URI = "app://redirect";
+
+    private StubOAuthProvider googleStub;
+    private StubOAuthProvider kakaoStub;
+    private StubOAuthProvider naverStub;
+    private SocialOAuthClientRegistry registry;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        googleStub = new StubOAuthProvider("https://accounts.google.com", "google-client");
+        kakaoStub = new StubOAuthProvider("https://kauth.kakao.com", "kakao-client");
+        naverStub = new StubOAuthProvider("https://nid.naver.com", "naver-client");
+
+        Duration connectTimeout = Duration.ofSeconds(1);
+        Duration readTimeout = Duration.ofSeconds(2);
+        List<SocialOAuthClient> clients = List.of(
+            new GoogleOAuthClient("google-client", "secret", REDIRECT_URI,
+                googleStub.uri("/token"), googleStub.uri("/certs"), connectTimeout, readTimeout),
+            new KakaoOAuthClient("kakao-client", "", REDIRECT_URI,
+                kakaoStub.uri("/token"), kakaoStub.uri("/certs"), connectTimeout, readTimeout),
+            new NaverOAuthClient("naver-client", "secret",
+                naverStub.uri("/token"), naverStub.uri("/me"), connectTimeout, readTimeout)
+        );
+        // 테스트를 위해 제공자당 동시 호출 1개, 대기 없음
+        BulkheadRegistry bulkheads = BulkheadRegistry.of(BulkheadConfig.custom()
+            .maxConcurrentCalls(1)
+            .maxWaitDuration(Duration.ZERO)
+            .build());
+        registry = new SocialOAuthClientRegistry(clients, bulkheads);
+    }
+
+    @AfterEach
+    void tearDown() {
+        googleStub.close();
+        kakaoStub.close();
+        naverStub.close();
+    }
+
+    @Test
+    @DisplayName("OIDC 제공자(카카오)는 id_token을 검증해 사용자 정보를 만든다")
+    void kakaoIdToken() {
+        SocialUserProfile profile = registry.exchangeAuthCode(AuthProvider.KAKAO, "k1", REDIRECT_URI, null);
+
+        assertThat(profile.provider()).isEqualTo(AuthProvider.KAKAO);
+        assertThat(profile.providerId()).isEqualTo("stub-k1");
+        assertThat(profile.email()).isEqualTo("k1@stub.example.com");
+        assertThat(profile.name()).isEqualTo("Stub k1");
+    }
+
+    @Test
+    @DisplayName("다른 제공자의 발급자로 서명된 id_token은 거부한다")
+    void rejectsForeignIssuer() throws Exception {
+        try (StubOAuthProvider impostor = new StubOAuthProvider("https://evil.example.com", "kakao-client")) {
+            KakaoOAuthClient kakao = new KakaoOAuthClient("kakao-client", "", REDIRECT_URI,
+                impostor.uri("/token"), impostor.uri("/certs"), Duration.ofSeconds(1), Duration.ofSeconds(2));
+
+            assertThatThrownBy(() -> kakao.exchangeAuthCode("k1", REDIRECT_URI, null))
+                .hasMessageContaining("issuer");
+        }
+    }
+
+    @Test
+    @DisplayName("네이버는 액세스 토큰으로 회원 프로필 API를 조회한다")
+    void naverUserInfo() {
+        SocialUserProfile profile = registry.exchangeAuthCode(AuthProvider.NAVER, "n1", null, "state-1");
+
+        assertThat(profile.provider()).isEqualTo(AuthProvider.NAVER);
+        assertThat(profile.providerId()).isEqualTo("stub-n1");
+        assertThat(profile.name()).isEqualTo("Stub n1");
+    }
+
+    @Test
+    @DisplayName("설정되지 않은 제공자(애플)는 UnsupportedProviderException")
+    void unconfiguredProvider() {
+        assertThat(registry.supports(AuthProvider.APPLE)).isFalse();
+        assertThatThrownBy(() -> registry.exchangeAuthCode(AuthProvider.APPLE, "a1", REDIRECT_URI, null))
+            .isInstanceOf(UnsupportedProviderException.class);
+    }
+
+    @Test
+    @DisplayName("느린 제공자는 자기 bulkhead만 채우고, 초과 요청은 즉시 503, 다른 제공자는 영향받지 않는다")
+    void slowProviderIsIsolated() throws Exception {
+        googleStub.setDelay(Duration.ofMillis(1500));
+        CompletableFuture<SocialUserProfile> inFlight = CompletableFuture.supplyAsync(
+            () -> registry.exchangeAuthCode(AuthProvider.GOOGLE, "g1", REDIRECT_URI, null)
+        );
+        // 첫 호출이 bulkhead 슬롯을 잡을 때까지 대기
+        Thread.sleep(300);
+
+        long started = System.nanoTime();
+        assertThatThrownBy(() -> registry.exchangeAuthCode(AuthProvider.GOOGLE, "g2", REDIRECT_URI, null))
+            .isInstanceOf(ServiceUnavailableException.class);
+        assertThat(Duration.ofNanos(System.nanoTime() - started)).isLessThan(Duration.ofMillis(200));
+
+        SocialUserProfile kakao = registry.exchangeAuthCode(AuthProvider.KAKAO, "k2", REDIRECT_URI, null);
+        assertThat(kakao.providerId()).isEqualTo("stub-k2");
+        assertThat(inFlight.isDone()).isFalse();
+
+        assertThat(inFlight.get(5, TimeUnit.SECONDS).providerId()).isEqualTo("stub-g1");
+    }
+
+    @Test
+    @DisplayName("응답 타임아웃을 넘긴 제공자 호출은 503으로 끝난다")
+    void readTimeoutBecomesServiceUnavailable() {
+        googleStub.setDelay(Duration.ofSeconds(3));
+
+        assertThatThrownBy(() -> registry.exchangeAuthCode(AuthProvider.GOOGLE, "g3", REDIRECT_URI, null))
+            .isInstanceOf(ServiceUnavailableException.class);
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.auth.config;
+
+import com.example.auth.service.AccessTokenRevocationService;
+import com.example.auth.service.RedisGuard;
+import com.example.auth.service.RefreshKeyLayoutMigration;
+import com.example.auth.service.VersionLookupBatcher;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.DisabledInNativeImage;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * single-node 프로파일처럼 auth.redis.enabled=false이고 Redis 자동 설정이 없을 때
+ * Redis를 쓰는 빈이 만들어지지 않고, 로그아웃 경로(AccessTokenRevocationService)는 Redis 없이 뜨는지 확인한다.
+ */
+// ApplicationContextRunner는 설정 클래스를 런타임에 리플렉션으로 읽으므로 네이티브 이미지에서는 제외한다.
+@DisabledInNativeImage
+class RedisDisabledConfigTest {
+
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+        .withBean(MeterRegistry.class, SimpleMeterRegistry::new)
+        .withBean(CircuitBreakerRegistry.class, CircuitBreakerRegistry::ofDefaults)
+        .withUserConfiguration(RedisConfig.class, RedisGuard.class, VersionLookupBatcher.class,
+            RefreshKeyLayoutMigration.class, AccessTokenRevocationService.class)
+        .withPropertyValues("auth.redis.enabled=false");
+
+    @Test
+    @DisplayName("auth.redis.enabled=false면 Redis 빈 없이 뜨고, 꺼진 폐기 피드는 Redis를 부르지 않는다")
+    void startsWithoutRedis() {
+        contextRunner.run(context -> {
+            assertThat(context).hasNotFailed();
+            assertThat(context).doesNotHaveBean(StringRedisTemplate.class);
+            assertThat(context).doesNotHaveBean(RedisConfig.class);
+            assertThat(context).doesNotHaveBean(RedisGuard.class);
+            assertThat(context).doesNotHaveBean(VersionLookupBatcher.class);
+            assertThat(context).doesNotHaveBean(RefreshKeyLayoutMigration.class);
+
+            AccessTokenRevocationService revocations = context.getBean(AccessTokenRevocationService.class);
+            revocations.revoke(1L);
+            assertThat(revocations.since(0).revocations()).isEmpty();
+        });
+    }
+
+    @Test
+    @DisplayName("Redis 없이 폐기 피드를 켜면 기동 시 실패한다")
+    void revocationFeedRequiresRedis() {
+        contextRunner
+            .withPropertyValues("auth.jwt.revocation-feed.enabled=true")
+            .run(context -> assertThat(context).hasFailed()
+                .getFailure()
+                .hasRootCauseMessage("auth.jwt.revocation-feed.enabled requires Redis (auth.redis.enabled)"));
+    }
+}
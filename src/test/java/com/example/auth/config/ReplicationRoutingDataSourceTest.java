@@ -0,0 +1,82 @@
+package com.example.auth.config;
+
+import java.time.Duration;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 두 개의 H2 인메모리 DB를 프라이머리/레플리카로 두고 라우팅을 검증한다.
+ * 각 DB의 marker 테이블에 자기 이름을 넣어 두고, 어느 DB가 응답했는지로 라우팅 결과를 판단한다.
+ */
+class ReplicationRoutingDataSourceTest {
+
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate readWrite;
+    private TransactionTemplate readOnly;
+
+    @BeforeEach
+    void setUp() {
+        DataSource primary = h2("primary");
+        DataSource replica = h2("replica");
+        DataSource routing = ReplicationRoutingDataSource.create(primary, replica);
+
+        jdbcTemplate = new JdbcTemplate(routing);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(routing);
+        readWrite = new TransactionTemplate(transactionManager);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+    }
+
+    @Test
+    @DisplayName("읽기 전용 트랜잭션은 레플리카, 쓰기 트랜잭션과 트랜잭션 밖 호출은 프라이머리로 간다")
+    void routesByTransactionReadOnlyFlag() {
+        assertThat(readOnly.execute(status -> whoAnswered())).isEqualTo("replica");
+        assertThat(readWrite.execute(status -> whoAnswered())).isEqualTo("primary");
+        assertThat(whoAnswered()).isEqualTo("primary");
+    }
+
+    @Test
+    @DisplayName("onPrimary 블록 안에서는 읽기 전용 트랜잭션도 프라이머리를 사용한다")
+    void onPrimary_overridesReadOnlyRouting() {
+        String answered = ReplicationRoutingDataSource.onPrimary(() -> readOnly.execute(status -> whoAnswered()));
+
+        assertThat(answered).isEqualTo("primary");
+        assertThat(readOnly.execute(status -> whoAnswered())).isEqualTo("replica");
+    }
+
+    @Test
+    @DisplayName("upsert 직후 창(window) 안의 조회는 프라이머리, 창이 지나면 다시 레플리카로 간다")
+    void readYourWritesWindow() throws Exception {
+        ReadYourWritesTracker tracker = new ReadYourWritesTracker(Duration.ofMillis(100));
+        tracker.markWritten("user:1");
+
+        assertThat(tracker.read("user:1", () -> readOnly.execute(status -> whoAnswered()))).isEqualTo("primary");
+        assertThat(tracker.read("user:2", () -> readOnly.execute(status -> whoAnswered()))).isEqualTo("replica");
+
+        Thread.sleep(150);
+        assertThat(tracker.read("user:1", () -> readOnly.execute(status -> whoAnswered()))).isEqualTo("replica");
+    }
+
+    private String whoAnswered() {
+        return jdbcTemplate.queryForObject("select name from marker", String.class);
+    }
+
+    private static DataSource h2(String name) {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+            "jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1", "sa", ""
+        );
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        jdbc.execute("create table if not exists marker (name varchar(20))");
+        jdbc.update("delete from marker");
+        jdbc.update("insert into marker (name) values (?)", name);
+        return dataSource;
+    }
+}
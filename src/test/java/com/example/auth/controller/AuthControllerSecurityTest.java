@@ -6,6 +6,9 @@ import com.example.auth.security.jwt.JwtAuthenticationFilter;
 import com.example.auth.security.jwt.JwtTokenProvider;
 import com.example.auth.security.jwt.JwtUserPrincipal;
 import com.example.auth.service.AuthService;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -13,12 +16,16 @@ import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMock
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.aot.DisabledInAotMode;
 import org.springframework.test.web.servlet.MockMvc;
 
+import static org.hamcrest.Matchers.not;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.BDDMockito.then;
 import static org.mockito.Mockito.times;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.options;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
@@ -34,7 +41,17 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 // @WebMvcTest:
 // - MVC 슬라이스 테스트(Controller 중심)로, 웹 계층만 가볍게 띄운다.
 // - 단, SecurityConfig 같은 추가 설정은 자동으로 올라오지 않으므로 @Import로 포함해야 한다.
-@WebMvcTest(controllers = AuthController.class)
+// @DisabledInAotMode:
+// - @MockBean(Mockito)은 AOT/네이티브 테스트(nativeTest)에서 지원되지 않으므로 JVM 테스트에서만 실행한다.
+@DisabledInAotMode
+@WebMvcTest(
+    controllers = AuthController.class,
+    properties = {
+        "auth.admin.password=test-admin",
+        "auth.metrics.password=test-scrape",
+        "auth.jwt.revocation-feed.password=test-feed"
+    }
+)
 // @Import:
 // - @WebMvcTest에 "추가로 올릴 빈/설정"을 명시한다.
 // - 여기서는 실제 SecurityFilterChain을 구성하기 위해 SecurityConfig와 JwtAuthenticationFilter를 포함한다.
@@ -73,8 +90,7 @@ class AuthControllerSecurityTest {
         String token = "valid-token";
         JwtUserPrincipal principal = new JwtUserPrincipal(1L, "Jess", "KR", "provider-id");
 
-        given(jwtTokenProvider.validateToken(token)).willReturn(true);
-        given(jwtTokenProvider.getPrincipal(token)).willReturn(principal);
+        given(jwtTokenProvider.verify(token)).willReturn(principal);
         given(authService.me(principal)).willReturn(new UserInfoResponse(1L, "Jess", "KR", "provider-id"));
 
         mockMvc.perform(get("/api/auth/me")
@@ -92,8 +108,7 @@ class AuthControllerSecurityTest {
         String token = "valid-token";
         JwtUserPrincipal principal = new JwtUserPrincipal(1L, "Jess", "KR", "provider-id");
 
-        given(jwtTokenProvider.validateToken(token)).willReturn(true);
-        given(jwtTokenProvider.getPrincipal(token)).willReturn(principal);
+        given(jwtTokenProvider.verify(token)).willReturn(principal);
 
         mockMvc.perform(post("/api/auth/logout")
                 .header("Authorization", "Bearer " + token))
@@ -101,4 +116,116 @@ class AuthControllerSecurityTest {
 
         then(authService).should(times(1)).logout(principal);
     }
+
+    @Test
+    @DisplayName("preflight/actuator/문서/토큰 발급 경로는 Authorization 헤더가 있어도 JwtTokenProvider를 호출하지 않는다")
+    void publicRoutes_neverInvokeJwtTokenProvider() throws Exception {
+        String staleBearer = "Bearer stale-token";
+
+        mockMvc.perform(options("/api/auth/me")
+            .header("Authorization", staleBearer)
+            .header("Origin", "https://app.example.com")
+            .header("Access-Control-Request-Method", "GET"));
+        mockMvc.perform(get("/actuator/health").header("Authorization", staleBearer));
+        mockMvc.perform(get("/swagger-ui/index.html").header("Authorization", staleBearer));
+        mockMvc.perform(get("/v3/api-docs").header("Authorization", staleBearer));
+        mockMvc.perform(post("/api/auth/refresh")
+                .header("Authorization", staleBearer)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"refreshToken\":\"refresh-token\"}"))
+            .andExpect(status().isOk());
+
+        then(jwtTokenProvider).shouldHaveNoInteractions();
+    }
+
+    @Test
+    @DisplayName("preflight가 아닌 OPTIONS(Origin/Access-Control-Request-Method 없음)는 토큰 없이는 401")
+    void plainOptions_onProtectedRoute_requiresToken() throws Exception {
+        mockMvc.perform(options("/api/auth/me"))
+            .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    @DisplayName("관리자 actuator(/actuator/jfr)는 Basic 인증이 없거나 틀리면 401, 관리자 계정이면 통과한다")
+    void adminActuator_requiresBasicAuth() throws Exception {
+        mockMvc.perform(get("/actuator/jfr"))
+            .andExpect(status().isUnauthorized());
+        mockMvc.perform(get("/actuator/jfr/dump").header("Authorization", basic("admin", "wrong")))
+            .andExpect(status().isUnauthorized());
+
+        // 슬라이스 테스트에는 actuator 엔드포인트가 없으므로 인증을 통과하면 404다.
+        mockMvc.perform(get("/actuator/jfr").header("Authorization", basic("admin", "test-admin")))
+            .andExpect(status().isNotFound());
+        mockMvc.perform(get("/actuator/health"))
+            .andExpect(status().is(not(401)));
+    }
+
+    @Test
+    @DisplayName("지표(/actuator/metrics, /actuator/prometheus)는 스크레이프/관리자 계정만 읽고 health만 공개다")
+    void metrics_requireScrapeOrAdminAuth() throws Exception {
+        for (String path : List.of("/actuator/metrics", "/actuator/metrics/jvm.threads.live", "/actuator/prometheus")) {
+            mockMvc.perform(get(path))
+                .andExpect(status().isUnauthorized());
+            mockMvc.perform(get(path).header("Authorization", basic("prometheus", "wrong")))
+                .andExpect(status().isUnauthorized());
+            // 슬라이스 테스트에는 actuator 엔드포인트가 없으므로 인증을 통과하면 404다.
+            mockMvc.perform(get(path).header("Authorization", basic("prometheus", "test-scrape")))
+                .andExpect(status().isNotFound());
+            mockMvc.perform(get(path).header("Authorization", basic("admin", "test-admin")))
+                .andExpect(status().isNotFound());
+        }
+        mockMvc.perform(get("/actuator/info"))
+            .andExpect(status().isUnauthorized());
+        mockMvc.perform(get("/actuator/jfr").header("Authorization", basic("prometheus", "test-scrape")))
+            .andExpect(status().isForbidden());
+        mockMvc.perform(get("/actuator/health/readiness"))
+            .andExpect(status().is(not(401)));
+    }
+
+    @Test
+    @DisplayName("폐기 피드(/actuator/revocations)는 익명이면 401, 피드 계정이나 관리자 계정이면 통과하고 피드 계정은 다른 관리 도구를 못 쓴다")
+    void revocationFeed_requiresBasicAuth() throws Exception {
+        mockMvc.perform(get("/actuator/revocations").param("since", "0"))
+            .andExpect(status().isUnauthorized());
+        mockMvc.perform(get("/actuator/revocations").header("Authorization", basic("revocation-reader", "wrong")))
+            .andExpect(status().isUnauthorized());
+
+        // 슬라이스 테스트에는 actuator 엔드포인트가 없으므로 인증을 통과하면 404다.
+        mockMvc.perform(get("/actuator/revocations").header("Authorization", basic("revocation-reader", "test-feed")))
+            .andExpect(status().isNotFound());
+        mockMvc.perform(get("/actuator/revocations").header("Authorization", basic("admin", "test-admin")))
+            .andExpect(status().isNotFound());
+        mockMvc.perform(get("/actuator/jfr").header("Authorization", basic("revocation-reader", "test-feed")))
+            .andExpect(status().isForbidden());
+        mockMvc.perform(post("/api/admin/users/bulk")
+                .header("Authorization", basic("revocation-reader", "test-feed"))
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{}"))
+            .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    @DisplayName("관리자 API(/api/admin/**)는 JWT로는 통과할 수 없고 관리자 Basic 인증만 받는다")
+    void adminApi_requiresBasicAuth() throws Exception {
+        mockMvc.perform(post("/api/admin/users/bulk").contentType(MediaType.APPLICATION_JSON).content("{}"))
+            .andExpect(status().isUnauthorized());
+        mockMvc.perform(post("/api/admin/users/bulk")
+                .header("Authorization", "Bearer valid-token")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{}"))
+            .andExpect(status().isUnauthorized());
+
+        // 슬라이스 테스트에는 AdminUserController가 없으므로 인증을 통과하면 404다.
+        mockMvc.perform(post("/api/admin/users/bulk")
+                .header("Authorization", basic("admin", "test-admin"))
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{}"))
+            .andExpect(status().isNotFound());
+        then(jwtTokenProvider).shouldHaveNoInteractions();
+    }
+
+    private static String basic(String username, String password) {
+        return "Basic " + Base64.getEncoder()
+            .encodeToString((username + ":" + password).getBytes(StandardCharsets.UTF_8));
+    }
 }
@@ -4,50 +4,59 @@ import com.example.auth.dto.AuthRequest;
 import com.example.auth.dto.AuthResponse;
 import com.example.auth.dto.GoogleAuthCodeRequest;
 import com.example.auth.dto.RefreshTokenRequest;
+import com.example.auth.dto.SocialAuthCodeRequest;
+import com.example.auth.dto.UserInfoResponse;
+import com.example.auth.exception.ServiceUnavailableException;
 import com.example.auth.exception.UnauthorizedException;
 import com.example.auth.security.jwt.JwtTokenProvider;
+import com.example.auth.security.jwt.JwtUserPrincipal;
 import com.example.auth.service.AuthService;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
-import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.test.context.TestConfiguration;
 import org.springframework.boot.autoconfigure.security.servlet.SecurityAutoConfiguration;
 import org.springframework.boot.autoconfigure.security.servlet.SecurityFilterAutoConfiguration;
 import org.springframework.http.MediaType;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Import;
 import org.springframework.test.web.servlet.MockMvc;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.Matchers.nullValue;
-import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.BDDMockito.given;
-import static org.mockito.BDDMockito.willThrow;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 /**
- * Mock 기반 테스트 예시:
+ * 가짜 서비스 기반 테스트 예시:
  * - 컨트롤러가 "서비스에 위임만" 잘 하는지 검증한다.
  * - 외부 의존(MySQL/Redis/Google API/JWT 등)은 전혀 띄우지 않는다.
  */
 // @WebMvcTest:
 // - Spring Boot 테스트 중 "웹 MVC 계층"만 슬라이스로 띄운다.
 // - 기본적으로 Controller, Jackson(ObjectMapper), Validation 등 웹에 필요한 빈만 로드한다.
-// - Service/Repository 같은 빈은 자동으로 로드되지 않으므로 @MockBean으로 대체한다.
+// - Service/Repository 같은 빈은 자동으로 로드되지 않으므로 테스트 설정(StubConfig)에서 가짜 빈을 등록한다.
 // excludeAutoConfiguration:
 // - Spring Security 자동설정을 끄면(SecurityAutoConfiguration/SecurityFilterAutoConfiguration),
 //   테스트 컨텍스트에서 보안 필터/체인 빈 생성이 생략되어 인증 구성에 의존하지 않게 된다.
+// @MockBean을 쓰지 않는 이유:
+// - @MockBean(Mockito)은 AOT/네이티브 테스트(nativeTest)에서 지원되지 않는다. 평범한 @Bean으로 등록한 가짜는
+//   AOT 처리 대상이 되므로 JVM 테스트와 nativeTest 양쪽에서 같은 검증을 돌린다.
 @WebMvcTest(
     controllers = AuthController.class,
     excludeAutoConfiguration = {SecurityAutoConfiguration.class, SecurityFilterAutoConfiguration.class}
 )
 // @Import:
-// - @WebMvcTest 슬라이스는 "필요한 것만" 올리므로, 전역 예외 처리(@RestControllerAdvice)를 명시적으로 포함시킨다.
-@Import(GlobalExceptionHandler.class)
+// - @WebMvcTest 슬라이스는 "필요한 것만" 올리므로, 전역 예외 처리(@RestControllerAdvice)와 가짜 빈 설정을 명시적으로 포함시킨다.
+@Import({GlobalExceptionHandler.class, AuthControllerTest.StubConfig.class})
 // @AutoConfigureMockMvc:
 // - MockMvc(가짜 HTTP 클라이언트)를 자동 구성한다.
 // - addFilters=false로 Spring Security 필터체인을 끄면 인증/인가에 막히지 않고 컨트롤러 동작만 테스트할 수 있다.
@@ -64,14 +73,16 @@ class AuthControllerTest {
     @Autowired
     private ObjectMapper objectMapper;
 
-    // @MockBean:
-    // - 스프링 컨테이너에 "AuthService 빈"을 Mockito Mock으로 등록한다.
-    // - 컨트롤러는 이 Mock을 주입받아 호출하게 되고, 우리는 호출 결과를 원하는대로 stub 할 수 있다.
-    @MockBean
-    private AuthService authService;
+    // StubConfig가 등록한 가짜 AuthService.
+    // - 컨트롤러는 이 가짜를 주입받아 호출하게 되고, 우리는 테스트마다 돌려줄 결과나 던질 예외를 정한다.
+    @Autowired
+    private StubAuthService authService;
 
-    @MockBean
-    private JwtTokenProvider jwtTokenProvider;
+    // 컨텍스트는 테스트끼리 공유되므로 이전 테스트가 정한 결과를 지운다.
+    @BeforeEach
+    void resetStub() {
+        authService.reset();
+    }
 
     // @Test:
     // - JUnit5 테스트 메서드임을 표시한다.
@@ -80,8 +91,7 @@ class AuthControllerTest {
     // - 테스트 리포트에 보여줄 이름(한글 가능)을 지정한다.
     @DisplayName("POST /api/auth/token 은 AuthService.issueToken 결과를 그대로 반환한다")
     void issueToken_delegates_to_service() throws Exception {
-        given(authService.issueToken(any(AuthRequest.class)))
-            .willReturn(new AuthResponse("access-token", null));
+        authService.response = new AuthResponse("access-token", null);
 
         AuthRequest request = new AuthRequest(1L, "provider-id", "name", "KR");
 
@@ -91,13 +101,13 @@ class AuthControllerTest {
             .andExpect(status().isOk())
             .andExpect(jsonPath("$.accessToken").value("access-token"))
             .andExpect(jsonPath("$.refreshToken").value(nullValue()));
+        assertThat(authService.requests).containsExactly(request);
     }
 
     @Test
     @DisplayName("POST /api/auth/google/code 는 AuthService.loginWithGoogleAuthCode 결과를 그대로 반환한다")
     void googleLogin_delegates_to_service() throws Exception {
-        given(authService.loginWithGoogleAuthCode(any(GoogleAuthCodeRequest.class)))
-            .willReturn(new AuthResponse("access-token", "refresh-token"));
+        authService.response = new AuthResponse("access-token", "refresh-token");
 
         GoogleAuthCodeRequest request = new GoogleAuthCodeRequest("auth-code", "app://redirect");
 
@@ -107,14 +117,13 @@ class AuthControllerTest {
             .andExpect(status().isOk())
             .andExpect(jsonPath("$.accessToken").value("access-token"))
             .andExpect(jsonPath("$.refreshToken").value("refresh-token"));
+        assertThat(authService.requests).containsExactly(request);
     }
 
     @Test
     @DisplayName("POST /api/auth/refresh 가 UnauthorizedException 을 받으면 401을 반환한다")
     void refresh_returns_401_when_service_throws_unauthorized() throws Exception {
-        willThrow(new UnauthorizedException("Invalid refresh token"))
-            .given(authService)
-            .refresh(any(RefreshTokenRequest.class));
+        authService.failure = new UnauthorizedException("Invalid refresh token");
 
         RefreshTokenRequest request = new RefreshTokenRequest("bad-refresh-token");
 
@@ -125,13 +134,98 @@ class AuthControllerTest {
             .andExpect(jsonPath("$.detail").value("Invalid refresh token"));
     }
 
+    @Test
+    @DisplayName("POST /api/auth/refresh 가 세션 저장소 장애(ServiceUnavailableException)를 받으면 503을 반환한다")
+    void refresh_returns_503_when_session_store_unavailable() throws Exception {
+        authService.failure = new ServiceUnavailableException("Session store is temporarily unavailable");
+
+        RefreshTokenRequest request = new RefreshTokenRequest("refresh-token");
+
+        mockMvc.perform(post("/api/auth/refresh")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+            .andExpect(status().isServiceUnavailable())
+            .andExpect(jsonPath("$.detail").value("Session store is temporarily unavailable"));
+    }
+
     @Test
     @DisplayName("GET /api/auth/me 는 AuthService.me 결과를 그대로 반환한다(인증 Principal 없이도 위임은 가능)")
     void me_delegates_to_service() throws Exception {
-        given(authService.me(null))
-            .willReturn(null);
-
         mockMvc.perform(get("/api/auth/me"))
             .andExpect(status().isOk());
+        assertThat(authService.requests).containsExactly("me:null");
+    }
+
+    // @TestConfiguration:
+    // - @Import로 명시한 테스트에서만 쓰는 설정. 컴포넌트 스캔 대상이 아니다.
+    @TestConfiguration(proxyBeanMethods = false)
+    static class StubConfig {
+
+        @Bean
+        StubAuthService authService() {
+            return new StubAuthService();
+        }
+
+        // 슬라이스에 포함되는 JwtAuthenticationFilter(@Component)가 주입받는다. 테스트 요청은 토큰이 없어 쓰이지 않는다.
+        @Bean
+        JwtTokenProvider jwtTokenProvider() {
+            return new JwtTokenProvider("auth-controller-test-secret-0123456789", 3600);
+        }
+    }
+
+    // 받은 요청을 기록하고, 정해 둔 응답을 돌려주거나 정해 둔 예외를 던진다.
+    static class StubAuthService extends AuthService {
+        final List<Object> requests = new ArrayList<>();
+        AuthResponse response;
+        RuntimeException failure;
+
+        StubAuthService() {
+            super(null, null, null, null, null, null, null);
+        }
+
+        void reset() {
+            requests.clear();
+            response = null;
+            failure = null;
+        }
+
+        private AuthResponse answer(Object request) {
+            requests.add(request);
+            if (failure != null) {
+                throw failure;
+            }
+            return response;
+        }
+
+        @Override
+        public AuthResponse issueToken(AuthRequest request) {
+            return answer(request);
+        }
+
+        @Override
+        public AuthResponse loginWithGoogleAuthCode(GoogleAuthCodeRequest request) {
+            return answer(request);
+        }
+
+        @Override
+        public AuthResponse loginWithAuthCode(String provider, SocialAuthCodeRequest request) {
+            return answer(request);
+        }
+
+        @Override
+        public AuthResponse refresh(RefreshTokenRequest request) {
+            return answer(request);
+        }
+
+        @Override
+        public UserInfoResponse me(JwtUserPrincipal principal) {
+            requests.add("me:" + principal);
+            return null;
+        }
+
+        @Override
+        public void logout(JwtUserPrincipal principal) {
+            requests.add("logout:" + principal);
+        }
     }
 }
@@ -0,0 +1,70 @@
+package com.example.auth.controller;
+
+import com.example.auth.dto.AuthResponse;
+import com.example.auth.dto.UserInfoResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.util.Random;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.mock.http.MockHttpOutputMessage;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AuthJsonHttpMessageConverterTest {
+
+    // Spring Boot 기본 ObjectMapper와 같은 방식으로 만든 기준 매퍼
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    private final AuthJsonHttpMessageConverter converter = new AuthJsonHttpMessageConverter();
+
+    @Test
+    @DisplayName("AuthResponse 출력이 Jackson과 바이트 단위로 같다")
+    void authResponseMatchesJackson() throws Exception {
+        assertSameAsJackson(new AuthResponse("eyJhbGciOiJIUzI1NiJ9.e30.sig", "s1.AbC-_"));
+        assertSameAsJackson(new AuthResponse(null, null));
+        assertSameAsJackson(new AuthResponse("q\"b\\s/\b\f\n\r\t\u0000\u001f\u007f", ""));
+    }
+
+    @Test
+    @DisplayName("UserInfoResponse 출력이 Jackson과 바이트 단위로 같다(null, 한글, 이모지 포함)")
+    void userInfoResponseMatchesJackson() throws Exception {
+        assertSameAsJackson(new UserInfoResponse(42L, "홍길동", "KR", "google-sub-1"));
+        assertSameAsJackson(new UserInfoResponse(null, null, null, null));
+        assertSameAsJackson(new UserInfoResponse(Long.MIN_VALUE, "\u00E9\u0800\uFFFF", "\uD83D\uDE00", "\uD83D"));
+    }
+
+    @Test
+    @DisplayName("임의의 문자열(BMP 전체)에서도 Jackson과 같다")
+    void randomStringsMatchJackson() throws Exception {
+        Random random = new Random(40);
+        for (int i = 0; i < 5000; i++) {
+            char[] chars = new char[random.nextInt(24)];
+            for (int j = 0; j < chars.length; j++) {
+                chars[j] = (char) random.nextInt(Character.MAX_VALUE + 1);
+            }
+            assertSameAsJackson(new UserInfoResponse(random.nextLong(), new String(chars), null, "p"));
+        }
+    }
+
+    @Test
+    @DisplayName("HTTP 응답으로 쓰면 application/json과 같은 본문을 내보내고, 다른 타입은 처리하지 않는다")
+    void writesHttpMessage() throws Exception {
+        AuthResponse response = new AuthResponse("access", "refresh");
+        MockHttpOutputMessage message = new MockHttpOutputMessage();
+
+        converter.write(response, MediaType.APPLICATION_JSON, message);
+
+        assertThat(message.getHeaders().getContentType()).isEqualTo(MediaType.APPLICATION_JSON);
+        assertThat(message.getBodyAsBytes()).isEqualTo(objectMapper.writeValueAsBytes(response));
+        assertThat(converter.canWrite(AuthResponse.class, MediaType.APPLICATION_JSON)).isTrue();
+        assertThat(converter.canWrite(String.class, MediaType.APPLICATION_JSON)).isFalse();
+        assertThat(converter.canRead(AuthResponse.class, MediaType.APPLICATION_JSON)).isFalse();
+    }
+
+    private void assertSameAsJackson(Object body) throws Exception {
+        assertThat(AuthJsonHttpMessageConverter.toJson(body))
+            .as("%s", body)
+            .isEqualTo(objectMapper.writeValueAsBytes(body));
+    }
+}
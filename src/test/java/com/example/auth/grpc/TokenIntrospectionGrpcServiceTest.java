@@ -0,0 +1,202 @@
+package com.example.auth.grpc;
+
+import com.example.auth.grpc.v1.Failure;
+import com.example.auth.grpc.v1.IntrospectRequest;
+import com.example.auth.grpc.v1.IntrospectResponse;
+import com.example.auth.grpc.v1.Result;
+import com.example.auth.grpc.v1.TokenIntrospectionGrpc;
+import com.example.auth.security.jwt.JwtTokenProvider;
+import com.example.auth.security.jwt.JwtUserPrincipal;
+import com.example.auth.security.jwt.TokenIntrospection;
+import io.grpc.ManagedChannel;
+import io.grpc.ManagedChannelBuilder;
+import io.grpc.Metadata;
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+import io.grpc.stub.MetadataUtils;
+import io.grpc.stub.StreamObserver;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.DisabledInNativeImage;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+/**
+ * 임의 포트에 실제 gRPC 서버를 띄우고 공유 비밀 인증/묶음 검증/순서/스트림/배치 한도를 확인한다.
+ */
+// Mockito를 쓰므로 네이티브 테스트에서는 제외한다.
+@DisabledInNativeImage
+class TokenIntrospectionGrpcServiceTest {
+
+    private static final String SECRET = "test-secret-test-secret-test-secret-test-secret";
+    private static final String INTROSPECTION_KEY = "test-introspection-key";
+    private static final JwtUserPrincipal PRINCIPAL = new JwtUserPrincipal(7L, "홍길동", null, "google-sub");
+
+    private final JwtTokenProvider jwtTokenProvider = new JwtTokenProvider(SECRET, 60);
+    private GrpcIntrospectionServer server;
+    private ManagedChannel channel;
+
+    @BeforeEach
+    void setUp() {
+        server = new GrpcIntrospectionServer(
+            new TokenIntrospectionGrpcService(jwtTokenProvider, 100, 10), "127.0.0.1", 0, 2, INTROSPECTION_KEY
+        );
+        server.start();
+        channel = channel(INTROSPECTION_KEY);
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        channel.shutdownNow().awaitTermination(5, TimeUnit.SECONDS);
+        server.stop();
+    }
+
+    @Test
+    @DisplayName("묶음의 토큰마다 principal 또는 실패 이유를 요청 순서대로 돌려준다")
+    void introspectsBatchInOrder() {
+        String valid = jwtTokenProvider.createAccessToken(PRINCIPAL);
+        String expired = new JwtTokenProvider(SECRET, -1).createAccessToken(PRINCIPAL);
+        String foreign = new JwtTokenProvider(SECRET.replace('t', 'x'), 60).createAccessToken(PRINCIPAL);
+
+        IntrospectResponse response = TokenIntrospectionGrpc.newBlockingStub(channel)
+            .introspect(request(valid, expired, foreign, "not-a-jwt", valid));
+
+        List<Result> results = response.getResultsList();
+        assertThat(results).hasSize(5);
+        assertThat(results.get(0).getPrincipal().getUserId()).isEqualTo(7L);
+        assertThat(results.get(0).getPrincipal().getName()).isEqualTo("홍길동");
+        assertThat(results.get(0).getPrincipal().hasNationality()).isFalse();
+        assertThat(results.get(0).getPrincipal().getExpiresAtEpochMillis()).isGreaterThan(System.currentTimeMillis());
+        assertThat(results.get(1).getFailure()).isEqualTo(Failure.EXPIRED);
+        assertThat(results.get(2).getFailure()).isEqualTo(Failure.BAD_SIGNATURE);
+        assertThat(results.get(3).getFailure()).isEqualTo(Failure.MALFORMED);
+        assertThat(results.get(4)).isEqualTo(results.get(0));
+    }
+
+    @Test
+    @DisplayName("한 스트림으로 보낸 여러 묶음은 각각 순서대로 응답된다")
+    void streamsBatches() throws Exception {
+        String valid = jwtTokenProvider.createAccessToken(PRINCIPAL);
+        List<IntrospectResponse> responses = new CopyOnWriteArrayList<>();
+        CompletableFuture<Void> completed = new CompletableFuture<>();
+
+        StreamObserver<IntrospectRequest> requests = TokenIntrospectionGrpc.newStub(channel)
+            .introspectStream(new StreamObserver<>() {
+                @Override
+                public void onNext(IntrospectResponse response) {
+                    responses.add(response);
+                }
+
+                @Override
+                public void onError(Throwable t) {
+                    completed.completeExceptionally(t);
+                }
+
+                @Override
+                public void onCompleted() {
+                    completed.complete(null);
+                }
+            });
+        requests.onNext(request(valid));
+        requests.onNext(request("not-a-jwt", valid));
+        requests.onCompleted();
+        completed.get(5, TimeUnit.SECONDS);
+
+        assertThat(responses).hasSize(2);
+        assertThat(responses.get(0).getResultsCount()).isEqualTo(1);
+        assertThat(responses.get(1).getResults(0).getFailure()).isEqualTo(Failure.MALFORMED);
+        assertThat(responses.get(1).getResults(1).hasPrincipal()).isTrue();
+    }
+
+    @Test
+    @DisplayName("x-introspection-key가 없거나 다르면 UNAUTHENTICATED")
+    void rejectsCallsWithoutSharedSecret() throws InterruptedException {
+        String valid = jwtTokenProvider.createAccessToken(PRINCIPAL);
+        ManagedChannel anonymous = channel(null);
+        ManagedChannel wrongKey = channel("wrong-key");
+        try {
+            for (ManagedChannel unauthenticated : List.of(anonymous, wrongKey)) {
+                TokenIntrospectionGrpc.TokenIntrospectionBlockingStub stub =
+                    TokenIntrospectionGrpc.newBlockingStub(unauthenticated);
+                assertThatThrownBy(() -> stub.introspect(request(valid)))
+                    .isInstanceOfSatisfying(StatusRuntimeException.class, e ->
+                        assertThat(e.getStatus().getCode()).isEqualTo(Status.Code.UNAUTHENTICATED));
+            }
+        } finally {
+            anonymous.shutdownNow().awaitTermination(5, TimeUnit.SECONDS);
+            wrongKey.shutdownNow().awaitTermination(5, TimeUnit.SECONDS);
+        }
+    }
+
+    @Test
+    @DisplayName("공유 비밀이 비어 있으면 서버를 열지 않는다")
+    void refusesToStartWithoutSharedSecret() {
+        GrpcIntrospectionServer unsecured = new GrpcIntrospectionServer(
+            new TokenIntrospectionGrpcService(jwtTokenProvider, 100, 10), "127.0.0.1", 0, 2, ""
+        );
+
+        assertThatThrownBy(unsecured::start).isInstanceOf(IllegalArgumentException.class);
+        assertThat(unsecured.isRunning()).isFalse();
+    }
+
+    @Test
+    @DisplayName("max-batch-size를 넘는 요청은 INVALID_ARGUMENT")
+    void rejectsOversizedBatch() {
+        String[] tokens = IntStream.range(0, 11).mapToObj(i -> "t" + i).toArray(String[]::new);
+
+        assertThatThrownBy(() -> TokenIntrospectionGrpc.newBlockingStub(channel).introspect(request(tokens)))
+            .isInstanceOfSatisfying(StatusRuntimeException.class, e ->
+                assertThat(e.getStatus().getCode()).isEqualTo(Status.Code.INVALID_ARGUMENT));
+    }
+
+    @Test
+    @DisplayName("성공 결과는 토큰 만료 시각까지만 캐시하고 실패 결과는 캐시하지 않는다")
+    void cachesValidResultsUntilExpiry() {
+        JwtTokenProvider provider = mock(JwtTokenProvider.class);
+        given(provider.introspect("good")).willReturn(TokenIntrospection.valid(PRINCIPAL, 1_000));
+        given(provider.introspect("bad")).willReturn(TokenIntrospection.failed(TokenIntrospection.Failure.MALFORMED));
+        AtomicLong now = new AtomicLong(500);
+        TokenIntrospectionGrpcService service = new TokenIntrospectionGrpcService(provider, 100, 10, now::get);
+
+        service.introspect(request("good", "bad"));
+        service.introspect(request("good", "bad"));
+        verify(provider, times(1)).introspect("good");
+        verify(provider, times(2)).introspect("bad");
+        assertThat(service.cachedTokens()).isEqualTo(1);
+
+        now.set(1_000);
+        service.introspect(request("good"));
+        verify(provider, times(2)).introspect("good");
+    }
+
+    // key가 null이면 x-introspection-key 없이 호출하는 채널
+    private ManagedChannel channel(String key) {
+        ManagedChannelBuilder<?> builder = ManagedChannelBuilder.forAddress("127.0.0.1", server.getPort())
+            .usePlaintext();
+        if (key != null) {
+            Metadata headers = new Metadata();
+            headers.put(SharedSecretInterceptor.KEY_HEADER, key);
+            builder.intercept(MetadataUtils.newAttachHeadersInterceptor(headers));
+        }
+        return builder.build();
+    }
+
+    private static IntrospectRequest request(String... tokens) {
+        return IntrospectRequest.newBuilder()
+            .addAllTokens(List.of(tokens))
+            .build();
+    }
+}
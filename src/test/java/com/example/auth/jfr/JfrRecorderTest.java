@@ -0,0 +1,117 @@
+package com.example.auth.jfr;
+
+import com.example.auth.controller.JfrRecordingEndpoint;
+import com.example.auth.security.jwt.JwtTokenProvider;
+import com.example.auth.security.jwt.JwtUserPrincipal;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.DisabledInNativeImage;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.util.unit.DataSize;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 실제 JFR 녹화를 켜고 JwtTokenProvider가 남긴 이벤트가 덤프에 들어가는지 확인한다.
+ */
+// 기본 네이티브 이미지 빌드에는 JFR이 포함되지 않으므로 제외한다.
+@DisabledInNativeImage
+class JfrRecorderTest {
+
+    private final JfrRecorder recorder = new JfrRecorder("default", Duration.ofMinutes(1), DataSize.ofMegabytes(8),
+        Duration.ofMinutes(1), Duration.ofMinutes(1));
+
+    @AfterEach
+    void tearDown() {
+        recorder.destroy();
+    }
+
+    @Test
+    @DisplayName("녹화 중 발생한 서명/검증 이벤트가 outcome과 함께 덤프에 기록된다")
+    void recordsAuthEvents() throws Exception {
+        JwtTokenProvider provider = new JwtTokenProvider("test-secret-test-secret-test-secret-test-secret", 60);
+        assertThat(recorder.status().state()).isEqualTo("NONE");
+
+        recorder.start(Duration.ofSeconds(30));
+        String token = provider.createAccessToken(new JwtUserPrincipal(7L, "name", null, "sub"));
+        provider.verify(token);
+        provider.verify("not-a-jwt");
+        Path dump = recorder.dump();
+
+        List<String> events = RecordingFile.readAllEvents(dump).stream()
+            .filter(event -> event.getEventType().getName().equals("com.example.auth.Jwt"))
+            .map(JfrRecorderTest::describe)
+            .toList();
+        assertThat(events).contains("sign/ok", "verify/ok", "verify/MalformedJwtException");
+        assertThat(recorder.stop().state()).isEqualTo("STOPPED");
+    }
+
+    @Test
+    @DisplayName("녹화가 꺼져 있을 때 이벤트는 기록되지 않고, 녹화 길이는 max-duration으로 제한된다")
+    void boundsRecording() throws Exception {
+        assertThat(recorder.dump()).isNull();
+        new JwtTokenProvider("test-secret-test-secret-test-secret-test-secret", 60)
+            .createAccessToken(new JwtUserPrincipal(1L, "before", null, "sub"));
+
+        JfrRecorder.Status status = recorder.start(Duration.ofHours(1));
+        assertThat(status.state()).isEqualTo("RUNNING");
+        assertThat(status.duration()).isEqualTo(Duration.ofMinutes(1));
+        // 이미 녹화 중이면 새로 시작하지 않는다.
+        assertThat(recorder.start(Duration.ofSeconds(5)).startedAt()).isEqualTo(status.startedAt());
+
+        Path dump = recorder.dump();
+        assertThat(Files.size(dump)).isPositive();
+        assertThat(RecordingFile.readAllEvents(dump))
+            .noneMatch(event -> event.getEventType().getName().startsWith("com.example.auth."));
+    }
+
+    @Test
+    @DisplayName("덤프마다 새 파일을 쓰고, 다음 덤프가 아직 내려받는 중인 이전 덤프를 지우지 않는다")
+    void dumpsDoNotReplaceEachOther() throws Exception {
+        recorder.start(Duration.ofSeconds(30));
+        JfrRecordingEndpoint endpoint = new JfrRecordingEndpoint(recorder);
+
+        Resource first = endpoint.dump("dump").getBody();
+        Path firstFile = ((FileSystemResource) first).getFile().toPath();
+        long firstSize = Files.size(firstFile);
+        try (InputStream in = first.getInputStream()) {
+            Path second = recorder.dump();
+            assertThat(second).isNotEqualTo(firstFile);
+            assertThat(in.readAllBytes()).hasSize((int) firstSize);
+        }
+        // 응답 본문을 다 쓰고 스트림을 닫으면 파일이 지워진다.
+        assertThat(firstFile).doesNotExist();
+    }
+
+    @Test
+    @DisplayName("내려받지 않은 덤프는 dump-retention이 지난 뒤 다음 덤프 때, 남은 것은 종료 시 지운다")
+    void deletesAbandonedDumps() {
+        JfrRecorder expiring = new JfrRecorder("default", Duration.ofMinutes(1), DataSize.ofMegabytes(8),
+            Duration.ofMinutes(1), Duration.ZERO);
+        try {
+            expiring.start(Duration.ofSeconds(30));
+            Path abandoned = expiring.dump();
+            Path latest = expiring.dump();
+
+            assertThat(abandoned).doesNotExist();
+            assertThat(latest).exists();
+            expiring.destroy();
+            assertThat(latest).doesNotExist();
+        } finally {
+            expiring.destroy();
+        }
+    }
+
+    private static String describe(RecordedEvent event) {
+        return event.getString("operation") + "/" + event.getString("outcome");
+    }
+}
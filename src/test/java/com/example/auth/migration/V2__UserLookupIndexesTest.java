@@ -0,0 +1,99 @@
+package com.example.auth.migration;
+
+import java.util.List;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * ddl-auto: update 시절(구글만 있던 때) 스키마에 기준선을 잡고 V2를 적용하면 V1과 같은 모양이 되는지 확인한다.
+ * 실제 MySQL이 필요하므로 MYSQL_URL(선택: MYSQL_USERNAME, MYSQL_PASSWORD)을 지정했을 때만 돈다. 대상 DB의 테이블을 지운다.
+ * 예) MYSQL_URL=jdbc:mysql://localhost:3306/auth_migration_test MYSQL_USERNAME=root ./gradlew test --tests '*V2__*'
+ */
+@EnabledIfEnvironmentVariable(named = "MYSQL_URL", matches = ".+")
+class V2__UserLookupIndexesTest {
+
+    // 같은 sub/이메일을 제공자만 바꿔 넣는다(기존 단일 유니크 인덱스가 남아 있으면 실패한다).
+    private static final String INSERT_USER =
+        "INSERT INTO users (provider, provider_id, email, name) VALUES (?, 'sub-1', 'user@example.com', 'Jess')";
+
+    private DriverManagerDataSource dataSource;
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        dataSource = new DriverManagerDataSource(
+            System.getenv("MYSQL_URL"),
+            System.getenv().getOrDefault("MYSQL_USERNAME", "root"),
+            System.getenv().getOrDefault("MYSQL_PASSWORD", "")
+        );
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("DROP TABLE IF EXISTS flyway_schema_history, users_seq, users");
+        // Hibernate 6 ddl-auto: update가 AuthProvider에 GOOGLE만 있을 때 만든 모양
+        jdbcTemplate.execute(
+            "CREATE TABLE users ("
+                + "id BIGINT NOT NULL AUTO_INCREMENT, "
+                + "provider ENUM('GOOGLE') NOT NULL, "
+                + "provider_id VARCHAR(100) NOT NULL, "
+                + "email VARCHAR(200), "
+                + "name VARCHAR(100), "
+                + "created_at DATETIME(6), "
+                + "updated_at DATETIME(6), "
+                + "PRIMARY KEY (id), "
+                + "CONSTRAINT UK_provider_id UNIQUE (provider_id), "
+                + "CONSTRAINT UK_email UNIQUE (email)"
+                + ") ENGINE = InnoDB"
+        );
+        jdbcTemplate.update(INSERT_USER, "GOOGLE");
+    }
+
+    @Test
+    @DisplayName("GOOGLE만 있던 provider ENUM을 V1과 같게 넓혀 다른 제공자 사용자도 저장된다")
+    void widensLegacyProviderEnum() {
+        migrate();
+
+        assertThat(jdbcTemplate.queryForObject(
+            "SELECT column_type FROM information_schema.columns "
+                + "WHERE table_schema = DATABASE() AND table_name = 'users' AND column_name = 'provider'",
+            String.class
+        )).isEqualTo("enum('GOOGLE','KAKAO','APPLE','NAVER')");
+        for (String provider : List.of("KAKAO", "APPLE", "NAVER")) {
+            jdbcTemplate.update(INSERT_USER, provider);
+        }
+        assertThat(jdbcTemplate.queryForList("SELECT provider FROM users ORDER BY id", String.class))
+            .containsExactly("GOOGLE", "KAKAO", "APPLE", "NAVER");
+    }
+
+    @Test
+    @DisplayName("단일 유니크 인덱스를 지우고 (provider, provider_id) 유니크와 users_seq를 만든다")
+    void replacesLegacyIndexes() {
+        migrate();
+
+        assertThat(jdbcTemplate.queryForList(
+            "SELECT DISTINCT index_name FROM information_schema.statistics "
+                + "WHERE table_schema = DATABASE() AND table_name = 'users' AND non_unique = 0",
+            String.class
+        )).containsExactlyInAnyOrder("PRIMARY", "ux_users_provider_provider_id");
+        assertThat(jdbcTemplate.queryForObject(
+            "SELECT COUNT(*) FROM information_schema.tables "
+                + "WHERE table_schema = DATABASE() AND table_name = 'users_seq'",
+            Integer.class
+        )).isEqualTo(1);
+    }
+
+    private void migrate() {
+        Flyway.configure()
+            .dataSource(dataSource)
+            .baselineOnMigrate(true)
+            .baselineVersion("1")
+            .javaMigrations(new V2__UserLookupIndexes())
+            .load()
+            .migrate();
+    }
+}
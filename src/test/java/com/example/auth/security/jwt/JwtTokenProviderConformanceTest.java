@@ -0,0 +1,54 @@
+package com.example.auth.security.jwt;
+
+import com.example.auth.verifier.AccessTokenVerifier;
+import com.example.auth.verifier.VerifiedPrincipal;
+import com.example.auth.verifier.conformance.AccessTokenConformanceSuite;
+import java.util.function.Function;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 서버 검증(JwtTokenProvider.verify)이 auth-verifier와 같은 적합성 테스트를 통과하는지 확인하고,
+ * 서버가 발급한 토큰을 라이브러리가 같은 사용자 정보로 검증하는지 확인한다.
+ */
+class JwtTokenProviderConformanceTest extends AccessTokenConformanceSuite {
+
+    @Override
+    protected Function<String, Verified> verifier(String secret) {
+        JwtTokenProvider provider = new JwtTokenProvider(secret, 60);
+        return token -> {
+            JwtUserPrincipal principal = provider.verify(token);
+            return principal == null ? null : new Verified(
+                principal.userId(), principal.name(), principal.nationality(), principal.providerId()
+            );
+        };
+    }
+
+    @Test
+    @DisplayName("서버가 발급한 액세스 토큰을 auth-verifier가 같은 principal로 검증한다")
+    void libraryVerifiesServerIssuedToken() {
+        JwtTokenProvider provider = new JwtTokenProvider(SECRET, 60);
+        AccessTokenVerifier verifier = AccessTokenVerifier.builder().secret(SECRET).build();
+
+        String token = provider.createAccessToken(new JwtUserPrincipal(7L, "홍길동", "KR", "google-sub"));
+        String withoutUserId = provider.createAccessToken(new JwtUserPrincipal(null, "name", null, "sub"));
+
+        assertThat(verifier.verify(token)).isEqualTo(new VerifiedPrincipal(7L, "홍길동", "KR", "google-sub"));
+        assertThat(verifier.verify(withoutUserId)).isEqualTo(new VerifiedPrincipal(null, "name", null, "sub"));
+    }
+
+    @Test
+    @DisplayName("서버가 압축 형식으로 발급한 액세스 토큰도 auth-verifier가 같은 principal로 검증한다")
+    void libraryVerifiesServerIssuedCompactToken() {
+        JwtTokenProvider provider = new JwtTokenProvider(SECRET, 60, "compact");
+        AccessTokenVerifier verifier = AccessTokenVerifier.builder().secret(SECRET).build();
+
+        String token = provider.createAccessToken(new JwtUserPrincipal(7L, "홍길동", "KR", "google-sub"));
+        String withoutUserId = provider.createAccessToken(new JwtUserPrincipal(null, "name", null, "sub"));
+
+        assertThat(verifier.verify(token)).isEqualTo(new VerifiedPrincipal(7L, "홍길동", "KR", "google-sub"));
+        assertThat(verifier.verify(withoutUserId)).isEqualTo(new VerifiedPrincipal(null, "name", null, "sub"));
+    }
+}
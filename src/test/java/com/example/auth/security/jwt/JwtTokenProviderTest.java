@@ -0,0 +1,100 @@
+package com.example.auth.security.jwt;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 실제 JJWT로 서명/검증하는 단위 테스트(Mock 없음).
+ * - nativeTest에서도 실행되어 jjwt-impl/jjwt-jackson 리플렉션 힌트(NativeHintsConfig)가 충분한지 확인한다.
+ */
+class JwtTokenProviderTest {
+
+    private static final String SECRET = "test-secret-test-secret-test-secret-test-secret";
+
+    private final JwtTokenProvider jwtTokenProvider = new JwtTokenProvider(SECRET, 60);
+    private final JwtTokenProvider compactProvider = new JwtTokenProvider(SECRET, 60, "compact");
+
+    @Test
+    @DisplayName("발급한 액세스 토큰을 검증하고 principal을 복원한다")
+    void roundTrip() {
+        JwtUserPrincipal principal = new JwtUserPrincipal(7L, "홍길동", "KR", "google-sub");
+
+        String token = jwtTokenProvider.createAccessToken(principal);
+
+        assertThat(jwtTokenProvider.validateToken(token)).isTrue();
+        assertThat(jwtTokenProvider.getPrincipal(token)).isEqualTo(principal);
+    }
+
+    @Test
+    @DisplayName("다른 키로 서명되었거나 변조된 토큰은 거부한다")
+    void rejectsForeignOrTamperedToken() {
+        String token = jwtTokenProvider.createAccessToken(new JwtUserPrincipal(7L, "name", null, "sub"));
+        String foreign = new JwtTokenProvider(SECRET.replace('t', 'x'), 60)
+            .createAccessToken(new JwtUserPrincipal(7L, "name", null, "sub"));
+
+        assertThat(jwtTokenProvider.validateToken(foreign)).isFalse();
+        assertThat(jwtTokenProvider.validateToken(token.substring(0, token.length() - 2) + "xx")).isFalse();
+    }
+
+    @Test
+    @DisplayName("만료된 토큰은 거부한다")
+    void rejectsExpiredToken() {
+        String token = new JwtTokenProvider(SECRET, -1).createAccessToken(new JwtUserPrincipal(7L, "name", null, "sub"));
+
+        assertThat(jwtTokenProvider.validateToken(token)).isFalse();
+    }
+
+    @Test
+    @DisplayName("introspect는 성공하면 principal과 만료 시각을, 실패하면 이유를 돌려준다")
+    void introspectReportsFailureReason() {
+        JwtUserPrincipal principal = new JwtUserPrincipal(7L, "name", null, "sub");
+        String token = jwtTokenProvider.createAccessToken(principal);
+        String expired = new JwtTokenProvider(SECRET, -1).createAccessToken(principal);
+        String foreign = new JwtTokenProvider(SECRET.replace('t', 'x'), 60).createAccessToken(principal);
+
+        TokenIntrospection valid = jwtTokenProvider.introspect(token);
+        assertThat(valid.isValid()).isTrue();
+        assertThat(valid.principal()).isEqualTo(principal);
+        assertThat(valid.expiresAtMillis()).isGreaterThan(System.currentTimeMillis());
+
+        assertThat(jwtTokenProvider.introspect(expired).failure()).isEqualTo(TokenIntrospection.Failure.EXPIRED);
+        assertThat(jwtTokenProvider.introspect(foreign).failure()).isEqualTo(TokenIntrospection.Failure.BAD_SIGNATURE);
+        assertThat(jwtTokenProvider.introspect("not-a-jwt").failure()).isEqualTo(TokenIntrospection.Failure.MALFORMED);
+        assertThat(jwtTokenProvider.introspect("").failure()).isEqualTo(TokenIntrospection.Failure.MALFORMED);
+    }
+
+    @Test
+    @DisplayName("압축 형식 토큰은 짧고, 두 형식 모두 같은 provider가 검증한다(전환 중 혼재)")
+    void compactFormatIsSmallerAndInteroperable() {
+        JwtUserPrincipal principal = new JwtUserPrincipal(7L, "홍길동", null, "google-sub");
+        String legacy = jwtTokenProvider.createAccessToken(principal);
+        String compact = compactProvider.createAccessToken(principal);
+
+        assertThat(compact.length()).isLessThan(legacy.length());
+        assertThat(compactProvider.verify(legacy)).isEqualTo(principal);
+        assertThat(jwtTokenProvider.verify(compact)).isEqualTo(principal);
+        assertThat(jwtTokenProvider.getPrincipal(compact)).isEqualTo(principal);
+        // 이스케이프가 필요한 문자와 BMP 밖 문자, null 클레임
+        JwtUserPrincipal escaped = new JwtUserPrincipal(null, "a\"b\\c\n😀", "KR", null);
+        assertThat(jwtTokenProvider.verify(compactProvider.createAccessToken(escaped))).isEqualTo(escaped);
+    }
+
+    @Test
+    @DisplayName("압축 형식도 만료/다른 키/변조를 같은 이유로 구분한다")
+    void compactIntrospectReportsFailureReason() {
+        JwtUserPrincipal principal = new JwtUserPrincipal(7L, "name", null, "sub");
+        String token = compactProvider.createAccessToken(principal);
+        String expired = new JwtTokenProvider(SECRET, -1, "compact").createAccessToken(principal);
+        String foreign = new JwtTokenProvider(SECRET.replace('t', 'x'), 60, "compact").createAccessToken(principal);
+        String tampered = token.substring(0, token.length() - 2) + "xx";
+
+        TokenIntrospection valid = jwtTokenProvider.introspect(token);
+        assertThat(valid.principal()).isEqualTo(principal);
+        assertThat(valid.expiresAtMillis()).isGreaterThan(System.currentTimeMillis());
+        assertThat(jwtTokenProvider.introspect(expired).failure()).isEqualTo(TokenIntrospection.Failure.EXPIRED);
+        assertThat(jwtTokenProvider.introspect(foreign).failure()).isEqualTo(TokenIntrospection.Failure.BAD_SIGNATURE);
+        assertThat(jwtTokenProvider.introspect(tampered).failure()).isEqualTo(TokenIntrospection.Failure.BAD_SIGNATURE);
+    }
+}
@@ -1,83 +1,77 @@
 package com.example.auth.service;
 
-import com.example.auth.client.google.GoogleOAuthClient;
+import com.example.auth.audit.AuditEventPublisher;
+import com.example.auth.audit.AuditEventType;
 import com.example.auth.client.google.GoogleUserProfile;
+import com.example.auth.client.social.SocialOAuthClient;
+import com.example.auth.client.social.SocialOAuthClientRegistry;
+import com.example.auth.client.social.SocialProfile;
+import com.example.auth.client.social.SocialUserProfile;
 import com.example.auth.dto.AuthRequest;
 import com.example.auth.dto.AuthResponse;
 import com.example.auth.dto.GoogleAuthCodeRequest;
 import com.example.auth.dto.RefreshTokenRequest;
+import com.example.auth.dto.SocialAuthCodeRequest;
 import com.example.auth.dto.UserInfoResponse;
 import com.example.auth.entity.AuthProvider;
 import com.example.auth.entity.User;
 import com.example.auth.exception.UnauthorizedException;
+import com.example.auth.exception.UnsupportedProviderException;
 import com.example.auth.security.jwt.JwtTokenProvider;
 import com.example.auth.security.jwt.JwtUserPrincipal;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
-import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.ArgumentCaptor;
-import org.mockito.InjectMocks;
-import org.mockito.Mock;
-import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
-import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.BDDMockito.given;
-import static org.mockito.BDDMockito.then;
-import static org.mockito.Mockito.times;
 
 /**
- * "순수 JUnit + Mockito" 단위 테스트 예시:
- * - Spring 컨테이너를 띄우지 않고, @Mock/@InjectMocks로 대상 클래스만 테스트한다.
- * - 외부 의존(DB/Redis/Google API/JWT 서명 등)은 전부 Mock으로 대체한다.
+ * "순수 JUnit" 단위 테스트 예시:
+ * - Spring 컨테이너를 띄우지 않고, 대상 클래스(AuthService)를 직접 생성해서 테스트한다.
+ * - 외부 의존(DB/Redis/Google API/JWT 서명 등)은 호출을 기록하는 손으로 만든 가짜(하위 클래스)로 대체한다.
  */
-// @ExtendWith(MockitoExtension.class):
-// - JUnit5가 Mockito 기능(@Mock, @InjectMocks 등)을 사용할 수 있게 확장 등록한다.
-// - 이게 없으면 @Mock이 자동 초기화되지 않는다.
-@ExtendWith(MockitoExtension.class)
+// Mockito를 쓰지 않는 이유:
+// - Mockito는 런타임 바이트코드 생성으로 Mock을 만들기 때문에 네이티브 이미지(nativeTest) 안에서는 동작하지 않는다.
+// - 가짜는 평범한 클래스라 JVM 테스트와 nativeTest 양쪽에서 같은 검증을 돌린다.
 class AuthServiceTest {
 
-    // @Mock:
-    // - Mockito가 가짜 객체(Mock)를 만든다.
-    // - 실제 구현을 실행하지 않고, 우리가 지정한(stub) 동작만 수행한다.
-    @Mock
-    private JwtTokenProvider jwtTokenProvider;
+    private final RecordingJwtTokenProvider jwtTokenProvider = new RecordingJwtTokenProvider();
+    private final StubUserService userService = new StubUserService();
+    private final RecordingRefreshTokenService refreshTokenService = new RecordingRefreshTokenService();
+    private final RecordingAuditEventPublisher auditEvents = new RecordingAuditEventPublisher();
+    private final RecordingAccessTokenRevocationService accessTokenRevocations =
+        new RecordingAccessTokenRevocationService();
+    // 부하 차단은 LoadShedderTest에서 따로 보고 여기서는 그대로 통과시킨다.
+    private final LoadShedder loadShedder = LoadShedder.disabled(new SimpleMeterRegistry());
 
-    @Mock
-    private GoogleOAuthClient googleOAuthClient;
-
-    @Mock
-    private UserService userService;
-
-    @Mock
-    private RefreshTokenService refreshTokenService;
-
-    // @InjectMocks:
-    // - 테스트 대상 클래스(AuthService)를 생성하면서, 위의 @Mock 필드를 생성자/필드에 주입한다.
-    // - 스프링 @Autowired와 비슷한 역할을 Mockito가 대신 해준다.
-    @InjectMocks
-    private AuthService authService;
+    private AuthService authService(SocialOAuthClient... clients) {
+        SocialOAuthClientRegistry socialOAuthClients =
+            new SocialOAuthClientRegistry(List.of(clients), BulkheadRegistry.ofDefaults());
+        return new AuthService(jwtTokenProvider, socialOAuthClients, userService, refreshTokenService,
+            auditEvents, accessTokenRevocations, loadShedder);
+    }
 
     @Test
     @DisplayName("issueToken: 요청 정보를 principal로 만들고 JwtTokenProvider 결과를 반환한다")
     void issueToken() {
-        given(jwtTokenProvider.createAccessToken(any(JwtUserPrincipal.class)))
-            .willReturn("access-token");
-
         AuthRequest request = new AuthRequest(1L, "provider-id", "name", "KR");
 
-        AuthResponse response = authService.issueToken(request);
+        AuthResponse response = authService().issueToken(request);
 
         assertThat(response.accessToken()).isEqualTo("access-token");
         assertThat(response.refreshToken()).isNull();
 
-        ArgumentCaptor<JwtUserPrincipal> captor = ArgumentCaptor.forClass(JwtUserPrincipal.class);
-        then(jwtTokenProvider).should().createAccessToken(captor.capture());
-
-        JwtUserPrincipal used = captor.getValue();
+        assertThat(jwtTokenProvider.principals).hasSize(1);
+        JwtUserPrincipal used = jwtTokenProvider.principals.get(0);
         assertThat(used.userId()).isEqualTo(1L);
         assertThat(used.providerId()).isEqualTo("provider-id");
         assertThat(used.name()).isEqualTo("name");
@@ -87,41 +81,83 @@ class AuthServiceTest {
     @Test
     @DisplayName("loginWithGoogleAuthCode: 구글 프로필 교환→유저 upsert→토큰 발급까지 수행한다")
     void loginWithGoogleAuthCode() {
-        given(googleOAuthClient.exchangeAuthCode("auth-code", "app://redirect"))
-            .willReturn(new GoogleUserProfile("sub-123", "user@example.com", "Jess"));
-
-        given(userService.upsertSocialUser(any()))
-            .willReturn(new User(AuthProvider.GOOGLE, "sub-123", "user@example.com", "Jess"));
-
-        given(jwtTokenProvider.createAccessToken(any(JwtUserPrincipal.class)))
-            .willReturn("access-token");
+        SocialOAuthClient google = new StubSocialOAuthClient(AuthProvider.GOOGLE, "auth-code", "app://redirect", null,
+            new GoogleUserProfile("sub-123", "user@example.com", "Jess"));
+        userService.user = new User(AuthProvider.GOOGLE, "sub-123", "user@example.com", "Jess");
+        refreshTokenService.issued = "refresh-token";
 
-        given(refreshTokenService.issue(any(User.class)))
-            .willReturn("refresh-token");
-
-        AuthResponse response = authService.loginWithGoogleAuthCode(
+        AuthResponse response = authService(google).loginWithGoogleAuthCode(
             new GoogleAuthCodeRequest("auth-code", "app://redirect")
         );
 
         assertThat(response.accessToken()).isEqualTo("access-token");
         assertThat(response.refreshToken()).isEqualTo("refresh-token");
+        assertThat(userService.upserted).extracting(SocialUserProfile::providerId).containsExactly("sub-123");
+    }
+
+    @Test
+    @DisplayName("loginWithAuthCode: 경로의 제공자 이름으로 해당 제공자 클라이언트에 교환을 위임한다")
+    void loginWithAuthCode_resolvesProvider() {
+        SocialOAuthClient naver = new StubSocialOAuthClient(AuthProvider.NAVER, "auth-code", null, "state-1",
+            new SocialProfile(AuthProvider.NAVER, "naver-1", "user@example.com", "Jess"));
+        userService.user = new User(AuthProvider.NAVER, "naver-1", "user@example.com", "Jess");
+
+        AuthResponse response = authService(naver)
+            .loginWithAuthCode("naver", new SocialAuthCodeRequest("auth-code", null, "state-1"));
+
+        assertThat(response.accessToken()).isEqualTo("access-token");
+    }
+
+    @Test
+    @DisplayName("loginWithAuthCode: 알 수 없는 제공자면 UnsupportedProviderException")
+    void loginWithAuthCode_unknownProvider() {
+        AuthService authService = authService();
+        assertThatThrownBy(() -> authService.loginWithAuthCode("myspace", new SocialAuthCodeRequest("code", null, null)))
+            .isInstanceOf(UnsupportedProviderException.class);
     }
 
     @Test
     @DisplayName("refresh: 리프레시 토큰이 유효하지 않으면 UnauthorizedException")
     void refresh_invalidToken() {
-        given(refreshTokenService.consumeAndRotate("bad-refresh"))
-            .willReturn(Optional.empty());
+        AuthService authService = authService();
 
         assertThatThrownBy(() -> authService.refresh(new RefreshTokenRequest("bad-refresh")))
             .isInstanceOf(UnauthorizedException.class)
             .hasMessageContaining("Invalid refresh token");
+        assertThat(refreshTokenService.consumed).containsExactly("bad-refresh");
+    }
+
+    @Test
+    @DisplayName("refresh: 회전에 성공하면 grace 재시도용으로 응답을 보관한다")
+    void refresh_remembersRotation() {
+        User user = new User(AuthProvider.GOOGLE, "sub-123", "user@example.com", "Jess");
+        refreshTokenService.rotatedUser = user;
+        refreshTokenService.issued = "new-refresh";
+
+        AuthResponse response = authService().refresh(new RefreshTokenRequest("old-refresh"));
+
+        assertThat(response).isEqualTo(new AuthResponse("access-token", "new-refresh"));
+        assertThat(refreshTokenService.rotatedFrom).containsExactly("old-refresh");
+        assertThat(refreshTokenService.remembered).containsExactly("old-refresh", response);
+    }
+
+    @Test
+    @DisplayName("refresh: 이미 소비된 토큰의 동시 재시도는 서명 없이 직전 회전 결과를 돌려받는다")
+    void refresh_replaysWithinGraceWindow() {
+        AuthResponse previous = new AuthResponse("access-token", "new-refresh");
+        refreshTokenService.replay = previous;
+
+        AuthResponse response = authService().refresh(new RefreshTokenRequest("old-refresh"));
+
+        assertThat(response).isEqualTo(previous);
+        assertThat(jwtTokenProvider.principals).isEmpty();
+        assertThat(refreshTokenService.rotatedFrom).isEmpty();
     }
 
     @Test
     @DisplayName("me: principal이 null이면 null을 반환한다")
     void me_nullPrincipal() {
-        UserInfoResponse response = authService.me(null);
+        UserInfoResponse response = authService().me(null);
         assertThat(response).isNull();
     }
 
@@ -130,19 +166,148 @@ class AuthServiceTest {
     void logout_revokesAllSessions() {
         JwtUserPrincipal principal = new JwtUserPrincipal(1L, "Jess", "KR", "provider-id");
 
-        authService.logout(principal);
+        authService().logout(principal);
 
-        then(refreshTokenService).should(times(1)).revokeAll(1L);
+        assertThat(refreshTokenService.revokedAll).containsExactly(1L);
+        assertThat(accessTokenRevocations.revoked).containsExactly(1L);
+        assertThat(auditEvents.published).containsExactly(AuditEventType.LOGOUT + ":1:null");
     }
 
     @Test
     @DisplayName("logout: principal 또는 userId가 없으면 UnauthorizedException")
     void logout_requiresAuthenticatedUser() {
+        AuthService authService = authService();
         assertThatThrownBy(() -> authService.logout(null))
             .isInstanceOf(UnauthorizedException.class);
 
         JwtUserPrincipal noUserId = new JwtUserPrincipal(null, "Jess", "KR", "provider-id");
         assertThatThrownBy(() -> authService.logout(noUserId))
             .isInstanceOf(UnauthorizedException.class);
+        assertThat(refreshTokenService.revokedAll).isEmpty();
+    }
+
+    // 정해 둔 인자로 호출될 때만 프로필을 돌려주는 제공자 클라이언트. 다른 인자면 테스트를 실패시킨다.
+    private record StubSocialOAuthClient(
+        AuthProvider provider, String code, String redirectUri, String state, SocialUserProfile profile
+    ) implements SocialOAuthClient {
+
+        @Override
+        public boolean isEnabled() {
+            return true;
+        }
+
+        @Override
+        public SocialUserProfile exchangeAuthCode(String code, String redirectUri, String state) {
+            if (!Objects.equals(code, this.code) || !Objects.equals(redirectUri, this.redirectUri)
+                || !Objects.equals(state, this.state)) {
+                throw new AssertionError("unexpected exchange: " + code + ", " + redirectUri + ", " + state);
+            }
+            return profile;
+        }
+    }
+
+    private static final class RecordingJwtTokenProvider extends JwtTokenProvider {
+        final List<JwtUserPrincipal> principals = new ArrayList<>();
+
+        RecordingJwtTokenProvider() {
+            super("auth-service-test-secret-0123456789abcdef", 3600);
+        }
+
+        @Override
+        public String createAccessToken(JwtUserPrincipal principal) {
+            principals.add(principal);
+            return "access-token";
+        }
+    }
+
+    private static final class StubUserService extends UserService {
+        final List<SocialUserProfile> upserted = new ArrayList<>();
+        User user;
+
+        StubUserService() {
+            super(null, null, null, null);
+        }
+
+        @Override
+        public User upsertSocialUser(SocialUserProfile profile) {
+            upserted.add(profile);
+            return user;
+        }
+    }
+
+    // consumeAndRotate는 rotatedUser가 있으면 그 사용자를, 없으면 빈 값(유효하지 않은 토큰)을 돌려준다.
+    private static final class RecordingRefreshTokenService extends RefreshTokenService {
+        final List<String> consumed = new ArrayList<>();
+        final List<String> rotatedFrom = new ArrayList<>();
+        final List<Object> remembered = new ArrayList<>();
+        final List<Long> revokedAll = new ArrayList<>();
+        User rotatedUser;
+        AuthResponse replay;
+        String issued;
+
+        RecordingRefreshTokenService() {
+            super(null, null, null, null, 604800, Duration.ofSeconds(5), 2, Duration.ofMillis(500));
+        }
+
+        @Override
+        public String issue(User user) {
+            return issued;
+        }
+
+        @Override
+        public Optional<User> consumeAndRotate(String refreshToken) {
+            consumed.add(refreshToken);
+            return Optional.ofNullable(rotatedUser);
+        }
+
+        @Override
+        public String issueRotated(User user, String previousRefreshToken) {
+            assertThat(user).isSameAs(rotatedUser);
+            rotatedFrom.add(previousRefreshToken);
+            return issued;
+        }
+
+        @Override
+        public void rememberRotation(String oldRefreshToken, AuthResponse response) {
+            remembered.add(oldRefreshToken);
+            remembered.add(response);
+        }
+
+        @Override
+        public Optional<AuthResponse> replayRecentRotation(String refreshToken) {
+            return Optional.ofNullable(replay);
+        }
+
+        @Override
+        public void revokeAll(Long userId) {
+            revokedAll.add(userId);
+        }
+    }
+
+    private static final class RecordingAuditEventPublisher extends AuditEventPublisher {
+        final List<String> published = new ArrayList<>();
+
+        RecordingAuditEventPublisher() {
+            super(null, new SimpleMeterRegistry(), false, 16, 16, Duration.ofMillis(50));
+        }
+
+        @Override
+        public boolean publish(AuditEventType type, Long userId, AuthProvider provider) {
+            published.add(type + ":" + userId + ":" + provider);
+            return true;
+        }
+    }
+
+    private static final class RecordingAccessTokenRevocationService extends AccessTokenRevocationService {
+        final List<Long> revoked = new ArrayList<>();
+
+        RecordingAccessTokenRevocationService() {
+            super(null, null, Clock.systemUTC(), true, 3600);
+        }
+
+        @Override
+        public void revoke(long userId) {
+            revoked.add(userId);
+        }
     }
 }
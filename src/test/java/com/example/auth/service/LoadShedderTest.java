@@ -0,0 +1,242 @@
+package com.example.auth.service;
+
+import com.example.auth.audit.AuditEventPublisher;
+import com.example.auth.client.google.GoogleUserProfile;
+import com.example.auth.client.social.SocialOAuthClientRegistry;
+import com.example.auth.dto.GoogleAuthCodeRequest;
+import com.example.auth.dto.RefreshTokenRequest;
+import com.example.auth.entity.AuthProvider;
+import com.example.auth.entity.User;
+import com.example.auth.exception.ServiceUnavailableException;
+import com.example.auth.security.jwt.JwtTokenProvider;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.DisabledInNativeImage;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.withSettings;
+
+class LoadShedderTest {
+
+    private static final long MILLIS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    @DisplayName("지연이 평소의 tolerance배를 넘으면 한도를 줄이고 최소 한도 아래로는 내려가지 않는다")
+    void limitShrinksWhenLatencyRises() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(20, 4, 100, 1.5);
+        for (int i = 0; i < 200; i++) {
+            limit.onSample(10 * MILLIS, 10);
+        }
+        int beforeSlowdown = limit.limit();
+
+        for (int i = 0; i < 200; i++) {
+            limit.onSample(100 * MILLIS, beforeSlowdown);
+        }
+
+        assertThat(limit.limit()).isLessThan(beforeSlowdown / 2).isGreaterThanOrEqualTo(4);
+    }
+
+    @Test
+    @DisplayName("지연이 평소 수준이면 한도를 다 쓰는 동안에만 한도를 늘린다")
+    void limitGrowsOnlyWhenUsed() {
+        AdaptiveConcurrencyLimit idle = new AdaptiveConcurrencyLimit(20, 4, 100, 1.5);
+        AdaptiveConcurrencyLimit busy = new AdaptiveConcurrencyLimit(20, 4, 100, 1.5);
+        for (int i = 0; i < 50; i++) {
+            idle.onSample(10 * MILLIS, 2);
+            busy.onSample(10 * MILLIS, busy.limit());
+        }
+
+        assertThat(idle.limit()).isEqualTo(20);
+        assertThat(busy.limit()).isGreaterThan(20).isLessThanOrEqualTo(100);
+    }
+
+    @Test
+    @DisplayName("의존 서비스가 503으로 끝난 호출은 한도를 일정 비율로 줄인다")
+    void dropBacksOff() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(20, 4, 100, 1.5);
+
+        limit.onDropped();
+
+        assertThat(limit.limit()).isEqualTo(18);
+    }
+
+    @Test
+    @DisplayName("한도를 넘는 요청은 기다리지 않고 503으로 거절하고 지표에 남긴다")
+    void rejectsOverLimit() {
+        LoadShedder shedder = new LoadShedder(meterRegistry, true, 1.5, 1, 1, 1, 2, 2, 2);
+
+        shedder.call(LoadShedder.Endpoint.LOGIN, () ->
+            assertThatThrownBy(() -> shedder.call(LoadShedder.Endpoint.LOGIN, () -> "second"))
+                .isInstanceOf(ServiceUnavailableException.class)
+                .hasMessageContaining("Login")
+        );
+
+        assertThat(shedder.call(LoadShedder.Endpoint.LOGIN, () -> "after release")).isEqualTo("after release");
+        assertThat(rejected("login", "limit")).isEqualTo(1);
+        assertThat(meterRegistry.get("auth.concurrency.limit").tag("endpoint", "login").gauge().value())
+            .isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("리프레시가 한도까지 차 있으면 새 로그인은 거절하지만, 로그인이 차 있어도 리프레시는 받는다")
+    void refreshHasPriorityOverLogin() {
+        LoadShedder shedder = new LoadShedder(meterRegistry, true, 1.5, 1, 1, 1, 1, 1, 1);
+
+        shedder.call(LoadShedder.Endpoint.REFRESH, () ->
+            assertThatThrownBy(() -> shedder.call(LoadShedder.Endpoint.LOGIN, () -> "login"))
+                .isInstanceOf(ServiceUnavailableException.class)
+        );
+        String refreshed = shedder.call(LoadShedder.Endpoint.LOGIN, () ->
+            shedder.call(LoadShedder.Endpoint.REFRESH, () -> "refreshed")
+        );
+
+        assertThat(refreshed).isEqualTo("refreshed");
+        assertThat(rejected("login", "priority")).isEqualTo(1);
+        assertThat(rejected("login", "limit")).isZero();
+    }
+
+    @Test
+    @DisplayName("비활성화하면 한도 없이 그대로 실행한다")
+    void disabledPassesThrough() {
+        LoadShedder shedder = LoadShedder.disabled(meterRegistry);
+
+        String nested = shedder.call(LoadShedder.Endpoint.REFRESH, () ->
+            shedder.call(LoadShedder.Endpoint.REFRESH, () -> "nested")
+        );
+
+        assertThat(nested).isEqualTo("nested");
+    }
+
+    @Test
+    @DisabledInNativeImage
+    @DisplayName("스텁 의존성의 지연을 늘리면 리프레시 한도가 줄어 초과분은 바로 503이 되고, 로그인은 우선순위에 밀린다")
+    void shedsWhenStubDependenciesSlowDown() throws Exception {
+        AtomicLong refreshLatencyMillis = new AtomicLong(2);
+        User user = new User(AuthProvider.GOOGLE, "sub-1", "user@example.com", "Jess");
+        RefreshTokenService refreshTokenService = stub(RefreshTokenService.class);
+        given(refreshTokenService.consumeAndRotate(anyString())).willAnswer(invocation -> {
+            Thread.sleep(refreshLatencyMillis.get());
+            return Optional.of(user);
+        });
+        given(refreshTokenService.issueRotated(any(), anyString())).willReturn("next-refresh");
+        given(refreshTokenService.issue(any())).willReturn("refresh");
+        SocialOAuthClientRegistry socialOAuthClients = stub(SocialOAuthClientRegistry.class);
+        given(socialOAuthClients.exchangeAuthCode(any(), any(), any(), any()))
+            .willReturn(new GoogleUserProfile("sub-1", "user@example.com", "Jess"));
+        UserService userService = stub(UserService.class);
+        given(userService.upsertSocialUser(any())).willReturn(user);
+        JwtTokenProvider jwtTokenProvider = stub(JwtTokenProvider.class);
+        given(jwtTokenProvider.createAccessToken(any())).willReturn("access");
+
+        LoadShedder shedder = new LoadShedder(meterRegistry, true, 1.5, 10, 2, 20, 10, 2, 20);
+        AuthService authService = new AuthService(
+            jwtTokenProvider,
+            socialOAuthClients,
+            userService,
+            refreshTokenService,
+            stub(AuditEventPublisher.class),
+            stub(AccessTokenRevocationService.class),
+            shedder
+        );
+
+        // 평소: 빠른 Redis
+        runRefreshes(authService, 8, Duration.ofMillis(300));
+        int healthyLimit = shedder.limit(LoadShedder.Endpoint.REFRESH);
+
+        // Redis가 100배 느려짐: 초과 요청은 톰캣 스레드를 붙잡지 않고 바로 거절돼야 한다.
+        refreshLatencyMillis.set(200);
+        ExecutorService logins = Executors.newSingleThreadExecutor();
+        long loginDeadline = System.nanoTime() + Duration.ofSeconds(2).toNanos();
+        logins.submit(() -> {
+            while (System.nanoTime() < loginDeadline) {
+                try {
+                    authService.loginWithGoogleAuthCode(new GoogleAuthCodeRequest("code", "app://redirect"));
+                } catch (ServiceUnavailableException e) {
+                    // 우선순위에 밀린 로그인: 클라이언트처럼 잠시 뒤 다시 시도한다.
+                    backOff();
+                }
+            }
+        });
+        long slowestRejectionNanos = runRefreshes(authService, 24, Duration.ofSeconds(2));
+        logins.shutdown();
+        assertThat(logins.awaitTermination(5, TimeUnit.SECONDS)).isTrue();
+        int degradedLimit = shedder.limit(LoadShedder.Endpoint.REFRESH);
+
+        assertThat(degradedLimit).isLessThan(Math.min(healthyLimit, 10));
+        assertThat(rejected("refresh", "limit")).isPositive();
+        assertThat(Duration.ofNanos(slowestRejectionNanos)).isLessThan(Duration.ofMillis(100));
+        assertThat(rejected("login", "priority")).isPositive();
+
+        // 회복: 지연이 돌아오면 한도도 다시 오른다.
+        refreshLatencyMillis.set(2);
+        runRefreshes(authService, 24, Duration.ofSeconds(1));
+        assertThat(shedder.limit(LoadShedder.Endpoint.REFRESH)).isGreaterThan(degradedLimit);
+    }
+
+    // threads개의 스레드가 duration 동안 refresh를 반복한다. 거절된 호출 중 가장 오래 걸린 시간을 돌려준다.
+    private static long runRefreshes(AuthService authService, int threads, Duration duration) throws Exception {
+        ExecutorService workers = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        long deadline = System.nanoTime() + duration.toNanos();
+        List<AtomicLong> slowestRejections = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            AtomicLong slowest = new AtomicLong();
+            slowestRejections.add(slowest);
+            workers.submit(() -> {
+                start.await();
+                while (System.nanoTime() < deadline) {
+                    long began = System.nanoTime();
+                    try {
+                        authService.refresh(new RefreshTokenRequest("refresh"));
+                    } catch (ServiceUnavailableException e) {
+                        slowest.accumulateAndGet(System.nanoTime() - began, Math::max);
+                        backOff();
+                    }
+                }
+                return null;
+            });
+        }
+        start.countDown();
+        workers.shutdown();
+        assertThat(workers.awaitTermination(duration.toSeconds() + 10, TimeUnit.SECONDS)).isTrue();
+        return slowestRejections.stream().mapToLong(AtomicLong::get).max().orElse(0);
+    }
+
+    private static void backOff() {
+        try {
+            Thread.sleep(5);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // 호출 기록을 남기지 않는 스텁(여러 스레드에서 수천 번 불린다)
+    private static <T> T stub(Class<T> type) {
+        return mock(type, withSettings().stubOnly());
+    }
+
+    private double rejected(String endpoint, String reason) {
+        return meterRegistry.get("auth.concurrency.rejected")
+            .tag("endpoint", endpoint)
+            .tag("reason", reason)
+            .counter()
+            .count();
+    }
+}
@@ -0,0 +1,170 @@
+package com.example.auth.service;
+
+import com.example.auth.exception.ServiceUnavailableException;
+import com.example.auth.service.RefreshTokenStore.Consumed;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 메모리 맵 저장소: 공통 계약 + 재기동 복구/깨진 꼬리/compaction/용량 초과.
+ */
+class MappedRefreshTokenStoreTest extends RefreshTokenStoreContractTest {
+
+    private static final Duration TTL = Duration.ofMinutes(5);
+
+    @TempDir
+    Path directory;
+
+    private Path file;
+    private MappedRefreshTokenStore store;
+
+    @BeforeEach
+    void setUp() {
+        file = directory.resolve("refresh-tokens.log");
+        store = open(System::currentTimeMillis, 1 << 20);
+    }
+
+    @AfterEach
+    void tearDown() {
+        store.stop();
+    }
+
+    @Override
+    protected RefreshTokenStore store() {
+        return store;
+    }
+
+    private MappedRefreshTokenStore open(LongSupplier clock, int capacity) {
+        return new MappedRefreshTokenStore(file, capacity, Duration.ofSeconds(1), Duration.ofHours(1), clock);
+    }
+
+    @Test
+    @DisplayName("재기동하면 토큰과 세션 버전을 로그에서 복구한다")
+    void recoversAfterRestart() {
+        String token = store.create(1L, 0, TTL);
+        String consumed = store.create(1L, 0, TTL);
+        store.consume(consumed, Duration.ZERO);
+        store.revokeAll(2L);
+        store.stop();
+
+        store = open(System::currentTimeMillis, 1 << 20);
+
+        assertThat(store.currentVersion(2L)).isEqualTo(1L);
+        assertThat(store.consume(consumed, Duration.ZERO)).isEmpty();
+        assertThat(store.consume(token, Duration.ZERO)).contains(new Consumed(1L, true));
+    }
+
+    @Test
+    @DisplayName("쓰다 만 레코드는 버리고 그 앞까지 복구한 뒤 이어 쓴다")
+    void discardsTornTail() throws IOException {
+        String token = store.create(1L, 0, TTL);
+        long end = store.usedBytes();
+        store.stop();
+        // 헤더만 쓰고 죽은 것처럼 type/길이만 있고 CRC가 맞지 않는 레코드를 덧붙인다.
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            ByteBuffer torn = ByteBuffer.allocate(19).putInt(0xdeadbeef).put((byte) 1).putLong(0)
+                .putShort((short) 4).putInt(4);
+            channel.write(torn.flip(), end);
+        }
+
+        store = open(System::currentTimeMillis, 1 << 20);
+        String next = store.create(3L, 0, TTL);
+        store.stop();
+        store = open(System::currentTimeMillis, 1 << 20);
+
+        assertThat(store.consume(token, Duration.ZERO)).contains(new Consumed(1L, true));
+        assertThat(store.consume(next, Duration.ZERO)).contains(new Consumed(3L, true));
+    }
+
+    @Test
+    @DisplayName("만료/덮어쓴 레코드는 compaction으로 회수되고 살아 있는 항목은 남는다")
+    void compactsDeadRecords() {
+        AtomicLong now = new AtomicLong(1_000_000L);
+        store.stop();
+        store = open(now::get, 1 << 20);
+        String survivor = store.create(1L, 0, TTL);
+        for (int i = 0; i < 5000; i++) {
+            store.create(2L, 0, Duration.ofSeconds(1));
+        }
+        long before = store.usedBytes();
+
+        now.addAndGet(Duration.ofSeconds(2).toMillis());
+        store.maintain();
+
+        assertThat(store.usedBytes()).isLessThan(before / 10);
+        assertThat(store.size()).isEqualTo(1);
+        store.stop();
+        store = open(now::get, 1 << 20);
+        assertThat(store.consume(survivor, Duration.ZERO)).contains(new Consumed(1L, true));
+    }
+
+    @Test
+    @DisplayName("실패한 compaction이 남긴 임시 파일 위에 다음 compaction을 해도 재기동 때 지운 토큰이 되살아나지 않는다")
+    void compactionAfterFailedCompactionDoesNotReviveTokens() throws IOException {
+        AtomicLong now = new AtomicLong(1_000_000L);
+        store.stop();
+        store = open(now::get, 1 << 20);
+        String survivor = store.create(1L, 0, TTL);
+        List<String> consumed = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            consumed.add(store.create(2L, 0, TTL));
+        }
+        for (int i = 0; i < 5000; i++) {
+            store.create(3L, 0, Duration.ofSeconds(1));
+        }
+        now.addAndGet(Duration.ofSeconds(2).toMillis());
+
+        // 로그 자리에 비어 있지 않은 디렉터리를 두어 마지막 rename을 실패시킨다(임시 파일에는 201개가 이미 써져 있다).
+        Files.delete(file);
+        Path blocker = Files.createDirectories(file.resolve("blocker"));
+        assertThatThrownBy(store::maintain).isInstanceOf(UncheckedIOException.class);
+        assertThat(file.resolveSibling(file.getFileName() + ".compact")).exists();
+        Files.delete(blocker);
+        Files.delete(file);
+
+        for (String token : consumed) {
+            assertThat(store.consume(token, Duration.ZERO)).isPresent();
+        }
+        store.maintain();
+        store.stop();
+        store = open(now::get, 1 << 20);
+
+        assertThat(store.size()).isEqualTo(1);
+        for (String token : consumed) {
+            assertThat(store.consume(token, Duration.ZERO)).isEmpty();
+        }
+        assertThat(store.consume(survivor, Duration.ZERO)).contains(new Consumed(1L, true));
+    }
+
+    @Test
+    @DisplayName("살아 있는 항목만으로 용량이 차면 503 예외로 끝난다")
+    void rejectsWritesWhenFull() {
+        store.stop();
+        file = directory.resolve("small.log");
+        store = open(System::currentTimeMillis, 32 * 1024);
+
+        assertThatThrownBy(() -> {
+            for (int i = 0; i < 10_000; i++) {
+                store.create(i, 0, TTL);
+            }
+        }).isInstanceOf(ServiceUnavailableException.class);
+    }
+}
@@ -0,0 +1,170 @@
+package com.example.auth.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * H2 인메모리 DB에 users 테이블만 만들어 write-behind 버퍼의 병합/배치 반영/writeThrough 순서/종료 시 flush를 검증한다.
+ */
+class ProfileWriteBehindBufferTest {
+
+    private final CountDownLatch batchStarted = new CountDownLatch(1);
+    private volatile CountDownLatch releaseBatch = new CountDownLatch(0);
+
+    private JdbcTemplate jdbcTemplate;
+    private ProfileWriteBehindBuffer buffer;
+
+    @BeforeEach
+    void setUp() {
+        // releaseBatch를 닫아 두면 배치 UPDATE가 그 자리에서 멈춘다(반영 중인 배치 재현).
+        jdbcTemplate = new JdbcTemplate(new DriverManagerDataSource(
+            "jdbc:h2:mem:write-behind;DB_CLOSE_DELAY=-1", "sa", ""
+        )) {
+            @Override
+            public <T> int[][] batchUpdate(String sql, Collection<T> batchArgs, int batchSize,
+                                           ParameterizedPreparedStatementSetter<T> pss) {
+                batchStarted.countDown();
+                try {
+                    releaseBatch.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return super.batchUpdate(sql, batchArgs, batchSize, pss);
+            }
+        };
+        jdbcTemplate.execute("create table if not exists users ("
+            + "id bigint primary key, name varchar(100), email varchar(200) unique, updated_at timestamp)");
+        jdbcTemplate.update("delete from users");
+        jdbcTemplate.update("insert into users (id, name, email) values (1, 'old-1', 'one@example.com')");
+        jdbcTemplate.update("insert into users (id, name, email) values (2, 'old-2', 'two@example.com')");
+        jdbcTemplate.update("insert into users (id, name, email) values (3, 'old-3', 'three@example.com')");
+
+        // flush 주기를 길게 두어 테스트에서 직접 flush/stop을 호출한다.
+        buffer = new ProfileWriteBehindBuffer(jdbcTemplate, new SimpleMeterRegistry(), true, 2, 10, Duration.ofHours(1));
+        buffer.start();
+    }
+
+    @Test
+    @DisplayName("같은 사용자의 변경은 마지막 값만 남아 한 번에 반영된다")
+    void coalescesPerUser() {
+        assertThat(buffer.offer(1L, "a", "a@example.com")).isTrue();
+        assertThat(buffer.offer(1L, "b", "b@example.com")).isTrue();
+        assertThat(buffer.offer(2L, "c", "c@example.com")).isTrue();
+        assertThat(buffer.isPending(1L)).isTrue();
+
+        buffer.flush();
+
+        assertThat(profile(1L)).containsEntry("NAME", "b").containsEntry("EMAIL", "b@example.com");
+        assertThat(profile(2L)).containsEntry("NAME", "c");
+        assertThat(buffer.isPending(1L)).isFalse();
+    }
+
+    @Test
+    @DisplayName("버퍼가 가득 차면 새 사용자는 거절되고(동기 쓰기 대상), 이미 대기 중인 사용자는 병합된다")
+    void rejectsNewUsersWhenFull() {
+        assertThat(buffer.offer(1L, "a", null)).isTrue();
+        assertThat(buffer.offer(2L, "b", null)).isTrue();
+
+        assertThat(buffer.offer(3L, "c", null)).isFalse();
+        assertThat(buffer.offer(1L, "a2", null)).isTrue();
+    }
+
+    @Test
+    @DisplayName("유니크 충돌 행만 버리고 나머지 행은 반영한다")
+    void dropsOnlyConflictingRows() {
+        // 3번은 버퍼에 없으므로 배치 안의 순서와 상관없이 1번만 충돌한다.
+        buffer.offer(1L, "a", "three@example.com");
+        buffer.offer(2L, "b", "b@example.com");
+
+        buffer.flush();
+
+        assertThat(jdbcTemplate.queryForList("select concat(id, ':', name, ':', email) from users", String.class))
+            .containsExactlyInAnyOrder(
+                "1:old-1:one@example.com", "2:b:b@example.com", "3:old-3:three@example.com"
+            );
+        assertThat(buffer.isPending(1L)).isFalse();
+    }
+
+    @Test
+    @DisplayName("writeThrough는 반영 중인 이전 배치가 끝난 뒤에 쓰므로 이전 값에 덮이지 않는다")
+    void writeThroughIsNotOverwrittenByInFlightBatch() throws Exception {
+        buffer.offer(1L, "batched", "one@example.com");
+        releaseBatch = new CountDownLatch(1);
+        CompletableFuture<Void> flushing = CompletableFuture.runAsync(buffer::flush);
+        assertThat(batchStarted.await(5, TimeUnit.SECONDS)).isTrue();
+
+        CompletableFuture<Void> writing = CompletableFuture.runAsync(() ->
+            buffer.writeThrough(1L, "direct", "one@example.com")
+        );
+        Thread.sleep(100);
+        assertThat(writing).isNotDone();
+        releaseBatch.countDown();
+        flushing.get(5, TimeUnit.SECONDS);
+        writing.get(5, TimeUnit.SECONDS);
+
+        assertThat(profile(1L)).containsEntry("NAME", "direct");
+    }
+
+    @Test
+    @DisplayName("writeThrough는 대기 중인 더 오래된 변경을 버린다")
+    void writeThroughDiscardsOlderPendingUpdate() {
+        buffer.offer(1L, "pending", "one@example.com");
+
+        buffer.writeThrough(1L, "direct", "one@example.com");
+        buffer.flush();
+
+        assertThat(profile(1L)).containsEntry("NAME", "direct");
+        assertThat(buffer.isPending(1L)).isFalse();
+    }
+
+    @Test
+    @DisplayName("stop과 겹쳐도 offer가 받아들인 마지막 변경은 반영된다")
+    void acceptedOffersSurviveConcurrentStop() throws Exception {
+        AtomicReference<String> lastAccepted = new AtomicReference<>();
+        CompletableFuture<Void> offering = CompletableFuture.runAsync(() -> {
+            for (int i = 0; ; i++) {
+                String name = "n" + i;
+                if (!buffer.offer(1L, name, "one@example.com")) {
+                    return;
+                }
+                lastAccepted.set(name);
+            }
+        });
+        Thread.sleep(20);
+
+        buffer.stop();
+        offering.get(5, TimeUnit.SECONDS);
+
+        assertThat(lastAccepted.get()).isNotNull();
+        assertThat(profile(1L)).containsEntry("NAME", lastAccepted.get());
+    }
+
+    @Test
+    @DisplayName("stop 시 남은 변경을 모두 반영하고 이후 offer는 거절된다")
+    void flushesOnShutdown() {
+        buffer.offer(1L, "bye", "one@example.com");
+
+        buffer.stop();
+
+        assertThat(profile(1L)).containsEntry("NAME", "bye");
+        assertThat(buffer.offer(1L, "late", null)).isFalse();
+    }
+
+    private Map<String, Object> profile(long id) {
+        return jdbcTemplate.queryForMap("select name, email from users where id = ?", id);
+    }
+}
@@ -0,0 +1,51 @@
+package com.example.auth.service;
+
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+/**
+ * Redis 저장소의 계약 테스트. 실제 Redis가 필요하므로 REDIS_HOST(선택: REDIS_PORT)를 지정했을 때만 돈다.
+ * 예) docker run -d -p 6379:6379 redis:7-alpine && REDIS_HOST=localhost ./gradlew test
+ */
+@EnabledIfEnvironmentVariable(named = "REDIS_HOST", matches = ".+")
+class RedisRefreshTokenStoreTest extends RefreshTokenStoreContractTest {
+
+    private LettuceConnectionFactory connectionFactory;
+    private RedisRefreshTokenStore store;
+
+    @BeforeEach
+    void setUp() {
+        String port = System.getenv("REDIS_PORT");
+        connectionFactory = new LettuceConnectionFactory(new RedisStandaloneConfiguration(
+            System.getenv("REDIS_HOST"), port == null ? 6379 : Integer.parseInt(port)
+        ));
+        connectionFactory.afterPropertiesSet();
+        connectionFactory.start();
+        StringRedisTemplate redisTemplate = new StringRedisTemplate(connectionFactory);
+        RedisGuard redisGuard = new RedisGuard(CircuitBreakerRegistry.ofDefaults());
+        store = new RedisRefreshTokenStore(
+            redisTemplate,
+            redisGuard,
+            new RefreshTokenCodec("redis", ""),
+            new VersionLookupBatcher(redisTemplate, redisGuard, new SimpleMeterRegistry(), false, Duration.ZERO, 1),
+            new RefreshKeyLayout("legacy")
+        );
+    }
+
+    @AfterEach
+    void tearDown() {
+        connectionFactory.destroy();
+    }
+
+    @Override
+    protected RefreshTokenStore store() {
+        return store;
+    }
+}
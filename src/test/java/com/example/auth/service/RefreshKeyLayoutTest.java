@@ -0,0 +1,59 @@
+package com.example.auth.service;
+
+import io.lettuce.core.cluster.SlotHash;
+import java.util.UUID;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RefreshKeyLayoutTest {
+
+    private static final String UUID_VALUE = "0f8fad5b-d9cb-469f-a165-70867728950e";
+
+    @Test
+    @DisplayName("legacy 배치는 기존 키 이름을 그대로 쓴다")
+    void legacyKeys() {
+        RefreshKeyLayout keys = new RefreshKeyLayout("legacy");
+
+        String token = keys.newToken(42L, UUID_VALUE);
+
+        assertThat(token).isEqualTo(UUID_VALUE);
+        assertThat(keys.tokenKey(token)).isEqualTo("refresh:" + UUID_VALUE);
+        assertThat(keys.versionKey(42L)).isEqualTo("refreshver:42");
+        assertThat(keys.familyKey(42L)).isEqualTo("refreshfam:42");
+        assertThat(keys.versionVectorKey(42L)).isEqualTo("refreshvc:42");
+        assertThat(keys.graceKey("abc", 42L)).isEqualTo("refreshgrace:abc");
+    }
+
+    @Test
+    @DisplayName("tagged 배치에서는 한 사용자의 토큰/버전/grace/family 키가 같은 슬롯에 놓인다")
+    void taggedKeysShareSlot() {
+        RefreshKeyLayout keys = new RefreshKeyLayout("tagged");
+
+        String token = keys.newToken(42L, UUID_VALUE);
+
+        assertThat(token).isEqualTo("42." + UUID_VALUE);
+        assertThat(keys.taggedOwner(token)).isEqualTo(42L);
+        assertThat(keys.tokenKey(token)).isEqualTo("refresh:{u42}:" + UUID_VALUE);
+        int slot = SlotHash.getSlot(keys.versionKey(42L));
+        assertThat(SlotHash.getSlot(keys.tokenKey(token))).isEqualTo(slot);
+        assertThat(SlotHash.getSlot(keys.graceKey("abc", 42L))).isEqualTo(slot);
+        assertThat(SlotHash.getSlot(keys.familyKey(42L))).isEqualTo(slot);
+        assertThat(SlotHash.getSlot(keys.versionVectorKey(42L))).isEqualTo(slot);
+        assertThat(keys.legacyVersionKey(42L)).isEqualTo("refreshver:42");
+    }
+
+    @Test
+    @DisplayName("tagged 형식이 아닌 토큰(legacy uuid, stateless, 임의 문자열)은 주인을 알 수 없다")
+    void taggedOwnerOnlyForTaggedTokens() {
+        RefreshKeyLayout keys = new RefreshKeyLayout("dual");
+
+        assertThat(keys.taggedOwner(UUID.randomUUID().toString())).isNull();
+        assertThat(keys.taggedOwner("s1.AAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAA")).isNull();
+        assertThat(keys.taggedOwner("x1." + UUID_VALUE)).isNull();
+        assertThat(keys.taggedOwner("." + UUID_VALUE)).isNull();
+        assertThat(keys.taggedOwner("99999999999999999999." + UUID_VALUE)).isNull();
+        assertThat(keys.tokenKey(UUID_VALUE)).isEqualTo("refresh:" + UUID_VALUE);
+    }
+}
@@ -0,0 +1,179 @@
+package com.example.auth.service;
+
+import com.example.auth.service.RefreshTokenStore.Consumed;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.BooleanSupplier;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 두 지역(각자 Redis)의 RegionalRefreshTokenStore를 RefreshReplicator로 잇고, 복제 지연을 주입해
+ * 지연 동안의 동작(bounded staleness)과 지연 뒤의 수렴을 확인한다.
+ * scripts/redis-regions-local.sh up 으로 Redis 두 개를 띄우고 REDIS_REGION_A/B(host:port)를 지정했을 때만 돈다.
+ * 예) REDIS_REGION_A=localhost:6381 REDIS_REGION_B=localhost:6382 ./gradlew test --tests '*RefreshReplicationTest'
+ */
+@EnabledIfEnvironmentVariable(named = "REDIS_REGION_A", matches = ".+")
+@EnabledIfEnvironmentVariable(named = "REDIS_REGION_B", matches = ".+")
+class RefreshReplicationTest {
+
+    private static final Duration TTL = Duration.ofMinutes(5);
+    private static final Duration APPLY_DELAY = Duration.ofMillis(500);
+    private static final Duration CONVERGENCE_TIMEOUT = APPLY_DELAY.plusSeconds(5);
+
+    private final RefreshKeyLayout keys = new RefreshKeyLayout("legacy");
+    private Region a;
+    private Region b;
+
+    @BeforeEach
+    void setUp() {
+        a = new Region("region-a", System.getenv("REDIS_REGION_A"));
+        b = new Region("region-b", System.getenv("REDIS_REGION_B"));
+        a.replicateFrom(b);
+        b.replicateFrom(a);
+    }
+
+    @AfterEach
+    void tearDown() {
+        a.close();
+        b.close();
+    }
+
+    @Test
+    @DisplayName("발급한 토큰은 복제 지연 뒤 다른 지역에서 소비할 수 있고, 소비(삭제)는 발급한 지역으로 복제된다")
+    void replicatesTokensAndConsumption() {
+        long userId = userId();
+        String token = a.store.create(userId, 0, TTL);
+        String tokenKey = keys.tokenKey(token);
+
+        // 지연 동안에는 다른 지역에 아직 없다.
+        assertThat(b.redis.hasKey(tokenKey)).isFalse();
+        await(() -> b.redis.hasKey(tokenKey));
+
+        assertThat(b.store.consume(token, Duration.ZERO)).contains(new Consumed(userId, true));
+        await(() -> !a.redis.hasKey(tokenKey));
+        assertThat(a.store.consume(token, Duration.ZERO)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("다른 지역의 로그아웃은 복제 지연 동안 보이지 않고, 지연이 끝나면 이전 버전 토큰을 거부한다")
+    void revocationIsBoundedStale() {
+        long userId = userId();
+        String token = b.store.create(userId, b.store.currentVersion(userId), TTL);
+
+        long revokedAt = System.nanoTime();
+        a.store.revokeAll(userId);
+
+        assertThat(a.store.currentVersion(userId)).isEqualTo(1);
+        assertThat(b.store.currentVersion(userId)).isZero();
+        await(() -> b.store.currentVersion(userId) == 1);
+        assertThat(Duration.ofNanos(System.nanoTime() - revokedAt))
+            .isGreaterThanOrEqualTo(APPLY_DELAY.minusMillis(50));
+        assertThat(b.store.consume(token, Duration.ZERO)).contains(new Consumed(userId, false));
+    }
+
+    @Test
+    @DisplayName("두 지역에서 동시에 로그아웃하면 버전은 두 번 오르고, 그 사이 발급된 토큰도 수렴 뒤에는 무효다")
+    void concurrentRevocationsBothCount() {
+        long userId = userId();
+        a.store.revokeAll(userId);
+        b.store.revokeAll(userId);
+        // 지역 B의 로그아웃 직후(A의 로그아웃이 아직 복제되지 않았을 때) 발급된 토큰.
+        // 버전이 max-wins였다면 양쪽이 1로 수렴해 이 토큰이 계속 유효했을 것이다.
+        String issuedDuringLag = b.store.create(userId, b.store.currentVersion(userId), TTL);
+
+        await(() -> a.store.currentVersion(userId) == 2 && b.store.currentVersion(userId) == 2);
+        assertThat(b.store.consume(issuedDuringLag, Duration.ZERO)).contains(new Consumed(userId, false));
+    }
+
+    @Test
+    @DisplayName("단일 리전 시절의 버전은 기준값으로 합쳐져 로그아웃 뒤에도 두 지역의 버전이 같다")
+    void carriesOverSingleRegionVersion() {
+        long userId = userId();
+        // 기존 Redis의 스냅샷으로 두 지역을 시작한 상태
+        a.redis.opsForValue().set(keys.versionKey(userId), "5");
+        b.redis.opsForValue().set(keys.versionKey(userId), "5");
+
+        b.store.revokeAll(userId);
+
+        assertThat(b.store.currentVersion(userId)).isEqualTo(6);
+        await(() -> a.store.currentVersion(userId) == 6);
+        assertThat(a.redis.opsForHash().entries(keys.versionVectorKey(userId)))
+            .isEqualTo(Map.of(RegionalRefreshTokenStore.BASE_REGION, "5", "region-b", "1"));
+    }
+
+    private static long userId() {
+        return ThreadLocalRandom.current().nextLong(1, Long.MAX_VALUE / 2);
+    }
+
+    private static void await(BooleanSupplier condition) {
+        long deadline = System.nanoTime() + CONVERGENCE_TIMEOUT.toNanos();
+        while (!condition.getAsBoolean()) {
+            assertThat(System.nanoTime()).as("replication did not converge within %s", CONVERGENCE_TIMEOUT)
+                .isLessThan(deadline);
+            try {
+                Thread.sleep(20);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+
+    private final class Region {
+        private final String name;
+        private final String address;
+        private final LettuceConnectionFactory connectionFactory;
+        private final StringRedisTemplate redis;
+        private final RegionalRefreshTokenStore store;
+        private RefreshReplicator replicator;
+
+        private Region(String name, String address) {
+            this.name = name;
+            this.address = address;
+            this.connectionFactory = connectionFactory(address);
+            connectionFactory.afterPropertiesSet();
+            connectionFactory.start();
+            this.redis = new StringRedisTemplate(connectionFactory);
+            RedisGuard redisGuard = new RedisGuard(CircuitBreakerRegistry.ofDefaults());
+            RefreshTokenCodec codec = new RefreshTokenCodec("redis", "");
+            RedisRefreshTokenStore local = new RedisRefreshTokenStore(
+                redis,
+                redisGuard,
+                codec,
+                new VersionLookupBatcher(redis, redisGuard, new SimpleMeterRegistry(), false, Duration.ZERO, 1),
+                keys
+            );
+            this.store = new RegionalRefreshTokenStore(local, redis, redisGuard, codec, keys, name, 10_000);
+        }
+
+        private void replicateFrom(Region peer) {
+            replicator = new RefreshReplicator(store, Map.of(peer.name, connectionFactory(peer.address)),
+                "test-" + name, APPLY_DELAY, new SimpleMeterRegistry());
+            replicator.start();
+        }
+
+        private void close() {
+            replicator.stop();
+            connectionFactory.destroy();
+        }
+
+        private static LettuceConnectionFactory connectionFactory(String address) {
+            int colon = address.lastIndexOf(':');
+            return new LettuceConnectionFactory(new RedisStandaloneConfiguration(
+                address.substring(0, colon), Integer.parseInt(address.substring(colon + 1))
+            ));
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.example.auth.service;
+
+import com.example.auth.service.RefreshTokenCodec.SealedRefreshToken;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.UUID;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RefreshTokenCodecTest {
+
+    private static final String KEY = Base64.getEncoder().encodeToString(new byte[32]);
+    private static final String OTHER_KEY = Base64.getEncoder().encodeToString("0123456789abcdef0123456789abcdef".getBytes());
+
+    private final RefreshTokenCodec codec = new RefreshTokenCodec("stateless", KEY);
+
+    @Test
+    @DisplayName("봉인한 토큰을 열면 같은 값이 나온다")
+    void sealAndOpen() {
+        SealedRefreshToken token = token(Instant.now().getEpochSecond() + 60);
+
+        String sealed = codec.seal(token);
+
+        assertThat(sealed).startsWith(RefreshTokenCodec.PREFIX);
+        assertThat(codec.isSealed(sealed)).isTrue();
+        assertThat(codec.open(sealed)).contains(token);
+    }
+
+    @Test
+    @DisplayName("같은 값이라도 IV가 달라 매번 다른 토큰이 나온다")
+    void randomizedIv() {
+        SealedRefreshToken token = token(Instant.now().getEpochSecond() + 60);
+
+        assertThat(codec.seal(token)).isNotEqualTo(codec.seal(token));
+    }
+
+    @Test
+    @DisplayName("한 글자라도 바뀌거나 다른 키로 만든 토큰은 열리지 않는다")
+    void rejectsTamperedOrForeignTokens() {
+        String sealed = codec.seal(token(Instant.now().getEpochSecond() + 60));
+        char last = sealed.charAt(sealed.length() - 10);
+        String tampered = sealed.substring(0, sealed.length() - 10) + (last == 'A' ? 'B' : 'A') + sealed.substring(sealed.length() - 9);
+
+        assertThat(codec.open(tampered)).isEmpty();
+        assertThat(new RefreshTokenCodec("stateless", OTHER_KEY).open(sealed)).isEmpty();
+        assertThat(codec.open(RefreshTokenCodec.PREFIX + "not-base64!")).isEmpty();
+        assertThat(codec.open(UUID.randomUUID().toString())).isEmpty();
+    }
+
+    @Test
+    @DisplayName("만료된 토큰은 열리지 않는다")
+    void rejectsExpired() {
+        String sealed = codec.seal(token(Instant.now().getEpochSecond() - 1));
+
+        assertThat(codec.open(sealed)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("redis 모드에서도 키가 있으면 기존 stateless 토큰을 열 수 있다")
+    void redisModeStillOpensWithKey() {
+        String sealed = codec.seal(token(Instant.now().getEpochSecond() + 60));
+
+        RefreshTokenCodec redisMode = new RefreshTokenCodec("redis", KEY);
+        assertThat(redisMode.isEnabled()).isFalse();
+        assertThat(redisMode.open(sealed)).isPresent();
+        assertThat(new RefreshTokenCodec("redis", "").open(sealed)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("stateless 모드인데 키가 없거나 길이가 틀리면 기동에 실패한다")
+    void requiresKeyInStatelessMode() {
+        assertThatThrownBy(() -> new RefreshTokenCodec("stateless", ""))
+            .isInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> new RefreshTokenCodec("stateless", Base64.getEncoder().encodeToString(new byte[16])))
+            .isInstanceOf(IllegalStateException.class);
+    }
+
+    private static SealedRefreshToken token(long exp) {
+        return new SealedRefreshToken(42L, 3L, UUID.randomUUID(), 7, exp);
+    }
+}
@@ -0,0 +1,156 @@
+package com.example.auth.service;
+
+import com.example.auth.audit.AuditEventPublisher;
+import com.example.auth.dto.AuthResponse;
+import com.example.auth.entity.AuthProvider;
+import com.example.auth.entity.User;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.lettuce.core.cluster.ClusterClientOptions;
+import io.lettuce.core.cluster.ClusterTopologyRefreshOptions;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.HashSet;
+import java.util.Optional;
+import java.util.Set;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.DisabledInNativeImage;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.data.redis.connection.RedisClusterConfiguration;
+import org.springframework.data.redis.connection.RedisClusterConnection;
+import org.springframework.data.redis.connection.lettuce.LettuceClientConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+
+/**
+ * 로컬 멀티 노드 Redis Cluster에서 tagged 키 배치로 리프레시 흐름이 CROSSSLOT 없이 동작하는지 확인한다.
+ * scripts/redis-cluster-local.sh up 으로 클러스터를 띄우고 REDIS_CLUSTER_NODES를 지정했을 때만 돈다.
+ */
+// Mockito를 쓰므로 네이티브 테스트에서는 제외한다.
+@DisabledInNativeImage
+@EnabledIfEnvironmentVariable(named = "REDIS_CLUSTER_NODES", matches = ".+")
+class RefreshTokenServiceClusterTest {
+
+    private LettuceConnectionFactory connectionFactory;
+    private StringRedisTemplate redisTemplate;
+    private RedisGuard redisGuard;
+    private UserService userService;
+    private VersionLookupBatcher versionLookups;
+
+    @BeforeEach
+    void setUp() {
+        RedisClusterConfiguration cluster = new RedisClusterConfiguration(
+            Arrays.asList(System.getenv("REDIS_CLUSTER_NODES").split(","))
+        );
+        ClusterClientOptions clientOptions = ClusterClientOptions.builder()
+            .topologyRefreshOptions(ClusterTopologyRefreshOptions.builder()
+                .enableAllAdaptiveRefreshTriggers()
+                .enablePeriodicRefresh(Duration.ofSeconds(30))
+                .build())
+            .build();
+        connectionFactory = new LettuceConnectionFactory(cluster,
+            LettuceClientConfiguration.builder().clientOptions(clientOptions).build());
+        connectionFactory.afterPropertiesSet();
+        connectionFactory.start();
+        redisTemplate = new StringRedisTemplate(connectionFactory);
+        redisTemplate.afterPropertiesSet();
+
+        redisGuard = new RedisGuard(CircuitBreakerRegistry.ofDefaults());
+        userService = mock(UserService.class);
+        given(userService.findById(anyLong())).willAnswer(invocation -> Optional.of(user(invocation.<Long>getArgument(0))));
+        // 배칭을 켜서 여러 슬롯에 걸친 MGET도 함께 확인한다.
+        versionLookups = new VersionLookupBatcher(redisTemplate, redisGuard, new SimpleMeterRegistry(),
+            true, Duration.ofMillis(1), 64);
+        versionLookups.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        versionLookups.stop();
+        connectionFactory.destroy();
+    }
+
+    @Test
+    @DisplayName("불투명 토큰: 발급/회전/grace 재생/로그아웃이 클러스터에서 동작한다")
+    void opaqueTokensOnCluster() {
+        RefreshTokenService service = service("redis");
+        long userId = uniqueUserId();
+        User user = user(userId);
+
+        String token = service.issue(user);
+        assertThat(token).startsWith(userId + ".");
+        assertThat(service.consumeAndRotate(token).map(User::getId)).contains(userId);
+        AuthResponse rotated = new AuthResponse("access", service.issueRotated(user, token));
+        service.rememberRotation(token, rotated);
+
+        // 같은 토큰의 재시도는 grace 항목(같은 슬롯)에서 직전 결과를 돌려받는다.
+        assertThat(service.consumeAndRotate(token)).isEmpty();
+        assertThat(service.replayRecentRotation(token)).contains(rotated);
+
+        service.revokeAll(userId);
+        assertThat(service.consumeAndRotate(rotated.refreshToken())).isEmpty();
+    }
+
+    @Test
+    @DisplayName("stateless 토큰: family 회전과 로그아웃이 클러스터에서 동작한다")
+    void statelessTokensOnCluster() {
+        RefreshTokenService service = service("stateless");
+        long userId = uniqueUserId();
+        User user = user(userId);
+
+        String token = service.issue(user);
+        assertThat(service.consumeAndRotate(token).map(User::getId)).contains(userId);
+        String next = service.issueRotated(user, token);
+        assertThat(service.consumeAndRotate(token)).isEmpty();
+
+        service.revokeAll(userId);
+        assertThat(service.consumeAndRotate(next)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("사용자별 키는 여러 마스터에 고르게 흩어진다")
+    void usersSpreadAcrossMasters() {
+        RefreshKeyLayout keys = new RefreshKeyLayout("tagged");
+        Set<String> masters = new HashSet<>();
+        try (RedisClusterConnection connection = connectionFactory.getClusterConnection()) {
+            for (long userId = 1; userId <= 64; userId++) {
+                masters.add(connection.clusterGetNodeForKey(keys.versionKey(userId).getBytes()).getId());
+            }
+        }
+        assertThat(masters).hasSizeGreaterThan(1);
+    }
+
+    private RefreshTokenService service(String mode) {
+        RefreshTokenCodec codec = new RefreshTokenCodec(mode, Base64.getEncoder().encodeToString(new byte[32]));
+        return new RefreshTokenService(
+            new RedisRefreshTokenStore(redisTemplate, redisGuard, codec, versionLookups, new RefreshKeyLayout("tagged")),
+            userService,
+            mock(AuditEventPublisher.class),
+            codec,
+            3600,
+            Duration.ofSeconds(5),
+            2,
+            Duration.ofMillis(200)
+        );
+    }
+
+    private static long uniqueUserId() {
+        return System.nanoTime() & Long.MAX_VALUE;
+    }
+
+    private static User user(long id) {
+        User user = new User(AuthProvider.GOOGLE, "cluster-" + id, null, "Cluster " + id);
+        ReflectionTestUtils.setField(user, "id", id);
+        return user;
+    }
+}
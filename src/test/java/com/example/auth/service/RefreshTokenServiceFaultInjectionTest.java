@@ -0,0 +1,113 @@
+package com.example.auth.service;
+
+import com.example.auth.audit.AuditEventPublisher;
+import com.example.auth.exception.ServiceUnavailableException;
+import com.example.auth.support.FaultInjectingTcpProxy;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.DisabledInNativeImage;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceClientConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Redis 장애 주입 테스트:
+ * - 실제 Redis 대신 FaultInjectingTcpProxy(연결만 받고 응답하지 않음)를 붙인다.
+ * - 커맨드 타임아웃 안에서 503 예외로 끝나는지, 브레이커가 열린 뒤에는 Redis를 기다리지 않고 즉시 실패하는지 확인한다.
+ */
+// Mockito를 쓰므로 네이티브 테스트에서는 제외한다.
+@DisabledInNativeImage
+class RefreshTokenServiceFaultInjectionTest {
+
+    private static final Duration COMMAND_TIMEOUT = Duration.ofMillis(200);
+
+    private FaultInjectingTcpProxy proxy;
+    private LettuceConnectionFactory connectionFactory;
+    private CircuitBreaker circuitBreaker;
+    private RefreshTokenService refreshTokenService;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        proxy = new FaultInjectingTcpProxy(FaultInjectingTcpProxy.Mode.BLACKHOLE);
+
+        connectionFactory = new LettuceConnectionFactory(
+            new RedisStandaloneConfiguration("127.0.0.1", proxy.port()),
+            LettuceClientConfiguration.builder().commandTimeout(COMMAND_TIMEOUT).build()
+        );
+        connectionFactory.afterPropertiesSet();
+        connectionFactory.start();
+
+        CircuitBreakerRegistry registry = CircuitBreakerRegistry.of(CircuitBreakerConfig.custom()
+            .slidingWindowSize(4)
+            .minimumNumberOfCalls(4)
+            .failureRateThreshold(50)
+            .waitDurationInOpenState(Duration.ofMinutes(1))
+            .build());
+        RedisGuard redisGuard = new RedisGuard(registry);
+        circuitBreaker = registry.circuitBreaker(RedisGuard.CIRCUIT_BREAKER_NAME);
+
+        StringRedisTemplate redisTemplate = new StringRedisTemplate(connectionFactory);
+        RefreshTokenCodec codec = new RefreshTokenCodec("redis", "");
+        RedisRefreshTokenStore store = new RedisRefreshTokenStore(
+            redisTemplate,
+            redisGuard,
+            codec,
+            new VersionLookupBatcher(redisTemplate, redisGuard, new SimpleMeterRegistry(), false, Duration.ZERO, 1),
+            new RefreshKeyLayout("legacy")
+        );
+        refreshTokenService = new RefreshTokenService(
+            store,
+            mock(UserService.class),
+            mock(AuditEventPublisher.class),
+            codec,
+            604800,
+            Duration.ofSeconds(5),
+            2,
+            Duration.ofMillis(500)
+        );
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        connectionFactory.destroy();
+        proxy.close();
+    }
+
+    @Test
+    @DisplayName("Redis가 응답하지 않으면 타임아웃 후 503 예외, 브레이커가 열리면 즉시 503 예외")
+    void blackholedRedis_opensBreakerAndFailsFast() {
+        for (int i = 0; i < 4; i++) {
+            assertThatThrownBy(() -> refreshTokenService.consumeAndRotate("some-refresh-token"))
+                .isInstanceOf(ServiceUnavailableException.class);
+        }
+        assertThat(circuitBreaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+
+        long started = System.nanoTime();
+        assertThatThrownBy(() -> refreshTokenService.consumeAndRotate("some-refresh-token"))
+            .isInstanceOf(ServiceUnavailableException.class);
+        long elapsedMillis = Duration.ofNanos(System.nanoTime() - started).toMillis();
+
+        assertThat(elapsedMillis).isLessThan(COMMAND_TIMEOUT.toMillis());
+    }
+
+    @Test
+    @DisplayName("연결이 즉시 끊기는 Redis에서도 revokeAll은 503 예외로 끝난다")
+    void resetRedis_revokeAllFailsWithServiceUnavailable() {
+        proxy.setMode(FaultInjectingTcpProxy.Mode.RESET);
+
+        assertThatThrownBy(() -> refreshTokenService.revokeAll(1L))
+            .isInstanceOf(ServiceUnavailableException.class);
+    }
+}
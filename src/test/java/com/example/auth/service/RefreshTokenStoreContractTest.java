@@ -0,0 +1,164 @@
+package com.example.auth.service;
+
+import com.example.auth.service.RefreshTokenCodec.SealedRefreshToken;
+import com.example.auth.service.RefreshTokenStore.Consumed;
+import com.example.auth.service.RefreshTokenStore.GraceEntry;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * RefreshTokenStore 계약 테스트. 모든 저장소 구현은 이 클래스를 상속해 같은 동작을 보장해야 한다.
+ * 사용자 ID를 무작위로 골라 저장소를 비우지 않고도(공유 Redis 포함) 테스트끼리 섞이지 않게 한다.
+ */
+abstract class RefreshTokenStoreContractTest {
+
+    private static final Duration TTL = Duration.ofMinutes(5);
+    private static final Duration GRACE = Duration.ofSeconds(5);
+
+    protected abstract RefreshTokenStore store();
+
+    private static long userId() {
+        return ThreadLocalRandom.current().nextLong(1, Long.MAX_VALUE / 2);
+    }
+
+    @Test
+    @DisplayName("발급한 토큰은 한 번만 소비된다")
+    void consumesOnce() {
+        long userId = userId();
+        String token = store().create(userId, 0, TTL);
+
+        assertThat(store().consume(token, Duration.ZERO)).contains(new Consumed(userId, true));
+        assertThat(store().consume(token, Duration.ZERO)).isEmpty();
+        assertThat(store().consume("unknown-" + UUID.randomUUID(), Duration.ZERO)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("revokeAll 이전 버전으로 발급된 토큰은 current=false로 소비되고 grace 항목을 남기지 않는다")
+    void revokeAllInvalidatesIssuedTokens() {
+        long userId = userId();
+        long version = store().currentVersion(userId);
+        String token = store().create(userId, version, TTL);
+
+        store().revokeAll(userId);
+
+        assertThat(store().currentVersion(userId)).isEqualTo(version + 1);
+        assertThat(store().consume(token, GRACE)).contains(new Consumed(userId, false));
+        assertThat(store().readGrace(token)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("소비하면 대기 grace 항목이 생기고, 회전 결과를 채운 뒤 재생 횟수를 센다")
+    void graceLifecycle() {
+        long userId = userId();
+        String token = store().create(userId, 0, TTL);
+        store().consume(token, GRACE);
+
+        Optional<GraceEntry> pending = store().readGrace(token);
+        assertThat(pending).isPresent();
+        assertThat(pending.get().isPending()).isTrue();
+        assertThat(pending.get().userId()).isEqualTo(userId);
+
+        store().rememberRotation(token, "access", "refresh");
+        assertThat(store().readGrace(token)).contains(new GraceEntry(userId, 0, "access", "refresh"));
+        assertThat(store().incrementReplays(token)).isEqualTo(1);
+        assertThat(store().incrementReplays(token)).isEqualTo(2);
+
+        store().discardGrace(token);
+        assertThat(store().readGrace(token)).isEmpty();
+        assertThat(store().incrementReplays(token)).isZero();
+    }
+
+    @Test
+    @DisplayName("grace 기간이 0이거나 항목이 없으면 회전 결과를 남기지 않는다")
+    void noGraceWithoutPendingEntry() {
+        long userId = userId();
+        String token = store().create(userId, 0, TTL);
+        store().consume(token, Duration.ZERO);
+
+        store().rememberRotation(token, "access", "refresh");
+
+        assertThat(store().readGrace(token)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("TTL이 지난 토큰과 grace 항목은 사라진다")
+    void expiresEntries() throws InterruptedException {
+        long userId = userId();
+        String token = store().create(userId, 0, Duration.ofMillis(50));
+        String consumed = store().create(userId, 0, TTL);
+        store().consume(consumed, Duration.ofMillis(50));
+
+        Thread.sleep(200);
+
+        assertThat(store().consume(token, Duration.ZERO)).isEmpty();
+        assertThat(store().readGrace(consumed)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("family는 현재 generation과 버전이 맞을 때만 한 번씩 회전한다")
+    void rotatesFamilyWithCompareAndSet() {
+        long userId = userId();
+        UUID family = UUID.randomUUID();
+        long exp = Instant.now().plus(TTL).getEpochSecond();
+        store().startFamily(userId, family, exp, TTL);
+
+        SealedRefreshToken first = new SealedRefreshToken(userId, 0, family, 0, exp);
+        SealedRefreshToken second = new SealedRefreshToken(userId, 0, family, 1, exp);
+        assertThat(store().rotateFamily("first-" + family, first, exp, TTL, GRACE)).isTrue();
+        assertThat(store().rotateFamily("first-" + family, first, exp, TTL, GRACE)).isFalse();
+        assertThat(store().readGrace("first-" + family)).map(GraceEntry::userId).contains(userId);
+
+        store().revokeAll(userId);
+        assertThat(store().rotateFamily("second-" + family, second, exp, TTL, GRACE)).isFalse();
+    }
+
+    @Test
+    @DisplayName("모르는 family는 회전하지 않는다")
+    void rejectsUnknownFamily() {
+        long userId = userId();
+        long exp = Instant.now().plus(TTL).getEpochSecond();
+        SealedRefreshToken token = new SealedRefreshToken(userId, 0, UUID.randomUUID(), 0, exp);
+
+        assertThat(store().rotateFamily("unknown", token, exp, TTL, GRACE)).isFalse();
+    }
+
+    @Test
+    @DisplayName("같은 토큰을 동시에 소비하면 하나만 성공한다")
+    void concurrentConsumeHasSingleWinner() throws Exception {
+        long userId = userId();
+        String token = store().create(userId, 0, TTL);
+        int threads = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<Optional<Consumed>>> results = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    return store().consume(token, GRACE);
+                }));
+            }
+            start.countDown();
+            int winners = 0;
+            for (Future<Optional<Consumed>> result : results) {
+                winners += result.get().isPresent() ? 1 : 0;
+            }
+            assertThat(winners).isEqualTo(1);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.auth.service;
+
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+/**
+ * 멀티 리전 저장소도 한 지역 안에서는 Redis 저장소와 같은 계약을 지키는지 확인한다(로그아웃은 지역별 카운터의 합을 올린다).
+ * 실제 Redis가 필요하므로 REDIS_HOST(선택: REDIS_PORT)를 지정했을 때만 돈다.
+ */
+@EnabledIfEnvironmentVariable(named = "REDIS_HOST", matches = ".+")
+class RegionalRefreshTokenStoreTest extends RefreshTokenStoreContractTest {
+
+    private LettuceConnectionFactory connectionFactory;
+    private RegionalRefreshTokenStore store;
+
+    @BeforeEach
+    void setUp() {
+        String port = System.getenv("REDIS_PORT");
+        connectionFactory = new LettuceConnectionFactory(new RedisStandaloneConfiguration(
+            System.getenv("REDIS_HOST"), port == null ? 6379 : Integer.parseInt(port)
+        ));
+        connectionFactory.afterPropertiesSet();
+        connectionFactory.start();
+        StringRedisTemplate redisTemplate = new StringRedisTemplate(connectionFactory);
+        RedisGuard redisGuard = new RedisGuard(CircuitBreakerRegistry.ofDefaults());
+        RefreshTokenCodec codec = new RefreshTokenCodec("redis", "");
+        RefreshKeyLayout keys = new RefreshKeyLayout("legacy");
+        RedisRefreshTokenStore local = new RedisRefreshTokenStore(
+            redisTemplate,
+            redisGuard,
+            codec,
+            new VersionLookupBatcher(redisTemplate, redisGuard, new SimpleMeterRegistry(), false, Duration.ZERO, 1),
+            keys
+        );
+        store = new RegionalRefreshTokenStore(local, redisTemplate, redisGuard, codec, keys, "contract", 10_000);
+    }
+
+    @AfterEach
+    void tearDown() {
+        connectionFactory.destroy();
+    }
+
+    @Override
+    protected RefreshTokenStore store() {
+        return store;
+    }
+}
@@ -0,0 +1,120 @@
+package com.example.auth.service;
+
+import com.example.auth.client.social.SocialProfile;
+import com.example.auth.entity.AuthProvider;
+import java.util.List;
+import java.util.Map;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * H2(MySQL 모드)에 users/users_seq 테이블만 만들어 id 예약 규칙과 청크 단위 upsert를 검증한다.
+ */
+class UserBulkProvisionerTest {
+
+    private JdbcTemplate jdbcTemplate;
+    private UserIdAllocator idAllocator;
+    private UserBulkProvisioner provisioner;
+
+    @BeforeEach
+    void setUp() {
+        DataSource dataSource = new DriverManagerDataSource(
+            "jdbc:h2:mem:bulk-users;MODE=MySQL;DB_CLOSE_DELAY=-1", "sa", ""
+        );
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("create table if not exists users ("
+            + "id bigint primary key, provider varchar(20) not null, provider_id varchar(100) not null unique, "
+            + "email varchar(200) unique, name varchar(100), created_at timestamp, updated_at timestamp)");
+        jdbcTemplate.execute("create table if not exists users_seq (next_val bigint)");
+        jdbcTemplate.update("delete from users");
+        jdbcTemplate.update("delete from users_seq");
+        jdbcTemplate.update("insert into users_seq (next_val) values (1)");
+        jdbcTemplate.update("insert into users (id, provider, provider_id, email, name) "
+            + "values (120, 'GOOGLE', 'g-1', 'one@example.com', 'old')");
+        jdbcTemplate.update("insert into users (id, provider, provider_id, email, name) "
+            + "values (121, 'KAKAO', 'k-1', 'two@example.com', 'kakao')");
+
+        idAllocator = new UserIdAllocator(jdbcTemplate,
+            new TransactionTemplate(new DataSourceTransactionManager(dataSource)));
+        provisioner = new UserBulkProvisioner(jdbcTemplate, idAllocator, 2);
+    }
+
+    @Test
+    @DisplayName("기동 시 시퀀스를 기존 최대 id 위로 올리고, 예약은 Hibernate pooled 블록 경계를 지킨다")
+    void seedsAboveExistingIds() {
+        idAllocator.start();
+
+        // next_val = 121 + 50: 첫 블록은 122..171
+        assertThat(nextVal()).isEqualTo(171L);
+        assertThat(idAllocator.reserve(3)).isEqualTo(122L);
+        // 블록 하나(50개)만큼 올라가 Hibernate의 다음 블록(172..221)과 겹치지 않는다.
+        assertThat(nextVal()).isEqualTo(221L);
+        assertThat(idAllocator.reserve(51)).isEqualTo(172L);
+        assertThat(nextVal()).isEqualTo(321L);
+
+        // 다시 시드해도(다른 인스턴스 기동) 내려가지 않는다.
+        idAllocator.seed();
+        assertThat(nextVal()).isEqualTo(321L);
+    }
+
+    @Test
+    @DisplayName("새 사용자는 예약한 id로 넣고, 기존 사용자는 갱신하며, 다른 사용자의 이메일은 건드리지 않는다")
+    void upsertsInChunks() {
+        idAllocator.start();
+
+        UserBulkProvisioner.Result result = provisioner.provision(List.of(
+            new SocialProfile(AuthProvider.GOOGLE, "g-1", "one@example.com", "new"),
+            new SocialProfile(AuthProvider.GOOGLE, "g-2", null, "g2"),
+            // 카카오 사용자의 이메일과 겹친다: 카카오 사용자는 그대로, 이 행은 반영되지 않는다.
+            new SocialProfile(AuthProvider.NAVER, "n-1", "two@example.com", "naver"),
+            new SocialProfile(AuthProvider.APPLE, "a-1", "a1@example.com", "apple"),
+            // 기존 사용자의 이메일을 다른 사용자의 것으로 바꾸려 해 청크가 실패한다: 행 단위 재시도에서 건너뛴다.
+            new SocialProfile(AuthProvider.GOOGLE, "g-1", "two@example.com", "conflict")
+        ));
+
+        assertThat(result.received()).isEqualTo(5);
+        assertThat(result.inserted()).isEqualTo(2);
+        assertThat(result.existing()).isEqualTo(2);
+        assertThat(result.skipped()).isEqualTo(1);
+        assertThat(user("g-1")).containsEntry("NAME", "new").containsEntry("EMAIL", "one@example.com");
+        assertThat(user("k-1")).containsEntry("NAME", "kakao");
+        assertThat(((Number) user("g-2").get("ID")).longValue()).isEqualTo(123L);
+        assertThat(((Number) user("a-1").get("ID")).longValue()).isEqualTo(125L);
+        assertThat(jdbcTemplate.queryForObject("select count(*) from users where provider_id = 'n-1'", Long.class))
+            .isZero();
+    }
+
+    @Test
+    @DisplayName("같은 요청을 다시 보내면 새로 들어가는 행 없이 갱신만 된다")
+    void isIdempotent() {
+        idAllocator.start();
+        List<SocialProfile> profiles = List.of(
+            new SocialProfile(AuthProvider.GOOGLE, "g-3", "three@example.com", "three"),
+            new SocialProfile(AuthProvider.GOOGLE, "g-4", "four@example.com", "four"),
+            new SocialProfile(AuthProvider.GOOGLE, "g-5", null, "five")
+        );
+
+        assertThat(provisioner.provision(profiles).inserted()).isEqualTo(3);
+        UserBulkProvisioner.Result again = provisioner.provision(profiles);
+
+        assertThat(again.inserted()).isZero();
+        assertThat(again.existing()).isEqualTo(3);
+        assertThat(jdbcTemplate.queryForObject("select count(*) from users", Long.class)).isEqualTo(5L);
+    }
+
+    private long nextVal() {
+        return jdbcTemplate.queryForObject("select next_val from users_seq", Long.class);
+    }
+
+    private Map<String, Object> user(String providerId) {
+        return jdbcTemplate.queryForMap("select id, name, email from users where provider_id = ?", providerId);
+    }
+}
@@ -0,0 +1,119 @@
+package com.example.auth.service;
+
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.DisabledInNativeImage;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.then;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+
+// Mockito를 쓰므로 네이티브 테스트에서는 제외한다.
+@DisabledInNativeImage
+class VersionLookupBatcherTest {
+
+    private final Map<String, String> store = new HashMap<>(Map.of("refreshver:1", "3", "refreshver:2", "7"));
+    private StringRedisTemplate redisTemplate;
+    private ValueOperations<String, String> valueOperations;
+    private VersionLookupBatcher batcher;
+    private ExecutorService callers;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        redisTemplate = mock(StringRedisTemplate.class);
+        valueOperations = mock(ValueOperations.class);
+        given(redisTemplate.opsForValue()).willReturn(valueOperations);
+        given(valueOperations.multiGet(anyCollection())).willAnswer(invocation -> {
+            List<String> values = new ArrayList<>();
+            for (Object key : invocation.<Collection<?>>getArgument(0)) {
+                values.add(store.get(key));
+            }
+            return values;
+        });
+        given(valueOperations.get(anyString())).willAnswer(invocation -> store.get(invocation.<String>getArgument(0)));
+
+        // 창을 넉넉히 잡아 동시에 시작한 호출이 모두 한 배치에 들어가게 한다.
+        batcher = new VersionLookupBatcher(redisTemplate, new RedisGuard(CircuitBreakerRegistry.ofDefaults()),
+            new SimpleMeterRegistry(), true, Duration.ofMillis(200), 64);
+        callers = Executors.newFixedThreadPool(8);
+    }
+
+    @AfterEach
+    void tearDown() {
+        batcher.stop();
+        callers.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("창 안에 들어온 조회는 중복 키를 합쳐 MGET 한 번으로 처리된다")
+    @SuppressWarnings("unchecked")
+    void coalescesIntoSingleMget() throws Exception {
+        batcher.start();
+        CountDownLatch ready = new CountDownLatch(1);
+        List<String> keys = List.of("refreshver:1", "refreshver:1", "refreshver:2", "refreshver:1", "refreshver:9");
+        List<Future<String>> results = new ArrayList<>();
+        for (String key : keys) {
+            results.add(callers.submit(() -> {
+                ready.await();
+                return batcher.get(key);
+            }));
+        }
+        ready.countDown();
+
+        assertThat(results.get(0).get()).isEqualTo("3");
+        assertThat(results.get(1).get()).isEqualTo("3");
+        assertThat(results.get(2).get()).isEqualTo("7");
+        assertThat(results.get(3).get()).isEqualTo("3");
+        assertThat(results.get(4).get()).isNull();
+
+        ArgumentCaptor<Collection<String>> captor = ArgumentCaptor.forClass(Collection.class);
+        then(valueOperations).should().multiGet(captor.capture());
+        assertThat(captor.getValue()).containsExactlyInAnyOrder("refreshver:1", "refreshver:2", "refreshver:9");
+        then(valueOperations).should(never()).get(anyString());
+    }
+
+    @Test
+    @DisplayName("시작 전(비활성화)에는 호출 스레드에서 바로 GET한다")
+    void readsDirectlyWhenNotRunning() {
+        assertThat(batcher.get("refreshver:2")).isEqualTo("7");
+
+        then(valueOperations).should().get("refreshver:2");
+        then(valueOperations).should(never()).multiGet(anyCollection());
+    }
+
+    @Test
+    @DisplayName("running 확인 직후 stop()이 끝난 호출은 배치를 기다리지 않고 바로 GET한다")
+    void callRacingStopReadsDirectly() {
+        batcher.start();
+        batcher.stop();
+
+        long started = System.nanoTime();
+        // get()의 running 확인을 통과한 뒤 stop()이 디스패처를 멈춘 호출과 같다.
+        assertThat(batcher.lookup("refreshver:2")).isEqualTo("7");
+
+        assertThat(Duration.ofNanos(System.nanoTime() - started)).isLessThan(Duration.ofMillis(500));
+        then(valueOperations).should().get("refreshver:2");
+    }
+}
@@ -0,0 +1,111 @@
+package com.example.auth.support;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * toxiproxy를 흉내 내는 테스트용 TCP 프록시.
+ *
+ * - PASS_THROUGH: upstream으로 그대로 전달
+ * - BLACKHOLE: 연결은 받지만 아무 응답도 하지 않음(느린/멈춘 Redis)
+ * - RESET: 연결을 받자마자 끊음(죽은 Redis)
+ *
+ * upstream이 없으면 BLACKHOLE/RESET만 사용할 수 있다.
+ */
+public class FaultInjectingTcpProxy implements AutoCloseable {
+
+    public enum Mode { PASS_THROUGH, BLACKHOLE, RESET }
+
+    private final ServerSocket serverSocket;
+    private final String upstreamHost;
+    private final int upstreamPort;
+    private final List<Socket> sockets = new CopyOnWriteArrayList<>();
+    private volatile Mode mode;
+
+    public FaultInjectingTcpProxy(Mode mode) throws IOException {
+        this(mode, null, -1);
+    }
+
+    public FaultInjectingTcpProxy(Mode mode, String upstreamHost, int upstreamPort) throws IOException {
+        this.mode = mode;
+        this.upstreamHost = upstreamHost;
+        this.upstreamPort = upstreamPort;
+        this.serverSocket = new ServerSocket(0, 50, InetAddress.getLoopbackAddress());
+        Thread acceptor = new Thread(this::acceptLoop, "fault-proxy-accept");
+        acceptor.setDaemon(true);
+        acceptor.start();
+    }
+
+    public int port() {
+        return serverSocket.getLocalPort();
+    }
+
+    public void setMode(Mode mode) {
+        this.mode = mode;
+    }
+
+    private void acceptLoop() {
+        while (!serverSocket.isClosed()) {
+            try {
+                Socket client = serverSocket.accept();
+                sockets.add(client);
+                switch (mode) {
+                    case RESET -> {
+                        client.setSoLinger(true, 0);
+                        client.close();
+                    }
+                    case BLACKHOLE -> pump(client.getInputStream(), OutputStream.nullOutputStream());
+                    case PASS_THROUGH -> {
+                        Socket upstream = new Socket(upstreamHost, upstreamPort);
+                        sockets.add(upstream);
+                        pump(client.getInputStream(), upstream.getOutputStream());
+                        pump(upstream.getInputStream(), client.getOutputStream());
+                    }
+                }
+            } catch (SocketException e) {
+                return;
+            } catch (IOException ignored) {
+                // 다음 연결을 계속 받는다.
+            }
+        }
+    }
+
+    private void pump(InputStream in, OutputStream out) {
+        Thread thread = new Thread(() -> {
+            byte[] buffer = new byte[8192];
+            try {
+                int read;
+                while ((read = in.read(buffer)) != -1) {
+                    if (mode == Mode.BLACKHOLE) {
+                        continue;
+                    }
+                    out.write(buffer, 0, read);
+                    out.flush();
+                }
+            } catch (IOException ignored) {
+                // 소켓이 닫히면 종료
+            }
+        }, "fault-proxy-pump");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    @Override
+    public void close() throws IOException {
+        serverSocket.close();
+        for (Socket socket : sockets) {
+            try {
+                socket.close();
+            } catch (IOException ignored) {
+                // best effort
+            }
+        }
+    }
+}
@@ -0,0 +1,152 @@
+package com.example.auth.support;
+
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.crypto.RSASSASigner;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.RSAKey;
+import com.nimbusds.jose.jwk.gen.RSAKeyGenerator;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+
+/**
+ * 테스트용 로컬 소셜 제공자.
+ *
+ * - POST /token: 인가 코드를 sub로 삼아 RS256 id_token(OIDC)과 액세스 토큰을 돌려준다.
+ * - GET /certs: id_token 검증용 JWKS.
+ * - GET /me: 네이버 회원 프로필 API 형식의 사용자 정보(Bearer 액세스 토큰 필요).
+ *
+ * setDelay로 모든 응답을 늦춰 느린 제공자를 흉내 낼 수 있다.
+ */
+public class StubOAuthProvider implements AutoCloseable {
+
+    private final HttpServer server;
+    private final String issuer;
+    private final String clientId;
+    private final RSAKey signingKey;
+    private final RSASSASigner signer;
+    private final byte[] jwks;
+    private volatile Duration delay = Duration.ZERO;
+
+    public StubOAuthProvider(String issuer, String clientId) throws IOException, JOSEException {
+        this.issuer = issuer;
+        this.clientId = clientId;
+        this.signingKey = new RSAKeyGenerator(2048).keyID("stub-key").generate();
+        this.signer = new RSASSASigner(signingKey);
+        this.jwks = new JWKSet(signingKey.toPublicJWK()).toString().getBytes(StandardCharsets.UTF_8);
+
+        this.server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        this.server.createContext("/token", this::token);
+        this.server.createContext("/certs", exchange -> respond(exchange, 200, jwks));
+        this.server.createContext("/me", this::me);
+        this.server.setExecutor(Executors.newCachedThreadPool());
+        this.server.start();
+    }
+
+    public String uri(String path) {
+        return "http://127.0.0.1:" + server.getAddress().getPort() + path;
+    }
+
+    public void setDelay(Duration delay) {
+        this.delay = delay;
+    }
+
+    private void token(HttpExchange exchange) throws IOException {
+        pause();
+        Map<String, String> form = parseForm(new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8));
+        String code = form.get("code");
+        if (code == null || !clientId.equals(form.get("client_id"))) {
+            respond(exchange, 400, "{\"error\":\"invalid_request\"}".getBytes(StandardCharsets.UTF_8));
+            return;
+        }
+        try {
+            String body = "{\"id_token\":\"" + idToken(code) + "\",\"access_token\":\"at-" + code + "\",\"token_type\":\"bearer\"}";
+            respond(exchange, 200, body.getBytes(StandardCharsets.UTF_8));
+        } catch (JOSEException e) {
+            respond(exchange, 500, new byte[0]);
+        }
+    }
+
+    private void me(HttpExchange exchange) throws IOException {
+        pause();
+        String authorization = exchange.getRequestHeaders().getFirst("Authorization");
+        if (authorization == null || !authorization.startsWith("Bearer at-")) {
+            respond(exchange, 401, "{\"resultcode\":\"024\",\"message\":\"Authentication failed\"}".getBytes(StandardCharsets.UTF_8));
+            return;
+        }
+        String code = authorization.substring("Bearer at-".length());
+        String body = "{\"resultcode\":\"00\",\"message\":\"success\",\"response\":{\"id\":\"stub-" + code
+            + "\",\"email\":\"" + code + "@stub.example.com\",\"name\":\"Stub " + code + "\"}}";
+        respond(exchange, 200, body.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private String idToken(String code) throws JOSEException {
+        Instant now = Instant.now();
+        JWTClaimsSet claims = new JWTClaimsSet.Builder()
+            .issuer(issuer)
+            .audience(clientId)
+            .subject("stub-" + code)
+            .claim("email", code + "@stub.example.com")
+            .claim("name", "Stub " + code)
+            .claim("nickname", "Stub " + code)
+            .issueTime(Date.from(now))
+            .expirationTime(Date.from(now.plusSeconds(600)))
+            .build();
+        SignedJWT jwt = new SignedJWT(new JWSHeader.Builder(JWSAlgorithm.RS256).keyID(signingKey.getKeyID()).build(), claims);
+        jwt.sign(signer);
+        return jwt.serialize();
+    }
+
+    private void pause() {
+        if (delay.isZero()) {
+            return;
+        }
+        try {
+            Thread.sleep(delay.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static Map<String, String> parseForm(String body) {
+        Map<String, String> form = new HashMap<>();
+        for (String pair : body.split("&")) {
+            int idx = pair.indexOf('=');
+            if (idx > 0) {
+                form.put(
+                    URLDecoder.decode(pair.substring(0, idx), StandardCharsets.UTF_8),
+                    URLDecoder.decode(pair.substring(idx + 1), StandardCharsets.UTF_8)
+                );
+            }
+        }
+        return form;
+    }
+
+    private static void respond(HttpExchange exchange, int status, byte[] body) throws IOException {
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, body.length == 0 ? -1 : body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+}